@@ -2,6 +2,7 @@ plugins {
     id("org.springframework.boot") version "3.3.0"
     id("io.spring.dependency-management") version "1.1.4"
     id("java")
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "de.haw.swa"
@@ -22,9 +23,12 @@ dependencies {
     // Database
     runtimeOnly("com.h2database:h2")
     runtimeOnly("org.postgresql:postgresql")
+    implementation("org.flywaydb:flyway-core")
+    runtimeOnly("org.flywaydb:flyway-database-postgresql")
     
     // JSON Processing
     implementation("com.fasterxml.jackson.core:jackson-databind")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
     
     // OpenAPI Documentation
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.2.0")
@@ -33,6 +37,7 @@ dependencies {
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("io.rest-assured:rest-assured:5.4.0")
     testImplementation("org.testcontainers:junit-jupiter")
+    testImplementation("org.testcontainers:postgresql")
     testImplementation("org.mockito:mockito-core")
     testImplementation("org.mockito:mockito-junit-jupiter")
     testImplementation("com.tngtech.archunit:archunit-junit5:1.2.1")
@@ -47,4 +52,11 @@ tasks.withType<Test> {
 
 tasks.test {
     systemProperty("spring.profiles.active", "test")
+}
+
+// Microbenchmarks live in src/jmh/java and are run with ./gradlew jmh
+jmh {
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+package de.haw.swa.ordermanagement.application.service;
+
+import de.haw.swa.ordermanagement.OrderManagementApplication;
+import de.haw.swa.ordermanagement.application.readmodel.ProductView;
+import de.haw.swa.ordermanagement.domain.model.product.Product;
+import de.haw.swa.ordermanagement.domain.repository.ProductRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares product search via the trigram index of {@link ProductQueryService} with the
+ * {@code LIKE '%term%'} query of {@link ProductRepository#findByNameContainingIgnoreCase} on H2.
+ *
+ * The products get generated names like "Kabelloser Kopfhörer Pro 4711". The rare term is a product
+ * number and matches one product, the common term an adjective shared by a tenth of them. The query
+ * returns every match, as the endpoint did before; the index returns the best 100.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductSearchBenchmark {
+
+    private static final String[] ADJECTIVES = {"Kabelloser", "Tragbarer", "Kompakter", "Smarter", "Robuster",
+        "Leichter", "Digitaler", "Ergonomischer", "Leiser", "Schneller"};
+    private static final String[] NOUNS = {"Kopfhörer", "Monitor", "Lautsprecher", "Drucker", "Router",
+        "Scanner", "Beamer", "Controller", "Adapter", "Ladegerät", "Rucksack", "Ventilator"};
+    private static final String[] SERIES = {"Pro", "Max", "Mini", "Plus", "Air", "Ultra", "Lite", "Neo"};
+
+    @Param({"10000", "1000000"})
+    public int productCount;
+
+    @Param({"rare", "common"})
+    public String term;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private ProductQueryService productQueryService;
+    private String query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(OrderManagementApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties("spring.jpa.show-sql=false", "logging.level.root=WARN",
+                "logging.level.de.haw.swa.ordermanagement=WARN",
+                "ordermanagement.product-catalog.expected-products=" + productCount)
+            .run();
+        productRepository = context.getBean(ProductRepository.class);
+        productQueryService = context.getBean(ProductQueryService.class);
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < productCount; i++) {
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)]
+                + " " + SERIES[random.nextInt(SERIES.length)] + " " + i;
+            batch.add(new Object[] {name, "Artikel " + i + " aus dem Sortiment", new BigDecimal("19.99"), 10});
+            if (batch.size() == 10_000 || i == productCount - 1) {
+                jdbc.batchUpdate("INSERT INTO products (name, description, price, stock_quantity) VALUES (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        productQueryService.synchronize();
+
+        query = term.equals("rare") ? String.valueOf(productCount / 2 + 1) : "Leiser";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductView> trigramIndex() {
+        return productQueryService.search(query, 100);
+    }
+
+    @Benchmark
+    public List<Product> likeQuery() {
+        return productRepository.findByNameContainingIgnoreCase(query);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package de.haw.swa.ordermanagement.application.service;
+
+import de.haw.swa.ordermanagement.OrderManagementApplication;
+import de.haw.swa.ordermanagement.domain.model.order.Order;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the {@link OrderService} flows against H2 via JPA, against the in-memory repositories
+ * of the 'memory' profile and against the append-only event store of the 'event-sourced' profile.
+ * The memory results show the ORM and database overhead; the event-sourced write path replaces
+ * row updates with event inserts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RepositoryBackendBenchmark {
+
+    @Param({"h2", "memory", "event-sourced"})
+    public String backend;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private Long existingOrderId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(OrderManagementApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties("spring.jpa.show-sql=false", "logging.level.root=WARN",
+                "logging.level.de.haw.swa.ordermanagement=WARN");
+        if (!backend.equals("h2")) {
+            builder.profiles(backend);
+        }
+        context = builder.run();
+        orderService = context.getBean(OrderService.class);
+        existingOrderId = createOrder().getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        // Product 4 (headphones) from the seed data; creating an order does not reserve stock
+        return orderService.createOrder(1L, List.of(new OrderService.OrderItemDto(4L, 1)));
+    }
+
+    @Benchmark
+    public Optional<Order> findOrderById() {
+        return orderService.findById(existingOrderId);
+    }
+
+    @Benchmark
+    public Order createConfirmAndCancelOrder() {
+        // Cancelling puts the reserved stock back, so the benchmark can run indefinitely
+        Order order = createOrder();
+        orderService.confirmOrder(order.getId());
+        orderService.cancelOrder(order.getId());
+        return order;
+    }
+}
@@ -0,0 +1,101 @@
+package de.haw.swa.ordermanagement.application.service;
+
+import de.haw.swa.ordermanagement.OrderManagementApplication;
+import de.haw.swa.ordermanagement.application.readmodel.RevenueAccumulator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of {@link RevenueReportService} with the number of worker threads, on H2.
+ *
+ * Seeds {@code itemCount} order items in orders of one to five items, spread over 1,000 customers,
+ * 10,000 products and 365 days, nine in ten of them paid. The report covers the whole year, so every
+ * partition is scanned; one thread is the sequential baseline. The H2 connection pool has ten
+ * connections, which bounds the useful parallelism here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RevenueReportBenchmark {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+    @Param({"1000000", "5000000"})
+    public int itemCount;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private ConfigurableApplicationContext context;
+    private RevenueReportService revenueReportService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(OrderManagementApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties("spring.jpa.show-sql=false", "logging.level.root=WARN",
+                "logging.level.de.haw.swa.ordermanagement=WARN",
+                // Neither read model should load the seeded orders
+                "ordermanagement.order-view.enabled=false",
+                "ordermanagement.order-statistics.enabled=false",
+                "ordermanagement.revenue-report.parallelism=" + parallelism)
+            .run();
+        revenueReportService = context.getBean(RevenueReportService.class);
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        Random random = new Random(42);
+        List<Object[]> orders = new ArrayList<>();
+        List<Object[]> items = new ArrayList<>();
+        long orderId = 1;
+        int seeded = 0;
+        while (seeded < itemCount) {
+            int lines = Math.min(1 + random.nextInt(5), itemCount - seeded);
+            long totalCents = 0;
+            for (int line = 0; line < lines; line++) {
+                long productId = 1 + random.nextInt(10_000);
+                int quantity = 1 + random.nextInt(3);
+                long unitCents = 100 + productId * 7 % 50_000;
+                totalCents += quantity * unitCents;
+                items.add(new Object[] {orderId, productId, "Artikel " + productId, BigDecimal.valueOf(unitCents, 2),
+                    quantity, BigDecimal.valueOf(quantity * unitCents, 2)});
+            }
+            Timestamp createdAt = Timestamp.valueOf(LocalDateTime.of(FIRST_DAY.plusDays(random.nextInt(365)),
+                LocalTime.ofSecondOfDay(random.nextInt(86_400))));
+            orders.add(new Object[] {orderId, 1 + random.nextInt(1_000), random.nextInt(10) == 0 ? "CANCELLED" : "PAID",
+                BigDecimal.valueOf(totalCents, 2), createdAt, createdAt});
+            seeded += lines;
+            orderId++;
+            if (items.size() >= 10_000 || seeded == itemCount) {
+                jdbc.batchUpdate("INSERT INTO orders (id, customer_id, status, total_amount, currency, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, 'EUR', ?, ?)", orders);
+                jdbc.batchUpdate("INSERT INTO order_items (order_id, product_id, product_name, unit_price, quantity, total_price) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)", items);
+                orders.clear();
+                items.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public RevenueAccumulator.RevenueReport yearlyReport() {
+        return revenueReportService.report(FIRST_DAY, FIRST_DAY.plusDays(364), 100);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package de.haw.swa.ordermanagement.domain.model.order;
+
+import de.haw.swa.ordermanagement.domain.model.shared.DomainClock;
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+import de.haw.swa.ordermanagement.infrastructure.time.CachedMillisClock;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order creation and state transitions under concurrent load with the different {@link DomainClock} sources.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class OrderCreationBenchmark {
+
+    @Param({"system", "cached"})
+    public String clockMode;
+
+    private List<OrderItem> items;
+    private CachedMillisClock cachedClock;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        items = List.of(
+            new OrderItem(1L, "Laptop", Money.euro(1299.99), 1),
+            new OrderItem(2L, "Smartphone", Money.euro(799.99), 2));
+        if (clockMode.equals("cached")) {
+            cachedClock = new CachedMillisClock(ZoneId.systemDefault());
+            DomainClock.set(cachedClock);
+        } else {
+            DomainClock.set(Clock.systemDefaultZone());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (cachedClock != null) {
+            cachedClock.close();
+        }
+        DomainClock.reset();
+    }
+
+    @Benchmark
+    public Order createAndConfirm() {
+        Order order = new Order(4711L, 42L, items);
+        order.confirm();
+        return order;
+    }
+}
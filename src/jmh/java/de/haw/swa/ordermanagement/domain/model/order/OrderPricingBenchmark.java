@@ -0,0 +1,47 @@
+package de.haw.swa.ordermanagement.domain.model.order;
+
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+import de.haw.swa.ordermanagement.interfaces.rest.dto.OrderResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the money arithmetic on the order hot paths: totalling the items when an order is created
+ * and mapping an order to its REST response.
+ *
+ * Run with the {@code gc} profiler to compare {@code gc.alloc.rate.norm} before and after changes to {@link Money}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderPricingBenchmark {
+
+    @Param({"1", "20"})
+    public int itemCount;
+
+    private List<OrderItem> items;
+    private Order order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        items = new ArrayList<>();
+        for (int i = 1; i <= itemCount; i++) {
+            items.add(new OrderItem((long) i, "Product " + i, Money.euroCents(1_999L + i), i));
+        }
+        order = new Order(4711L, 42L, items);
+    }
+
+    @Benchmark
+    public Money calculateTotalAmount() {
+        // The constructor totals the items via calculateAndSetTotalAmount
+        return new Order(42L, items).getTotalAmount();
+    }
+
+    @Benchmark
+    public OrderResponse mapToResponse() {
+        return OrderResponse.from(order);
+    }
+}
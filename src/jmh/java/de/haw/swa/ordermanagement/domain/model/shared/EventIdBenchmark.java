@@ -0,0 +1,40 @@
+package de.haw.swa.ordermanagement.domain.model.shared;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event ID generation throughput under contention: {@link UUID#randomUUID()} shares one
+ * {@code SecureRandom}, {@link UuidV7} only touches thread-local state.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EventIdBenchmark {
+
+    @Benchmark
+    @Threads(1)
+    public UUID randomUuidSingleThread() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public UUID uuidV7SingleThread() {
+        return UuidV7.generate();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UUID randomUuidEightThreads() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UUID uuidV7EightThreads() {
+        return UuidV7.generate();
+    }
+}
@@ -0,0 +1,111 @@
+package de.haw.swa.ordermanagement.infrastructure.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.interfaces.rest.dto.OrderResponse;
+import de.haw.swa.ordermanagement.interfaces.rest.dto.ProductResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares JSON and CBOR encoding of the REST DTOs.
+ *
+ * Payload sizes are printed once per trial; run with {@code -prof gc} to compare allocation as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    @Param({"1", "20"})
+    public int itemCount;
+
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+
+    private OrderResponse order;
+    private ProductResponse[] catalog;
+
+    private byte[] orderJson;
+    private byte[] orderCbor;
+    private byte[] catalogJson;
+    private byte[] catalogCbor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // Mirrors the Spring Boot JSON setup (application.yml: write-dates-as-timestamps=false)
+        json = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        cbor = BinaryWireFormat.cborMapper();
+
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 10, 30, 12, 345_000_000);
+        List<OrderResponse.OrderItemResponse> items = new ArrayList<>();
+        List<ProductResponse> products = new ArrayList<>();
+        for (int i = 1; i <= itemCount; i++) {
+            BigDecimal price = new BigDecimal("19.99").add(BigDecimal.valueOf(i));
+            items.add(new OrderResponse.OrderItemResponse(
+                String.valueOf(i), "Product " + i, price, i, price.multiply(BigDecimal.valueOf(i))));
+            products.add(new ProductResponse(
+                String.valueOf(i), "Product " + i, "Description of product " + i, price, "EUR", 10 * i));
+        }
+        order = new OrderResponse("4711", "42", items, new BigDecimal("1234.56"), "EUR",
+            OrderStatus.CONFIRMED, now, now);
+        catalog = products.toArray(ProductResponse[]::new);
+
+        orderJson = json.writeValueAsBytes(order);
+        orderCbor = cbor.writeValueAsBytes(order);
+        catalogJson = json.writeValueAsBytes(catalog);
+        catalogCbor = cbor.writeValueAsBytes(catalog);
+
+        System.out.printf("%n[items=%d] order: json=%d bytes, cbor=%d bytes; catalog: json=%d bytes, cbor=%d bytes%n",
+            itemCount, orderJson.length, orderCbor.length, catalogJson.length, catalogCbor.length);
+    }
+
+    @Benchmark
+    public byte[] encodeOrderJson() throws Exception {
+        return json.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] encodeOrderCbor() throws Exception {
+        return cbor.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public OrderResponse decodeOrderJson() throws Exception {
+        return json.readValue(orderJson, OrderResponse.class);
+    }
+
+    @Benchmark
+    public OrderResponse decodeOrderCbor() throws Exception {
+        return cbor.readValue(orderCbor, OrderResponse.class);
+    }
+
+    @Benchmark
+    public byte[] encodeCatalogJson() throws Exception {
+        return json.writeValueAsBytes(catalog);
+    }
+
+    @Benchmark
+    public byte[] encodeCatalogCbor() throws Exception {
+        return cbor.writeValueAsBytes(catalog);
+    }
+
+    @Benchmark
+    public ProductResponse[] decodeCatalogJson() throws Exception {
+        return json.readValue(catalogJson, ProductResponse[].class);
+    }
+
+    @Benchmark
+    public ProductResponse[] decodeCatalogCbor() throws Exception {
+        return cbor.readValue(catalogCbor, ProductResponse[].class);
+    }
+}
@@ -0,0 +1,83 @@
+package de.haw.swa.ordermanagement.infrastructure.eventlog;
+
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderCreated;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderPaid;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Append and read throughput of the {@link EventLog} per fsync mode.
+ *
+ * With {@code ALWAYS} the eight-thread variant shows how much group commit recovers compared to
+ * one fsync per append. Segment files are created in a temporary directory and deleted per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EventLogBenchmark {
+
+    private static final int READ_EVENTS = 100_000;
+
+    @Param({"NEVER", "INTERVAL", "ALWAYS"})
+    public EventLog.FsyncMode fsyncMode;
+
+    private Path directory;
+    private EventLog eventLog;
+    private DomainEvent event;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("event-log-benchmark");
+        EventCodec codec = new EventCodec()
+            .register(1, OrderCreated.class)
+            .register(3, OrderPaid.class);
+        eventLog = EventLog.open(directory, 64 * 1024 * 1024, fsyncMode, Duration.ofMillis(10), codec);
+        event = OrderCreated.create(4711L, 42L, LocalDateTime.of(2024, 1, 15, 10, 30));
+        for (long i = 0; i < READ_EVENTS; i++) {
+            eventLog.append(OrderPaid.create(i, LocalDateTime.of(2024, 1, 15, 10, 30)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        eventLog.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long appendSingleThread() {
+        return eventLog.append(event);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long appendEightThreads() {
+        return eventLog.append(event);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(READ_EVENTS)
+    public int readFromStart() {
+        EventLogReader reader = eventLog.reader(0);
+        int count = 0;
+        for (List<LoggedEvent> batch = reader.poll(1024); !batch.isEmpty() && count < READ_EVENTS; batch = reader.poll(1024)) {
+            count += batch.size();
+        }
+        return count;
+    }
+}
\ No newline at end of file
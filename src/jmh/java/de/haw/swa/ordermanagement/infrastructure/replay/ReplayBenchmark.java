@@ -0,0 +1,108 @@
+package de.haw.swa.ordermanagement.infrastructure.replay;
+
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderConfirmed;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderCreated;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderPaid;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+import de.haw.swa.ordermanagement.infrastructure.eventlog.EventCodec;
+import de.haw.swa.ordermanagement.infrastructure.eventlog.EventLog;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Replay throughput of the {@link ReplayEngine} by worker count; the score is events per second.
+ *
+ * The projection keeps the current status per order, which is the typical shape of a read model.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReplayBenchmark {
+
+    private static final int ORDERS = 1_000_000;
+    private static final int EVENTS = 3 * ORDERS;
+
+    @Param({"1", "4", "8"})
+    public int parallelism;
+
+    private Path directory;
+    private EventLog eventLog;
+    private ReplayEngine engine;
+    private StatusProjection projection;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("replay-benchmark");
+        EventCodec codec = new EventCodec()
+            .register(1, OrderCreated.class)
+            .register(2, OrderConfirmed.class)
+            .register(3, OrderPaid.class);
+        eventLog = EventLog.open(directory.resolve("log"), 256 * 1024 * 1024, EventLog.FsyncMode.NEVER,
+            Duration.ofSeconds(1), codec);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 10, 30);
+        for (long id = 1; id <= ORDERS; id++) {
+            eventLog.append(OrderCreated.create(id, id % 1000, now));
+            eventLog.append(OrderConfirmed.create(id, now));
+            eventLog.append(OrderPaid.create(id, now));
+        }
+        engine = new ReplayEngine(eventLog, new ReplayCheckpointStore(directory.resolve("checkpoints")),
+            parallelism, 65536, 1_000_000);
+        projection = new StatusProjection();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        engine.close();
+        eventLog.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public ReplayResult rebuild() {
+        return engine.rebuild("benchmark", List.of(projection));
+    }
+
+    private static final class StatusProjection implements ReplayProjection {
+
+        private final Map<Long, OrderStatus> statuses = new ConcurrentHashMap<>();
+
+        @Override
+        public String name() {
+            return "status";
+        }
+
+        @Override
+        public void reset() {
+            statuses.clear();
+        }
+
+        @Override
+        public void apply(DomainEvent event) {
+            if (event instanceof OrderCreated) {
+                statuses.put(event.aggregateId(), OrderStatus.PENDING);
+            } else if (event instanceof OrderConfirmed) {
+                statuses.put(event.aggregateId(), OrderStatus.CONFIRMED);
+            } else if (event instanceof OrderPaid) {
+                statuses.put(event.aggregateId(), OrderStatus.PAID);
+            }
+        }
+    }
+}
\ No newline at end of file
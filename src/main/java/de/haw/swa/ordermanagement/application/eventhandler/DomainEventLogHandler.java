@@ -0,0 +1,48 @@
+package de.haw.swa.ordermanagement.application.eventhandler;
+
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+import de.haw.swa.ordermanagement.infrastructure.eventlog.EventLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Appends committed domain events to the local {@link EventLog}.
+ *
+ * The append runs after the commit and outside the transaction, so the log can miss events the database
+ * has: an append that fails is logged and counted in {@code ordermanagement.eventlog.append.failures},
+ * and a crash between the commit and the append loses the event without a trace. Projections rebuilt from
+ * the log lack such events.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ordermanagement.event-log", name = "enabled", havingValue = "true")
+public class DomainEventLogHandler {
+    
+    private static final Logger log = LoggerFactory.getLogger(DomainEventLogHandler.class);
+    
+    private final EventLog eventLog;
+    private final Counter appendFailures;
+    
+    public DomainEventLogHandler(EventLog eventLog, MeterRegistry meterRegistry) {
+        this.eventLog = eventLog;
+        this.appendFailures = Counter.builder("ordermanagement.eventlog.append.failures")
+            .description("Committed domain events that could not be appended to the event log")
+            .register(meterRegistry);
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleDomainEvent(DomainEvent event) {
+        // Only committed events are logged; the transaction is already done, so a failure must not propagate
+        try {
+            eventLog.append(event);
+        } catch (RuntimeException e) {
+            appendFailures.increment();
+            log.error("Cannot append {} {} to the event log", event.getClass().getSimpleName(), event.eventId(), e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package de.haw.swa.ordermanagement.application.eventhandler;
+
+import de.haw.swa.ordermanagement.domain.model.product.events.ProductStockLow;
+import de.haw.swa.ordermanagement.domain.model.product.events.ProductStockReplenished;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Raises restocking alerts when a committed stock change crosses a product's low-stock threshold.
+ * Alerts are logged and counted, so monitoring can pick them up instead of polling for low stock.
+ */
+@Component
+public class LowStockAlertHandler {
+    
+    private static final Logger log = LoggerFactory.getLogger(LowStockAlertHandler.class);
+    
+    private final Counter lowStockAlerts;
+    private final Counter replenishedAlerts;
+    
+    public LowStockAlertHandler(MeterRegistry meterRegistry) {
+        this.lowStockAlerts = Counter.builder("ordermanagement.products.lowstock.alerts")
+            .description("Products whose stock fell to or below their low-stock threshold")
+            .register(meterRegistry);
+        this.replenishedAlerts = Counter.builder("ordermanagement.products.lowstock.replenished")
+            .description("Products whose stock rose above their low-stock threshold again")
+            .register(meterRegistry);
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleProductStockLow(ProductStockLow event) {
+        lowStockAlerts.increment();
+        log.warn("Product {} needs restocking: {} left, threshold {}", event.productId(), event.stockQuantity(),
+            event.lowStockThreshold());
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleProductStockReplenished(ProductStockReplenished event) {
+        replenishedAlerts.increment();
+        log.info("Product {} is restocked: {} available, threshold {}", event.productId(), event.stockQuantity(),
+            event.lowStockThreshold());
+    }
+}
\ No newline at end of file
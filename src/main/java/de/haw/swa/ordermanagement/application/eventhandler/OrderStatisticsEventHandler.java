@@ -0,0 +1,31 @@
+package de.haw.swa.ordermanagement.application.eventhandler;
+
+import de.haw.swa.ordermanagement.application.service.OrderStatisticsService;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderCancelled;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderConfirmed;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderCreated;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderDelivered;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderPaid;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderReturned;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderShipped;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class OrderStatisticsEventHandler {
+    
+    private final OrderStatisticsService orderStatisticsService;
+    
+    public OrderStatisticsEventHandler(OrderStatisticsService orderStatisticsService) {
+        this.orderStatisticsService = orderStatisticsService;
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true, classes = {
+        OrderCreated.class, OrderConfirmed.class, OrderPaid.class, OrderShipped.class,
+        OrderDelivered.class, OrderCancelled.class, OrderReturned.class})
+    public void handleOrderEvent(DomainEvent event) {
+        orderStatisticsService.apply(event);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package de.haw.swa.ordermanagement.application.eventhandler;
+
+import de.haw.swa.ordermanagement.application.service.ProductQueryService;
+import de.haw.swa.ordermanagement.domain.model.product.events.ProductCreated;
+import de.haw.swa.ordermanagement.domain.model.product.events.ProductRemoved;
+import de.haw.swa.ordermanagement.domain.model.product.events.ProductStockChanged;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class ProductCatalogEventHandler {
+    
+    private final ProductQueryService productQueryService;
+    
+    public ProductCatalogEventHandler(ProductQueryService productQueryService) {
+        this.productQueryService = productQueryService;
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true, classes = {
+        ProductCreated.class, ProductStockChanged.class, ProductRemoved.class})
+    public void handleProductEvent(DomainEvent event) {
+        productQueryService.apply(event);
+    }
+}
\ No newline at end of file
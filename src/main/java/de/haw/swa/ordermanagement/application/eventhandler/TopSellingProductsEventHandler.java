@@ -0,0 +1,22 @@
+package de.haw.swa.ordermanagement.application.eventhandler;
+
+import de.haw.swa.ordermanagement.application.service.TopSellingProductsService;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderConfirmed;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class TopSellingProductsEventHandler {
+    
+    private final TopSellingProductsService topSellingProductsService;
+    
+    public TopSellingProductsEventHandler(TopSellingProductsService topSellingProductsService) {
+        this.topSellingProductsService = topSellingProductsService;
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleOrderConfirmed(OrderConfirmed event) {
+        topSellingProductsService.apply(event);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package de.haw.swa.ordermanagement.application.readmodel;
+
+import de.haw.swa.ordermanagement.domain.model.order.Order;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderCreated;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Orders of each customer with their status, total and times, derived from the order events alone.
+ *
+ * Events of different orders may be applied concurrently. The same event may arrive twice, and the live
+ * event handlers and a replay may deliver the events of one order out of order, so an entry is only
+ * replaced by a newer one (see {@link Entry#isNewerThan}). Status changes of orders whose creation was
+ * never applied are ignored.
+ */
+public class CustomerOrderHistory {
+    
+    private final ConcurrentHashMap<Long, Long> customerOfOrder = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Map<Long, Entry>> byCustomer = new ConcurrentHashMap<>();
+    
+    public void apply(DomainEvent event) {
+        if (!Order.isOrderEvent(event)) {
+            return;
+        }
+        if (event instanceof OrderCreated created) {
+            if (created.customerId() == null) {
+                return;
+            }
+            customerOfOrder.put(created.orderId(), created.customerId());
+            update(created.customerId(), new Entry(created.orderId(), OrderStatus.PENDING,
+                created.totalAmountCents(), created.occurredOn(), created.occurredOn()));
+            return;
+        }
+        Long customerId = customerOfOrder.get(event.aggregateId());
+        if (customerId == null) {
+            return;
+        }
+        OrderStatus status = Order.statusAfter(event);
+        byCustomer.getOrDefault(customerId, Map.of()).computeIfPresent(event.aggregateId(), (id, current) -> {
+            Entry changed = current.withStatus(status, event.occurredOn());
+            return changed.isNewerThan(current) ? changed : current;
+        });
+    }
+    
+    /**
+     * Orders of the customer in ID order.
+     */
+    public List<Entry> ordersOf(Long customerId) {
+        List<Entry> orders = new ArrayList<>(byCustomer.getOrDefault(customerId, Map.of()).values());
+        orders.sort(Comparator.comparing(Entry::orderId));
+        return orders;
+    }
+    
+    public int size() {
+        return customerOfOrder.size();
+    }
+    
+    public void clear() {
+        byCustomer.clear();
+        customerOfOrder.clear();
+    }
+    
+    private void update(Long customerId, Entry entry) {
+        byCustomer.computeIfAbsent(customerId, id -> new ConcurrentHashMap<>())
+            .merge(entry.orderId(), entry, (current, created) -> current.isNewerThan(created) ? current : created);
+    }
+    
+    /**
+     * @param totalAmountCents {@code null} if the order was created before its events carried the total
+     */
+    public record Entry(Long orderId, OrderStatus status, Long totalAmountCents,
+                        LocalDateTime createdAt, LocalDateTime updatedAt) {
+        
+        Entry withStatus(OrderStatus status, LocalDateTime updatedAt) {
+            return new Entry(orderId, status, totalAmountCents, createdAt, updatedAt);
+        }
+        
+        /**
+         * Same order as {@link OrderView#isNewerThan}: by change time, then by status, which follows the lifecycle.
+         */
+        boolean isNewerThan(Entry other) {
+            int compared = updatedAt.compareTo(other.updatedAt);
+            return compared > 0 || (compared == 0 && status.compareTo(other.status) > 0);
+        }
+    }
+}
\ No newline at end of file
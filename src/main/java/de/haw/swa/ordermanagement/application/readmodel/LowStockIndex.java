@@ -0,0 +1,130 @@
+package de.haw.swa.ordermanagement.application.readmodel;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Products ordered by how far their stock is above their low-stock threshold.
+ *
+ * The products that need restocking are those with no headroom left, i.e. the head of a sorted set, so
+ * listing them costs O(log n + k) for k results instead of a table scan, and a stock change costs
+ * O(log n). Products without a threshold are not indexed.
+ */
+public class LowStockIndex {
+    
+    private static final Comparator<Level> LEAST_HEADROOM_FIRST = Comparator.comparingLong(Level::headroom)
+        .thenComparingLong(Level::productId);
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Level> levels = new HashMap<>();
+    private final NavigableSet<Level> byHeadroom = new TreeSet<>(LEAST_HEADROOM_FIRST);
+    
+    /**
+     * Indexes a product with its stock and threshold; a {@code null} threshold removes it from the index.
+     */
+    public void put(Long productId, int stockQuantity, Integer lowStockThreshold) {
+        lock.writeLock().lock();
+        try {
+            Level previous = levels.remove(productId);
+            if (previous != null) {
+                byHeadroom.remove(previous);
+            }
+            if (lowStockThreshold != null) {
+                Level level = new Level(productId, stockQuantity, lowStockThreshold);
+                levels.put(productId, level);
+                byHeadroom.add(level);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Changes the stock of an indexed product; returns {@code false} if the product is not indexed.
+     */
+    public boolean updateStock(Long productId, int stockQuantity) {
+        lock.writeLock().lock();
+        try {
+            Level previous = levels.get(productId);
+            if (previous == null) {
+                return false;
+            }
+            byHeadroom.remove(previous);
+            Level level = new Level(productId, stockQuantity, previous.lowStockThreshold());
+            levels.put(productId, level);
+            byHeadroom.add(level);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Level previous = levels.remove(productId);
+            if (previous != null) {
+                byHeadroom.remove(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Products with stock at or below their threshold, the largest shortfall first.
+     */
+    public List<LowStock> lowStock(int limit) {
+        List<LowStock> lowStock = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Level level : byHeadroom) {
+                if (level.headroom() > 0 || lowStock.size() >= limit) {
+                    break;
+                }
+                lowStock.add(new LowStock(level.productId(), level.stockQuantity(), level.lowStockThreshold()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return lowStock;
+    }
+    
+    /**
+     * Number of products with stock at or below their threshold.
+     */
+    public int lowStockCount() {
+        lock.readLock().lock();
+        try {
+            return byHeadroom.headSet(new Level(Long.MAX_VALUE, 0, 0), true).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return levels.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public record LowStock(long productId, int stockQuantity, int lowStockThreshold) {
+    }
+    
+    private record Level(long productId, int stockQuantity, int lowStockThreshold) {
+        
+        long headroom() {
+            return (long) stockQuantity - lowStockThreshold;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,125 @@
+package de.haw.swa.ordermanagement.application.readmodel;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Open-addressing hash table from positive {@code long} keys to {@code int} values in a direct buffer.
+ *
+ * Uses linear probing with backward-shift deletion, so there are no tombstones. Key {@code 0} marks
+ * an empty entry. Not thread-safe.
+ */
+final class OffHeapLongIntIndex {
+    
+    private static final int ENTRY_SIZE = 16;
+    private static final int VALUE_OFFSET = 8;
+    
+    private ByteBuffer entries;
+    private int mask;
+    private int size;
+    
+    OffHeapLongIntIndex(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+    
+    /**
+     * @return the value for {@code key}, or {@code -1}
+     */
+    int get(long key) {
+        for (int slot = slotOf(key); ; slot = (slot + 1) & mask) {
+            long found = keyAt(slot);
+            if (found == key) {
+                return entries.getInt(slot * ENTRY_SIZE + VALUE_OFFSET);
+            }
+            if (found == 0) {
+                return -1;
+            }
+        }
+    }
+    
+    void put(long key, int value) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Keys must be positive: " + key);
+        }
+        if ((size + 1) * 2L > mask + 1L) {
+            resize((mask + 1) * 2);
+        }
+        int slot = slotOf(key);
+        while (true) {
+            long found = keyAt(slot);
+            if (found == key || found == 0) {
+                if (found == 0) {
+                    size++;
+                }
+                entries.putLong(slot * ENTRY_SIZE, key);
+                entries.putInt(slot * ENTRY_SIZE + VALUE_OFFSET, value);
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+    
+    void remove(long key) {
+        int slot = slotOf(key);
+        while (keyAt(slot) != key) {
+            if (keyAt(slot) == 0) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        // Move later entries of the probe sequence back into the gap
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keyAt(next) != 0; next = (next + 1) & mask) {
+            int home = slotOf(keyAt(next));
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                entries.putLong(gap * ENTRY_SIZE, keyAt(next));
+                entries.putInt(gap * ENTRY_SIZE + VALUE_OFFSET, entries.getInt(next * ENTRY_SIZE + VALUE_OFFSET));
+                gap = next;
+            }
+        }
+        entries.putLong(gap * ENTRY_SIZE, 0);
+        size--;
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    long capacityBytes() {
+        return entries.capacity();
+    }
+    
+    private void resize(int tableSize) {
+        ByteBuffer old = entries;
+        int oldSlots = mask + 1;
+        allocate(tableSize);
+        size = 0;
+        for (int slot = 0; slot < oldSlots; slot++) {
+            long key = old.getLong(slot * ENTRY_SIZE);
+            if (key != 0) {
+                put(key, old.getInt(slot * ENTRY_SIZE + VALUE_OFFSET));
+            }
+        }
+    }
+    
+    private void allocate(int tableSize) {
+        entries = ByteBuffer.allocateDirect(Math.multiplyExact(tableSize, ENTRY_SIZE));
+        mask = tableSize - 1;
+    }
+    
+    private long keyAt(int slot) {
+        return entries.getLong(slot * ENTRY_SIZE);
+    }
+    
+    private int slotOf(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+    
+    private static int tableSizeFor(int expectedSize) {
+        int size = 16;
+        while (size < expectedSize * 2L) {
+            size <<= 1;
+        }
+        return size;
+    }
+}
\ No newline at end of file
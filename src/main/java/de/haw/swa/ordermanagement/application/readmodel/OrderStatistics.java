@@ -0,0 +1,290 @@
+package de.haw.swa.ordermanagement.application.readmodel;
+
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Order counts and amounts per status and day, maintained from order state changes.
+ *
+ * For every day and status it counts the orders that entered and left the status, so the orders
+ * currently in a status are the sum of entered minus left. The counts are split in two parts: a
+ * baseline, which mirrors the summary table, and pending changes in striped {@link LongAdder}s that
+ * have not been flushed yet. Recording a transition only touches adders, so concurrent requests do not
+ * contend on a shared counter; reads add baseline and pending changes up and never touch the database.
+ * A read that overlaps with moving pending changes into the baseline is repeated, so it never misses them.
+ */
+public class OrderStatistics {
+    
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final int ENTERED_COUNT = 0;
+    private static final int ENTERED_AMOUNT = 1;
+    private static final int EXITED_COUNT = 2;
+    private static final int EXITED_AMOUNT = 3;
+    private static final int FIELDS = 4;
+    
+    private final ConcurrentHashMap<LocalDate, DayCounters> pending = new ConcurrentHashMap<>();
+    private final StampedLock baselineLock = new StampedLock();
+    private volatile Baseline baseline = Baseline.of(List.of());
+    
+    /**
+     * Records that an order moved from one status to another on the given day.
+     *
+     * @param from previous status, {@code null} for a new order
+     */
+    public void recordTransition(LocalDate day, OrderStatus from, OrderStatus to, long amountCents) {
+        DayCounters counters = pending.computeIfAbsent(day, d -> new DayCounters());
+        if (from != null) {
+            counters.add(from, EXITED_COUNT, 1);
+            counters.add(from, EXITED_AMOUNT, amountCents);
+        }
+        counters.add(to, ENTERED_COUNT, 1);
+        counters.add(to, ENTERED_AMOUNT, amountCents);
+    }
+    
+    /**
+     * Number and amount of the orders currently in each status.
+     */
+    public Map<OrderStatus, Totals> byStatus() {
+        return read(this::readByStatus);
+    }
+    
+    /**
+     * Number and amount of the orders that entered each status, per day from {@code from} on.
+     */
+    public SortedMap<LocalDate, Map<OrderStatus, Totals>> daily(LocalDate from) {
+        return read(() -> readDaily(from));
+    }
+    
+    private Map<OrderStatus, Totals> readByStatus() {
+        long[][] sums = copy(baseline.totals);
+        for (DayCounters counters : pending.values()) {
+            counters.addTo(sums);
+        }
+        Map<OrderStatus, Totals> byStatus = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : STATUSES) {
+            long[] fields = sums[status.ordinal()];
+            byStatus.put(status, new Totals(fields[ENTERED_COUNT] - fields[EXITED_COUNT],
+                fields[ENTERED_AMOUNT] - fields[EXITED_AMOUNT]));
+        }
+        return byStatus;
+    }
+    
+    private SortedMap<LocalDate, Map<OrderStatus, Totals>> readDaily(LocalDate from) {
+        TreeMap<LocalDate, long[][]> days = new TreeMap<>();
+        baseline.days.tailMap(from, true).forEach((day, sums) -> days.put(day, copy(sums)));
+        pending.forEach((day, counters) -> {
+            if (!day.isBefore(from)) {
+                counters.addTo(days.computeIfAbsent(day, d -> new long[STATUSES.length][FIELDS]));
+            }
+        });
+        
+        SortedMap<LocalDate, Map<OrderStatus, Totals>> daily = new TreeMap<>();
+        days.forEach((day, sums) -> {
+            Map<OrderStatus, Totals> entered = new EnumMap<>(OrderStatus.class);
+            for (OrderStatus status : STATUSES) {
+                long[] fields = sums[status.ordinal()];
+                entered.put(status, new Totals(fields[ENTERED_COUNT], fields[ENTERED_AMOUNT]));
+            }
+            daily.put(day, entered);
+        });
+        return daily;
+    }
+    
+    private <T> T read(Supplier<T> reader) {
+        long stamp = baselineLock.tryOptimisticRead();
+        T result = reader.get();
+        if (!baselineLock.validate(stamp)) {
+            stamp = baselineLock.readLock();
+            try {
+                result = reader.get();
+            } finally {
+                baselineLock.unlockRead(stamp);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Moves all pending changes into the baseline and returns them, to be added to the summary table.
+     * If that fails, the caller hands them back with {@link #restore}.
+     */
+    public List<Bucket> drain() {
+        long stamp = baselineLock.writeLock();
+        try {
+            return drainLocked();
+        } finally {
+            baselineLock.unlockWrite(stamp);
+        }
+    }
+    
+    /**
+     * Turns changes returned by {@link #drain()} back into pending changes after they could not be stored.
+     */
+    public void restore(Collection<Bucket> deltas) {
+        long stamp = baselineLock.writeLock();
+        try {
+            baseline = baseline.plus(deltas, -1);
+            for (Bucket delta : deltas) {
+                DayCounters counters = pending.computeIfAbsent(delta.day(), d -> new DayCounters());
+                counters.add(delta.status(), ENTERED_COUNT, delta.enteredCount());
+                counters.add(delta.status(), ENTERED_AMOUNT, delta.enteredAmountCents());
+                counters.add(delta.status(), EXITED_COUNT, delta.exitedCount());
+                counters.add(delta.status(), EXITED_AMOUNT, delta.exitedAmountCents());
+            }
+        } finally {
+            baselineLock.unlockWrite(stamp);
+        }
+    }
+    
+    /**
+     * Replaces the baseline with the content of the summary table, which includes the flushes of other instances.
+     * Must not be called between {@link #drain()} and storing its changes.
+     */
+    public void resetBaseline(Collection<Bucket> persisted) {
+        Baseline reset = Baseline.of(persisted);
+        long stamp = baselineLock.writeLock();
+        try {
+            baseline = reset;
+        } finally {
+            baselineLock.unlockWrite(stamp);
+        }
+    }
+    
+    private List<Bucket> drainLocked() {
+        List<Bucket> deltas = new ArrayList<>();
+        LocalDate latest = null;
+        for (Map.Entry<LocalDate, DayCounters> entry : pending.entrySet()) {
+            long[][] sums = entry.getValue().sumThenReset();
+            for (OrderStatus status : STATUSES) {
+                Bucket delta = Bucket.of(entry.getKey(), status, sums[status.ordinal()]);
+                if (!delta.isEmpty()) {
+                    deltas.add(delta);
+                }
+            }
+            if (latest == null || entry.getKey().isAfter(latest)) {
+                latest = entry.getKey();
+            }
+        }
+        // Days before yesterday no longer receive transitions, their adders can go
+        if (latest != null) {
+            LocalDate cutoff = latest.minusDays(1);
+            for (Iterator<Map.Entry<LocalDate, DayCounters>> it = pending.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<LocalDate, DayCounters> entry = it.next();
+                if (entry.getKey().isBefore(cutoff) && entry.getValue().isZero()) {
+                    it.remove();
+                }
+            }
+        }
+        baseline = baseline.plus(deltas, 1);
+        return deltas;
+    }
+    
+    /**
+     * Changes of one status on one day.
+     */
+    public record Bucket(LocalDate day, OrderStatus status, long enteredCount, long enteredAmountCents,
+                         long exitedCount, long exitedAmountCents) {
+        
+        private static Bucket of(LocalDate day, OrderStatus status, long[] fields) {
+            return new Bucket(day, status, fields[ENTERED_COUNT], fields[ENTERED_AMOUNT],
+                fields[EXITED_COUNT], fields[EXITED_AMOUNT]);
+        }
+        
+        boolean isEmpty() {
+            return enteredCount == 0 && enteredAmountCents == 0 && exitedCount == 0 && exitedAmountCents == 0;
+        }
+    }
+    
+    public record Totals(long orders, long amountCents) {
+    }
+    
+    /**
+     * Immutable sums per day and in total; replaced as a whole, so readers always see a consistent state.
+     */
+    private record Baseline(NavigableMap<LocalDate, long[][]> days, long[][] totals) {
+        
+        static Baseline of(Collection<Bucket> buckets) {
+            return new Baseline(new TreeMap<>(), new long[STATUSES.length][FIELDS]).plus(buckets, 1);
+        }
+        
+        Baseline plus(Collection<Bucket> buckets, int sign) {
+            NavigableMap<LocalDate, long[][]> newDays = new TreeMap<>(days);
+            long[][] newTotals = copy(totals);
+            for (Bucket bucket : buckets) {
+                long[][] day = newDays.get(bucket.day());
+                day = day == null ? new long[STATUSES.length][FIELDS] : copy(day);
+                newDays.put(bucket.day(), day);
+                add(day[bucket.status().ordinal()], bucket, sign);
+                add(newTotals[bucket.status().ordinal()], bucket, sign);
+            }
+            return new Baseline(newDays, newTotals);
+        }
+        
+        private static void add(long[] fields, Bucket bucket, int sign) {
+            fields[ENTERED_COUNT] += sign * bucket.enteredCount();
+            fields[ENTERED_AMOUNT] += sign * bucket.enteredAmountCents();
+            fields[EXITED_COUNT] += sign * bucket.exitedCount();
+            fields[EXITED_AMOUNT] += sign * bucket.exitedAmountCents();
+        }
+    }
+    
+    private static final class DayCounters {
+        
+        private final LongAdder[] adders = new LongAdder[STATUSES.length * FIELDS];
+        
+        DayCounters() {
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+        }
+        
+        void add(OrderStatus status, int field, long value) {
+            adders[status.ordinal() * FIELDS + field].add(value);
+        }
+        
+        void addTo(long[][] sums) {
+            for (int i = 0; i < adders.length; i++) {
+                sums[i / FIELDS][i % FIELDS] += adders[i].sum();
+            }
+        }
+        
+        long[][] sumThenReset() {
+            long[][] sums = new long[STATUSES.length][FIELDS];
+            for (int i = 0; i < adders.length; i++) {
+                sums[i / FIELDS][i % FIELDS] = adders[i].sumThenReset();
+            }
+            return sums;
+        }
+        
+        boolean isZero() {
+            for (LongAdder adder : adders) {
+                if (adder.sum() != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+    
+    private static long[][] copy(long[][] sums) {
+        long[][] copy = new long[sums.length][];
+        for (int i = 0; i < sums.length; i++) {
+            copy[i] = sums[i].clone();
+        }
+        return copy;
+    }
+}
\ No newline at end of file
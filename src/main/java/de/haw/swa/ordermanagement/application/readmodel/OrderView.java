@@ -0,0 +1,66 @@
+package de.haw.swa.ordermanagement.application.readmodel;
+
+import de.haw.swa.ordermanagement.domain.model.order.Order;
+import de.haw.swa.ordermanagement.domain.model.order.OrderItem;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.order.OrderSummary;
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Denormalized, immutable copy of an order including its items, as kept by the {@link OrderViewStore}.
+ */
+public record OrderView(
+        Long id,
+        Long customerId,
+        OrderStatus status,
+        Money totalAmount,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        List<Item> items
+) {
+    
+    public static OrderView of(Order order) {
+        return of(order, UnaryOperator.identity());
+    }
+    
+    /**
+     * @param names canonicalizes product names, so orders of the same product share one string
+     */
+    static OrderView of(Order order, UnaryOperator<String> names) {
+        List<Item> items = order.getItems().stream()
+            .map(item -> Item.of(item, names))
+            .toList();
+        return new OrderView(order.getId(), order.getCustomerId(), order.getStatus(), order.getTotalAmount(),
+            order.getCreatedAt(), order.getUpdatedAt(), items);
+    }
+    
+    public OrderView withStatus(OrderStatus status, LocalDateTime updatedAt) {
+        return new OrderView(id, customerId, status, totalAmount, createdAt, updatedAt, items);
+    }
+    
+    public OrderSummary toSummary() {
+        return new OrderSummary(id, customerId, status, totalAmount,
+            totalAmount.getCurrency().getCurrencyCode(), createdAt, updatedAt);
+    }
+    
+    /**
+     * Whether this view reflects a later state of the order than {@code other}. Changes within the same
+     * millisecond are ordered by status, which follows the order lifecycle.
+     */
+    public boolean isNewerThan(OrderView other) {
+        int compared = updatedAt.compareTo(other.updatedAt);
+        return compared > 0 || (compared == 0 && status.compareTo(other.status) >= 0);
+    }
+    
+    public record Item(Long productId, String productName, Money unitPrice, int quantity, Money totalPrice) {
+        
+        static Item of(OrderItem item, UnaryOperator<String> names) {
+            return new Item(item.getProductId(), names.apply(item.getProductName()), item.getUnitPrice(),
+                item.getQuantity(), item.getTotalPrice());
+        }
+    }
+}
\ No newline at end of file
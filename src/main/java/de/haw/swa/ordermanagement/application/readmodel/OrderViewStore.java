@@ -0,0 +1,163 @@
+package de.haw.swa.ordermanagement.application.readmodel;
+
+import de.haw.swa.ordermanagement.domain.model.order.Order;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * In-memory order views keyed by order ID, with secondary indexes by customer and status.
+ *
+ * Updates of one order are serialized by the primary map, which also keeps the indexes in step; an
+ * update only wins if it is newer than the stored view (see {@link OrderView#isNewerThan}). Index
+ * lookups re-check the view, so a reader racing with a status change never gets a wrong match.
+ */
+public class OrderViewStore {
+    
+    // Rough per-object sizes on a 64-bit JVM with compressed oops, used for the footprint estimate
+    private static final long BYTES_PER_ORDER = 200;
+    private static final long BYTES_PER_ITEM = 120;
+    private static final long BYTES_PER_INDEX_ENTRY = 48;
+    
+    private final ConcurrentHashMap<Long, OrderView> orders = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<Long>> byCustomer = new ConcurrentHashMap<>();
+    private final Map<OrderStatus, Set<Long>> byStatus = new EnumMap<>(OrderStatus.class);
+    private final ConcurrentHashMap<String, String> productNames = new ConcurrentHashMap<>();
+    private final AtomicLong itemCount = new AtomicLong();
+    private final AtomicLong productNameBytes = new AtomicLong();
+    
+    public OrderViewStore() {
+        for (OrderStatus status : OrderStatus.values()) {
+            byStatus.put(status, ConcurrentHashMap.newKeySet());
+        }
+    }
+    
+    /**
+     * Stores a view of the order unless the store already holds a newer one.
+     */
+    public OrderView put(Order order) {
+        return put(OrderView.of(order, this::canonicalName));
+    }
+    
+    /**
+     * Stores the view unless the store already holds a newer one and returns the view that is stored afterwards.
+     */
+    public OrderView put(OrderView view) {
+        return orders.compute(view.id(), (id, current) -> {
+            if (current != null && !view.isNewerThan(current)) {
+                return current;
+            }
+            if (current == null) {
+                byCustomer.computeIfAbsent(view.customerId(), customerId -> ConcurrentHashMap.newKeySet()).add(id);
+                itemCount.addAndGet(view.items().size());
+            } else if (current.status() != view.status()) {
+                byStatus.get(current.status()).remove(id);
+            }
+            byStatus.get(view.status()).add(id);
+            return view;
+        });
+    }
+    
+    /**
+     * Moves a known order to a new status; returns {@code false} if the order is not in the store.
+     */
+    public boolean changeStatus(Long orderId, OrderStatus status, LocalDateTime changedAt) {
+        OrderView current = orders.get(orderId);
+        if (current == null) {
+            return false;
+        }
+        put(current.withStatus(status, changedAt));
+        return true;
+    }
+    
+    public void remove(Long orderId) {
+        orders.computeIfPresent(orderId, (id, current) -> {
+            byStatus.get(current.status()).remove(id);
+            Set<Long> customerOrders = byCustomer.get(current.customerId());
+            if (customerOrders != null) {
+                customerOrders.remove(id);
+            }
+            itemCount.addAndGet(-current.items().size());
+            return null;
+        });
+    }
+    
+    public Optional<OrderView> get(Long orderId) {
+        return Optional.ofNullable(orders.get(orderId));
+    }
+    
+    public List<OrderView> findByCustomerId(Long customerId) {
+        Set<Long> ids = byCustomer.getOrDefault(customerId, Set.of());
+        return collect(ids, view -> view.customerId().equals(customerId));
+    }
+    
+    public List<OrderView> findByStatus(OrderStatus status) {
+        return collect(byStatus.get(status), view -> view.status() == status);
+    }
+    
+    public List<OrderView> findAll() {
+        return sorted(new ArrayList<>(orders.values()));
+    }
+    
+    public int size() {
+        return orders.size();
+    }
+    
+    public long itemCount() {
+        return itemCount.get();
+    }
+    
+    /**
+     * Estimated heap used by the views, their indexes and the shared product names, in bytes.
+     */
+    public long estimatedBytes() {
+        long orderCount = orders.size();
+        return orderCount * BYTES_PER_ORDER
+            + itemCount.get() * BYTES_PER_ITEM
+            + orderCount * 2 * BYTES_PER_INDEX_ENTRY
+            + productNameBytes.get();
+    }
+    
+    public void clear() {
+        orders.keySet().forEach(this::remove);
+    }
+    
+    private String canonicalName(String name) {
+        if (name == null) {
+            return null;
+        }
+        String canonical = productNames.putIfAbsent(name, name);
+        if (canonical == null) {
+            productNameBytes.addAndGet(40 + 2L * name.length());
+            return name;
+        }
+        return canonical;
+    }
+    
+    private List<OrderView> collect(Collection<Long> ids, Predicate<OrderView> stillMatches) {
+        List<OrderView> views = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            OrderView view = orders.get(id);
+            if (view != null && stillMatches.test(view)) {
+                views.add(view);
+            }
+        }
+        return sorted(views);
+    }
+    
+    private static List<OrderView> sorted(List<OrderView> views) {
+        views.sort(Comparator.comparing(OrderView::id));
+        return views;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,375 @@
+package de.haw.swa.ordermanagement.application.readmodel;
+
+import de.haw.swa.ordermanagement.domain.model.product.Product;
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Product catalog held outside the Java heap, so millions of entries add nothing for the GC to trace.
+ *
+ * Each product is a fixed 48-byte record in a direct buffer: ID, price in cents, stock, the sync
+ * generation, offset/length of name and description in a {@link StringArena} and the number of the
+ * last change. An off-heap hash index maps product IDs to record slots. Reads decode a
+ * {@link ProductView} per call; stock updates are written in place. The arena is compacted once more
+ * than half of it holds replaced strings.
+ *
+ * Changes the owner learned from events ({@link #put}, {@link #updateStock}, {@link #remove}) are
+ * numbered. Products read from the database are written with {@link #putIfUnchangedSince}, which
+ * skips products changed or removed after the read began, so a slow read cannot undo a newer
+ * change. Removed IDs are kept as tombstones until the end of the next synchronization.
+ *
+ * All prices are in euro, like the products they are copied from.
+ */
+public class ProductCatalog {
+    
+    private static final int RECORD_SIZE = 48;
+    private static final int ID = 0;
+    private static final int PRICE = 8;
+    private static final int STOCK = 16;
+    private static final int GENERATION = 20;
+    private static final int NAME_OFFSET = 24;
+    private static final int NAME_LENGTH = 28;
+    private static final int DESCRIPTION_OFFSET = 32;
+    private static final int DESCRIPTION_LENGTH = 36;
+    private static final int CHANGE = 40;
+    private static final int NO_DESCRIPTION = -1;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final OffHeapLongIntIndex index;
+    private ByteBuffer records;
+    private StringArena arena;
+    private int highWaterSlot;
+    private int[] freeSlots = new int[16];
+    private int freeSlotCount;
+    private long deadStringBytes;
+    private int generation;
+    private long changes;
+    private long changesAtSyncStart;
+    private final Map<Long, Long> tombstones = new HashMap<>();
+    
+    public ProductCatalog(int expectedProducts) {
+        int capacity = Math.max(expectedProducts, 16);
+        this.index = new OffHeapLongIntIndex(capacity);
+        this.records = ByteBuffer.allocateDirect(Math.multiplyExact(capacity, RECORD_SIZE));
+        this.arena = new StringArena(capacity * 64L);
+    }
+    
+    public void put(Product product) {
+        put(product.getId(), product.getName(), product.getDescription(), product.getPrice(), product.getStockQuantity());
+    }
+    
+    public void put(Long id, String name, String description, Money price, int stockQuantity) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        byte[] descriptionBytes = description == null ? null : description.getBytes(StandardCharsets.UTF_8);
+        lock.writeLock().lock();
+        try {
+            int slot = write(id, nameBytes, descriptionBytes, price, stockQuantity);
+            records.putLong(slot * RECORD_SIZE + CHANGE, ++changes);
+            tombstones.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Number of the latest change; take it before reading products for {@link #putIfUnchangedSince}.
+     */
+    public long changeMark() {
+        lock.readLock().lock();
+        try {
+            return changes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Stores a product read from the database, unless it was changed or removed after {@code changeMark}
+     * was taken; a product that is kept still counts as written for the running synchronization.
+     *
+     * @return whether the product was stored
+     */
+    public boolean putIfUnchangedSince(Product product, long changeMark) {
+        byte[] nameBytes = product.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] descriptionBytes = product.getDescription() == null ? null
+            : product.getDescription().getBytes(StandardCharsets.UTF_8);
+        lock.writeLock().lock();
+        try {
+            Long removedAt = tombstones.get(product.getId());
+            if (removedAt != null && removedAt > changeMark) {
+                return false;
+            }
+            int slot = index.get(product.getId());
+            if (slot >= 0 && records.getLong(slot * RECORD_SIZE + CHANGE) > changeMark) {
+                records.putInt(slot * RECORD_SIZE + GENERATION, generation);
+                return false;
+            }
+            write(product.getId(), nameBytes, descriptionBytes, product.getPrice(), product.getStockQuantity());
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Updates the stock of a known product in place; returns {@code false} if the product is not in the catalog.
+     */
+    public boolean updateStock(Long id, int stockQuantity) {
+        lock.writeLock().lock();
+        try {
+            int slot = index.get(id);
+            if (slot < 0) {
+                return false;
+            }
+            records.putInt(slot * RECORD_SIZE + STOCK, stockQuantity);
+            records.putInt(slot * RECORD_SIZE + GENERATION, generation);
+            records.putLong(slot * RECORD_SIZE + CHANGE, ++changes);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Removes a product and keeps its ID as tombstone, so reads that began before cannot bring it back.
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            int slot = index.get(id);
+            if (slot >= 0) {
+                release(slot);
+                compactIfWasteful();
+            }
+            tombstones.put(id, ++changes);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public Optional<ProductView> get(Long id) {
+        lock.readLock().lock();
+        try {
+            int slot = index.get(id);
+            return slot < 0 ? Optional.empty() : Optional.of(decode(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public List<ProductView> getAll(Collection<Long> ids) {
+        List<ProductView> views = new ArrayList<>(ids.size());
+        lock.readLock().lock();
+        try {
+            for (Long id : ids) {
+                int slot = index.get(id);
+                if (slot >= 0) {
+                    views.add(decode(slot));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return views;
+    }
+    
+    /**
+     * All products in ID order.
+     */
+    public List<ProductView> findAll() {
+        List<ProductView> views;
+        lock.readLock().lock();
+        try {
+            views = new ArrayList<>(index.size());
+            for (int slot = 0; slot < highWaterSlot; slot++) {
+                if (records.getLong(slot * RECORD_SIZE + ID) != 0) {
+                    views.add(decode(slot));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        views.sort(Comparator.comparing(ProductView::id));
+        return views;
+    }
+    
+    /**
+     * Starts a full synchronization: every product written from now on carries the returned generation.
+     */
+    public int beginSync() {
+        lock.writeLock().lock();
+        try {
+            changesAtSyncStart = changes;
+            return ++generation;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Removes all products that were not written since {@link #beginSync()} returned {@code syncGeneration},
+     * and the tombstones of products removed before that; the synchronization read after their removal.
+     *
+     * @return the IDs of the removed products
+     */
+    public List<Long> removeNotSyncedSince(int syncGeneration) {
+        lock.writeLock().lock();
+        try {
+            tombstones.values().removeIf(removedAt -> removedAt <= changesAtSyncStart);
+            List<Long> removed = new ArrayList<>();
+            for (int slot = 0; slot < highWaterSlot; slot++) {
+                int base = slot * RECORD_SIZE;
+                if (records.getLong(base + ID) != 0 && records.getInt(base + GENERATION) - syncGeneration < 0) {
+                    removed.add(records.getLong(base + ID));
+                    release(slot);
+                }
+            }
+            compactIfWasteful();
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Direct memory reserved by records, index and string arena, in bytes.
+     */
+    public long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return records.capacity() + index.capacityBytes() + arena.capacityBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private int write(Long id, byte[] nameBytes, byte[] descriptionBytes, Money price, int stockQuantity) {
+        int slot = index.get(id);
+        int base;
+        if (slot < 0) {
+            slot = allocateSlot();
+            index.put(id, slot);
+            base = slot * RECORD_SIZE;
+            records.putLong(base + ID, id);
+            records.putLong(base + CHANGE, 0);
+            writeName(base, nameBytes);
+            writeDescription(base, descriptionBytes);
+        } else {
+            base = slot * RECORD_SIZE;
+            if (!arena.matches(records.getInt(base + NAME_OFFSET), records.getInt(base + NAME_LENGTH), nameBytes)) {
+                deadStringBytes += records.getInt(base + NAME_LENGTH);
+                writeName(base, nameBytes);
+            }
+            if (!descriptionMatches(base, descriptionBytes)) {
+                deadStringBytes += Math.max(records.getInt(base + DESCRIPTION_LENGTH), 0);
+                writeDescription(base, descriptionBytes);
+            }
+        }
+        records.putLong(base + PRICE, price.getCents());
+        records.putInt(base + STOCK, stockQuantity);
+        records.putInt(base + GENERATION, generation);
+        compactIfWasteful();
+        return slot;
+    }
+    
+    private ProductView decode(int slot) {
+        int base = slot * RECORD_SIZE;
+        int descriptionLength = records.getInt(base + DESCRIPTION_LENGTH);
+        return new ProductView(
+            records.getLong(base + ID),
+            arena.read(records.getInt(base + NAME_OFFSET), records.getInt(base + NAME_LENGTH)),
+            descriptionLength == NO_DESCRIPTION ? null
+                : arena.read(records.getInt(base + DESCRIPTION_OFFSET), descriptionLength),
+            Money.euroCents(records.getLong(base + PRICE)),
+            records.getInt(base + STOCK));
+    }
+    
+    private int allocateSlot() {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        if ((highWaterSlot + 1L) * RECORD_SIZE > records.capacity()) {
+            ByteBuffer grown = ByteBuffer.allocateDirect(Math.multiplyExact(records.capacity(), 2));
+            grown.put(0, records, 0, highWaterSlot * RECORD_SIZE);
+            records = grown;
+        }
+        return highWaterSlot++;
+    }
+    
+    private void release(int slot) {
+        int base = slot * RECORD_SIZE;
+        index.remove(records.getLong(base + ID));
+        deadStringBytes += records.getInt(base + NAME_LENGTH) + Math.max(records.getInt(base + DESCRIPTION_LENGTH), 0);
+        records.putLong(base + ID, 0);
+        if (freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeSlotCount++] = slot;
+    }
+    
+    private void writeName(int base, byte[] name) {
+        records.putInt(base + NAME_OFFSET, arena.append(name));
+        records.putInt(base + NAME_LENGTH, name.length);
+    }
+    
+    private void writeDescription(int base, byte[] description) {
+        if (description == null) {
+            records.putInt(base + DESCRIPTION_OFFSET, 0);
+            records.putInt(base + DESCRIPTION_LENGTH, NO_DESCRIPTION);
+        } else {
+            records.putInt(base + DESCRIPTION_OFFSET, arena.append(description));
+            records.putInt(base + DESCRIPTION_LENGTH, description.length);
+        }
+    }
+    
+    private boolean descriptionMatches(int base, byte[] description) {
+        int length = records.getInt(base + DESCRIPTION_LENGTH);
+        if (description == null || length == NO_DESCRIPTION) {
+            return description == null && length == NO_DESCRIPTION;
+        }
+        return arena.matches(records.getInt(base + DESCRIPTION_OFFSET), length, description);
+    }
+    
+    private void compactIfWasteful() {
+        if (deadStringBytes * 2 <= arena.used()) {
+            return;
+        }
+        StringArena compacted = new StringArena((arena.used() - deadStringBytes) * 2);
+        for (int slot = 0; slot < highWaterSlot; slot++) {
+            int base = slot * RECORD_SIZE;
+            if (records.getLong(base + ID) == 0) {
+                continue;
+            }
+            records.putInt(base + NAME_OFFSET,
+                compacted.copyFrom(arena, records.getInt(base + NAME_OFFSET), records.getInt(base + NAME_LENGTH)));
+            int descriptionLength = records.getInt(base + DESCRIPTION_LENGTH);
+            if (descriptionLength != NO_DESCRIPTION) {
+                records.putInt(base + DESCRIPTION_OFFSET,
+                    compacted.copyFrom(arena, records.getInt(base + DESCRIPTION_OFFSET), descriptionLength));
+            }
+        }
+        arena = compacted;
+        deadStringBytes = 0;
+    }
+}
\ No newline at end of file
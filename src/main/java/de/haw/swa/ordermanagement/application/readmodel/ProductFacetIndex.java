@@ -0,0 +1,405 @@
+package de.haw.swa.ordermanagement.application.readmodel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmap indexes over product ordinals for filtering by price, availability, stock and name.
+ *
+ * Every product gets an ordinal, and every facet value is a bitmap over these ordinals: one per price
+ * band, one for the products in stock and one per configured stock threshold (stock at least the
+ * threshold). A filter combines the bitmaps with AND and OR. Only price bands cut by the price range and
+ * stock thresholds that do not match the requested minimum are checked product by product; the name is
+ * checked last on the products that are still left. The counts per price band and availability are
+ * computed from the same bitmaps, each without its own filter applied, so a client can show how many
+ * products another choice would find.
+ *
+ * Products are usually indexed in ID order, and then their ordinals ascend with their IDs, so a page is
+ * read straight off the matches. Once a product was indexed out of that order, a page keeps the
+ * {@code offset + limit} lowest IDs of the matches in a bounded heap instead.
+ */
+public class ProductFacetIndex {
+    
+    private final long[] priceBoundsCents;
+    private final int[] stockThresholds;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private long[] productIds = new long[16];
+    private long[] pricesCents = new long[16];
+    private int[] stocks = new int[16];
+    private String[] names = new String[16];
+    private int highWaterOrdinal;
+    private boolean ordinalsInIdOrder = true;
+    private int[] freeOrdinals = new int[16];
+    private int freeOrdinalCount;
+    
+    private final BitSet live = new BitSet();
+    private final BitSet inStock = new BitSet();
+    private final BitSet[] priceBands;
+    private final BitSet[] stockAtLeast;
+    
+    /**
+     * @param priceBoundsCents ascending upper bounds (exclusive) of the price bands; the last band is open
+     * @param stockThresholds ascending stock quantities that get their own bitmap
+     */
+    public ProductFacetIndex(long[] priceBoundsCents, int[] stockThresholds) {
+        requireAscending(priceBoundsCents, "price bounds");
+        requireAscending(Arrays.stream(stockThresholds).asLongStream().toArray(), "stock thresholds");
+        this.priceBoundsCents = priceBoundsCents.clone();
+        this.stockThresholds = stockThresholds.clone();
+        this.priceBands = new BitSet[priceBoundsCents.length + 1];
+        for (int i = 0; i < priceBands.length; i++) {
+            priceBands[i] = new BitSet();
+        }
+        this.stockAtLeast = new BitSet[stockThresholds.length];
+        for (int i = 0; i < stockAtLeast.length; i++) {
+            stockAtLeast[i] = new BitSet();
+        }
+    }
+    
+    /**
+     * Indexes a product, replacing what was indexed for it before.
+     */
+    public void put(Long productId, String name, long priceCents, int stockQuantity) {
+        String normalizedName = ProductSearchIndex.normalize(name);
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(productId);
+            if (ordinal == null) {
+                ordinal = allocateOrdinal();
+                ordinalsInIdOrder = ordinalsInIdOrder && fitsIdOrder(ordinal, productId);
+                ordinals.put(productId, ordinal);
+                productIds[ordinal] = productId;
+            } else {
+                clearBits(ordinal);
+            }
+            names[ordinal] = normalizedName;
+            pricesCents[ordinal] = priceCents;
+            stocks[ordinal] = stockQuantity;
+            setBits(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Changes the stock of an indexed product; returns {@code false} if the product is not indexed.
+     */
+    public boolean updateStock(Long productId, int stockQuantity) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(productId);
+            if (ordinal == null) {
+                return false;
+            }
+            clearBits(ordinal);
+            stocks[ordinal] = stockQuantity;
+            setBits(ordinal);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(productId);
+            if (ordinal != null) {
+                clearBits(ordinal);
+                productIds[ordinal] = 0;
+                names[ordinal] = null;
+                if (freeOrdinalCount == freeOrdinals.length) {
+                    freeOrdinals = Arrays.copyOf(freeOrdinals, freeOrdinals.length * 2);
+                }
+                freeOrdinals[freeOrdinalCount++] = ordinal;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Products matching every given criterion, ordered by ID, skipping {@code offset} and returning at
+     * most {@code limit} of them, together with the total number of matches and the facet counts.
+     */
+    public Result filter(Filter filter, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            // Matches before price and availability, which have counts of their own
+            BitSet common = (BitSet) live.clone();
+            BitSet minStock = minStockSet(filter.minStock());
+            if (minStock != null) {
+                common.and(minStock);
+            }
+            if (filter.name() != null) {
+                retainNameMatches(common, filter.name());
+            }
+            BitSet priced = (BitSet) common.clone();
+            BitSet priceRange = priceSet(filter.minPriceCents(), filter.maxPriceCents());
+            if (priceRange != null) {
+                priced.and(priceRange);
+            }
+            BitSet available = (BitSet) common.clone();
+            if (filter.inStock() != null) {
+                if (filter.inStock()) {
+                    available.and(inStock);
+                } else {
+                    available.andNot(inStock);
+                }
+            }
+            BitSet matches = (BitSet) priced.clone();
+            matches.and(available);
+            
+            int total = matches.cardinality();
+            return new Result(page(matches, total, offset, limit), total, facets(priced, available));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private Facets facets(BitSet priced, BitSet available) {
+        List<PriceBandCount> bandCounts = new ArrayList<>(priceBands.length);
+        for (int i = 0; i < priceBands.length; i++) {
+            BitSet band = (BitSet) priceBands[i].clone();
+            band.and(available);
+            bandCounts.add(new PriceBandCount(lowerBound(i), i < priceBoundsCents.length ? priceBoundsCents[i] : null,
+                band.cardinality()));
+        }
+        BitSet pricedInStock = (BitSet) priced.clone();
+        pricedInStock.and(inStock);
+        int inStockCount = pricedInStock.cardinality();
+        return new Facets(bandCounts, inStockCount, priced.cardinality() - inStockCount);
+    }
+    
+    private List<Long> page(BitSet matches, int total, int offset, int limit) {
+        offset = Math.max(offset, 0);
+        if (limit <= 0 || offset >= total) {
+            return List.of();
+        }
+        int end = (int) Math.min((long) offset + limit, total);
+        List<Long> page = new ArrayList<>(end - offset);
+        if (ordinalsInIdOrder) {
+            int ordinal = matches.nextSetBit(0);
+            for (int skipped = 0; skipped < offset; skipped++) {
+                ordinal = matches.nextSetBit(ordinal + 1);
+            }
+            for (; page.size() < end - offset; ordinal = matches.nextSetBit(ordinal + 1)) {
+                page.add(productIds[ordinal]);
+            }
+            return page;
+        }
+        long[] lowest = lowestIds(matches, end);
+        Arrays.sort(lowest);
+        for (int i = offset; i < end; i++) {
+            page.add(lowest[i]);
+        }
+        return page;
+    }
+    
+    /**
+     * The {@code count} lowest IDs of the matches, in a max-heap so the highest of them is replaced first.
+     */
+    private long[] lowestIds(BitSet matches, int count) {
+        long[] heap = new long[count];
+        int size = 0;
+        for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+            long id = productIds[ordinal];
+            if (size < count) {
+                int at = size++;
+                while (at > 0 && heap[(at - 1) / 2] < id) {
+                    heap[at] = heap[(at - 1) / 2];
+                    at = (at - 1) / 2;
+                }
+                heap[at] = id;
+            } else if (id < heap[0]) {
+                int at = 0;
+                while (true) {
+                    int child = 2 * at + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && heap[child + 1] > heap[child]) {
+                        child++;
+                    }
+                    if (heap[child] <= id) {
+                        break;
+                    }
+                    heap[at] = heap[child];
+                    at = child;
+                }
+                heap[at] = id;
+            }
+        }
+        return heap;
+    }
+    
+    /**
+     * OR of the price bands within the range; bands cut by the range contribute only their matching products.
+     */
+    private BitSet priceSet(Long minCents, Long maxCents) {
+        if (minCents == null && maxCents == null) {
+            return null;
+        }
+        long min = minCents == null ? Long.MIN_VALUE : minCents;
+        long max = maxCents == null ? Long.MAX_VALUE : maxCents;
+        BitSet result = new BitSet();
+        for (int i = 0; i < priceBands.length; i++) {
+            long lowest = lowerBound(i);
+            long highest = i < priceBoundsCents.length ? priceBoundsCents[i] - 1 : Long.MAX_VALUE;
+            if (lowest >= min && highest <= max) {
+                result.or(priceBands[i]);
+            } else if (lowest <= max && highest >= min) {
+                BitSet band = priceBands[i];
+                for (int ordinal = band.nextSetBit(0); ordinal >= 0; ordinal = band.nextSetBit(ordinal + 1)) {
+                    if (pricesCents[ordinal] >= min && pricesCents[ordinal] <= max) {
+                        result.set(ordinal);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Products with at least the given stock: the bitmap of the highest threshold not above it, checked
+     * product by product unless the threshold matches exactly.
+     */
+    private BitSet minStockSet(Integer minStock) {
+        if (minStock == null || minStock <= 0) {
+            return null;
+        }
+        BitSet base = inStock;
+        int baseThreshold = 1;
+        for (int i = 0; i < stockThresholds.length && stockThresholds[i] <= minStock; i++) {
+            if (stockThresholds[i] >= baseThreshold) {
+                base = stockAtLeast[i];
+                baseThreshold = stockThresholds[i];
+            }
+        }
+        BitSet result = (BitSet) base.clone();
+        if (baseThreshold != minStock) {
+            for (int ordinal = result.nextSetBit(0); ordinal >= 0; ordinal = result.nextSetBit(ordinal + 1)) {
+                if (stocks[ordinal] < minStock) {
+                    result.clear(ordinal);
+                }
+            }
+        }
+        return result;
+    }
+    
+    private void retainNameMatches(BitSet candidates, String name) {
+        String normalized = ProductSearchIndex.normalize(name);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        String[] terms = normalized.split(" ");
+        for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+            for (String term : terms) {
+                if (!names[ordinal].contains(term)) {
+                    candidates.clear(ordinal);
+                    break;
+                }
+            }
+        }
+    }
+    
+    private void setBits(int ordinal) {
+        live.set(ordinal);
+        priceBands[band(pricesCents[ordinal])].set(ordinal);
+        int stock = stocks[ordinal];
+        if (stock > 0) {
+            inStock.set(ordinal);
+        }
+        for (int i = 0; i < stockThresholds.length && stockThresholds[i] <= stock; i++) {
+            stockAtLeast[i].set(ordinal);
+        }
+    }
+    
+    private void clearBits(int ordinal) {
+        live.clear(ordinal);
+        priceBands[band(pricesCents[ordinal])].clear(ordinal);
+        inStock.clear(ordinal);
+        for (BitSet threshold : stockAtLeast) {
+            threshold.clear(ordinal);
+        }
+    }
+    
+    private int band(long priceCents) {
+        int at = Arrays.binarySearch(priceBoundsCents, priceCents);
+        // A price equal to a bound belongs to the next band
+        return at >= 0 ? at + 1 : -at - 1;
+    }
+    
+    private long lowerBound(int band) {
+        return band == 0 ? 0 : priceBoundsCents[band - 1];
+    }
+    
+    /**
+     * Whether a product indexed at this ordinal keeps the ordinals of the live products in ID order.
+     */
+    private boolean fitsIdOrder(int ordinal, long productId) {
+        int previous = live.previousSetBit(ordinal - 1);
+        int next = live.nextSetBit(ordinal + 1);
+        return (previous < 0 || productIds[previous] < productId) && (next < 0 || productIds[next] > productId);
+    }
+    
+    private int allocateOrdinal() {
+        if (freeOrdinalCount > 0) {
+            return freeOrdinals[--freeOrdinalCount];
+        }
+        if (highWaterOrdinal == productIds.length) {
+            int capacity = productIds.length * 2;
+            productIds = Arrays.copyOf(productIds, capacity);
+            pricesCents = Arrays.copyOf(pricesCents, capacity);
+            stocks = Arrays.copyOf(stocks, capacity);
+            names = Arrays.copyOf(names, capacity);
+        }
+        return highWaterOrdinal++;
+    }
+    
+    private static void requireAscending(long[] values, String what) {
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] <= values[i - 1]) {
+                throw new IllegalArgumentException("The " + what + " must be strictly ascending");
+            }
+        }
+    }
+    
+    /**
+     * Filter criteria; {@code null} means the criterion is not restricted. Price bounds are inclusive.
+     */
+    public record Filter(Long minPriceCents, Long maxPriceCents, Boolean inStock, Integer minStock, String name) {
+    }
+    
+    public record Result(List<Long> productIds, int total, Facets facets) {
+    }
+    
+    /**
+     * Number of matches per price band, ignoring the price range, and per availability, ignoring the
+     * availability filter.
+     */
+    public record Facets(List<PriceBandCount> priceBands, int inStock, int outOfStock) {
+    }
+    
+    /**
+     * @param toCents exclusive upper bound, {@code null} for the highest band
+     */
+    public record PriceBandCount(long fromCents, Long toCents, int count) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package de.haw.swa.ordermanagement.application.readmodel;
+
+import java.util.List;
+
+/**
+ * One page of filtered products with the total number of matches and the facet counts.
+ */
+public record ProductPage(List<ProductView> products, int total, ProductFacetIndex.Facets facets) {
+}
\ No newline at end of file
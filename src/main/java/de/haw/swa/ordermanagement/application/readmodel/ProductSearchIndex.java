@@ -0,0 +1,341 @@
+package de.haw.swa.ordermanagement.application.readmodel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Trigram and bigram inverted index over product names and descriptions.
+ *
+ * Texts are lower-cased and split into words; every trigram and every bigram of a word maps to a sorted
+ * posting list of product ordinals. A query term of three or more characters is answered by intersecting
+ * the posting lists of its trigrams, a term of two characters by the posting list of its bigram, starting
+ * with the shortest list, and the few remaining candidates are checked against the stored text.
+ * Single characters have no posting list: they only narrow down the candidates of the other terms, and a
+ * query of single characters alone finds nothing (see {@link #isSearchable}), so no search scans all products.
+ *
+ * A product matches if every query term occurs in its name or description. Results are ranked by
+ * where the terms occur: a whole word of the name scores highest, then the start of a word of the
+ * name, anywhere in the name and last only in the description.
+ */
+public class ProductSearchIndex {
+    
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int GRAM = 3;
+    private static final int MIN_TERM_LENGTH = 2;
+    // Sets a bit above the three characters of a trigram, so bigrams and trigrams share one key space
+    private static final long BIGRAM = 1L << 48;
+    
+    private static final int WORD_IN_NAME = 4;
+    private static final int WORD_START_IN_NAME = 3;
+    private static final int IN_NAME = 2;
+    private static final int IN_DESCRIPTION = 1;
+    
+    private static final Comparator<Match> BEST_FIRST = Comparator.comparingInt(Match::score).reversed()
+        .thenComparingInt(Match::nameLength)
+        .thenComparingLong(Match::productId);
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private long[] productIds = new long[16];
+    private String[] names = new String[16];
+    private String[] descriptions = new String[16];
+    private int highWaterOrdinal;
+    private int[] freeOrdinals = new int[16];
+    private int freeOrdinalCount;
+    
+    /**
+     * Indexes a product, replacing what was indexed for it before.
+     */
+    public void put(Long productId, String name, String description) {
+        String normalizedName = normalize(name);
+        String normalizedDescription = normalize(description);
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(productId);
+            if (ordinal == null) {
+                ordinal = allocateOrdinal();
+                ordinals.put(productId, ordinal);
+                productIds[ordinal] = productId;
+            } else if (normalizedName.equals(names[ordinal]) && normalizedDescription.equals(descriptions[ordinal])) {
+                return;
+            } else {
+                removePostings(ordinal);
+            }
+            names[ordinal] = normalizedName;
+            descriptions[ordinal] = normalizedDescription;
+            for (long gram : grams(normalizedName, normalizedDescription)) {
+                postings.computeIfAbsent(gram, g -> new PostingList()).add(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(productId);
+            if (ordinal != null) {
+                removePostings(ordinal);
+                productIds[ordinal] = 0;
+                names[ordinal] = null;
+                descriptions[ordinal] = null;
+                if (freeOrdinalCount == freeOrdinals.length) {
+                    freeOrdinals = Arrays.copyOf(freeOrdinals, freeOrdinals.length * 2);
+                }
+                freeOrdinals[freeOrdinalCount++] = ordinal;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * IDs of the best matching products, best match first.
+     */
+    public List<Long> search(String query, int limit) {
+        String[] terms = terms(query);
+        if (terms.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        // Keeps the best matches only; the worst of them is at the head
+        PriorityQueue<Match> matches = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        lock.readLock().lock();
+        try {
+            for (int ordinal : candidates(terms)) {
+                collect(ordinal, terms, matches, limit);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Match> best = new ArrayList<>(matches);
+        best.sort(BEST_FIRST);
+        return best.stream().map(Match::productId).toList();
+    }
+    
+    /**
+     * Whether the query has a term of at least two characters; queries without one find nothing.
+     */
+    public static boolean isSearchable(String query) {
+        for (String term : terms(query)) {
+            if (term.length() >= MIN_TERM_LENGTH) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Number of distinct trigrams and bigrams, i.e. of posting lists.
+     */
+    public int gramCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Intersection of the posting lists of all terms: their trigrams, or their bigram if they are too short
+     * for a trigram. Empty if no term is long enough for either.
+     */
+    private int[] candidates(String[] terms) {
+        List<PostingList> lists = new ArrayList<>();
+        for (String term : terms) {
+            Set<Long> grams = term.length() >= GRAM ? wordGrams(term, new LinkedHashSet<>())
+                : wordBigrams(term, new LinkedHashSet<>());
+            for (long gram : grams) {
+                PostingList list = postings.get(gram);
+                if (list == null) {
+                    return new int[0];
+                }
+                lists.add(list);
+            }
+        }
+        if (lists.isEmpty()) {
+            return new int[0];
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        PostingList shortest = lists.get(0);
+        int[] result = new int[shortest.size()];
+        int count = 0;
+        for (int i = 0; i < shortest.size(); i++) {
+            int ordinal = shortest.get(i);
+            boolean inAll = true;
+            for (int j = 1; j < lists.size() && inAll; j++) {
+                inAll = lists.get(j).contains(ordinal);
+            }
+            if (inAll) {
+                result[count++] = ordinal;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+    
+    private void collect(int ordinal, String[] terms, PriorityQueue<Match> matches, int limit) {
+        String name = names[ordinal];
+        if (name == null) {
+            return;
+        }
+        String description = descriptions[ordinal];
+        int score = 0;
+        for (String term : terms) {
+            int termScore = termScore(name, description, term);
+            if (termScore == 0) {
+                return;
+            }
+            score += termScore;
+        }
+        matches.add(new Match(productIds[ordinal], score, name.length()));
+        if (matches.size() > limit) {
+            matches.poll();
+        }
+    }
+    
+    private static int termScore(String name, String description, String term) {
+        int best = 0;
+        for (int at = name.indexOf(term); at >= 0; at = name.indexOf(term, at + 1)) {
+            boolean wordStart = at == 0 || name.charAt(at - 1) == ' ';
+            boolean wordEnd = at + term.length() == name.length() || name.charAt(at + term.length()) == ' ';
+            best = Math.max(best, wordStart ? (wordEnd ? WORD_IN_NAME : WORD_START_IN_NAME) : IN_NAME);
+        }
+        if (best == 0 && description.contains(term)) {
+            best = IN_DESCRIPTION;
+        }
+        return best;
+    }
+    
+    private void removePostings(int ordinal) {
+        for (long gram : grams(names[ordinal], descriptions[ordinal])) {
+            PostingList list = postings.get(gram);
+            if (list != null && list.remove(ordinal) && list.size() == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+    
+    private int allocateOrdinal() {
+        if (freeOrdinalCount > 0) {
+            return freeOrdinals[--freeOrdinalCount];
+        }
+        if (highWaterOrdinal == productIds.length) {
+            int capacity = productIds.length * 2;
+            productIds = Arrays.copyOf(productIds, capacity);
+            names = Arrays.copyOf(names, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+        }
+        return highWaterOrdinal++;
+    }
+    
+    private static Set<Long> grams(String name, String description) {
+        Set<Long> grams = new LinkedHashSet<>();
+        for (String text : new String[] {name, description}) {
+            for (String word : text.split(" ")) {
+                wordGrams(word, grams);
+                wordBigrams(word, grams);
+            }
+        }
+        return grams;
+    }
+    
+    private static Set<Long> wordGrams(String word, Set<Long> grams) {
+        for (int i = 0; i + GRAM <= word.length(); i++) {
+            grams.add(((long) word.charAt(i) << 32) | ((long) word.charAt(i + 1) << 16) | word.charAt(i + 2));
+        }
+        return grams;
+    }
+    
+    private static Set<Long> wordBigrams(String word, Set<Long> grams) {
+        for (int i = 0; i + 2 <= word.length(); i++) {
+            grams.add(BIGRAM | ((long) word.charAt(i) << 16) | word.charAt(i + 1));
+        }
+        return grams;
+    }
+    
+    private static String[] terms(String query) {
+        String normalized = normalize(query);
+        return normalized.isEmpty() ? new String[0] : Arrays.stream(normalized.split(" ")).distinct().toArray(String[]::new);
+    }
+    
+    /**
+     * Lower-cased words separated by single spaces.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return SEPARATORS.matcher(text.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+    
+    private record Match(long productId, int score, int nameLength) {
+    }
+    
+    /**
+     * Sorted, duplicate-free list of ordinals. New products get the highest ordinal so far unless an
+     * ordinal is reused, so adding is usually an append.
+     */
+    private static final class PostingList {
+        
+        private int[] ordinals = new int[4];
+        private int size;
+        
+        void add(int ordinal) {
+            int at = size > 0 && ordinals[size - 1] < ordinal ? -size - 1 : Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (at >= 0) {
+                return;
+            }
+            int insertAt = -at - 1;
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            System.arraycopy(ordinals, insertAt, ordinals, insertAt + 1, size - insertAt);
+            ordinals[insertAt] = ordinal;
+            size++;
+        }
+        
+        boolean remove(int ordinal) {
+            int at = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(ordinals, at + 1, ordinals, at, size - at - 1);
+            size--;
+            return true;
+        }
+        
+        boolean contains(int ordinal) {
+            return Arrays.binarySearch(ordinals, 0, size, ordinal) >= 0;
+        }
+        
+        int get(int index) {
+            return ordinals[index];
+        }
+        
+        int size() {
+            return size;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,345 @@
+package de.haw.swa.ordermanagement.application.readmodel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Type-ahead suggestions for product names from a radix trie.
+ *
+ * Every product is inserted under its normalized name and under the rest of the name from each later
+ * word on, so "Kabellose Kopfhörer" is suggested for "kab" as well as for "kopf". Edges carry whole
+ * label strings instead of single characters, so chains without branches take a single node. Each
+ * node keeps the best {@code topK} products of its subtree, ranked by weight (the stock quantity), so a
+ * lookup walks the prefix and returns that list without visiting the subtree. Changes recompute the
+ * lists along the changed paths only.
+ */
+public class ProductSuggester {
+    
+    private final int topK;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node("");
+    private final Map<Long, Entry> entries = new HashMap<>();
+    
+    public ProductSuggester(int topK) {
+        if (topK < 1) {
+            throw new IllegalArgumentException("topK must be positive");
+        }
+        this.topK = topK;
+    }
+    
+    /**
+     * Adds a product or updates its name and weight.
+     */
+    public void put(Long productId, String name, int weight) {
+        Set<String> keys = keys(name);
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.get(productId);
+            if (previous != null && previous.keys.equals(keys)) {
+                updateWeight(productId, weight);
+                return;
+            }
+            if (previous != null) {
+                for (String key : previous.keys) {
+                    remove(root, key, 0, productId);
+                }
+            }
+            entries.put(productId, new Entry(keys, weight));
+            for (String key : keys) {
+                insert(root, key, 0, productId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Changes the weight of a known product; returns {@code false} if the product is unknown.
+     */
+    public boolean updateWeight(Long productId, int weight) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.get(productId);
+            if (entry == null) {
+                return false;
+            }
+            if (entry.weight != weight) {
+                entry.weight = weight;
+                for (String key : entry.keys) {
+                    refresh(root, key, 0);
+                }
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.get(productId);
+            if (entry != null) {
+                // The weight is still needed while other keys of the product are in the lists
+                for (String key : entry.keys) {
+                    remove(root, key, 0, productId);
+                }
+                entries.remove(productId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * IDs of the products with the highest weight among those with a name or name part starting with {@code prefix}.
+     */
+    public List<Long> suggest(String prefix, int limit) {
+        String key = ProductSearchIndex.normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int pos = 0;
+            while (pos < key.length()) {
+                node = node.child(key.charAt(pos));
+                if (node == null) {
+                    return List.of();
+                }
+                int common = commonPrefixLength(node.label, key, pos);
+                if (pos + common < key.length() && common < node.label.length()) {
+                    return List.of();
+                }
+                pos += common;
+            }
+            List<Long> suggestions = new ArrayList<>(Math.min(limit, node.top.length));
+            for (int i = 0; i < node.top.length && suggestions.size() < limit; i++) {
+                suggestions.add(node.top[i]);
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void insert(Node node, String key, int pos, long productId) {
+        if (pos == key.length()) {
+            node.addProduct(productId);
+        } else {
+            Node child = node.child(key.charAt(pos));
+            if (child == null) {
+                child = new Node(key.substring(pos));
+                node.addChild(child);
+            } else {
+                int common = commonPrefixLength(child.label, key, pos);
+                if (common < child.label.length()) {
+                    child = node.split(child, common);
+                }
+            }
+            insert(child, key, pos + child.label.length(), productId);
+        }
+        recomputeTop(node);
+    }
+    
+    private void remove(Node node, String key, int pos, long productId) {
+        if (pos == key.length()) {
+            node.removeProduct(productId);
+        } else {
+            Node child = node.child(key.charAt(pos));
+            if (child == null || !key.startsWith(child.label, pos)) {
+                return;
+            }
+            remove(child, key, pos + child.label.length(), productId);
+            if (child.products.length == 0 && child.children.length == 0) {
+                node.removeChild(child);
+            } else if (child.products.length == 0 && child.children.length == 1) {
+                node.replaceChild(child, child.children[0].withLabel(child.label + child.children[0].label));
+            }
+        }
+        recomputeTop(node);
+    }
+    
+    private void refresh(Node node, String key, int pos) {
+        if (pos < key.length()) {
+            Node child = node.child(key.charAt(pos));
+            if (child == null || !key.startsWith(child.label, pos)) {
+                return;
+            }
+            refresh(child, key, pos + child.label.length());
+        }
+        recomputeTop(node);
+    }
+    
+    /**
+     * Merges the node's own products and the lists of its children into the node's list.
+     */
+    private void recomputeTop(Node node) {
+        Set<Long> candidates = new LinkedHashSet<>();
+        for (long productId : node.products) {
+            candidates.add(productId);
+        }
+        for (Node child : node.children) {
+            for (long productId : child.top) {
+                candidates.add(productId);
+            }
+        }
+        node.top = candidates.stream()
+            .sorted((a, b) -> {
+                int byWeight = Integer.compare(entries.get(b).weight, entries.get(a).weight);
+                return byWeight != 0 ? byWeight : Long.compare(a, b);
+            })
+            .limit(topK)
+            .mapToLong(Long::longValue)
+            .toArray();
+    }
+    
+    private static int commonPrefixLength(String label, String key, int pos) {
+        int max = Math.min(label.length(), key.length() - pos);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(pos + i)) {
+            i++;
+        }
+        return i;
+    }
+    
+    /**
+     * The normalized name and the rest of it from every later word on.
+     */
+    private static Set<String> keys(String name) {
+        String normalized = ProductSearchIndex.normalize(name);
+        Set<String> keys = new LinkedHashSet<>();
+        if (!normalized.isEmpty()) {
+            keys.add(normalized);
+            for (int at = normalized.indexOf(' '); at >= 0; at = normalized.indexOf(' ', at + 1)) {
+                keys.add(normalized.substring(at + 1));
+            }
+        }
+        return keys;
+    }
+    
+    private static final class Entry {
+        
+        private final Set<String> keys;
+        private int weight;
+        
+        Entry(Set<String> keys, int weight) {
+            this.keys = keys;
+            this.weight = weight;
+        }
+    }
+    
+    private static final class Node {
+        
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final long[] NO_PRODUCTS = new long[0];
+        
+        private String label;
+        private Node[] children = NO_CHILDREN;
+        private long[] products = NO_PRODUCTS;
+        private long[] top = NO_PRODUCTS;
+        
+        Node(String label) {
+            this.label = label;
+        }
+        
+        Node child(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char c = children[mid].label.charAt(0);
+                if (c < first) {
+                    low = mid + 1;
+                } else if (c > first) {
+                    high = mid - 1;
+                } else {
+                    return children[mid];
+                }
+            }
+            return null;
+        }
+        
+        void addChild(Node child) {
+            int at = 0;
+            while (at < children.length && children[at].label.charAt(0) < child.label.charAt(0)) {
+                at++;
+            }
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, at);
+            grown[at] = child;
+            System.arraycopy(children, at, grown, at + 1, children.length - at);
+            children = grown;
+        }
+        
+        void removeChild(Node child) {
+            Node[] shrunk = new Node[children.length - 1];
+            int j = 0;
+            for (Node existing : children) {
+                if (existing != child) {
+                    shrunk[j++] = existing;
+                }
+            }
+            children = shrunk.length == 0 ? NO_CHILDREN : shrunk;
+        }
+        
+        void replaceChild(Node child, Node replacement) {
+            for (int i = 0; i < children.length; i++) {
+                if (children[i] == child) {
+                    children[i] = replacement;
+                }
+            }
+        }
+        
+        /**
+         * Splits an edge: a new node takes the first {@code length} characters of the child's label.
+         */
+        Node split(Node child, int length) {
+            Node middle = new Node(child.label.substring(0, length));
+            child.label = child.label.substring(length);
+            middle.children = new Node[] {child};
+            middle.top = child.top;
+            replaceChild(child, middle);
+            return middle;
+        }
+        
+        Node withLabel(String newLabel) {
+            this.label = newLabel;
+            return this;
+        }
+        
+        void addProduct(long productId) {
+            for (long existing : products) {
+                if (existing == productId) {
+                    return;
+                }
+            }
+            products = Arrays.copyOf(products, products.length + 1);
+            products[products.length - 1] = productId;
+        }
+        
+        void removeProduct(long productId) {
+            products = Arrays.stream(products).filter(existing -> existing != productId).toArray();
+            if (products.length == 0) {
+                products = NO_PRODUCTS;
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package de.haw.swa.ordermanagement.application.readmodel;
+
+import de.haw.swa.ordermanagement.domain.model.product.Product;
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+
+/**
+ * Short-lived copy of a catalog entry, decoded from the {@link ProductCatalog} per request.
+ */
+public record ProductView(Long id, String name, String description, Money price, int stockQuantity) {
+    
+    public static ProductView of(Product product) {
+        return new ProductView(product.getId(), product.getName(), product.getDescription(),
+            product.getPrice(), product.getStockQuantity());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,223 @@
+package de.haw.swa.ordermanagement.application.readmodel;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Revenue, units and orders per day, product and customer, summed from order item lines.
+ *
+ * Amounts are kept in cents as {@code long} and the totals of each dimension in an open-addressing
+ * hash table with {@code long} keys (the epoch day or the ID), so adding a line neither boxes nor
+ * allocates. An accumulator is filled by a single thread; the accumulators of disjoint sets of orders
+ * are then combined with {@link #merge}, which is exact because every order is counted in exactly one.
+ */
+public class RevenueAccumulator {
+    
+    private static final Comparator<ProductRevenue> PRODUCTS_BY_REVENUE = Comparator
+        .comparingLong(ProductRevenue::revenueCents).reversed().thenComparingLong(ProductRevenue::productId);
+    private static final Comparator<CustomerRevenue> CUSTOMERS_BY_REVENUE = Comparator
+        .comparingLong(CustomerRevenue::revenueCents).reversed().thenComparingLong(CustomerRevenue::customerId);
+    
+    private final LongTotals byDay = new LongTotals();
+    private final LongTotals byProduct = new LongTotals();
+    private final LongTotals byCustomer = new LongTotals();
+    private long orders;
+    private long units;
+    private long revenueCents;
+    
+    private long currentOrderId = Long.MIN_VALUE;
+    private long[] currentOrderProducts = new long[8];
+    private int currentOrderProductCount;
+    
+    /**
+     * Adds one item line. The lines of an order must be added one after the other, as the order is
+     * counted once per day, customer and product when its first line (for that product) is added.
+     */
+    public void add(long orderId, long customerId, LocalDate day, long productId, long quantity, long totalCents) {
+        long epochDay = day.toEpochDay();
+        long newOrder = 0;
+        if (orderId != currentOrderId) {
+            currentOrderId = orderId;
+            currentOrderProductCount = 0;
+            newOrder = 1;
+            orders++;
+        }
+        byDay.add(epochDay, newOrder, quantity, totalCents);
+        byCustomer.add(customerId, newOrder, quantity, totalCents);
+        byProduct.add(productId, firstLineOfProduct(productId) ? 1 : 0, quantity, totalCents);
+        units += quantity;
+        revenueCents += totalCents;
+    }
+    
+    /**
+     * Adds the totals of another accumulator, which must have counted other orders, and returns this one.
+     */
+    public RevenueAccumulator merge(RevenueAccumulator other) {
+        byDay.addAll(other.byDay);
+        byProduct.addAll(other.byProduct);
+        byCustomer.addAll(other.byCustomer);
+        orders += other.orders;
+        units += other.units;
+        revenueCents += other.revenueCents;
+        return this;
+    }
+    
+    /**
+     * The totals, with every day in date order and at most {@code maxRanked} products and customers,
+     * those with the highest revenue first.
+     */
+    public RevenueReport report(LocalDate from, LocalDate to, int maxRanked) {
+        List<DayRevenue> days = new ArrayList<>(byDay.size());
+        byDay.forEach((epochDay, dayOrders, dayUnits, dayCents) ->
+            days.add(new DayRevenue(LocalDate.ofEpochDay(epochDay), dayOrders, dayUnits, dayCents)));
+        days.sort(Comparator.comparing(DayRevenue::day));
+        
+        List<ProductRevenue> products = new ArrayList<>(byProduct.size());
+        byProduct.forEach((productId, productOrders, productUnits, productCents) ->
+            products.add(new ProductRevenue(productId, productOrders, productUnits, productCents)));
+        products.sort(PRODUCTS_BY_REVENUE);
+        
+        List<CustomerRevenue> customers = new ArrayList<>(byCustomer.size());
+        byCustomer.forEach((customerId, customerOrders, customerUnits, customerCents) ->
+            customers.add(new CustomerRevenue(customerId, customerOrders, customerUnits, customerCents)));
+        customers.sort(CUSTOMERS_BY_REVENUE);
+        
+        return new RevenueReport(from, to, orders, units, revenueCents, List.copyOf(days),
+            List.copyOf(products.subList(0, Math.min(products.size(), maxRanked))), products.size(),
+            List.copyOf(customers.subList(0, Math.min(customers.size(), maxRanked))), customers.size());
+    }
+    
+    public long orders() {
+        return orders;
+    }
+    
+    public long revenueCents() {
+        return revenueCents;
+    }
+    
+    private boolean firstLineOfProduct(long productId) {
+        for (int i = 0; i < currentOrderProductCount; i++) {
+            if (currentOrderProducts[i] == productId) {
+                return false;
+            }
+        }
+        if (currentOrderProductCount == currentOrderProducts.length) {
+            currentOrderProducts = Arrays.copyOf(currentOrderProducts, currentOrderProductCount * 2);
+        }
+        currentOrderProducts[currentOrderProductCount++] = productId;
+        return true;
+    }
+    
+    /**
+     * @param from first day of the report
+     * @param to last day of the report (inclusive)
+     * @param productCount number of products sold, of which {@code products} holds the best
+     * @param customerCount number of customers who ordered, of which {@code customers} holds the best
+     */
+    public record RevenueReport(LocalDate from, LocalDate to, long orders, long units, long revenueCents,
+                                List<DayRevenue> days, List<ProductRevenue> products, int productCount,
+                                List<CustomerRevenue> customers, int customerCount) {
+    }
+    
+    public record DayRevenue(LocalDate day, long orders, long units, long revenueCents) {
+    }
+    
+    public record ProductRevenue(long productId, long orders, long units, long revenueCents) {
+    }
+    
+    public record CustomerRevenue(long customerId, long orders, long units, long revenueCents) {
+    }
+    
+    /**
+     * Orders, units and cents per {@code long} key, with linear probing over a power-of-two table.
+     */
+    private static final class LongTotals {
+        
+        private static final long EMPTY = Long.MIN_VALUE;
+        private static final int ORDERS = 0;
+        private static final int UNITS = 1;
+        private static final int CENTS = 2;
+        private static final int FIELDS = 3;
+        
+        private long[] keys;
+        private long[] values;
+        private int size;
+        
+        LongTotals() {
+            allocate(16);
+        }
+        
+        void add(long key, long orders, long units, long cents) {
+            if (key == EMPTY) {
+                throw new IllegalArgumentException("Key " + key + " is reserved");
+            }
+            int slot = find(key);
+            if (keys[slot] == EMPTY) {
+                if ((size + 1) * 4L > keys.length * 3L) {
+                    rehash(keys.length * 2);
+                    slot = find(key);
+                }
+                keys[slot] = key;
+                size++;
+            }
+            int at = slot * FIELDS;
+            values[at + ORDERS] += orders;
+            values[at + UNITS] += units;
+            values[at + CENTS] += cents;
+        }
+        
+        void addAll(LongTotals other) {
+            other.forEach(this::add);
+        }
+        
+        void forEach(TotalsConsumer consumer) {
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != EMPTY) {
+                    int at = slot * FIELDS;
+                    consumer.accept(keys[slot], values[at + ORDERS], values[at + UNITS], values[at + CENTS]);
+                }
+            }
+        }
+        
+        int size() {
+            return size;
+        }
+        
+        private int find(long key) {
+            int mask = keys.length - 1;
+            long mixed = key * 0x9E3779B97F4A7C15L;
+            int slot = (int) (mixed ^ (mixed >>> 32)) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+        
+        private void rehash(int capacity) {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            allocate(capacity);
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeys[slot] != EMPTY) {
+                    int target = find(oldKeys[slot]);
+                    keys[target] = oldKeys[slot];
+                    System.arraycopy(oldValues, slot * FIELDS, values, target * FIELDS, FIELDS);
+                }
+            }
+        }
+        
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            values = new long[capacity * FIELDS];
+        }
+    }
+    
+    @FunctionalInterface
+    private interface TotalsConsumer {
+        void accept(long key, long orders, long units, long cents);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package de.haw.swa.ordermanagement.application.readmodel;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Append-only UTF-8 string storage in a direct buffer; strings are addressed by offset and length.
+ *
+ * Replaced strings stay in the buffer until the owner copies the live ones into a new arena.
+ * Not thread-safe.
+ */
+final class StringArena {
+    
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    
+    private ByteBuffer bytes;
+    private int used;
+    
+    /**
+     * @param initialCapacity bytes to reserve up front, capped at the largest direct buffer
+     */
+    StringArena(long initialCapacity) {
+        bytes = ByteBuffer.allocateDirect((int) Math.min(Math.max(initialCapacity, 1024), MAX_CAPACITY));
+    }
+    
+    int append(byte[] value) {
+        ensureCapacity(value.length);
+        int offset = used;
+        bytes.put(offset, value);
+        used += value.length;
+        return offset;
+    }
+    
+    String read(int offset, int length) {
+        byte[] value = new byte[length];
+        bytes.get(offset, value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+    
+    boolean matches(int offset, int length, byte[] value) {
+        if (length != value.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (bytes.get(offset + i) != value[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Copies a string from another arena and returns its offset in this one.
+     */
+    int copyFrom(StringArena source, int offset, int length) {
+        ensureCapacity(length);
+        int target = used;
+        bytes.put(target, source.bytes, offset, length);
+        used += length;
+        return target;
+    }
+    
+    int used() {
+        return used;
+    }
+    
+    long capacityBytes() {
+        return bytes.capacity();
+    }
+    
+    private void ensureCapacity(int additional) {
+        if (used + additional > bytes.capacity()) {
+            int capacity = (int) Math.min(MAX_CAPACITY, Math.max(bytes.capacity() * 2L, (long) used + additional));
+            if (used + additional > capacity) {
+                throw new IllegalStateException("String arena is full");
+            }
+            ByteBuffer grown = ByteBuffer.allocateDirect(capacity);
+            grown.put(0, bytes, 0, used);
+            bytes = grown;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,273 @@
+package de.haw.swa.ordermanagement.application.readmodel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Approximate best-selling products of a sliding time window, in bounded memory.
+ *
+ * The window is divided into slots of equal length, and each slot counts the units sold per product in
+ * a Space-Saving sketch with a fixed number of counters. When all counters are taken, a new product
+ * replaces the product with the lowest count and inherits that count as its possible overestimate.
+ * Every product sold more often than the slot's units divided by the number of counters is guaranteed
+ * to be kept. Slots that fell out of the window are reset when their turn comes again.
+ *
+ * The ranking merges the slots of the window. A product a full slot does not track may have sold up to
+ * that slot's lowest count there, so that count is added to both its units and its possible overestimate,
+ * and the estimate stays an upper bound. The ranking is cached; it is recomputed only after new sales, and
+ * at most once per {@code maxStalenessMillis}, so reads cost O(K) while sales are recorded.
+ */
+public class TopSellers {
+    
+    private static final Comparator<Seller> BEST_FIRST = Comparator.comparingLong(Seller::units).reversed()
+        .thenComparingLong(Seller::productId);
+    
+    private final long slotMillis;
+    private final long maxStalenessMillis;
+    private final Slot[] slots;
+    
+    private long version;
+    private volatile Ranking ranking = new Ranking(List.of(), Long.MIN_VALUE, -1, Long.MIN_VALUE);
+    
+    /**
+     * @param windowMillis length of the window
+     * @param slotCount number of slots the window is divided into; a sale leaves the window at most one slot late
+     * @param capacity counters per slot, i.e. products tracked per slot
+     */
+    public TopSellers(long windowMillis, int slotCount, int capacity, long maxStalenessMillis) {
+        if (slotCount < 1 || capacity < 1 || windowMillis < slotCount) {
+            throw new IllegalArgumentException("Window, slot count and capacity must be positive, the window at least one millisecond per slot");
+        }
+        this.slotMillis = windowMillis / slotCount;
+        this.maxStalenessMillis = maxStalenessMillis;
+        this.slots = new Slot[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new Slot(capacity);
+        }
+    }
+    
+    /**
+     * Counts units of a product sold at the given time.
+     */
+    public synchronized void record(long productId, long units, long timestampMillis) {
+        if (units <= 0) {
+            return;
+        }
+        long start = slotStart(timestampMillis);
+        Slot slot = slots[(int) Math.floorMod(start / slotMillis, (long) slots.length)];
+        if (slot.start != start) {
+            if (slot.start > start) {
+                return; // Older than the window
+            }
+            slot.reset(start);
+        }
+        slot.sketch.add(productId, units);
+        version++;
+    }
+    
+    /**
+     * Best-selling products of the window ending at {@code nowMillis}, best first, at most {@code limit}.
+     */
+    public List<Seller> top(int limit, long nowMillis) {
+        Ranking current = ranking;
+        long windowStart = windowStart(nowMillis);
+        if (current.windowStart != windowStart
+            || (current.version != currentVersion() && nowMillis - current.computedAt >= maxStalenessMillis)) {
+            current = recompute(windowStart, nowMillis);
+        }
+        List<Seller> sellers = current.sellers;
+        return sellers.size() <= limit ? sellers : sellers.subList(0, Math.max(limit, 0));
+    }
+    
+    private synchronized long currentVersion() {
+        return version;
+    }
+    
+    private synchronized Ranking recompute(long windowStart, long nowMillis) {
+        Map<Long, long[]> merged = new HashMap<>();
+        List<SpaceSaving> inWindow = new ArrayList<>(slots.length);
+        for (Slot slot : slots) {
+            if (slot.start >= windowStart && slot.start <= nowMillis) {
+                inWindow.add(slot.sketch);
+                slot.sketch.forEach((productId, count, error) -> {
+                    long[] sums = merged.computeIfAbsent(productId, id -> new long[2]);
+                    sums[0] += count;
+                    sums[1] += error;
+                });
+            }
+        }
+        for (SpaceSaving sketch : inWindow) {
+            if (sketch.isFull()) {
+                long minimum = sketch.minimum();
+                merged.forEach((productId, sums) -> {
+                    if (!sketch.tracks(productId)) {
+                        sums[0] += minimum;
+                        sums[1] += minimum;
+                    }
+                });
+            }
+        }
+        List<Seller> sellers = new ArrayList<>(merged.size());
+        merged.forEach((productId, sums) -> sellers.add(new Seller(productId, sums[0], sums[1])));
+        sellers.sort(BEST_FIRST);
+        ranking = new Ranking(List.copyOf(sellers), windowStart, version, nowMillis);
+        return ranking;
+    }
+    
+    private long slotStart(long timestampMillis) {
+        return Math.floorDiv(timestampMillis, slotMillis) * slotMillis;
+    }
+    
+    /**
+     * Start of the oldest slot that is still part of the window ending at {@code nowMillis}.
+     */
+    private long windowStart(long nowMillis) {
+        return slotStart(nowMillis) - (slots.length - 1) * slotMillis;
+    }
+    
+    /**
+     * @param units estimated units sold, never less than the actual number
+     * @param maxError by how much {@code units} may overestimate the actual number
+     */
+    public record Seller(long productId, long units, long maxError) {
+    }
+    
+    private record Ranking(List<Seller> sellers, long windowStart, long version, long computedAt) {
+    }
+    
+    private static final class Slot {
+        
+        private final SpaceSaving sketch;
+        private long start = Long.MIN_VALUE;
+        
+        Slot(int capacity) {
+            this.sketch = new SpaceSaving(capacity);
+        }
+        
+        void reset(long newStart) {
+            sketch.clear();
+            start = newStart;
+        }
+    }
+    
+    /**
+     * Space-Saving counters in a binary min-heap ordered by count, so the counter to replace is at the root.
+     */
+    private static final class SpaceSaving {
+        
+        private final long[] ids;
+        private final long[] counts;
+        private final long[] errors;
+        private final Map<Long, Integer> positions;
+        private int size;
+        
+        SpaceSaving(int capacity) {
+            this.ids = new long[capacity];
+            this.counts = new long[capacity];
+            this.errors = new long[capacity];
+            this.positions = new HashMap<>(capacity * 4 / 3 + 1);
+        }
+        
+        void add(long productId, long weight) {
+            Integer at = positions.get(productId);
+            if (at != null) {
+                counts[at] += weight;
+                siftDown(at);
+            } else if (size < ids.length) {
+                ids[size] = productId;
+                counts[size] = weight;
+                errors[size] = 0;
+                positions.put(productId, size);
+                siftUp(size++);
+            } else {
+                long minimum = counts[0];
+                positions.remove(ids[0]);
+                ids[0] = productId;
+                counts[0] = minimum + weight;
+                errors[0] = minimum;
+                positions.put(productId, 0);
+                siftDown(0);
+            }
+        }
+        
+        boolean isFull() {
+            return size == ids.length;
+        }
+        
+        /**
+         * Upper bound of the units sold of any product this sketch does not track, once it is full.
+         */
+        long minimum() {
+            return size == 0 ? 0 : counts[0];
+        }
+        
+        boolean tracks(long productId) {
+            return positions.containsKey(productId);
+        }
+        
+        void forEach(CounterConsumer consumer) {
+            for (int i = 0; i < size; i++) {
+                consumer.accept(ids[i], counts[i], errors[i]);
+            }
+        }
+        
+        void clear() {
+            positions.clear();
+            Arrays.fill(ids, 0, size, 0);
+            size = 0;
+        }
+        
+        private void siftUp(int at) {
+            while (at > 0) {
+                int parent = (at - 1) / 2;
+                if (counts[parent] <= counts[at]) {
+                    return;
+                }
+                swap(at, parent);
+                at = parent;
+            }
+        }
+        
+        private void siftDown(int at) {
+            while (true) {
+                int smallest = at;
+                int left = 2 * at + 1;
+                int right = left + 1;
+                if (left < size && counts[left] < counts[smallest]) {
+                    smallest = left;
+                }
+                if (right < size && counts[right] < counts[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == at) {
+                    return;
+                }
+                swap(at, smallest);
+                at = smallest;
+            }
+        }
+        
+        private void swap(int a, int b) {
+            long id = ids[a];
+            long count = counts[a];
+            long error = errors[a];
+            ids[a] = ids[b];
+            counts[a] = counts[b];
+            errors[a] = errors[b];
+            ids[b] = id;
+            counts[b] = count;
+            errors[b] = error;
+            positions.put(ids[a], a);
+            positions.put(ids[b], b);
+        }
+    }
+    
+    @FunctionalInterface
+    private interface CounterConsumer {
+        void accept(long productId, long count, long error);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package de.haw.swa.ordermanagement.application.service;
+
+import de.haw.swa.ordermanagement.application.readmodel.CustomerOrderHistory;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+import de.haw.swa.ordermanagement.infrastructure.replay.ReplayProjection;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Order history per customer, including archived and exported orders, built from the order events alone.
+ *
+ * Live events of this instance are applied after their transaction commits. The history of earlier orders
+ * and of orders changed by other instances comes from the event log, which {@link ReplayService} replays
+ * on startup; without the event log the history only holds the orders changed since startup.
+ */
+@Service
+public class CustomerOrderHistoryService {
+    
+    private final CustomerOrderHistory history = new CustomerOrderHistory();
+    
+    public List<CustomerOrderHistory.Entry> ordersOf(Long customerId) {
+        return history.ordersOf(customerId);
+    }
+    
+    public void apply(DomainEvent event) {
+        history.apply(event);
+    }
+    
+    public ReplayProjection replayProjection() {
+        return new ReplayProjection() {
+            
+            @Override
+            public String name() {
+                return "customer-order-history";
+            }
+            
+            @Override
+            public void reset() {
+                history.clear();
+            }
+            
+            @Override
+            public void apply(DomainEvent event) {
+                history.apply(event);
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package de.haw.swa.ordermanagement.application.service;
+
+import de.haw.swa.ordermanagement.domain.model.shared.AggregateRoot;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Hands the events an aggregate registered to Spring, for the application services that changed it.
+ */
+final class DomainEvents {
+    
+    private DomainEvents() {
+    }
+    
+    static void publish(ApplicationEventPublisher eventPublisher, AggregateRoot<?> aggregate) {
+        aggregate.getDomainEvents().forEach(eventPublisher::publishEvent);
+        aggregate.clearEvents();
+    }
+}
\ No newline at end of file
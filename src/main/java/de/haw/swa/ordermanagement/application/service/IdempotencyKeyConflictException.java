@@ -0,0 +1,11 @@
+package de.haw.swa.ordermanagement.application.service;
+
+/**
+ * Thrown when an idempotency key is reused for a request with a different payload.
+ */
+public class IdempotencyKeyConflictException extends RuntimeException {
+    
+    public IdempotencyKeyConflictException(String key) {
+        super("Idempotency key was already used for a different request: " + key);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package de.haw.swa.ordermanagement.application.service;
+
+/**
+ * Thrown when a request with the same idempotency key is still being processed
+ * and did not finish within the configured wait time.
+ */
+public class IdempotencyKeyInProgressException extends RuntimeException {
+    
+    public IdempotencyKeyInProgressException(String key) {
+        super("A request with this idempotency key is still in progress: " + key);
+    }
+}
\ No newline at end of file
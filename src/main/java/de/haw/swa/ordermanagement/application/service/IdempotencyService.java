@@ -0,0 +1,282 @@
+package de.haw.swa.ordermanagement.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.haw.swa.ordermanagement.domain.model.idempotency.IdempotencyRecord;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainClock;
+import de.haw.swa.ordermanagement.domain.repository.IdempotencyRecordRepository;
+import de.haw.swa.ordermanagement.infrastructure.concurrent.LruCache;
+import de.haw.swa.ordermanagement.infrastructure.concurrent.SingleFlight;
+import de.haw.swa.ordermanagement.infrastructure.concurrent.SingleFlightFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Executes commands at most once per client-supplied idempotency key.
+ *
+ * Completed outcomes are persisted in {@code idempotency_keys} and kept in a bounded in-memory
+ * cache, so a retry gets the stored response without running the command again. Concurrent
+ * duplicates within this instance share the first execution via {@link SingleFlight}; duplicates
+ * arriving at other instances see the {@code IN_PROGRESS} row and poll until it completes.
+ *
+ * Failed commands leave no record behind, so the client can retry them with the same key.
+ *
+ * The command runs in the transaction that marks the key as completed, so its database changes and the
+ * stored response commit together: if the instance dies before, both are rolled back, and the key is
+ * taken over and run again once its {@code IN_PROGRESS} row is older than {@code abandon-after}. Side
+ * effects outside the database, such as the call to the payment provider, and changes to the in-memory
+ * repository are not rolled back and may happen twice in that case.
+ */
+@Service
+public class IdempotencyService {
+    
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+    
+    public static final int MAX_KEY_LENGTH = 200;
+    private static final long POLL_INTERVAL_MILLIS = 50;
+    
+    private final IdempotencyRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate newTransaction;
+    private final SingleFlight<String, StoredOutcome> inFlight;
+    private final LruCache<String, StoredOutcome> completed;
+    private final Duration retention;
+    private final Duration maxWait;
+    private final Duration abandonAfter;
+    
+    public IdempotencyService(IdempotencyRecordRepository recordRepository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              SingleFlightFactory singleFlightFactory,
+                              @Value("${ordermanagement.idempotency.cache-size:10000}") int cacheSize,
+                              @Value("${ordermanagement.idempotency.retention:24h}") Duration retention,
+                              @Value("${ordermanagement.idempotency.max-wait:10s}") Duration maxWait,
+                              @Value("${ordermanagement.idempotency.abandon-after:60s}") Duration abandonAfter) {
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.inFlight = singleFlightFactory.create("idempotency");
+        this.completed = new LruCache<>(cacheSize);
+        this.retention = retention;
+        this.maxWait = maxWait;
+        this.abandonAfter = abandonAfter;
+    }
+    
+    /**
+     * Runs {@code command} unless a command with the same scope and key has already completed.
+     *
+     * @param scope        name of the command, keys are only unique within a scope
+     * @param key          client-supplied idempotency key
+     * @param request      request payload; a retry with a different payload is rejected
+     * @param responseType type of the stored response body, used to restore it on replay
+     * @param command      the actual command
+     * @throws IdempotencyKeyConflictException   if the key was used with a different payload
+     * @throws IdempotencyKeyInProgressException if another execution did not finish in time
+     */
+    public <T> IdempotentResult<T> execute(String scope, String key, Object request,
+                                           Class<T> responseType, Supplier<IdempotentResult<T>> command) {
+        if (!isValidKey(key)) {
+            throw new IllegalArgumentException("Idempotency key must contain 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String storageKey = scope + ":" + key;
+        String requestHash = hash(request);
+        
+        StoredOutcome outcome = completed.get(storageKey);
+        if (outcome != null && isExpired(outcome.createdAt())) {
+            completed.remove(storageKey);
+            outcome = null;
+        }
+        boolean[] executedHere = {false};
+        if (outcome == null) {
+            outcome = inFlight.execute(storageKey, () -> loadOrRun(storageKey, requestHash, () -> {
+                executedHere[0] = true;
+                IdempotentResult<T> result = command.get();
+                return new StoredOutcome(requestHash, result.statusCode(), serialize(result.body()), DomainClock.now());
+            }));
+        }
+        
+        if (!outcome.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyConflictException(key);
+        }
+        return new IdempotentResult<>(outcome.statusCode(), deserialize(outcome.body(), responseType), !executedHere[0]);
+    }
+    
+    public static boolean isValidKey(String key) {
+        return key != null && !key.isBlank() && key.length() <= MAX_KEY_LENGTH;
+    }
+    
+    @Scheduled(fixedDelayString = "${ordermanagement.idempotency.purge-interval:1h}")
+    @Transactional
+    public void purgeExpiredKeys() {
+        int purged = recordRepository.deleteCreatedBefore(DomainClock.now().minus(retention));
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+    
+    private StoredOutcome loadOrRun(String storageKey, String requestHash, Supplier<StoredOutcome> command) {
+        Optional<StoredOutcome> existing = awaitExisting(storageKey);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        
+        if (!tryClaim(storageKey, requestHash)) {
+            // Another instance claimed the key in the meantime
+            return awaitExisting(storageKey)
+                .orElseThrow(() -> new IdempotencyKeyInProgressException(storageKey));
+        }
+        
+        StoredOutcome outcome;
+        try {
+            // The command joins this transaction, so there is no point at which it committed but the key did not
+            outcome = newTransaction.execute(status -> {
+                StoredOutcome result = command.get();
+                IdempotencyRecord record = recordRepository.findById(storageKey)
+                    .orElseGet(() -> new IdempotencyRecord(storageKey, requestHash));
+                record.complete(result.statusCode(), result.body());
+                recordRepository.save(record);
+                return result;
+            });
+        } catch (RuntimeException | Error e) {
+            newTransaction.executeWithoutResult(status -> recordRepository.deleteById(storageKey));
+            throw e;
+        }
+        completed.put(storageKey, outcome);
+        return outcome;
+    }
+    
+    /**
+     * Returns the stored outcome if the key has completed, waits while another execution is in progress
+     * and returns empty if the key is unknown, expired or was abandoned by a crashed execution.
+     */
+    private Optional<StoredOutcome> awaitExisting(String storageKey) {
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        while (true) {
+            Optional<IdempotencyRecord> record = newTransaction.execute(status -> recordRepository.findById(storageKey));
+            if (record.isEmpty()) {
+                return Optional.empty();
+            }
+            if (isExpired(record.get().getCreatedAt())) {
+                newTransaction.executeWithoutResult(status -> recordRepository.deleteById(storageKey));
+                return Optional.empty();
+            }
+            if (record.get().isCompleted()) {
+                StoredOutcome outcome = StoredOutcome.of(record.get());
+                completed.put(storageKey, outcome);
+                return Optional.of(outcome);
+            }
+            if (isAbandoned(record.get())) {
+                log.warn("Taking over abandoned idempotency key {}", storageKey);
+                newTransaction.executeWithoutResult(status -> recordRepository.deleteById(storageKey));
+                return Optional.empty();
+            }
+            if (System.nanoTime() >= deadline) {
+                throw new IdempotencyKeyInProgressException(storageKey);
+            }
+            sleep();
+        }
+    }
+    
+    /**
+     * Inserts the {@code IN_PROGRESS} row; the primary key makes this fail if another instance was faster.
+     */
+    private boolean tryClaim(String storageKey, String requestHash) {
+        try {
+            newTransaction.executeWithoutResult(status ->
+                recordRepository.saveAndFlush(new IdempotencyRecord(storageKey, requestHash)));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+    
+    private boolean isExpired(LocalDateTime createdAt) {
+        return createdAt.isBefore(DomainClock.now().minus(retention));
+    }
+    
+    private boolean isAbandoned(IdempotencyRecord record) {
+        return record.getCreatedAt().isBefore(DomainClock.now().minus(abandonAfter));
+    }
+    
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot fingerprint request", e);
+        }
+    }
+    
+    private String serialize(Object body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot store response for idempotent replay", e);
+        }
+    }
+    
+    private <T> T deserialize(String body, Class<T> type) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(body.getBytes(StandardCharsets.UTF_8), type);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot restore stored response", e);
+        }
+    }
+    
+    private static void sleep() {
+        try {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for idempotent command", e);
+        }
+    }
+    
+    /**
+     * Outcome as persisted: the body is kept in its JSON form.
+     */
+    private record StoredOutcome(String requestHash, int statusCode, String body, LocalDateTime createdAt) {
+        
+        static StoredOutcome of(IdempotencyRecord record) {
+            return new StoredOutcome(record.getRequestHash(), record.getResponseStatus(),
+                record.getResponseBody(), record.getCreatedAt());
+        }
+    }
+    
+    /**
+     * Response of an idempotent command.
+     *
+     * @param replayed {@code true} if the command was not executed by this call
+     */
+    public record IdempotentResult<T>(int statusCode, T body, boolean replayed) {
+        
+        public static <T> IdempotentResult<T> of(int statusCode, T body) {
+            return new IdempotentResult<>(statusCode, body, false);
+        }
+    }
+}
\ No newline at end of file
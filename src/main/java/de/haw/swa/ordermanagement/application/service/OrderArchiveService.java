@@ -0,0 +1,95 @@
+package de.haw.swa.ordermanagement.application.service;
+
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainClock;
+import de.haw.swa.ordermanagement.domain.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves delivered, returned and cancelled orders to the archive once they have not changed for
+ * {@code min-age}, so the orders table and its indexes only hold the orders that are still worked on.
+ *
+ * Orders are moved in batches of {@code batch-size}, each in its own transaction, and dropped from the
+ * order view of this instance once it commits. Archived orders are still found by ID and by customer,
+ * but they are read-only, so {@code min-age} has to be longer than the period in which a delivered
+ * order can be returned.
+ */
+@Service
+public class OrderArchiveService {
+    
+    private static final List<OrderStatus> TERMINAL_STATUSES = List.of(OrderStatus.DELIVERED, OrderStatus.RETURNED, OrderStatus.CANCELLED);
+    
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiveService.class);
+    
+    private final OrderRepository orderRepository;
+    private final OrderQueryService orderQueryService;
+    private final TransactionTemplate newTransaction;
+    private final Counter archivedOrders;
+    private final boolean enabled;
+    private final Duration minAge;
+    private final int batchSize;
+    
+    public OrderArchiveService(OrderRepository orderRepository,
+                               OrderQueryService orderQueryService,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${ordermanagement.order-archive.enabled:true}") boolean enabled,
+                               @Value("${ordermanagement.order-archive.min-age:90d}") Duration minAge,
+                               @Value("${ordermanagement.order-archive.batch-size:500}") int batchSize) {
+        this.orderRepository = orderRepository;
+        this.orderQueryService = orderQueryService;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.minAge = minAge;
+        this.batchSize = batchSize;
+        this.archivedOrders = Counter.builder("ordermanagement.orders.archived")
+            .description("Orders moved to the archive")
+            .register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${ordermanagement.order-archive.interval:1h}",
+        initialDelayString = "${ordermanagement.order-archive.interval:1h}")
+    public void archiveInactiveOrders() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int archived = archiveUpdatedBefore(DomainClock.now().minus(minAge));
+            if (archived > 0) {
+                log.info("Archived {} orders", archived);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Order archival failed, retrying with the next run", e);
+        }
+    }
+    
+    /**
+     * Moves all terminal orders last updated before {@code cutoff} to the archive; returns how many were moved.
+     */
+    public int archiveUpdatedBefore(LocalDateTime cutoff) {
+        int total = 0;
+        int moved;
+        do {
+            List<Long> orderIds = newTransaction.execute(status -> orderRepository.archive(TERMINAL_STATUSES, cutoff, batchSize));
+            orderQueryService.evict(orderIds);
+            moved = orderIds.size();
+            archivedOrders.increment(moved);
+            total += moved;
+        } while (moved == batchSize);
+        return total;
+    }
+}
\ No newline at end of file
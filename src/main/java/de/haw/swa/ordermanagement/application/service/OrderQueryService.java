@@ -0,0 +1,356 @@
+package de.haw.swa.ordermanagement.application.service;
+
+import de.haw.swa.ordermanagement.application.readmodel.OrderView;
+import de.haw.swa.ordermanagement.application.readmodel.OrderViewStore;
+import de.haw.swa.ordermanagement.domain.model.order.Order;
+import de.haw.swa.ordermanagement.domain.model.order.OrderSearch;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.order.OrderSummary;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderCreated;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainClock;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+import de.haw.swa.ordermanagement.domain.repository.OrderRepository;
+import de.haw.swa.ordermanagement.infrastructure.replay.ReplayProjection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Query side for orders: serves reads from the in-memory {@link OrderViewStore} instead of JPA.
+ *
+ * The views are kept current by the order domain events of this instance, which are applied right
+ * after their transaction commits and before the write request returns, so clients read their own
+ * writes. Changes made by other instances or lost events are picked up by a periodic synchronization
+ * with the database, which after the cold-start load only reads the orders changed since the previous
+ * run began, less {@code sync-overlap}. The overlap must cover the longest write transaction and the
+ * clock difference between instances, as an order becomes visible only after its change time.
+ * Staleness bound: the view is served only while the last successful synchronization is younger than
+ * {@code max-staleness}; otherwise, and until the cold-start load has finished, all reads go to the
+ * database. The synchronization only adds and refreshes views.
+ *
+ * The view only holds orders that are not archived: the archival drops the orders it moved, and orders
+ * read from the archive are not added. Lookups by customer add the customer's archived orders from the
+ * database, so they find them like the repository does, and listings by status cover the active orders
+ * only, as in the database. Orders archived by another instance stay in this view until it restarts.
+ */
+@Service
+public class OrderQueryService {
+    
+    private static final Logger log = LoggerFactory.getLogger(OrderQueryService.class);
+    
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate readTransaction;
+    private final OrderViewStore store = new OrderViewStore();
+    private final boolean enabled;
+    private final Duration maxStaleness;
+    private final Duration syncOverlap;
+    private final int loadBatchSize;
+    private final Counter viewReads;
+    private final Counter databaseReads;
+    
+    private volatile long lastSyncNanos;
+    private volatile boolean loaded;
+    // Changes from here on are read by the next synchronization; null until the cold-start load is done
+    private volatile LocalDateTime syncChangesSince;
+    
+    public OrderQueryService(OrderRepository orderRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${ordermanagement.order-view.enabled:true}") boolean enabled,
+                             @Value("${ordermanagement.order-view.max-staleness:2m}") Duration maxStaleness,
+                             @Value("${ordermanagement.order-view.sync-overlap:1m}") Duration syncOverlap,
+                             @Value("${ordermanagement.order-view.load-batch-size:500}") int loadBatchSize) {
+        this.orderRepository = orderRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.maxStaleness = maxStaleness;
+        this.syncOverlap = syncOverlap;
+        this.loadBatchSize = loadBatchSize;
+        this.viewReads = readCounter(meterRegistry, "view");
+        this.databaseReads = readCounter(meterRegistry, "database");
+        
+        Gauge.builder("ordermanagement.orderview.orders", store, OrderViewStore::size)
+            .description("Orders held in the in-memory order view")
+            .register(meterRegistry);
+        Gauge.builder("ordermanagement.orderview.items", store, OrderViewStore::itemCount)
+            .description("Order items held in the in-memory order view")
+            .register(meterRegistry);
+        Gauge.builder("ordermanagement.orderview.memory.estimated", store, OrderViewStore::estimatedBytes)
+            .description("Estimated heap used by the order view and its indexes")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("ordermanagement.orderview.staleness", this, OrderQueryService::secondsSinceSync)
+            .description("Seconds since the order view was last synchronized with the database")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+    
+    public Optional<OrderView> findById(Long orderId) {
+        if (!isServing()) {
+            return fromDatabase(() -> orderRepository.findById(orderId).map(OrderView::of));
+        }
+        Optional<OrderView> view = store.get(orderId);
+        if (view.isPresent()) {
+            viewReads.increment();
+            return view;
+        }
+        // Possibly created by another instance since the last synchronization, or archived
+        return fromDatabase(() -> orderRepository.findById(orderId).map(this::putIfActive));
+    }
+    
+    public List<OrderView> findAllByIds(Collection<Long> orderIds) {
+        if (!isServing()) {
+            return fromDatabase(() -> orderRepository.findAllWithItemsByIdIn(orderIds).stream().map(OrderView::of).toList());
+        }
+        List<OrderView> views = new ArrayList<>(orderIds.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long orderId : orderIds) {
+            store.get(orderId).ifPresentOrElse(views::add, () -> missing.add(orderId));
+        }
+        viewReads.increment();
+        if (!missing.isEmpty()) {
+            views.addAll(fromDatabase(() -> orderRepository.findAllWithItemsByIdIn(missing).stream().map(this::putIfActive).toList()));
+        }
+        return views;
+    }
+    
+    public List<OrderView> findByCustomerId(Long customerId) {
+        if (!isServing()) {
+            return fromDatabase(() -> orderRepository.findByCustomerId(customerId).stream().map(OrderView::of).toList());
+        }
+        viewReads.increment();
+        List<OrderView> archived = fromDatabase(() -> orderRepository.findArchivedByCustomerId(customerId)).stream()
+            .map(OrderView::of)
+            .toList();
+        if (archived.isEmpty()) {
+            return store.findByCustomerId(customerId);
+        }
+        // An order being archived may still be in the view; the archived copy is the current one
+        Map<Long, OrderView> views = new TreeMap<>();
+        store.findByCustomerId(customerId).forEach(view -> views.put(view.id(), view));
+        archived.forEach(view -> views.put(view.id(), view));
+        return List.copyOf(views.values());
+    }
+    
+    public List<OrderView> findByStatus(OrderStatus status) {
+        if (!isServing()) {
+            return fromDatabase(() -> orderRepository.findByStatus(status).stream().map(OrderView::of).toList());
+        }
+        viewReads.increment();
+        return store.findByStatus(status);
+    }
+    
+    public List<OrderView> findAll() {
+        if (!isServing()) {
+            return fromDatabase(() -> orderRepository.findAll().stream().map(OrderView::of).toList());
+        }
+        viewReads.increment();
+        return store.findAll();
+    }
+    
+    public List<OrderSummary> findSummariesByCustomerId(Long customerId) {
+        if (!isServing()) {
+            return fromDatabase(() -> orderRepository.findSummariesByCustomerId(customerId));
+        }
+        return findByCustomerId(customerId).stream().map(OrderView::toSummary).toList();
+    }
+    
+    public List<OrderSummary> findSummariesByStatus(OrderStatus status) {
+        if (!isServing()) {
+            return fromDatabase(() -> orderRepository.findSummariesByStatus(status));
+        }
+        return findByStatus(status).stream().map(OrderView::toSummary).toList();
+    }
+    
+    public List<OrderSummary> findAllSummaries() {
+        if (!isServing()) {
+            return fromDatabase(orderRepository::findAllSummaries);
+        }
+        return findAll().stream().map(OrderView::toSummary).toList();
+    }
+    
+    /**
+     * Orders matching every criterion of the search, at most {@code limit}. Always answered by the
+     * database, whose indexes cover these combinations of criteria and sort orders; the view has none.
+     */
+    public List<OrderSummary> search(OrderSearch search, int limit) {
+        return fromDatabase(() -> orderRepository.searchSummaries(search, limit));
+    }
+    
+    /**
+     * Applies a committed order event to the view. A new order is loaded with its items, status changes
+     * are applied in memory. If that fails, the order is dropped from the view and reloaded on its next read.
+     */
+    public void apply(DomainEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Long orderId = event.aggregateId();
+        try {
+            if (event instanceof OrderCreated || !store.changeStatus(orderId, Order.statusAfter(event), event.occurredOn())) {
+                readTransaction.executeWithoutResult(status -> orderRepository.findById(orderId).ifPresent(store::put));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cannot apply {} to the view of order {}", event.getClass().getSimpleName(), orderId, e);
+            store.remove(orderId);
+        }
+    }
+    
+    /**
+     * Rebuilds the view from the event log. Status changes are applied in memory; orders created, or not
+     * yet in the view, are loaded with their items at each checkpoint. Until the synchronization that ends
+     * the rebuild, which also loads the orders whose events are missing from the log, reads go to the database.
+     */
+    public ReplayProjection replayProjection() {
+        return new ReplayProjection() {
+            
+            private final Set<Long> toLoad = ConcurrentHashMap.newKeySet();
+            
+            @Override
+            public String name() {
+                return "order-view";
+            }
+            
+            @Override
+            public void reset() {
+                loaded = false;
+                syncChangesSince = null;
+                toLoad.clear();
+                store.clear();
+            }
+            
+            @Override
+            public void apply(DomainEvent event) {
+                if (!enabled || !Order.isOrderEvent(event)) {
+                    return;
+                }
+                if (event instanceof OrderCreated || !store.changeStatus(event.aggregateId(), Order.statusAfter(event), event.occurredOn())) {
+                    toLoad.add(event.aggregateId());
+                }
+            }
+            
+            @Override
+            public void onCheckpoint(long position) {
+                List<Long> orderIds = new ArrayList<>(toLoad);
+                for (int from = 0; from < orderIds.size(); from += loadBatchSize) {
+                    List<Long> batch = orderIds.subList(from, Math.min(from + loadBatchSize, orderIds.size()));
+                    readTransaction.executeWithoutResult(status ->
+                        orderRepository.findAllWithItemsByIdIn(batch).forEach(OrderQueryService.this::putIfActive));
+                }
+                toLoad.removeAll(orderIds);
+            }
+            
+            @Override
+            public void onCompleted(long position) {
+                synchronize();
+            }
+        };
+    }
+    
+    /**
+     * Drops orders that were moved to the archive.
+     */
+    public void evict(Collection<Long> orderIds) {
+        orderIds.forEach(store::remove);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (enabled) {
+            synchronize();
+            log.info("Loaded {} orders into the order view (~{} KiB)", store.size(), store.estimatedBytes() / 1024);
+        }
+    }
+    
+    /**
+     * Compares the view with the orders changed since the previous run and reloads every order that is
+     * missing or outdated. The first run after startup loads all orders.
+     */
+    @Scheduled(fixedDelayString = "${ordermanagement.order-view.sync-interval:30s}",
+        initialDelayString = "${ordermanagement.order-view.sync-interval:30s}")
+    public void synchronize() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            LocalDateTime since = syncChangesSince;
+            LocalDateTime readStarted = DomainClock.now();
+            List<OrderSummary> summaries = readTransaction.execute(status -> since == null
+                ? orderRepository.findAllSummaries()
+                : orderRepository.findSummariesUpdatedSince(since));
+            List<Long> outdated = new ArrayList<>();
+            for (OrderSummary summary : summaries) {
+                Optional<OrderView> view = store.get(summary.id());
+                if (view.isEmpty() || view.get().updatedAt().isBefore(summary.updatedAt())
+                        || view.get().status() != summary.status()) {
+                    outdated.add(summary.id());
+                }
+            }
+            for (int from = 0; from < outdated.size(); from += loadBatchSize) {
+                List<Long> batch = outdated.subList(from, Math.min(from + loadBatchSize, outdated.size()));
+                readTransaction.executeWithoutResult(status ->
+                    orderRepository.findAllWithItemsByIdIn(batch).forEach(this::putIfActive));
+            }
+            syncChangesSince = readStarted.minus(syncOverlap);
+            lastSyncNanos = started;
+            loaded = true;
+            if (!outdated.isEmpty()) {
+                log.debug("Synchronized {} orders into the order view", outdated.size());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Order view synchronization failed, last success {}s ago", Math.round(secondsSinceSync()), e);
+        }
+    }
+    
+    /**
+     * Whether reads are currently answered from memory.
+     */
+    public boolean isServing() {
+        return enabled && loaded && System.nanoTime() - lastSyncNanos <= maxStaleness.toNanos();
+    }
+    
+    private OrderView putIfActive(Order order) {
+        return order.isArchived() ? OrderView.of(order) : store.put(order);
+    }
+    
+    private double secondsSinceSync() {
+        return loaded ? (System.nanoTime() - lastSyncNanos) / 1e9 : Double.NaN;
+    }
+    
+    private <T> T fromDatabase(Supplier<T> query) {
+        databaseReads.increment();
+        return readTransaction.execute(status -> query.get());
+    }
+    
+    private static Counter readCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("ordermanagement.orderview.reads")
+            .description("Order queries by the source that answered them")
+            .tag("source", source)
+            .register(meterRegistry);
+    }
+}
\ No newline at end of file
@@ -4,11 +4,11 @@ import de.haw.swa.ordermanagement.domain.model.order.*;
 import de.haw.swa.ordermanagement.domain.model.product.Product;
 import de.haw.swa.ordermanagement.domain.repository.OrderRepository;
 import de.haw.swa.ordermanagement.domain.repository.ProductRepository;
-import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -59,7 +59,7 @@ public class OrderService {
         
         // Register creation event after persisting (when ID is available)
         savedOrder.registerCreationEvent();
-        publishDomainEvents(savedOrder);
+        DomainEvents.publish(eventPublisher, savedOrder);
         
         return savedOrder;
     }
@@ -74,11 +74,12 @@ public class OrderService {
             
             product.reduceStock(item.getQuantity());
             productRepository.save(product);
+            DomainEvents.publish(eventPublisher, product);
         }
         
         order.confirm();
         orderRepository.save(order);
-        publishDomainEvents(order);
+        DomainEvents.publish(eventPublisher, order);
     }
     
     public void processPayment(Long orderId) {
@@ -89,7 +90,7 @@ public class OrderService {
         if (paymentSuccessful) {
             order.markAsPaid();
             orderRepository.save(order);
-            publishDomainEvents(order);
+            DomainEvents.publish(eventPublisher, order);
         } else {
             throw new IllegalStateException("Payment processing failed for order: " + orderId);
         }
@@ -102,37 +103,41 @@ public class OrderService {
         
         order.ship();
         orderRepository.save(order);
-        publishDomainEvents(order);
+        DomainEvents.publish(eventPublisher, order);
     }
     
     public void deliverOrder(Long orderId) {
         Order order = findOrderById(orderId);
         order.deliver();
         orderRepository.save(order);
-        publishDomainEvents(order);
+        DomainEvents.publish(eventPublisher, order);
     }
     
     public void cancelOrder(Long orderId) {
         Order order = findOrderById(orderId);
+        boolean reserved = order.getStatus() == OrderStatus.CONFIRMED || order.getStatus() == OrderStatus.PAID;
+        // Change the order first, so stock is only returned if it may change
+        order.cancel();
         
         // Return stock if order was confirmed
-        if (order.getStatus() == OrderStatus.CONFIRMED || order.getStatus() == OrderStatus.PAID) {
+        if (reserved) {
             for (OrderItem item : order.getItems()) {
                 Product product = productRepository.findById(item.getProductId())
                     .orElseThrow(() -> new IllegalArgumentException("Product not found: " + item.getProductId()));
                 
                 product.increaseStock(item.getQuantity());
                 productRepository.save(product);
+                DomainEvents.publish(eventPublisher, product);
             }
         }
         
-        order.cancel();
         orderRepository.save(order);
-        publishDomainEvents(order);
+        DomainEvents.publish(eventPublisher, order);
     }
     
     public void returnOrder(Long orderId) {
         Order order = findOrderById(orderId);
+        order.returnOrder();
         
         // Return stock
         for (OrderItem item : order.getItems()) {
@@ -141,18 +146,23 @@ public class OrderService {
             
             product.increaseStock(item.getQuantity());
             productRepository.save(product);
+            DomainEvents.publish(eventPublisher, product);
         }
         
-        order.returnOrder();
         orderRepository.save(order);
-        publishDomainEvents(order);
+        DomainEvents.publish(eventPublisher, order);
     }
     
     @Transactional(readOnly = true)
     public Optional<Order> findById(Long orderId) {
         return orderRepository.findById(orderId);
     }
-
+    
+    @Transactional(readOnly = true)
+    public List<Order> findAllByIds(Collection<Long> orderIds) {
+        return orderRepository.findAllWithItemsByIdIn(orderIds);
+    }
+    
     @Transactional(readOnly = true)
     public List<Order> findByCustomerId(Long customerId) {
         return orderRepository.findByCustomerId(customerId);
@@ -168,16 +178,25 @@ public class OrderService {
         return orderRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
+    public List<OrderSummary> findSummariesByCustomerId(Long customerId) {
+        return orderRepository.findSummariesByCustomerId(customerId);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<OrderSummary> findSummariesByStatus(OrderStatus status) {
+        return orderRepository.findSummariesByStatus(status);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<OrderSummary> findAllSummaries() {
+        return orderRepository.findAllSummaries();
+    }
+    
     private Order findOrderById(Long orderId) {
         return orderRepository.findById(orderId)
             .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
     }
     
-    private void publishDomainEvents(Order order) {
-        List<DomainEvent> events = order.getDomainEvents();
-        events.forEach(eventPublisher::publishEvent);
-        order.clearEvents();
-    }
-    
     public record OrderItemDto(Long productId, int quantity) {}
 }
\ No newline at end of file
@@ -0,0 +1,281 @@
+package de.haw.swa.ordermanagement.application.service;
+
+import de.haw.swa.ordermanagement.application.readmodel.OrderStatistics;
+import de.haw.swa.ordermanagement.application.readmodel.OrderView;
+import de.haw.swa.ordermanagement.domain.model.order.Order;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.order.OrderSummary;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderCreated;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainClock;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+import de.haw.swa.ordermanagement.domain.model.statistics.OrderStatisticsBucket;
+import de.haw.swa.ordermanagement.domain.repository.OrderStatisticsRepository;
+import de.haw.swa.ordermanagement.infrastructure.replay.ReplayProjection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Order counts and amounts per status and day, maintained incrementally from the order events.
+ *
+ * Each committed state change is counted in memory ({@link OrderStatistics}); the changes are added to
+ * the {@code order_statistics} summary table periodically, which also brings in the counts of other
+ * instances. Reads are answered from memory and cost the same no matter how many orders exist.
+ * On the very first start the summary table is filled once from the current orders.
+ */
+@Service
+public class OrderStatisticsService {
+    
+    private static final Logger log = LoggerFactory.getLogger(OrderStatisticsService.class);
+    
+    private final OrderStatisticsRepository statisticsRepository;
+    private final OrderQueryService orderQueryService;
+    private final TransactionTemplate newTransaction;
+    private final OrderStatistics statistics = new OrderStatistics();
+    private final Counter flushFailures;
+    private final boolean enabled;
+    private final int dailyDays;
+    
+    private volatile boolean loaded;
+    
+    public OrderStatisticsService(OrderStatisticsRepository statisticsRepository,
+                                  OrderQueryService orderQueryService,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${ordermanagement.order-statistics.enabled:true}") boolean enabled,
+                                  @Value("${ordermanagement.order-statistics.daily-days:30}") int dailyDays) {
+        this.statisticsRepository = statisticsRepository;
+        this.orderQueryService = orderQueryService;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.dailyDays = dailyDays;
+        this.flushFailures = Counter.builder("ordermanagement.orderstatistics.flush.failures")
+            .description("Flushes of the order statistics that could not be stored and will be retried")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Number and amount of the orders currently in each status.
+     */
+    public Map<OrderStatus, OrderStatistics.Totals> byStatus() {
+        return statistics.byStatus();
+    }
+    
+    /**
+     * Orders that entered each status per day, for the configured number of days up to today.
+     */
+    public SortedMap<LocalDate, Map<OrderStatus, OrderStatistics.Totals>> daily() {
+        return statistics.daily(DomainClock.now().toLocalDate().minusDays(dailyDays - 1L));
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Counts a committed order state change.
+     */
+    public void apply(DomainEvent event) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            record(event, amountOf(event.aggregateId()));
+        } catch (RuntimeException e) {
+            log.warn("Cannot count {} of order {} in the statistics", event.getClass().getSimpleName(),
+                event.aggregateId(), e);
+        }
+    }
+    
+    /**
+     * Recounts the statistics from the event log into an emptied summary table, flushing at each checkpoint.
+     * The amounts come from the {@link OrderCreated} events, older events fall back to the order view.
+     * Live events counted meanwhile are added as well, and a live event whose order was also replayed
+     * counts twice, so a rebuild must run on a single instance while no orders change. It is only complete
+     * if the log holds every order event since the first order.
+     */
+    public ReplayProjection replayProjection() {
+        return new ReplayProjection() {
+            
+            // Amounts from the creation events of the current run, dropped when it completes
+            private final Map<Long, Long> amounts = new ConcurrentHashMap<>();
+            
+            @Override
+            public String name() {
+                return "order-statistics";
+            }
+            
+            @Override
+            public void reset() {
+                amounts.clear();
+                clear();
+            }
+            
+            @Override
+            public void apply(DomainEvent event) {
+                if (!enabled || !Order.isOrderEvent(event)) {
+                    return;
+                }
+                if (event instanceof OrderCreated created && created.totalAmountCents() != null) {
+                    amounts.put(created.orderId(), created.totalAmountCents());
+                }
+                Long amountCents = amounts.get(event.aggregateId());
+                record(event, amountCents != null ? amountCents : amountOf(event.aggregateId()));
+            }
+            
+            @Override
+            public void onCheckpoint(long position) {
+                flush();
+            }
+            
+            @Override
+            public void onCompleted(long position) {
+                amounts.clear();
+            }
+        };
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (newTransaction.execute(status -> statisticsRepository.count()) == 0) {
+                initializeFromOrders();
+            }
+            reload();
+            loaded = true;
+        } catch (RuntimeException e) {
+            log.warn("Cannot load the order statistics, retrying with the next flush", e);
+        }
+    }
+    
+    /**
+     * Adds the changes counted since the last flush to the summary table and reloads it.
+     */
+    @Scheduled(fixedDelayString = "${ordermanagement.order-statistics.flush-interval:10s}",
+        initialDelayString = "${ordermanagement.order-statistics.flush-interval:10s}")
+    public synchronized void flush() {
+        if (!enabled) {
+            return;
+        }
+        if (!loaded) {
+            // The summary table must be initialized before the first changes are added to it
+            loadOnStartup();
+            if (!loaded) {
+                return;
+            }
+        }
+        List<OrderStatistics.Bucket> deltas = statistics.drain();
+        try {
+            newTransaction.executeWithoutResult(status -> deltas.forEach(this::store));
+        } catch (RuntimeException e) {
+            // Typically two instances inserting the same new bucket; the next flush updates it instead
+            statistics.restore(deltas);
+            flushFailures.increment();
+            log.warn("Cannot store {} order statistics changes, retrying with the next flush", deltas.size(), e);
+            return;
+        }
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Cannot reload the order statistics", e);
+        }
+    }
+    
+    private void record(DomainEvent event, long amountCents) {
+        OrderStatus to = event instanceof OrderCreated ? OrderStatus.PENDING : Order.statusAfter(event);
+        statistics.recordTransition(event.occurredOn().toLocalDate(), Order.statusBefore(event), to, amountCents);
+    }
+    
+    private long amountOf(Long orderId) {
+        // Items and thus the amount never change after creation; usually answered by the order view
+        return orderQueryService.findById(orderId)
+            .map(OrderView::totalAmount)
+            .map(Money::getCents)
+            .orElse(0L);
+    }
+    
+    /**
+     * Empties the summary table and the counts in memory; the table stays loaded, so the next flush adds to it.
+     */
+    private synchronized void clear() {
+        statistics.drain();
+        newTransaction.executeWithoutResult(status -> statisticsRepository.deleteAllInBatch());
+        statistics.resetBaseline(List.of());
+        loaded = true;
+    }
+    
+    private void store(OrderStatistics.Bucket delta) {
+        int updated = statisticsRepository.addToBucket(delta.day(), delta.status(), delta.enteredCount(),
+            delta.enteredAmountCents(), delta.exitedCount(), delta.exitedAmountCents());
+        if (updated == 0) {
+            statisticsRepository.saveAndFlush(toEntity(delta));
+        }
+    }
+    
+    private void reload() {
+        List<OrderStatistics.Bucket> persisted = newTransaction.execute(status ->
+            statisticsRepository.findAll().stream().map(OrderStatisticsService::toBucket).toList());
+        statistics.resetBaseline(persisted);
+    }
+    
+    /**
+     * Counts every existing order as having entered its current status on the day of its last change.
+     * Only runs while the summary table is empty; a concurrent initialization by another instance makes
+     * the insert fail, and this instance then loads the other one's result.
+     */
+    private void initializeFromOrders() {
+        // Changes counted so far are contained in the current orders read below
+        statistics.drain();
+        Map<OrderStatisticsBucket.Key, OrderStatistics.Bucket> buckets = new HashMap<>();
+        for (OrderSummary order : orderQueryService.findAllSummaries()) {
+            LocalDate day = order.updatedAt().toLocalDate();
+            buckets.merge(new OrderStatisticsBucket.Key(day, order.status()),
+                new OrderStatistics.Bucket(day, order.status(), 1, order.totalAmount().getCents(), 0, 0),
+                OrderStatisticsService::sum);
+        }
+        try {
+            newTransaction.executeWithoutResult(status -> statisticsRepository.saveAllAndFlush(
+                buckets.values().stream().map(OrderStatisticsService::toEntity).toList()));
+            log.info("Initialized the order statistics from {} status/day buckets", buckets.size());
+        } catch (RuntimeException e) {
+            log.info("Order statistics were initialized concurrently, loading them instead");
+        }
+    }
+    
+    private static OrderStatistics.Bucket sum(OrderStatistics.Bucket a, OrderStatistics.Bucket b) {
+        return new OrderStatistics.Bucket(a.day(), a.status(), a.enteredCount() + b.enteredCount(),
+            a.enteredAmountCents() + b.enteredAmountCents(), a.exitedCount() + b.exitedCount(),
+            a.exitedAmountCents() + b.exitedAmountCents());
+    }
+    
+    private static OrderStatisticsBucket toEntity(OrderStatistics.Bucket bucket) {
+        return new OrderStatisticsBucket(bucket.day(), bucket.status(), bucket.enteredCount(),
+            bucket.enteredAmountCents(), bucket.exitedCount(), bucket.exitedAmountCents());
+    }
+    
+    private static OrderStatistics.Bucket toBucket(OrderStatisticsBucket entity) {
+        return new OrderStatistics.Bucket(entity.getDay(), entity.getStatus(), entity.getEnteredCount(),
+            entity.getEnteredAmountCents(), entity.getExitedCount(), entity.getExitedAmountCents());
+    }
+}
\ No newline at end of file
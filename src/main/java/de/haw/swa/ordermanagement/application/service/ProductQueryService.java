@@ -0,0 +1,347 @@
+package de.haw.swa.ordermanagement.application.service;
+
+import de.haw.swa.ordermanagement.application.readmodel.LowStockIndex;
+import de.haw.swa.ordermanagement.application.readmodel.ProductCatalog;
+import de.haw.swa.ordermanagement.application.readmodel.ProductFacetIndex;
+import de.haw.swa.ordermanagement.application.readmodel.ProductPage;
+import de.haw.swa.ordermanagement.application.readmodel.ProductSearchIndex;
+import de.haw.swa.ordermanagement.application.readmodel.ProductSuggester;
+import de.haw.swa.ordermanagement.application.readmodel.ProductView;
+import de.haw.swa.ordermanagement.domain.model.product.Product;
+import de.haw.swa.ordermanagement.domain.model.product.events.ProductRemoved;
+import de.haw.swa.ordermanagement.domain.model.product.events.ProductStockChanged;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+import de.haw.swa.ordermanagement.domain.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Serves product reads from the off-heap {@link ProductCatalog}, searches from the {@link ProductSearchIndex},
+ * name suggestions from the {@link ProductSuggester}, filters from the {@link ProductFacetIndex} and the
+ * products that need restocking from the {@link LowStockIndex}.
+ *
+ * The catalog is loaded on startup and kept current by the product events of this instance, applied
+ * right after their transaction commits. A periodic synchronization walks the product table in ID
+ * order to pick up changes of other instances. Until the first load has finished, reads go to the
+ * database; a product missing from the catalog is looked up in the database as well.
+ *
+ * Products read from the database do not replace entries that an event changed or removed after the
+ * read began (see {@link ProductCatalog#putIfUnchangedSince}); the next synchronization reads them again.
+ * Catalog and indexes are written under one lock, so they agree on which state won.
+ */
+@Service
+public class ProductQueryService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ProductQueryService.class);
+    
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readTransaction;
+    private final ProductCatalog catalog;
+    private final ProductSearchIndex searchIndex = new ProductSearchIndex();
+    private final ProductSuggester suggester;
+    private final long[] priceBoundsCents;
+    private final int[] stockThresholds;
+    private final ProductFacetIndex facetIndex;
+    private final LowStockIndex lowStockIndex = new LowStockIndex();
+    private final Object writeLock = new Object();
+    private final boolean enabled;
+    private final int loadBatchSize;
+    
+    private volatile boolean loaded;
+    
+    public ProductQueryService(ProductRepository productRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${ordermanagement.product-catalog.enabled:true}") boolean enabled,
+                               @Value("${ordermanagement.product-catalog.expected-products:10000}") int expectedProducts,
+                               @Value("${ordermanagement.product-catalog.load-batch-size:1000}") int loadBatchSize,
+                               @Value("${ordermanagement.product-catalog.max-suggestions:10}") int maxSuggestions,
+                               @Value("${ordermanagement.product-catalog.price-bands:50,100,250,500,1000}") BigDecimal[] priceBands,
+                               @Value("${ordermanagement.product-catalog.stock-thresholds:10,50,100}") int[] stockThresholds) {
+        this.productRepository = productRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.catalog = new ProductCatalog(expectedProducts);
+        this.suggester = new ProductSuggester(maxSuggestions);
+        this.priceBoundsCents = Arrays.stream(priceBands).mapToLong(bound -> Money.euro(bound).getCents()).toArray();
+        this.stockThresholds = stockThresholds;
+        this.facetIndex = new ProductFacetIndex(priceBoundsCents, stockThresholds);
+        this.enabled = enabled;
+        this.loadBatchSize = loadBatchSize;
+        
+        Gauge.builder("ordermanagement.productcatalog.products", catalog, ProductCatalog::size)
+            .description("Products held in the off-heap catalog")
+            .register(meterRegistry);
+        Gauge.builder("ordermanagement.productcatalog.offheap", catalog, ProductCatalog::offHeapBytes)
+            .description("Direct memory reserved by the product catalog")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("ordermanagement.productsearch.grams", searchIndex, ProductSearchIndex::gramCount)
+            .description("Distinct trigrams and bigrams in the product search index")
+            .register(meterRegistry);
+        Gauge.builder("ordermanagement.products.lowstock", lowStockIndex, LowStockIndex::lowStockCount)
+            .description("Products with stock at or below their low-stock threshold")
+            .register(meterRegistry);
+    }
+    
+    public Optional<ProductView> findById(Long productId) {
+        if (loaded) {
+            Optional<ProductView> view = catalog.get(productId);
+            if (view.isPresent()) {
+                return view;
+            }
+        }
+        long changeMark = catalog.changeMark();
+        return readTransaction.execute(status ->
+            productRepository.findById(productId).map(product -> remember(product, changeMark)));
+    }
+    
+    public List<ProductView> findAllByIds(Collection<Long> productIds) {
+        if (!loaded) {
+            return readTransaction.execute(status ->
+                productRepository.findAllById(productIds).stream().map(ProductView::of).toList());
+        }
+        List<ProductView> views = catalog.getAll(productIds);
+        if (views.size() < productIds.size()) {
+            Set<Long> found = new HashSet<>();
+            views.forEach(view -> found.add(view.id()));
+            List<Long> missing = productIds.stream().filter(id -> !found.contains(id)).toList();
+            long changeMark = catalog.changeMark();
+            views = new ArrayList<>(views);
+            views.addAll(readTransaction.execute(status -> productRepository.findAllById(missing).stream()
+                .map(product -> remember(product, changeMark))
+                .toList()));
+        }
+        return views;
+    }
+    
+    public List<ProductView> findAll() {
+        if (!loaded) {
+            return readTransaction.execute(status ->
+                productRepository.findAll().stream().map(ProductView::of).toList());
+        }
+        return catalog.findAll();
+    }
+    
+    /**
+     * Products whose name or description contains every word of the query, best match first.
+     * Before the catalog is loaded, only names are searched, in the database and without ranking.
+     */
+    public List<ProductView> search(String query, int limit) {
+        if (!loaded) {
+            return readTransaction.execute(status -> productRepository.findByNameContainingIgnoreCase(query).stream()
+                .limit(limit)
+                .map(ProductView::of)
+                .toList());
+        }
+        return catalog.getAll(searchIndex.search(query, limit));
+    }
+    
+    /**
+     * Products with a name or a part of the name starting with the prefix, those with the most stock first.
+     * Before the catalog is loaded, the database is searched instead.
+     */
+    public List<ProductView> suggest(String prefix, int limit) {
+        if (!loaded) {
+            return readTransaction.execute(status -> productRepository.findByNameContainingIgnoreCase(prefix.strip()).stream()
+                .filter(product -> startsNameOrWord(product.getName(), prefix.strip()))
+                .sorted(Comparator.comparingInt(Product::getStockQuantity).reversed().thenComparing(Product::getId))
+                .limit(limit)
+                .map(ProductView::of)
+                .toList());
+        }
+        return catalog.getAll(suggester.suggest(prefix, limit));
+    }
+    
+    /**
+     * One page of the products matching the filter, ordered by ID, with the counts per price band and availability.
+     * Before the catalog is loaded, the filter runs on a temporary index of all products.
+     */
+    public ProductPage filter(ProductFacetIndex.Filter filter, int offset, int limit) {
+        if (!loaded) {
+            return readTransaction.execute(status -> {
+                ProductFacetIndex index = new ProductFacetIndex(priceBoundsCents, stockThresholds);
+                Map<Long, ProductView> views = new HashMap<>();
+                for (Product product : productRepository.findAll()) {
+                    index.put(product.getId(), product.getName(), product.getPrice().getCents(), product.getStockQuantity());
+                    views.put(product.getId(), ProductView.of(product));
+                }
+                ProductFacetIndex.Result result = index.filter(filter, offset, limit);
+                return new ProductPage(result.productIds().stream().map(views::get).toList(), result.total(), result.facets());
+            });
+        }
+        ProductFacetIndex.Result result = facetIndex.filter(filter, offset, limit);
+        return new ProductPage(catalog.getAll(result.productIds()), result.total(), result.facets());
+    }
+    
+    /**
+     * Products with stock at or below their low-stock threshold, the largest shortfall first.
+     */
+    public List<LowStockIndex.LowStock> findLowStock(int limit) {
+        if (!loaded) {
+            return readTransaction.execute(status -> productRepository.findLowOnStock().stream()
+                .map(product -> new LowStockIndex.LowStock(product.getId(), product.getStockQuantity(), product.getLowStockThreshold()))
+                .sorted(Comparator.comparingLong((LowStockIndex.LowStock low) -> (long) low.stockQuantity() - low.lowStockThreshold())
+                    .thenComparingLong(LowStockIndex.LowStock::productId))
+                .limit(limit)
+                .toList());
+        }
+        return lowStockIndex.lowStock(limit);
+    }
+    
+    /**
+     * Applies a committed product event to the catalog.
+     */
+    public void apply(DomainEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Long productId = event.aggregateId();
+        try {
+            if (event instanceof ProductRemoved) {
+                forget(productId);
+            } else if (!(event instanceof ProductStockChanged changed) || !updateStock(productId, changed.stockQuantity())) {
+                readTransaction.executeWithoutResult(status -> productRepository.findById(productId).ifPresent(this::store));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cannot apply {} to the catalog entry of product {}", event.getClass().getSimpleName(), productId, e);
+            forget(productId);
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (enabled) {
+            synchronize();
+            log.info("Loaded {} products into the off-heap catalog ({} KiB direct memory)",
+                catalog.size(), catalog.offHeapBytes() / 1024);
+        }
+    }
+    
+    /**
+     * Rewrites catalog and search index from the product table in batches and drops products that no longer exist.
+     */
+    @Scheduled(fixedDelayString = "${ordermanagement.product-catalog.sync-interval:5m}",
+        initialDelayString = "${ordermanagement.product-catalog.sync-interval:5m}")
+    public void synchronize() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int generation = catalog.beginSync();
+            long lastId = 0;
+            while (true) {
+                long afterId = lastId;
+                List<Product> batch = readTransaction.execute(status -> {
+                    long changeMark = catalog.changeMark();
+                    List<Product> products = productRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(loadBatchSize));
+                    products.forEach(product -> storeIfUnchangedSince(product, changeMark));
+                    return products;
+                });
+                if (batch.isEmpty()) {
+                    break;
+                }
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+            List<Long> removed;
+            synchronized (writeLock) {
+                removed = catalog.removeNotSyncedSince(generation);
+                removed.forEach(id -> {
+                    searchIndex.remove(id);
+                    suggester.remove(id);
+                    facetIndex.remove(id);
+                    lowStockIndex.remove(id);
+                });
+            }
+            loaded = true;
+            if (!removed.isEmpty()) {
+                log.debug("Removed {} deleted products from the catalog", removed.size());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Product catalog synchronization failed", e);
+        }
+    }
+    
+    private ProductView remember(Product product, long changeMark) {
+        if (loaded) {
+            storeIfUnchangedSince(product, changeMark);
+        }
+        return ProductView.of(product);
+    }
+    
+    private void store(Product product) {
+        synchronized (writeLock) {
+            catalog.put(product);
+            index(product);
+        }
+    }
+    
+    private void storeIfUnchangedSince(Product product, long changeMark) {
+        synchronized (writeLock) {
+            if (catalog.putIfUnchangedSince(product, changeMark)) {
+                index(product);
+            }
+        }
+    }
+    
+    private void index(Product product) {
+        searchIndex.put(product.getId(), product.getName(), product.getDescription());
+        suggester.put(product.getId(), product.getName(), product.getStockQuantity());
+        facetIndex.put(product.getId(), product.getName(), product.getPrice().getCents(), product.getStockQuantity());
+        lowStockIndex.put(product.getId(), product.getStockQuantity(), product.getLowStockThreshold());
+    }
+    
+    private boolean updateStock(Long productId, int stockQuantity) {
+        synchronized (writeLock) {
+            if (!catalog.updateStock(productId, stockQuantity)) {
+                return false;
+            }
+            suggester.updateWeight(productId, stockQuantity);
+            facetIndex.updateStock(productId, stockQuantity);
+            lowStockIndex.updateStock(productId, stockQuantity);
+            return true;
+        }
+    }
+    
+    private void forget(Long productId) {
+        synchronized (writeLock) {
+            catalog.remove(productId);
+            searchIndex.remove(productId);
+            suggester.remove(productId);
+            facetIndex.remove(productId);
+            lowStockIndex.remove(productId);
+        }
+    }
+    
+    private static boolean startsNameOrWord(String name, String prefix) {
+        String lowerName = name.toLowerCase(Locale.ROOT);
+        String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+        return lowerName.startsWith(lowerPrefix) || lowerName.contains(" " + lowerPrefix);
+    }
+}
\ No newline at end of file
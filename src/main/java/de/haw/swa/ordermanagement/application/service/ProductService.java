@@ -0,0 +1,59 @@
+package de.haw.swa.ordermanagement.application.service;
+
+import de.haw.swa.ordermanagement.domain.model.product.Product;
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+import de.haw.swa.ordermanagement.domain.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Service
+@Transactional
+public class ProductService {
+    
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Integer defaultLowStockThreshold;
+    
+    public ProductService(ProductRepository productRepository, ApplicationEventPublisher eventPublisher,
+                          @Value("${ordermanagement.low-stock.default-threshold:#{null}}") Integer defaultLowStockThreshold) {
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.defaultLowStockThreshold = defaultLowStockThreshold;
+    }
+    
+    public Product createProduct(String name, String description, Money price, int stockQuantity) {
+        return createProduct(name, description, price, stockQuantity, null);
+    }
+    
+    /**
+     * @param lowStockThreshold stock level that raises a low-stock event, {@code null} for the configured default
+     */
+    public Product createProduct(String name, String description, Money price, int stockQuantity, Integer lowStockThreshold) {
+        Integer threshold = lowStockThreshold != null ? lowStockThreshold : defaultLowStockThreshold;
+        Product savedProduct = productRepository.save(new Product(name, description, price, stockQuantity, threshold));
+        
+        // Register creation event after persisting (when ID is available)
+        savedProduct.registerCreationEvent();
+        DomainEvents.publish(eventPublisher, savedProduct);
+        
+        return savedProduct;
+    }
+    
+    /**
+     * @return {@code false} if there is no product with this ID
+     */
+    public boolean deleteProduct(Long productId) {
+        Optional<Product> product = productRepository.findById(productId);
+        if (product.isEmpty()) {
+            return false;
+        }
+        product.get().remove();
+        productRepository.delete(product.get());
+        DomainEvents.publish(eventPublisher, product.get());
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package de.haw.swa.ordermanagement.application.service;
+
+import de.haw.swa.ordermanagement.infrastructure.replay.ReplayEngine;
+import de.haw.swa.ordermanagement.infrastructure.replay.ReplayProjection;
+import de.haw.swa.ordermanagement.infrastructure.replay.ReplayResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds the read models from the event log, one run at a time.
+ *
+ * The customer order history exists only in memory and is rebuilt on every startup. The order view and
+ * the statistics are loaded from the database and are only rebuilt on request, e.g. after a bug in
+ * their event handling was fixed. Requires {@code ordermanagement.event-log.enabled=true}.
+ */
+@Service
+public class ReplayService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReplayService.class);
+    
+    private final Optional<ReplayEngine> replayEngine;
+    private final CustomerOrderHistoryService customerOrderHistoryService;
+    private final Map<String, ReplayProjection> projections;
+    
+    public ReplayService(Optional<ReplayEngine> replayEngine,
+                         OrderQueryService orderQueryService,
+                         OrderStatisticsService orderStatisticsService,
+                         CustomerOrderHistoryService customerOrderHistoryService) {
+        this.replayEngine = replayEngine;
+        this.customerOrderHistoryService = customerOrderHistoryService;
+        this.projections = Stream.of(orderQueryService.replayProjection(), orderStatisticsService.replayProjection(),
+                customerOrderHistoryService.replayProjection())
+            .collect(Collectors.toUnmodifiableMap(ReplayProjection::name, Function.identity()));
+    }
+    
+    public boolean isEnabled() {
+        return replayEngine.isPresent();
+    }
+    
+    public boolean isKnown(String name) {
+        return projections.containsKey(name);
+    }
+    
+    /**
+     * Resets the named read model and applies the whole event log.
+     *
+     * @throws IllegalArgumentException if there is no read model of that name
+     * @throws IllegalStateException    if the event log is disabled
+     */
+    public synchronized ReplayResult rebuild(String name) {
+        return engine().rebuild(name, List.of(projection(name)));
+    }
+    
+    /**
+     * Applies the event log to the named read model from the checkpoint of its previous run.
+     *
+     * @throws IllegalArgumentException if there is no read model of that name
+     * @throws IllegalStateException    if the event log is disabled
+     */
+    public synchronized ReplayResult resume(String name) {
+        return engine().resume(name, List.of(projection(name)));
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (replayEngine.isEmpty()) {
+            return;
+        }
+        try {
+            rebuild(customerOrderHistoryService.replayProjection().name());
+        } catch (RuntimeException e) {
+            log.warn("Cannot rebuild the customer order history from the event log", e);
+        }
+    }
+    
+    private ReplayEngine engine() {
+        return replayEngine.orElseThrow(() -> new IllegalStateException("The event log is disabled"));
+    }
+    
+    private ReplayProjection projection(String name) {
+        ReplayProjection projection = projections.get(name);
+        if (projection == null) {
+            throw new IllegalArgumentException("Unknown read model: " + name);
+        }
+        return projection;
+    }
+}
\ No newline at end of file
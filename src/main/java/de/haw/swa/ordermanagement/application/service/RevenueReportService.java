@@ -0,0 +1,242 @@
+package de.haw.swa.ordermanagement.application.service;
+
+import de.haw.swa.ordermanagement.application.readmodel.RevenueAccumulator;
+import de.haw.swa.ordermanagement.domain.model.order.OrderItemLine;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.repository.OrderHistoryRepository;
+import de.haw.swa.ordermanagement.domain.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Revenue and sales per day, product and customer over a date range, computed from the order items.
+ *
+ * The range of order IDs is split into partitions of {@code partition-size} IDs, which are scanned in
+ * parallel on a fork-join pool, each in its own read-only transaction that streams the item lines of
+ * its orders instead of loading them. Every partition sums its lines into a {@link RevenueAccumulator}
+ * of primitive totals, and the partial results are merged pairwise as the tasks complete. Each running
+ * partition holds a database connection, so {@code parallelism} should stay below the pool size.
+ *
+ * When the order history is enabled, the days it covers are read from its files instead, one task per
+ * month next to the database partitions, and the database is only scanned for the days after.
+ *
+ * Orders count as revenue once paid, unless cancelled or returned, and belong to the day they were created.
+ */
+@Service
+public class RevenueReportService {
+    
+    private static final Logger log = LoggerFactory.getLogger(RevenueReportService.class);
+    
+    static final Set<OrderStatus> REVENUE_STATUSES = EnumSet.of(OrderStatus.PAID, OrderStatus.SHIPPED,
+        OrderStatus.DELIVERED);
+    
+    private final OrderRepository orderRepository;
+    private final OrderHistoryRepository orderHistory;
+    private final TransactionTemplate readTransaction;
+    private final ForkJoinPool pool;
+    private final long partitionSize;
+    private final Timer reportTimer;
+    
+    public RevenueReportService(OrderRepository orderRepository,
+                                Optional<OrderHistoryRepository> orderHistory,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${ordermanagement.revenue-report.parallelism:0}") int parallelism,
+                                @Value("${ordermanagement.revenue-report.partition-size:10000}") long partitionSize) {
+        if (partitionSize < 1) {
+            throw new IllegalArgumentException("Partition size must be positive");
+        }
+        this.orderRepository = orderRepository;
+        this.orderHistory = orderHistory.orElse(null);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.partitionSize = partitionSize;
+        this.reportTimer = Timer.builder("ordermanagement.reports.revenue")
+            .description("Time to compute a revenue report from the orders")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Revenue of the orders created from {@code from} to {@code to}, both inclusive, with at most
+     * {@code limit} products and customers.
+     */
+    public RevenueAccumulator.RevenueReport report(LocalDate from, LocalDate to, int limit) {
+        long started = System.nanoTime();
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        LocalDateTime historyEnd = historyEnd(start, end);
+        RevenueAccumulator totals = pool.invoke(new Report(start, historyEnd, end));
+        long elapsed = System.nanoTime() - started;
+        reportTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.debug("Revenue report from {} to {}: {} orders in {} ms", from, to, totals.orders(),
+            TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return totals.report(from, to, limit);
+    }
+    
+    @PreDestroy
+    public void close() {
+        pool.shutdown();
+    }
+    
+    /**
+     * End of the part of {@code [start, end)} that is read from the order history; {@code start} if none is.
+     */
+    private LocalDateTime historyEnd(LocalDateTime start, LocalDateTime end) {
+        if (orderHistory == null) {
+            return start;
+        }
+        return orderHistory.coveredUntil()
+            .map(LocalDate::atStartOfDay)
+            .filter(coveredUntil -> coveredUntil.isAfter(start))
+            .map(coveredUntil -> coveredUntil.isBefore(end) ? coveredUntil : end)
+            .orElse(start);
+    }
+    
+    /**
+     * Sums the item lines of the orders created in {@code [from, to)} from the database.
+     */
+    private RevenueAccumulator scanDatabase(LocalDateTime from, LocalDateTime to) {
+        Long minId = readTransaction.execute(status -> orderRepository.findMinId(from, to));
+        Long maxId = readTransaction.execute(status -> orderRepository.findMaxId(from, to));
+        if (minId == null || maxId == null) {
+            return new RevenueAccumulator();
+        }
+        return new Partition(minId, maxId + 1, from, to).compute();
+    }
+    
+    /**
+     * Sums the item lines of one partition, streamed in a transaction of the calling worker thread.
+     */
+    private RevenueAccumulator scan(long fromId, long toId, LocalDateTime from, LocalDateTime to) {
+        return readTransaction.execute(status -> {
+            try (Stream<OrderItemLine> lines = orderRepository.streamItemLines(fromId, toId, REVENUE_STATUSES, from, to)) {
+                return sum(lines);
+            }
+        });
+    }
+    
+    /**
+     * Sums the item lines of the order history in {@code [from, to)}, which needs no transaction.
+     */
+    private RevenueAccumulator scanHistory(LocalDateTime from, LocalDateTime to) {
+        try (Stream<OrderItemLine> lines = orderHistory.streamItemLines(REVENUE_STATUSES, from, to)) {
+            return sum(lines);
+        }
+    }
+    
+    private static RevenueAccumulator sum(Stream<OrderItemLine> lines) {
+        RevenueAccumulator totals = new RevenueAccumulator();
+        lines.forEach(line -> totals.add(line.orderId(), line.customerId(), line.createdAt().toLocalDate(),
+            line.productId(), line.quantity(), line.totalPrice().getCents()));
+        return totals;
+    }
+    
+    /**
+     * The whole report: the history part, split by month, runs next to the database part.
+     */
+    private final class Report extends RecursiveTask<RevenueAccumulator> {
+        
+        private final LocalDateTime start;
+        private final LocalDateTime historyEnd;
+        private final LocalDateTime end;
+        
+        Report(LocalDateTime start, LocalDateTime historyEnd, LocalDateTime end) {
+            this.start = start;
+            this.historyEnd = historyEnd;
+            this.end = end;
+        }
+        
+        @Override
+        protected RevenueAccumulator compute() {
+            HistoryMonths history = null;
+            if (start.isBefore(historyEnd)) {
+                history = new HistoryMonths(start, historyEnd);
+                history.fork();
+            }
+            RevenueAccumulator totals = historyEnd.isBefore(end) ? scanDatabase(historyEnd, end) : new RevenueAccumulator();
+            return history == null ? totals : history.join().merge(totals);
+        }
+    }
+    
+    /**
+     * A range of days read from the order history, split in halves until it lies within one month.
+     */
+    private final class HistoryMonths extends RecursiveTask<RevenueAccumulator> {
+        
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        
+        HistoryMonths(LocalDateTime from, LocalDateTime to) {
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected RevenueAccumulator compute() {
+            YearMonth first = YearMonth.from(from);
+            long months = ChronoUnit.MONTHS.between(first, YearMonth.from(to.minusNanos(1)));
+            if (months == 0) {
+                return scanHistory(from, to);
+            }
+            LocalDateTime middle = first.plusMonths((months + 1) / 2).atDay(1).atStartOfDay();
+            HistoryMonths lower = new HistoryMonths(from, middle);
+            lower.fork();
+            RevenueAccumulator upper = new HistoryMonths(middle, to).compute();
+            return lower.join().merge(upper);
+        }
+    }
+    
+    /**
+     * A range of order IDs, split in halves until it is no larger than one partition.
+     */
+    private final class Partition extends RecursiveTask<RevenueAccumulator> {
+        
+        private final long fromId;
+        private final long toId;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        
+        Partition(long fromId, long toId, LocalDateTime from, LocalDateTime to) {
+            this.fromId = fromId;
+            this.toId = toId;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected RevenueAccumulator compute() {
+            if (toId - fromId <= partitionSize) {
+                return scan(fromId, toId, from, to);
+            }
+            // Split on a partition boundary, so every scan covers a full partition except the last
+            long partitions = (toId - fromId + partitionSize - 1) / partitionSize;
+            long middle = fromId + partitions / 2 * partitionSize;
+            Partition lower = new Partition(fromId, middle, from, to);
+            lower.fork();
+            RevenueAccumulator upper = new Partition(middle, toId, from, to).compute();
+            return lower.join().merge(upper);
+        }
+    }
+}
\ No newline at end of file
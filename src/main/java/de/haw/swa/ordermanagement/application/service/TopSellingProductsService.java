@@ -0,0 +1,71 @@
+package de.haw.swa.ordermanagement.application.service;
+
+import de.haw.swa.ordermanagement.application.readmodel.OrderView;
+import de.haw.swa.ordermanagement.application.readmodel.TopSellers;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderConfirmed;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainClock;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Best-selling products of the recent past, counted from the confirmed orders of this instance.
+ *
+ * Every confirmed order adds the quantities of its items to a {@link TopSellers} sketch with a sliding
+ * window, so the ranking takes bounded memory and never touches the order items table.
+ */
+@Service
+public class TopSellingProductsService {
+    
+    private static final Logger log = LoggerFactory.getLogger(TopSellingProductsService.class);
+    
+    private final OrderQueryService orderQueryService;
+    private final TopSellers topSellers;
+    private final boolean enabled;
+    
+    public TopSellingProductsService(OrderQueryService orderQueryService,
+                                     @Value("${ordermanagement.top-products.enabled:true}") boolean enabled,
+                                     @Value("${ordermanagement.top-products.window:1h}") Duration window,
+                                     @Value("${ordermanagement.top-products.slots:12}") int slots,
+                                     @Value("${ordermanagement.top-products.capacity:1000}") int capacity,
+                                     @Value("${ordermanagement.top-products.max-staleness:1s}") Duration maxStaleness) {
+        this.orderQueryService = orderQueryService;
+        this.enabled = enabled;
+        this.topSellers = new TopSellers(window.toMillis(), slots, capacity, maxStaleness.toMillis());
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Best-selling products of the window, best first.
+     */
+    public List<TopSellers.Seller> top(int limit) {
+        return topSellers.top(limit, DomainClock.get().millis());
+    }
+    
+    /**
+     * Counts the items of a committed order confirmation.
+     */
+    public void apply(DomainEvent event) {
+        if (!enabled || !(event instanceof OrderConfirmed)) {
+            return;
+        }
+        try {
+            long confirmedAt = event.occurredOn().atZone(DomainClock.get().getZone()).toInstant().toEpochMilli();
+            orderQueryService.findById(event.aggregateId()).map(OrderView::items).ifPresent(items -> {
+                for (OrderView.Item item : items) {
+                    topSellers.record(item.productId(), item.quantity(), confirmedAt);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Cannot count the items of order {} as sold", event.aggregateId(), e);
+        }
+    }
+}
\ No newline at end of file
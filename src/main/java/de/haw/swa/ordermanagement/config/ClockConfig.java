@@ -0,0 +1,51 @@
+package de.haw.swa.ordermanagement.config;
+
+import de.haw.swa.ordermanagement.domain.model.shared.DomainClock;
+import de.haw.swa.ordermanagement.infrastructure.time.CachedMillisClock;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.ZoneId;
+
+/**
+ * Provides the application {@link Clock} and installs it as {@link DomainClock}.
+ *
+ * {@code ordermanagement.clock.mode=system} reads the system clock on every call,
+ * {@code cached} uses a {@link CachedMillisClock} ticking once per millisecond.
+ * On shutdown the {@link DomainClock} is only reset if it still holds this context's clock, so closing
+ * one of several application contexts (as in tests) leaves the clock of another one in place.
+ */
+@Configuration
+public class ClockConfig implements DisposableBean {
+
+    private Clock installed;
+
+    @Bean
+    public Clock clock(@Value("${ordermanagement.clock.mode:system}") String mode) {
+        ZoneId zone = ZoneId.systemDefault();
+        Clock clock = switch (mode) {
+            case "system" -> Clock.system(zone);
+            case "cached" -> new CachedMillisClock(zone);
+            default -> throw new IllegalArgumentException("Unknown clock mode: " + mode);
+        };
+        DomainClock.set(clock);
+        installed = clock;
+        return clock;
+    }
+
+    @Override
+    public void destroy() {
+        if (installed == null) {
+            return;
+        }
+        if (DomainClock.get() == installed) {
+            DomainClock.reset();
+        }
+        if (installed instanceof CachedMillisClock cached) {
+            cached.close();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package de.haw.swa.ordermanagement.config;
+
+import de.haw.swa.ordermanagement.infrastructure.codec.BinaryWireFormat;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+/**
+ * Registers the binary (CBOR) message converter next to the default JSON converter.
+ * Clients opt in with {@code Accept: application/cbor}; without it, JSON stays the default.
+ */
+@Configuration
+public class ContentNegotiationConfig {
+
+    /**
+     * Replaces Spring's default CBOR converter, so the pinned wire encodings
+     * from {@link BinaryWireFormat} are used for both requests and responses.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(BinaryWireFormat.cborMapper());
+    }
+}
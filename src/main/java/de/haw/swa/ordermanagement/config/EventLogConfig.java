@@ -0,0 +1,76 @@
+package de.haw.swa.ordermanagement.config;
+
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderCancelled;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderConfirmed;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderCreated;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderDelivered;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderPaid;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderReturned;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderShipped;
+import de.haw.swa.ordermanagement.domain.model.product.events.ProductCreated;
+import de.haw.swa.ordermanagement.domain.model.product.events.ProductRemoved;
+import de.haw.swa.ordermanagement.domain.model.product.events.ProductStockChanged;
+import de.haw.swa.ordermanagement.domain.model.product.events.ProductStockLow;
+import de.haw.swa.ordermanagement.domain.model.product.events.ProductStockReplenished;
+import de.haw.swa.ordermanagement.infrastructure.eventlog.EventCodec;
+import de.haw.swa.ordermanagement.infrastructure.eventlog.EventLog;
+import de.haw.swa.ordermanagement.infrastructure.replay.ReplayCheckpointStore;
+import de.haw.swa.ordermanagement.infrastructure.replay.ReplayEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Writes all published domain events to a local {@link EventLog} and provides a {@link ReplayEngine}
+ * to rebuild read models from it.
+ * This configuration is only active when {@code ordermanagement.event-log.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ordermanagement.event-log", name = "enabled", havingValue = "true")
+public class EventLogConfig {
+
+    @Bean
+    public EventCodec eventCodec() {
+        // Type IDs are part of the file format, never reuse or renumber them
+        return new EventCodec()
+            .register(1, OrderCreated.class)
+            .register(2, OrderConfirmed.class)
+            .register(3, OrderPaid.class)
+            .register(4, OrderShipped.class)
+            .register(5, OrderDelivered.class)
+            .register(6, OrderReturned.class)
+            .register(7, OrderCancelled.class)
+            .register(8, ProductCreated.class)
+            .register(9, ProductStockChanged.class)
+            .register(10, ProductRemoved.class)
+            .register(11, ProductStockLow.class)
+            .register(12, ProductStockReplenished.class);
+    }
+
+    @Bean(destroyMethod = "close")
+    public EventLog eventLog(
+            EventCodec eventCodec,
+            @Value("${ordermanagement.event-log.directory:data/event-log}") Path directory,
+            @Value("${ordermanagement.event-log.segment-size:64MB}") DataSize segmentSize,
+            @Value("${ordermanagement.event-log.fsync:interval}") EventLog.FsyncMode fsyncMode,
+            @Value("${ordermanagement.event-log.fsync-interval:10ms}") Duration fsyncInterval) throws IOException {
+        return EventLog.open(directory, Math.toIntExact(segmentSize.toBytes()), fsyncMode, fsyncInterval, eventCodec);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplayEngine replayEngine(
+            EventLog eventLog,
+            @Value("${ordermanagement.event-log.replay.checkpoint-directory:data/replay-checkpoints}") Path checkpointDirectory,
+            @Value("${ordermanagement.event-log.replay.parallelism:0}") int parallelism,
+            @Value("${ordermanagement.event-log.replay.batch-size:65536}") int batchSize,
+            @Value("${ordermanagement.event-log.replay.checkpoint-interval:1000000}") long checkpointInterval) {
+        return new ReplayEngine(eventLog, new ReplayCheckpointStore(checkpointDirectory),
+            parallelism, batchSize, checkpointInterval);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package de.haw.swa.ordermanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.haw.swa.ordermanagement.infrastructure.persistence.eventsourced.EventSourcedOrderRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Persists orders as event streams instead of rows in the {@code orders} table.
+ * This configuration is only active when the 'event-sourced' profile is enabled.
+ */
+@Configuration
+@Profile("event-sourced")
+public class EventSourcingConfig {
+
+    @Bean
+    @Primary
+    public EventSourcedOrderRepository eventSourcedOrderRepository(
+            EntityManager entityManager,
+            ObjectMapper objectMapper,
+            @Value("${ordermanagement.event-sourcing.snapshot-interval:10}") int snapshotInterval) {
+        return new EventSourcedOrderRepository(entityManager, objectMapper, snapshotInterval);
+    }
+}
\ No newline at end of file
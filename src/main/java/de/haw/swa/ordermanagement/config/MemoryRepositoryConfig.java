@@ -0,0 +1,44 @@
+package de.haw.swa.ordermanagement.config;
+
+import de.haw.swa.ordermanagement.domain.repository.ProductRepository;
+import de.haw.swa.ordermanagement.infrastructure.persistence.memory.InMemoryOrderRepository;
+import de.haw.swa.ordermanagement.infrastructure.persistence.memory.InMemoryProductRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Replaces the JPA order and product repositories with in-memory implementations.
+ * This configuration is only active when the 'memory' profile is enabled.
+ *
+ * Customers and idempotency keys stay in the (embedded) database. The product catalog is copied
+ * from the database once at startup, so the usual seed data is available.
+ */
+@Configuration
+@Profile("memory")
+public class MemoryRepositoryConfig {
+
+    @Bean
+    @Primary
+    public InMemoryOrderRepository inMemoryOrderRepository() {
+        return new InMemoryOrderRepository();
+    }
+
+    @Bean
+    @Primary
+    public InMemoryProductRepository inMemoryProductRepository() {
+        return new InMemoryProductRepository();
+    }
+
+    /**
+     * Runs after the Flyway migrations, which insert the sample products.
+     */
+    @Bean
+    public ApplicationRunner inMemoryProductSeeder(@Qualifier("productRepository") ProductRepository database,
+                                                   InMemoryProductRepository memory) {
+        return args -> memory.saveAll(database.findAll());
+    }
+}
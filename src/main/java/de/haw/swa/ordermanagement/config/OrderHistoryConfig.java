@@ -0,0 +1,40 @@
+package de.haw.swa.ordermanagement.config;
+
+import de.haw.swa.ordermanagement.infrastructure.history.OrderHistoryExporter;
+import de.haw.swa.ordermanagement.infrastructure.history.OrderHistoryStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Moves archived orders of past months into local columnar files, from which revenue reports read them.
+ * This configuration is only active when {@code ordermanagement.order-history.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ordermanagement.order-history", name = "enabled", havingValue = "true")
+public class OrderHistoryConfig {
+
+    @Bean
+    public OrderHistoryStore orderHistoryStore(
+            @Value("${ordermanagement.order-history.directory:data/order-history}") Path directory) throws IOException {
+        return OrderHistoryStore.open(directory);
+    }
+
+    @Bean
+    public OrderHistoryExporter orderHistoryExporter(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            OrderHistoryStore orderHistoryStore,
+            @Value("${ordermanagement.order-history.export-after:365d}") Duration exportAfter) {
+        return new OrderHistoryExporter(jdbcTemplate, transactionManager, meterRegistry, orderHistoryStore, exportAfter);
+    }
+}
\ No newline at end of file
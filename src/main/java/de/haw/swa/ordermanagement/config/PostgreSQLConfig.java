@@ -1,14 +1,11 @@
 package de.haw.swa.ordermanagement.config;
 
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import de.haw.swa.ordermanagement.infrastructure.persistence.jdbc.OrderPartitionMaintainer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.jdbc.datasource.init.DataSourceInitializer;
-import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
-
-import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 /**
  * Configuration class for PostgreSQL-specific settings.
@@ -19,30 +16,12 @@ import javax.sql.DataSource;
 public class PostgreSQLConfig {
 
     /**
-     * Database initializer for PostgreSQL.
-     * Executes schema and data scripts when the application starts.
+     * Creates the monthly partitions of the orders table ahead of time.
      */
     @Bean
-    @ConditionalOnProperty(
-        name = "spring.sql.init.mode", 
-        havingValue = "always", 
-        matchIfMissing = false
-    )
-    public DataSourceInitializer postgresDataSourceInitializer(DataSource dataSource) {
-        DataSourceInitializer initializer = new DataSourceInitializer();
-        initializer.setDataSource(dataSource);
-        
-        ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
-
-        // Add data script
-        populator.addScript(new ClassPathResource("data-postgres.sql"));
-        
-        // Configure populator settings
-        populator.setContinueOnError(true);
-        populator.setIgnoreFailedDrops(true);
-        
-        initializer.setDatabasePopulator(populator);
-        
-        return initializer;
+    public OrderPartitionMaintainer orderPartitionMaintainer(
+            JdbcTemplate jdbcTemplate,
+            @Value("${ordermanagement.order-partitions.months-ahead:3}") int monthsAhead) {
+        return new OrderPartitionMaintainer(jdbcTemplate, monthsAhead);
     }
 }
\ No newline at end of file
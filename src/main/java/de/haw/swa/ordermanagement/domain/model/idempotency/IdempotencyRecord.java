@@ -0,0 +1,99 @@
+package de.haw.swa.ordermanagement.domain.model.idempotency;
+
+import de.haw.swa.ordermanagement.domain.model.shared.DomainClock;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Remembers the outcome of a command sent with an {@code Idempotency-Key}, so that retries of
+ * the same command get the original response instead of executing it a second time.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyRecord {
+    
+    public enum Status {
+        IN_PROGRESS,
+        COMPLETED
+    }
+    
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String key;
+    
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, columnDefinition = "VARCHAR(20)")
+    private Status status;
+    
+    @Column(name = "response_status")
+    private Integer responseStatus;
+    
+    @Column(name = "response_body", length = 1_000_000)
+    private String responseBody;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    // Also makes Spring Data persist (not merge) new records, so a concurrent claim of the same key fails
+    @Version
+    private Long version;
+    
+    protected IdempotencyRecord() {}
+    
+    public IdempotencyRecord(String key, String requestHash) {
+        this.key = Objects.requireNonNull(key, "Key cannot be null");
+        this.requestHash = Objects.requireNonNull(requestHash, "Request hash cannot be null");
+        this.status = Status.IN_PROGRESS;
+        this.createdAt = DomainClock.now();
+    }
+    
+    public String getKey() {
+        return key;
+    }
+    
+    public String getRequestHash() {
+        return requestHash;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public Integer getResponseStatus() {
+        return responseStatus;
+    }
+    
+    public String getResponseBody() {
+        return responseBody;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+    
+    public boolean isCompleted() {
+        return status == Status.COMPLETED;
+    }
+    
+    public void complete(int responseStatus, String responseBody) {
+        if (status != Status.IN_PROGRESS) {
+            throw new IllegalStateException("Idempotency key already completed: " + key);
+        }
+        this.status = Status.COMPLETED;
+        this.responseStatus = responseStatus;
+        this.responseBody = responseBody;
+        this.completedAt = DomainClock.now();
+    }
+}
@@ -1,21 +1,30 @@
 package de.haw.swa.ordermanagement.domain.model.order;
 
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderCancelled;
 import de.haw.swa.ordermanagement.domain.model.order.events.OrderConfirmed;
 import de.haw.swa.ordermanagement.domain.model.order.events.OrderCreated;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderDelivered;
 import de.haw.swa.ordermanagement.domain.model.order.events.OrderPaid;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderReturned;
 import de.haw.swa.ordermanagement.domain.model.order.events.OrderShipped;
 import de.haw.swa.ordermanagement.domain.model.shared.AggregateRoot;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainClock;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+import de.haw.swa.ordermanagement.domain.model.shared.EuroAmountConverter;
 import de.haw.swa.ordermanagement.domain.model.shared.Money;
 import jakarta.persistence.*;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_customer_created", columnList = "customer_id, created_at, id"),
+    @Index(name = "idx_orders_status_updated", columnList = "status, updated_at, id"),
+    @Index(name = "idx_orders_updated", columnList = "updated_at")
+})
 public class Order extends AggregateRoot<Long> {
     
     @Id
@@ -33,7 +42,8 @@ public class Order extends AggregateRoot<Long> {
     private OrderStatus status;
     
     @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
-    private BigDecimal totalAmount;
+    @Convert(converter = EuroAmountConverter.class)
+    private Money totalAmount;
     
     @Column(nullable = false, length = 3)
     private String currency;
@@ -44,14 +54,21 @@ public class Order extends AggregateRoot<Long> {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
     
+    @Transient
+    private boolean archived;
+    
+    // Sequence number of the last stored event when loaded or saved from an event stream
+    @Transient
+    private long streamPosition;
+    
     protected Order() {}
     
     public Order(Long orderId, Long customerId, List<OrderItem> items) {
         this.id = orderId;
         this.customerId = customerId;
         this.status = OrderStatus.PENDING;
-        this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
+        this.createdAt = DomainClock.now();
+        this.updatedAt = createdAt;
         this.currency = "EUR";
         
         if (items.isEmpty()) {
@@ -65,15 +82,15 @@ public class Order extends AggregateRoot<Long> {
         }
         
         calculateAndSetTotalAmount();
-        registerEvent(OrderCreated.create(getId(), getCustomerId()));
+        registerEvent(OrderCreated.create(getId(), getCustomerId(), totalAmount.getCents(), createdAt));
     }
     
     public Order(Long customerId, List<OrderItem> items) {
         // id will be auto-generated by JPA
         this.customerId = customerId;
         this.status = OrderStatus.PENDING;
-        this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
+        this.createdAt = DomainClock.now();
+        this.updatedAt = createdAt;
         this.currency = "EUR";
         
         if (items.isEmpty()) {
@@ -89,12 +106,42 @@ public class Order extends AggregateRoot<Long> {
         calculateAndSetTotalAmount();
     }
     
+    /**
+     * Restores an order from stored state without registering any events, e.g. from an event store snapshot.
+     */
+    public static Order reconstitute(Long orderId, Long customerId, List<OrderItem> items, OrderStatus status,
+                                     LocalDateTime createdAt, LocalDateTime updatedAt) {
+        Order order = new Order();
+        order.id = orderId;
+        order.customerId = customerId;
+        order.status = status;
+        order.createdAt = createdAt;
+        order.updatedAt = updatedAt;
+        order.currency = "EUR";
+        for (OrderItem item : items) {
+            order.items.add(item);
+            item.setOrder(order);
+        }
+        order.calculateAndSetTotalAmount();
+        return order;
+    }
+    
+    /**
+     * Restores an order from the archive. Archived orders are read-only, their command methods throw.
+     */
+    public static Order reconstituteArchived(Long orderId, Long customerId, List<OrderItem> items, OrderStatus status,
+                                             LocalDateTime createdAt, LocalDateTime updatedAt) {
+        Order order = reconstitute(orderId, customerId, items, status, createdAt, updatedAt);
+        order.archived = true;
+        return order;
+    }
+    
     /**
      * Call this method after the entity is persisted to register the creation event.
      */
     public void registerCreationEvent() {
         if (getId() != null) {
-            registerEvent(OrderCreated.create(getId(), getCustomerId()));
+            registerEvent(OrderCreated.create(getId(), getCustomerId(), totalAmount.getCents(), createdAt));
         }
     }
     
@@ -123,65 +170,164 @@ public class Order extends AggregateRoot<Long> {
         return updatedAt;
     }
     
+    public boolean isArchived() {
+        return archived;
+    }
+    
+    public long getStreamPosition() {
+        return streamPosition;
+    }
+    
+    /**
+     * Records up to which event the order reflects its event stream, so an event-sourced repository
+     * can refuse to append to a stream that moved on since the order was loaded.
+     */
+    public void atStreamPosition(long streamPosition) {
+        this.streamPosition = streamPosition;
+    }
+    
     public Money getTotalAmount() {
-        return Money.euro(totalAmount);
+        return totalAmount;
     }
     
     private void calculateAndSetTotalAmount() {
-        this.totalAmount = items.stream()
-            .map(OrderItem::getTotalPrice)
-            .map(Money::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long cents = 0;
+        for (OrderItem item : items) {
+            cents = Math.addExact(cents, item.getTotalPrice().getCents());
+        }
+        this.totalAmount = Money.euroCents(cents);
     }
     
     public void confirm() {
+        requireNotArchived();
         if (status != OrderStatus.PENDING) {
             throw new IllegalStateException("Only pending orders can be confirmed");
         }
         this.status = OrderStatus.CONFIRMED;
-        this.updatedAt = LocalDateTime.now();
-        registerEvent(OrderConfirmed.create(getId()));
+        this.updatedAt = DomainClock.now();
+        registerEvent(OrderConfirmed.create(getId(), updatedAt));
     }
     
     public void markAsPaid() {
+        requireNotArchived();
         if (status != OrderStatus.CONFIRMED) {
             throw new IllegalStateException("Only confirmed orders can be marked as paid");
         }
         this.status = OrderStatus.PAID;
-        this.updatedAt = LocalDateTime.now();
-        registerEvent(OrderPaid.create(getId()));
+        this.updatedAt = DomainClock.now();
+        registerEvent(OrderPaid.create(getId(), updatedAt));
     }
     
     public void ship() {
+        requireNotArchived();
         if (status != OrderStatus.PAID) {
             throw new IllegalStateException("Only paid orders can be shipped");
         }
         this.status = OrderStatus.SHIPPED;
-        this.updatedAt = LocalDateTime.now();
-        registerEvent(OrderShipped.create(getId()));
+        this.updatedAt = DomainClock.now();
+        registerEvent(OrderShipped.create(getId(), updatedAt));
     }
     
     public void deliver() {
+        requireNotArchived();
         if (status != OrderStatus.SHIPPED) {
             throw new IllegalStateException("Only shipped orders can be delivered");
         }
         this.status = OrderStatus.DELIVERED;
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = DomainClock.now();
+        registerEvent(OrderDelivered.create(getId(), updatedAt));
     }
     
     public void cancel() {
+        requireNotArchived();
         if (status == OrderStatus.DELIVERED || status == OrderStatus.SHIPPED) {
             throw new IllegalStateException("Cannot cancel delivered or shipped orders");
         }
+        OrderStatus previousStatus = status;
         this.status = OrderStatus.CANCELLED;
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = DomainClock.now();
+        registerEvent(OrderCancelled.create(getId(), previousStatus, updatedAt));
     }
     
     public void returnOrder() {
+        requireNotArchived();
         if (status != OrderStatus.DELIVERED) {
             throw new IllegalStateException("Only delivered orders can be returned");
         }
         this.status = OrderStatus.RETURNED;
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = DomainClock.now();
+        registerEvent(OrderReturned.create(getId(), updatedAt));
+    }
+    
+    private void requireNotArchived() {
+        if (archived) {
+            throw new IllegalStateException("Archived orders cannot be changed");
+        }
+    }
+    
+    /**
+     * Applies a previously recorded state change when rebuilding the order from its event history.
+     * Unlike the command methods, this neither validates the transition nor registers a new event.
+     */
+    public void replay(DomainEvent event) {
+        if (event instanceof OrderCreated) {
+            return; // The initial state is restored with reconstitute
+        }
+        this.status = statusAfter(event);
+        this.updatedAt = event.occurredOn();
+    }
+    
+    /**
+     * Whether the event is one that orders register: their creation or one of their state changes.
+     */
+    public static boolean isOrderEvent(DomainEvent event) {
+        return event instanceof OrderCreated || event instanceof OrderConfirmed || event instanceof OrderPaid
+            || event instanceof OrderShipped || event instanceof OrderDelivered || event instanceof OrderCancelled
+            || event instanceof OrderReturned;
+    }
+    
+    /**
+     * Status of an order after the given state change; {@link OrderCreated} is not a state change.
+     */
+    public static OrderStatus statusAfter(DomainEvent event) {
+        if (event instanceof OrderConfirmed) {
+            return OrderStatus.CONFIRMED;
+        } else if (event instanceof OrderPaid) {
+            return OrderStatus.PAID;
+        } else if (event instanceof OrderShipped) {
+            return OrderStatus.SHIPPED;
+        } else if (event instanceof OrderDelivered) {
+            return OrderStatus.DELIVERED;
+        } else if (event instanceof OrderCancelled) {
+            return OrderStatus.CANCELLED;
+        } else if (event instanceof OrderReturned) {
+            return OrderStatus.RETURNED;
+        } else {
+            throw new IllegalArgumentException("Cannot replay " + event.getClass().getSimpleName() + " on an order");
+        }
+    }
+    
+    /**
+     * Status of an order before the given state change, following the transitions the command methods allow;
+     * {@code null} for {@link OrderCreated}.
+     */
+    public static OrderStatus statusBefore(DomainEvent event) {
+        if (event instanceof OrderCreated) {
+            return null;
+        } else if (event instanceof OrderConfirmed) {
+            return OrderStatus.PENDING;
+        } else if (event instanceof OrderPaid) {
+            return OrderStatus.CONFIRMED;
+        } else if (event instanceof OrderShipped) {
+            return OrderStatus.PAID;
+        } else if (event instanceof OrderDelivered) {
+            return OrderStatus.SHIPPED;
+        } else if (event instanceof OrderCancelled cancelled) {
+            return cancelled.previousStatus();
+        } else if (event instanceof OrderReturned) {
+            return OrderStatus.DELIVERED;
+        } else {
+            throw new IllegalArgumentException(event.getClass().getSimpleName() + " is not an order state change");
+        }
     }
 }
\ No newline at end of file
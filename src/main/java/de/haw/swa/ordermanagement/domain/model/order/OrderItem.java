@@ -1,13 +1,13 @@
 package de.haw.swa.ordermanagement.domain.model.order;
 
+import de.haw.swa.ordermanagement.domain.model.shared.EuroAmountConverter;
 import de.haw.swa.ordermanagement.domain.model.shared.Money;
 import jakarta.persistence.*;
 
-import java.math.BigDecimal;
 import java.util.Objects;
 
 @Entity
-@Table(name = "order_items")
+@Table(name = "order_items", indexes = @Index(name = "idx_order_items_order", columnList = "order_id"))
 public class OrderItem {
     
     @Id
@@ -25,26 +25,28 @@ public class OrderItem {
     private String productName;
     
     @Column(name = "unit_price", nullable = false, precision = 10, scale = 2)
-    private BigDecimal unitPrice;
+    @Convert(converter = EuroAmountConverter.class)
+    private Money unitPrice;
     
     @Column(nullable = false)
     private Integer quantity;
     
     @Column(name = "total_price", nullable = false, precision = 10, scale = 2)
-    private BigDecimal totalPrice;
+    @Convert(converter = EuroAmountConverter.class)
+    private Money totalPrice;
     
     protected OrderItem() {}
     
     public OrderItem(Long productId, String productName, Money unitPrice, int quantity) {
         this.productId = Objects.requireNonNull(productId, "Product ID cannot be null");
         this.productName = Objects.requireNonNull(productName, "Product name cannot be null");
-        this.unitPrice = Objects.requireNonNull(unitPrice, "Unit price cannot be null").getAmount();
+        this.unitPrice = Objects.requireNonNull(unitPrice, "Unit price cannot be null");
         
         if (quantity <= 0) {
             throw new IllegalArgumentException("Quantity must be positive");
         }
         this.quantity = quantity;
-        this.totalPrice = unitPrice.multiply(quantity).getAmount();
+        this.totalPrice = unitPrice.multiply(quantity);
     }
     
     public Long getProductId() {
@@ -56,7 +58,7 @@ public class OrderItem {
     }
     
     public Money getUnitPrice() {
-        return Money.euro(unitPrice);
+        return unitPrice;
     }
     
     public int getQuantity() {
@@ -64,7 +66,7 @@ public class OrderItem {
     }
     
     public Money getTotalPrice() {
-        return Money.euro(totalPrice);
+        return totalPrice;
     }
     
     // JPA relationship methods
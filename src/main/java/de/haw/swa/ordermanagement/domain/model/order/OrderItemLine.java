@@ -0,0 +1,30 @@
+package de.haw.swa.ordermanagement.domain.model.order;
+
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read-only projection of one {@link OrderItem} together with the order columns needed for reporting.
+ * Loaded directly by the repository query as a join of orders and order items, without entities.
+ */
+public record OrderItemLine(
+        Long orderId,
+        Long customerId,
+        LocalDateTime createdAt,
+        Long productId,
+        Integer quantity,
+        Money totalPrice
+) {
+    
+    /**
+     * Lines of an order that is already loaded, for repositories without a query language.
+     */
+    public static List<OrderItemLine> of(Order order) {
+        return order.getItems().stream()
+            .map(item -> new OrderItemLine(order.getId(), order.getCustomerId(), order.getCreatedAt(),
+                item.getProductId(), item.getQuantity(), item.getTotalPrice()))
+            .toList();
+    }
+}
\ No newline at end of file
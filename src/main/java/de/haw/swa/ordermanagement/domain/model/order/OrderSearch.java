@@ -0,0 +1,95 @@
+package de.haw.swa.ordermanagement.domain.model.order;
+
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Criteria for searching orders; {@code null} means the criterion is not restricted.
+ *
+ * Date ranges include their start and exclude their end. Matches are ordered newest first by the
+ * timestamp chosen with {@code sortBy}, then by descending ID, and a page continues after the
+ * {@code after} cursor of the last order of the previous page (keyset pagination), so deep pages cost
+ * the same as the first and orders inserted meanwhile neither shift nor repeat results.
+ */
+public record OrderSearch(
+        Long customerId,
+        OrderStatus status,
+        LocalDateTime createdFrom,
+        LocalDateTime createdTo,
+        LocalDateTime updatedFrom,
+        LocalDateTime updatedTo,
+        Money minTotal,
+        SortBy sortBy,
+        Cursor after
+) {
+    
+    public OrderSearch {
+        Objects.requireNonNull(sortBy, "Sort order cannot be null");
+    }
+    
+    public boolean matches(OrderSummary order) {
+        return (customerId == null || customerId.equals(order.customerId()))
+            && (status == null || status == order.status())
+            && within(order.createdAt(), createdFrom, createdTo)
+            && within(order.updatedAt(), updatedFrom, updatedTo)
+            && (minTotal == null || order.totalAmount().getCents() >= minTotal.getCents())
+            && (after == null || comesAfterCursor(order));
+    }
+    
+    /**
+     * Cursor that continues the search after the given order.
+     */
+    public Cursor cursorAfter(OrderSummary order) {
+        return new Cursor(sortBy.timestampOf(order), order.id());
+    }
+    
+    /**
+     * The matching orders among {@code candidates}, ordered and limited, for repositories without a query language.
+     */
+    public List<OrderSummary> select(Collection<OrderSummary> candidates, int limit) {
+        return candidates.stream()
+            .filter(this::matches)
+            .sorted(newestFirst())
+            .limit(Math.max(limit, 0))
+            .toList();
+    }
+    
+    private Comparator<OrderSummary> newestFirst() {
+        return Comparator.<OrderSummary, LocalDateTime>comparing(sortBy::timestampOf)
+            .thenComparing(OrderSummary::id)
+            .reversed();
+    }
+    
+    private boolean comesAfterCursor(OrderSummary order) {
+        int byTimestamp = sortBy.timestampOf(order).compareTo(after.timestamp());
+        return byTimestamp < 0 || (byTimestamp == 0 && order.id() < after.orderId());
+    }
+    
+    private static boolean within(LocalDateTime timestamp, LocalDateTime from, LocalDateTime to) {
+        return (from == null || !timestamp.isBefore(from)) && (to == null || timestamp.isBefore(to));
+    }
+    
+    public enum SortBy {
+        CREATED,
+        UPDATED;
+        
+        public LocalDateTime timestampOf(OrderSummary order) {
+            return this == CREATED ? order.createdAt() : order.updatedAt();
+        }
+    }
+    
+    /**
+     * Position of an order in the search order: its sort timestamp and ID.
+     */
+    public record Cursor(LocalDateTime timestamp, long orderId) {
+        
+        public Cursor {
+            Objects.requireNonNull(timestamp, "Cursor timestamp cannot be null");
+        }
+    }
+}
\ No newline at end of file
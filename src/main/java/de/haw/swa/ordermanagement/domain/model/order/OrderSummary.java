@@ -0,0 +1,28 @@
+package de.haw.swa.ordermanagement.domain.model.order;
+
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of an {@link Order} without its items.
+ * Loaded directly by the repository query, so the items collection is never touched.
+ */
+public record OrderSummary(
+        Long id,
+        Long customerId,
+        OrderStatus status,
+        Money totalAmount,
+        String currency,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+    
+    /**
+     * Summary of an order that is already loaded, for repositories without a query language.
+     */
+    public static OrderSummary of(Order order) {
+        return new OrderSummary(order.getId(), order.getCustomerId(), order.getStatus(), order.getTotalAmount(),
+            order.getTotalAmount().getCurrency().getCurrencyCode(), order.getCreatedAt(), order.getUpdatedAt());
+    }
+}
\ No newline at end of file
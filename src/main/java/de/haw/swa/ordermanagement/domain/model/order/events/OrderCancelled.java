@@ -0,0 +1,41 @@
+package de.haw.swa.ordermanagement.domain.model.order.events;
+
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Domain event indicating that an order has been cancelled.
+ * This event is fired when a PENDING, CONFIRMED or PAID order is cancelled; the previous status
+ * tells consumers whether stock had been reserved.
+ */
+public record OrderCancelled(
+        UUID eventId,
+        LocalDateTime occurredOn,
+        Long orderId,
+        OrderStatus previousStatus
+) implements DomainEvent {
+    
+    /**
+     * Factory method to create OrderCancelled event with auto-generated metadata.
+     */
+    public static OrderCancelled create(Long orderId, OrderStatus previousStatus) {
+        var eventData = DomainEvent.createEventData();
+        return new OrderCancelled(eventData.eventId(), eventData.occurredOn(), orderId, previousStatus);
+    }
+    
+    /**
+     * Factory method for events that share the timestamp of the state change that caused them.
+     */
+    public static OrderCancelled create(Long orderId, OrderStatus previousStatus, LocalDateTime occurredOn) {
+        var eventData = DomainEvent.createEventData(occurredOn);
+        return new OrderCancelled(eventData.eventId(), eventData.occurredOn(), orderId, previousStatus);
+    }
+    
+    @Override
+    public Long aggregateId() {
+        return orderId;
+    }
+}
\ No newline at end of file
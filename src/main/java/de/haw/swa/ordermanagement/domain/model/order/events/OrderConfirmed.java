@@ -22,4 +22,17 @@ public record OrderConfirmed(
         var eventData = DomainEvent.createEventData();
         return new OrderConfirmed(eventData.eventId(), eventData.occurredOn(), orderId);
     }
+    
+    /**
+     * Factory method for events that share the timestamp of the state change that caused them.
+     */
+    public static OrderConfirmed create(Long orderId, LocalDateTime occurredOn) {
+        var eventData = DomainEvent.createEventData(occurredOn);
+        return new OrderConfirmed(eventData.eventId(), eventData.occurredOn(), orderId);
+    }
+    
+    @Override
+    public Long aggregateId() {
+        return orderId;
+    }
 }
\ No newline at end of file
@@ -8,12 +8,16 @@ import java.util.UUID;
 /**
  * Domain event indicating that an order has been created.
  * This event is fired when a new order is successfully created in the system.
+ *
+ * @param totalAmountCents total of the order in euro cents, so projections rebuilt from the event log need
+ *                         no lookup; {@code null} in events logged before it was added
  */
 public record OrderCreated(
         UUID eventId,
         LocalDateTime occurredOn,
         Long orderId,
-        Long customerId
+        Long customerId,
+        Long totalAmountCents
 ) implements DomainEvent {
     
     /**
@@ -21,6 +25,26 @@ public record OrderCreated(
      */
     public static OrderCreated create(Long orderId, Long customerId) {
         var eventData = DomainEvent.createEventData();
-        return new OrderCreated(eventData.eventId(), eventData.occurredOn(), orderId, customerId);
+        return new OrderCreated(eventData.eventId(), eventData.occurredOn(), orderId, customerId, null);
+    }
+    
+    /**
+     * Factory method for events that share the timestamp of the state change that caused them.
+     */
+    public static OrderCreated create(Long orderId, Long customerId, LocalDateTime occurredOn) {
+        return create(orderId, customerId, null, occurredOn);
+    }
+    
+    /**
+     * Factory method for events of orders whose total is known, sharing the timestamp of their creation.
+     */
+    public static OrderCreated create(Long orderId, Long customerId, Long totalAmountCents, LocalDateTime occurredOn) {
+        var eventData = DomainEvent.createEventData(occurredOn);
+        return new OrderCreated(eventData.eventId(), eventData.occurredOn(), orderId, customerId, totalAmountCents);
+    }
+    
+    @Override
+    public Long aggregateId() {
+        return orderId;
     }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package de.haw.swa.ordermanagement.domain.model.order.events;
+
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Domain event indicating that an order has been delivered.
+ * This event is fired when an order moves from SHIPPED to DELIVERED status.
+ */
+public record OrderDelivered(
+        UUID eventId,
+        LocalDateTime occurredOn,
+        Long orderId
+) implements DomainEvent {
+    
+    /**
+     * Factory method to create OrderDelivered event with auto-generated metadata.
+     */
+    public static OrderDelivered create(Long orderId) {
+        var eventData = DomainEvent.createEventData();
+        return new OrderDelivered(eventData.eventId(), eventData.occurredOn(), orderId);
+    }
+    
+    /**
+     * Factory method for events that share the timestamp of the state change that caused them.
+     */
+    public static OrderDelivered create(Long orderId, LocalDateTime occurredOn) {
+        var eventData = DomainEvent.createEventData(occurredOn);
+        return new OrderDelivered(eventData.eventId(), eventData.occurredOn(), orderId);
+    }
+    
+    @Override
+    public Long aggregateId() {
+        return orderId;
+    }
+}
\ No newline at end of file
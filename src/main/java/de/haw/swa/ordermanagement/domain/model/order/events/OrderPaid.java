@@ -22,4 +22,17 @@ public record OrderPaid(
         var eventData = DomainEvent.createEventData();
         return new OrderPaid(eventData.eventId(), eventData.occurredOn(), orderId);
     }
+    
+    /**
+     * Factory method for events that share the timestamp of the state change that caused them.
+     */
+    public static OrderPaid create(Long orderId, LocalDateTime occurredOn) {
+        var eventData = DomainEvent.createEventData(occurredOn);
+        return new OrderPaid(eventData.eventId(), eventData.occurredOn(), orderId);
+    }
+    
+    @Override
+    public Long aggregateId() {
+        return orderId;
+    }
 }
\ No newline at end of file
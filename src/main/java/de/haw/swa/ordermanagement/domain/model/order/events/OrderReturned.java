@@ -0,0 +1,38 @@
+package de.haw.swa.ordermanagement.domain.model.order.events;
+
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Domain event indicating that an order has been returned.
+ * This event is fired when an order moves from DELIVERED to RETURNED status.
+ */
+public record OrderReturned(
+        UUID eventId,
+        LocalDateTime occurredOn,
+        Long orderId
+) implements DomainEvent {
+    
+    /**
+     * Factory method to create OrderReturned event with auto-generated metadata.
+     */
+    public static OrderReturned create(Long orderId) {
+        var eventData = DomainEvent.createEventData();
+        return new OrderReturned(eventData.eventId(), eventData.occurredOn(), orderId);
+    }
+    
+    /**
+     * Factory method for events that share the timestamp of the state change that caused them.
+     */
+    public static OrderReturned create(Long orderId, LocalDateTime occurredOn) {
+        var eventData = DomainEvent.createEventData(occurredOn);
+        return new OrderReturned(eventData.eventId(), eventData.occurredOn(), orderId);
+    }
+    
+    @Override
+    public Long aggregateId() {
+        return orderId;
+    }
+}
\ No newline at end of file
@@ -22,4 +22,17 @@ public record OrderShipped(
         var eventData = DomainEvent.createEventData();
         return new OrderShipped(eventData.eventId(), eventData.occurredOn(), orderId);
     }
+    
+    /**
+     * Factory method for events that share the timestamp of the state change that caused them.
+     */
+    public static OrderShipped create(Long orderId, LocalDateTime occurredOn) {
+        var eventData = DomainEvent.createEventData(occurredOn);
+        return new OrderShipped(eventData.eventId(), eventData.occurredOn(), orderId);
+    }
+    
+    @Override
+    public Long aggregateId() {
+        return orderId;
+    }
 }
\ No newline at end of file
@@ -1,11 +1,15 @@
 package de.haw.swa.ordermanagement.domain.model.product;
 
+import de.haw.swa.ordermanagement.domain.model.product.events.ProductCreated;
+import de.haw.swa.ordermanagement.domain.model.product.events.ProductRemoved;
+import de.haw.swa.ordermanagement.domain.model.product.events.ProductStockChanged;
+import de.haw.swa.ordermanagement.domain.model.product.events.ProductStockLow;
+import de.haw.swa.ordermanagement.domain.model.product.events.ProductStockReplenished;
 import de.haw.swa.ordermanagement.domain.model.shared.AggregateRoot;
+import de.haw.swa.ordermanagement.domain.model.shared.EuroAmountConverter;
 import de.haw.swa.ordermanagement.domain.model.shared.Money;
 import jakarta.persistence.*;
 
-import java.math.BigDecimal;
-
 @Entity
 @Table(name = "products")
 public class Product extends AggregateRoot<Long> {
@@ -20,27 +24,42 @@ public class Product extends AggregateRoot<Long> {
     private String description;
     
     @Column(nullable = false, precision = 10, scale = 2)
-    private BigDecimal price;
+    @Convert(converter = EuroAmountConverter.class)
+    private Money price;
     
     @Column(name = "stock_quantity", nullable = false)
     private Integer stockQuantity;
     
+    /**
+     * Stock level at or below which the product needs restocking; {@code null} disables low-stock events.
+     */
+    @Column(name = "low_stock_threshold")
+    private Integer lowStockThreshold;
+    
     protected Product() {}
     
     public Product(Long productId, String name, String description, Money price, int stockQuantity) {
         this.id = productId;
         this.name = name;
         this.description = description;
-        this.price = price.getAmount();
+        this.price = price;
         this.stockQuantity = stockQuantity;
     }
     
     public Product(String name, String description, Money price, int stockQuantity) {
+        this(name, description, price, stockQuantity, null);
+    }
+    
+    public Product(String name, String description, Money price, int stockQuantity, Integer lowStockThreshold) {
         // id will be auto-generated by JPA
+        if (lowStockThreshold != null && lowStockThreshold < 0) {
+            throw new IllegalArgumentException("Low-stock threshold cannot be negative");
+        }
         this.name = name;
         this.description = description;
-        this.price = price.getAmount();
+        this.price = price;
         this.stockQuantity = stockQuantity;
+        this.lowStockThreshold = lowStockThreshold;
     }
     
     @Override
@@ -57,13 +76,21 @@ public class Product extends AggregateRoot<Long> {
     }
     
     public Money getPrice() {
-        return Money.euro(price);
+        return price;
     }
     
     public int getStockQuantity() {
         return stockQuantity;
     }
     
+    public Integer getLowStockThreshold() {
+        return lowStockThreshold;
+    }
+    
+    public boolean isLowOnStock() {
+        return lowStockThreshold != null && stockQuantity <= lowStockThreshold;
+    }
+    
     public boolean isAvailable(int quantity) {
         return stockQuantity >= quantity;
     }
@@ -72,10 +99,34 @@ public class Product extends AggregateRoot<Long> {
         if (!isAvailable(quantity)) {
             throw new IllegalArgumentException("Insufficient stock available");
         }
+        boolean wasLow = isLowOnStock();
         this.stockQuantity -= quantity;
+        registerEvent(ProductStockChanged.create(id, stockQuantity));
+        if (!wasLow && isLowOnStock()) {
+            registerEvent(ProductStockLow.create(id, stockQuantity, lowStockThreshold));
+        }
     }
     
     public void increaseStock(int quantity) {
+        boolean wasLow = isLowOnStock();
         this.stockQuantity += quantity;
+        registerEvent(ProductStockChanged.create(id, stockQuantity));
+        if (wasLow && !isLowOnStock()) {
+            registerEvent(ProductStockReplenished.create(id, stockQuantity, lowStockThreshold));
+        }
+    }
+    
+    /**
+     * Call this method after the entity is persisted to register the creation event.
+     */
+    public void registerCreationEvent() {
+        registerEvent(ProductCreated.create(id));
+    }
+    
+    /**
+     * Registers the removal from the catalog; the caller deletes the product from its repository.
+     */
+    public void remove() {
+        registerEvent(ProductRemoved.create(id));
     }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package de.haw.swa.ordermanagement.domain.model.product.events;
+
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Domain event indicating that a product has been added to the catalog.
+ */
+public record ProductCreated(
+        UUID eventId,
+        LocalDateTime occurredOn,
+        Long productId
+) implements DomainEvent {
+    
+    /**
+     * Factory method to create ProductCreated event with auto-generated metadata.
+     */
+    public static ProductCreated create(Long productId) {
+        var eventData = DomainEvent.createEventData();
+        return new ProductCreated(eventData.eventId(), eventData.occurredOn(), productId);
+    }
+    
+    @Override
+    public Long aggregateId() {
+        return productId;
+    }
+}
\ No newline at end of file
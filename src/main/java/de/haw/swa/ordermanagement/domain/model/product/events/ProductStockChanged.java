@@ -0,0 +1,31 @@
+package de.haw.swa.ordermanagement.domain.model.product.events;
+
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Domain event indicating that the stock of a product has changed, e.g. by an order reservation.
+ * Carries the new stock level, so read models can apply it without loading the product.
+ */
+public record ProductStockChanged(
+        UUID eventId,
+        LocalDateTime occurredOn,
+        Long productId,
+        int stockQuantity
+) implements DomainEvent {
+    
+    /**
+     * Factory method to create ProductStockChanged event with auto-generated metadata.
+     */
+    public static ProductStockChanged create(Long productId, int stockQuantity) {
+        var eventData = DomainEvent.createEventData();
+        return new ProductStockChanged(eventData.eventId(), eventData.occurredOn(), productId, stockQuantity);
+    }
+    
+    @Override
+    public Long aggregateId() {
+        return productId;
+    }
+}
\ No newline at end of file
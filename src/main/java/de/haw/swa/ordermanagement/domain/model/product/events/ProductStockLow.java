@@ -0,0 +1,32 @@
+package de.haw.swa.ordermanagement.domain.model.product.events;
+
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Domain event indicating that the stock of a product has fallen to or below its low-stock threshold,
+ * i.e. that the product should be restocked. Raised once per crossing, not for every further reduction.
+ */
+public record ProductStockLow(
+        UUID eventId,
+        LocalDateTime occurredOn,
+        Long productId,
+        int stockQuantity,
+        int lowStockThreshold
+) implements DomainEvent {
+    
+    /**
+     * Factory method to create ProductStockLow event with auto-generated metadata.
+     */
+    public static ProductStockLow create(Long productId, int stockQuantity, int lowStockThreshold) {
+        var eventData = DomainEvent.createEventData();
+        return new ProductStockLow(eventData.eventId(), eventData.occurredOn(), productId, stockQuantity, lowStockThreshold);
+    }
+    
+    @Override
+    public Long aggregateId() {
+        return productId;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package de.haw.swa.ordermanagement.domain.model.product.events;
+
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Domain event indicating that the stock of a product has risen above its low-stock threshold again.
+ */
+public record ProductStockReplenished(
+        UUID eventId,
+        LocalDateTime occurredOn,
+        Long productId,
+        int stockQuantity,
+        int lowStockThreshold
+) implements DomainEvent {
+    
+    /**
+     * Factory method to create ProductStockReplenished event with auto-generated metadata.
+     */
+    public static ProductStockReplenished create(Long productId, int stockQuantity, int lowStockThreshold) {
+        var eventData = DomainEvent.createEventData();
+        return new ProductStockReplenished(eventData.eventId(), eventData.occurredOn(), productId, stockQuantity, lowStockThreshold);
+    }
+    
+    @Override
+    public Long aggregateId() {
+        return productId;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package de.haw.swa.ordermanagement.domain.model.shared;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+
+/**
+ * Time source for aggregates and domain events.
+ *
+ * Entities are created by JPA and by plain constructors, so they cannot receive a {@link Clock} through
+ * dependency injection; instead the application installs its clock here at startup and tests can swap in
+ * a deterministic one. Timestamps have millisecond precision: the last {@link LocalDateTime} is reused for
+ * all calls within the same millisecond, so a busy thread neither resolves the zone offset nor allocates.
+ */
+public final class DomainClock {
+    
+    private static volatile Clock clock = Clock.systemDefaultZone();
+    private static volatile Snapshot last = Snapshot.of(clock, clock.millis());
+    
+    private DomainClock() {}
+    
+    public static Clock get() {
+        return clock;
+    }
+    
+    public static void set(Clock newClock) {
+        Objects.requireNonNull(newClock, "Clock cannot be null");
+        clock = newClock;
+        last = Snapshot.of(newClock, newClock.millis());
+    }
+    
+    public static void reset() {
+        set(Clock.systemDefaultZone());
+    }
+    
+    public static LocalDateTime now() {
+        Clock current = clock;
+        long millis = current.millis();
+        Snapshot snapshot = last;
+        if (snapshot.millis() != millis || snapshot.clock() != current) {
+            snapshot = Snapshot.of(current, millis);
+            last = snapshot;
+        }
+        return snapshot.value();
+    }
+    
+    private record Snapshot(Clock clock, long millis, LocalDateTime value) {
+        
+        static Snapshot of(Clock clock, long millis) {
+            Instant instant = Instant.ofEpochMilli(millis);
+            ZoneOffset offset = clock.getZone().getRules().getOffset(instant);
+            return new Snapshot(clock, millis, LocalDateTime.ofEpochSecond(
+                Math.floorDiv(millis, 1000), (int) Math.floorMod(millis, 1000) * 1_000_000, offset));
+        }
+    }
+}
@@ -20,11 +20,24 @@ public interface DomainEvent {
      */
     LocalDateTime occurredOn();
     
+    /**
+     * Identifier of the aggregate that raised this event.
+     */
+    Long aggregateId();
+    
     /**
      * Creates a new domain event with auto-generated ID and current timestamp.
+     * Event IDs are time-ordered UUIDv7 values, see {@link UuidV7}.
      */
     static DomainEventData createEventData() {
-        return new DomainEventData(UUID.randomUUID(), LocalDateTime.now());
+        return createEventData(DomainClock.now());
+    }
+    
+    /**
+     * Creates event data with an auto-generated ID for an event that occurred at the given time.
+     */
+    static DomainEventData createEventData(LocalDateTime occurredOn) {
+        return new DomainEventData(UuidV7.generate(), occurredOn);
     }
     
     /**
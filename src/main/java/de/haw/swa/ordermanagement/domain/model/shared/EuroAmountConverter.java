@@ -0,0 +1,30 @@
+package de.haw.swa.ordermanagement.domain.model.shared;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Maps {@link Money} attributes to {@code DECIMAL(10, 2)} euro columns, so entities hold
+ * the {@link Money} instance itself and their getters do not convert on every call.
+ */
+@Converter
+public class EuroAmountConverter implements AttributeConverter<Money, BigDecimal> {
+    
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money money) {
+        if (money == null) {
+            return null;
+        }
+        if (!Money.EUR.equals(money.getCurrency())) {
+            throw new IllegalArgumentException("Only EUR amounts can be stored, got " + money);
+        }
+        return money.getAmount();
+    }
+    
+    @Override
+    public Money convertToEntityAttribute(BigDecimal amount) {
+        return amount == null ? null : Money.euro(amount);
+    }
+}
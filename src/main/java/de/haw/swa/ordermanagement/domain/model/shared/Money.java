@@ -5,42 +5,80 @@ import java.math.RoundingMode;
 import java.util.Currency;
 import java.util.Objects;
 
+/**
+ * Non-negative amount of money, stored as a {@code long} number of cents.
+ *
+ * Arithmetic stays on {@code long} and fails with an {@link ArithmeticException} on overflow;
+ * {@link BigDecimal} is only used when converting from and to the persistence and JSON representations.
+ */
 public class Money {
     
-    private final BigDecimal amount;
+    public static final Currency EUR = Currency.getInstance("EUR");
+    
+    private static final int SCALE = 2;
+    private static final Money ZERO_EURO = new Money(0L, EUR);
+    
+    private final long cents;
     private final Currency currency;
     
     public Money(BigDecimal amount, Currency currency) {
-        this.amount = Objects.requireNonNull(amount, "Amount cannot be null")
-            .setScale(2, RoundingMode.HALF_UP);
+        Objects.requireNonNull(amount, "Amount cannot be null");
         this.currency = Objects.requireNonNull(currency, "Currency cannot be null");
         
-        if (amount.compareTo(BigDecimal.ZERO) < 0) {
+        if (amount.signum() < 0) {
             throw new IllegalArgumentException("Amount cannot be negative");
         }
+        this.cents = amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+    
+    private Money(long cents, Currency currency) {
+        this.cents = cents;
+        this.currency = currency;
+    }
+    
+    public static Money ofCents(long cents, Currency currency) {
+        Objects.requireNonNull(currency, "Currency cannot be null");
+        if (cents < 0) {
+            throw new IllegalArgumentException("Amount cannot be negative");
+        }
+        if (cents == 0 && currency == EUR) {
+            return ZERO_EURO;
+        }
+        return new Money(cents, currency);
     }
     
     public static Money euro(BigDecimal amount) {
-        return new Money(amount, Currency.getInstance("EUR"));
+        return new Money(amount, EUR);
     }
     
     public static Money euro(double amount) {
         return euro(BigDecimal.valueOf(amount));
     }
     
+    public static Money euroCents(long cents) {
+        return ofCents(cents, EUR);
+    }
+    
     public Money add(Money other) {
         if (!currency.equals(other.currency)) {
             throw new IllegalArgumentException("Cannot add different currencies");
         }
-        return new Money(amount.add(other.amount), currency);
+        return new Money(Math.addExact(cents, other.cents), currency);
     }
     
     public Money multiply(int quantity) {
-        return new Money(amount.multiply(BigDecimal.valueOf(quantity)), currency);
+        return ofCents(Math.multiplyExact(cents, quantity), currency);
+    }
+    
+    public long getCents() {
+        return cents;
     }
     
+    /**
+     * Amount with two decimal places, for the persistence and JSON boundaries. Allocates on every call.
+     */
     public BigDecimal getAmount() {
-        return amount;
+        return BigDecimal.valueOf(cents, SCALE);
     }
     
     public Currency getCurrency() {
@@ -52,17 +90,17 @@ public class Money {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Money money = (Money) o;
-        return Objects.equals(amount, money.amount) &&
+        return cents == money.cents &&
                Objects.equals(currency, money.currency);
     }
     
     @Override
     public int hashCode() {
-        return Objects.hash(amount, currency);
+        return 31 * Long.hashCode(cents) + currency.hashCode();
     }
     
     @Override
     public String toString() {
-        return amount + " " + currency.getCurrencyCode();
+        return getAmount() + " " + currency.getCurrencyCode();
     }
-}
\ No newline at end of file
+}
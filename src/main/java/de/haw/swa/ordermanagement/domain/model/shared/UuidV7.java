@@ -0,0 +1,60 @@
+package de.haw.swa.ordermanagement.domain.model.shared;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates time-ordered version 7 UUIDs (RFC 9562) for event IDs.
+ *
+ * Layout: 48 bit Unix milliseconds, version, a 12 bit counter in {@code rand_a} and 62 random bits.
+ * Each thread keeps its own timestamp and counter, so IDs from one thread are strictly increasing
+ * and IDs from different threads are ordered by millisecond, without any shared lock or CAS.
+ * Randomness comes from {@link ThreadLocalRandom}; the IDs are unique, not unguessable.
+ */
+public final class UuidV7 {
+    
+    private static final int COUNTER_BITS = 12;
+    private static final int COUNTER_MAX = (1 << COUNTER_BITS) - 1;
+    // Start each millisecond in the lower half of the counter range to leave room for increments
+    private static final int COUNTER_SEED_MASK = COUNTER_MAX >>> 1;
+    
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+    
+    private UuidV7() {}
+    
+    public static UUID generate() {
+        return STATE.get().next(System.currentTimeMillis());
+    }
+    
+    /**
+     * Extracts the creation time of a version 7 UUID in epoch milliseconds.
+     */
+    public static long timestamp(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+    
+    static final class State {
+        
+        private long lastMillis = -1;
+        private int counter;
+        
+        UUID next(long nowMillis) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (nowMillis > lastMillis) {
+                lastMillis = nowMillis;
+                counter = random.nextInt() & COUNTER_SEED_MASK;
+            } else if (++counter > COUNTER_MAX) {
+                // Same millisecond (or the clock moved backwards); on counter overflow borrow the next millisecond
+                lastMillis++;
+                counter = random.nextInt() & COUNTER_SEED_MASK;
+            }
+            
+            long msb = (lastMillis << 16) | 0x7000L | counter;
+            long lsb = (random.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+            return new UUID(msb, lsb);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package de.haw.swa.ordermanagement.domain.model.statistics;
+
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Number and amount of orders that entered and left one status on one day.
+ * The number of orders currently in a status is the sum of entered minus left over all days.
+ */
+@Entity
+@Table(name = "order_statistics")
+@IdClass(OrderStatisticsBucket.Key.class)
+public class OrderStatisticsBucket {
+    
+    @Id
+    @Column(name = "bucket_date")
+    private LocalDate day;
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(columnDefinition = "VARCHAR(20)")
+    private OrderStatus status;
+    
+    @Column(name = "entered_count", nullable = false)
+    private long enteredCount;
+    
+    @Column(name = "entered_amount_cents", nullable = false)
+    private long enteredAmountCents;
+    
+    @Column(name = "exited_count", nullable = false)
+    private long exitedCount;
+    
+    @Column(name = "exited_amount_cents", nullable = false)
+    private long exitedAmountCents;
+    
+    // Makes Spring Data persist (not merge) new buckets, so a concurrent insert of the same bucket fails
+    @Version
+    private Long version;
+    
+    protected OrderStatisticsBucket() {}
+    
+    public OrderStatisticsBucket(LocalDate day, OrderStatus status, long enteredCount, long enteredAmountCents,
+                                 long exitedCount, long exitedAmountCents) {
+        this.day = Objects.requireNonNull(day, "Day cannot be null");
+        this.status = Objects.requireNonNull(status, "Status cannot be null");
+        this.enteredCount = enteredCount;
+        this.enteredAmountCents = enteredAmountCents;
+        this.exitedCount = exitedCount;
+        this.exitedAmountCents = exitedAmountCents;
+    }
+    
+    public LocalDate getDay() {
+        return day;
+    }
+    
+    public OrderStatus getStatus() {
+        return status;
+    }
+    
+    public long getEnteredCount() {
+        return enteredCount;
+    }
+    
+    public long getEnteredAmountCents() {
+        return enteredAmountCents;
+    }
+    
+    public long getExitedCount() {
+        return exitedCount;
+    }
+    
+    public long getExitedAmountCents() {
+        return exitedAmountCents;
+    }
+    
+    public static class Key implements Serializable {
+        
+        private LocalDate day;
+        private OrderStatus status;
+        
+        protected Key() {}
+        
+        public Key(LocalDate day, OrderStatus status) {
+            this.day = day;
+            this.status = status;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(day, key.day) && status == key.status;
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(day, status);
+        }
+    }
+}
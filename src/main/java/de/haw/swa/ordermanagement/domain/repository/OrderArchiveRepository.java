@@ -0,0 +1,65 @@
+package de.haw.swa.ordermanagement.domain.repository;
+
+import de.haw.swa.ordermanagement.domain.model.order.Order;
+import de.haw.swa.ordermanagement.domain.model.order.OrderItemLine;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.order.OrderSummary;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Reads that include the archive of terminal orders, and the move into it; part of {@link OrderRepository}.
+ *
+ * Orders are looked up by ID and by customer, and scanned for revenue, wherever they are stored, so
+ * callers see archived orders like any other. Archived orders are read-only. Listings of all orders or
+ * by status and searches cover only the orders that are not archived. Orders exported from the archive
+ * to the {@link OrderHistoryRepository} are still found by ID and by customer; the ID ranges and revenue
+ * scans here leave them to the history.
+ */
+public interface OrderArchiveRepository {
+    
+    Optional<Order> findById(Long id);
+    
+    /**
+     * Loads the given orders together with their items.
+     */
+    List<Order> findAllWithItemsByIdIn(Collection<Long> ids);
+    
+    List<Order> findByCustomerId(Long customerId);
+    
+    List<OrderSummary> findSummariesByCustomerId(Long customerId);
+    
+    /**
+     * Only the archived and exported orders of the customer, together with their items.
+     */
+    List<Order> findArchivedByCustomerId(Long customerId);
+    
+    /**
+     * Smallest ID of the orders created in {@code [from, to)}, or {@code null} if there are none.
+     */
+    Long findMinId(LocalDateTime from, LocalDateTime to);
+    
+    /**
+     * Largest ID of the orders created in {@code [from, to)}, or {@code null} if there are none.
+     */
+    Long findMaxId(LocalDateTime from, LocalDateTime to);
+    
+    /**
+     * Item lines of the orders with IDs in {@code [fromId, toId)} that are in one of the given statuses
+     * and were created in {@code [from, to)}, ordered by order ID, so the lines of an order are adjacent.
+     * The rows are fetched in chunks while the stream is consumed; it must be closed within the transaction.
+     */
+    Stream<OrderItemLine> streamItemLines(long fromId, long toId, Collection<OrderStatus> statuses,
+                                          LocalDateTime from, LocalDateTime to);
+    
+    /**
+     * Moves at most {@code limit} orders in one of the given statuses that were last updated before
+     * {@code updatedBefore} to the archive, together with their items, and returns the IDs of the moved
+     * orders. Must be called within a transaction.
+     */
+    List<Long> archive(Collection<OrderStatus> statuses, LocalDateTime updatedBefore, int limit);
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package de.haw.swa.ordermanagement.domain.repository;
+
+import de.haw.swa.ordermanagement.domain.model.order.OrderItemLine;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Read-only history of the orders of past months, exported from the archive and no longer in the database.
+ *
+ * The history holds every order created before {@link #coveredUntil()}, so reports take those days from
+ * here and only the later days from the {@link OrderRepository}, which still finds exported orders by ID
+ * and by customer.
+ */
+public interface OrderHistoryRepository {
+    
+    /**
+     * First day that is not covered by the history, or empty if nothing was exported yet.
+     */
+    Optional<LocalDate> coveredUntil();
+    
+    /**
+     * Item lines of the historical orders that are in one of the given statuses and were created in
+     * {@code [from, to)}, ordered by order ID within each month, so the lines of an order are adjacent.
+     * The stream must be closed.
+     */
+    Stream<OrderItemLine> streamItemLines(Collection<OrderStatus> statuses, LocalDateTime from, LocalDateTime to);
+}
\ No newline at end of file
@@ -2,21 +2,47 @@ package de.haw.swa.ordermanagement.domain.repository;
 
 import de.haw.swa.ordermanagement.domain.model.order.Order;
 import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.order.OrderSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderSearchRepository, OrderArchiveRepository {
     
-    List<Order> findByCustomerId(Long customerId);
+    /**
+     * Constructor expression for {@link OrderSummary}; selects only columns of the orders table.
+     */
+    String SUMMARY_SELECT = "SELECT new de.haw.swa.ordermanagement.domain.model.order.OrderSummary("
+        + "o.id, o.customerId, o.status, o.totalAmount, o.currency, o.createdAt, o.updatedAt) FROM Order o";
+    
+    /**
+     * Inherited from both {@link JpaRepository} and {@link OrderArchiveRepository}, and declared again so
+     * calls are not ambiguous; the archive fragment implements it, so it also looks in the archive.
+     */
+    @Override
+    Optional<Order> findById(Long id);
     
     List<Order> findByStatus(OrderStatus status);
     
     @Query("SELECT o FROM Order o WHERE o.customerId = :customerId")
     List<Order> findByCustomerIdQuery(@Param("customerId") Long customerId);
     
+    @Query(SUMMARY_SELECT)
+    List<OrderSummary> findAllSummaries();
+    
+    @Query(SUMMARY_SELECT + " WHERE o.status = :status")
+    List<OrderSummary> findSummariesByStatus(@Param("status") OrderStatus status);
+    
+    /**
+     * Summaries of the orders that are not archived and were changed at or after {@code since}.
+     */
+    @Query(SUMMARY_SELECT + " WHERE o.updatedAt >= :since")
+    List<OrderSummary> findSummariesUpdatedSince(@Param("since") LocalDateTime since);
+
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package de.haw.swa.ordermanagement.domain.repository;
+
+import de.haw.swa.ordermanagement.domain.model.order.OrderSearch;
+import de.haw.swa.ordermanagement.domain.model.order.OrderSummary;
+
+import java.util.List;
+
+/**
+ * Search over the orders table with any combination of criteria; part of {@link OrderRepository}.
+ */
+public interface OrderSearchRepository {
+    
+    /**
+     * Summaries of the orders matching every criterion of the search, in its order, at most {@code limit}.
+     */
+    List<OrderSummary> searchSummaries(OrderSearch search, int limit);
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package de.haw.swa.ordermanagement.domain.repository;
+
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.statistics.OrderStatisticsBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface OrderStatisticsRepository extends JpaRepository<OrderStatisticsBucket, OrderStatisticsBucket.Key> {
+    
+    /**
+     * Adds the given counts to an existing bucket in the database, so concurrent flushes of several
+     * instances do not overwrite each other.
+     *
+     * @return 0 if the bucket does not exist yet
+     */
+    @Modifying
+    @Query("UPDATE OrderStatisticsBucket b SET b.enteredCount = b.enteredCount + :enteredCount, "
+        + "b.enteredAmountCents = b.enteredAmountCents + :enteredAmountCents, "
+        + "b.exitedCount = b.exitedCount + :exitedCount, "
+        + "b.exitedAmountCents = b.exitedAmountCents + :exitedAmountCents "
+        + "WHERE b.day = :day AND b.status = :status")
+    int addToBucket(@Param("day") LocalDate day,
+                    @Param("status") OrderStatus status,
+                    @Param("enteredCount") long enteredCount,
+                    @Param("enteredAmountCents") long enteredAmountCents,
+                    @Param("exitedCount") long exitedCount,
+                    @Param("exitedAmountCents") long exitedAmountCents);
+
+}
\ No newline at end of file
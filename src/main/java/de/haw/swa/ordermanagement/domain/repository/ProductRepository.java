@@ -1,6 +1,7 @@
 package de.haw.swa.ordermanagement.domain.repository;
 
 import de.haw.swa.ordermanagement.domain.model.product.Product;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -19,4 +20,15 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT p FROM Product p WHERE p.stockQuantity >= :minQuantity")
     List<Product> findByMinStockQuantity(@Param("minQuantity") int minQuantity);
     
+    /**
+     * Products with stock at or below their low-stock threshold; served by a partial index on PostgreSQL.
+     */
+    @Query("SELECT p FROM Product p WHERE p.lowStockThreshold IS NOT NULL AND p.stockQuantity <= p.lowStockThreshold")
+    List<Product> findLowOnStock();
+    
+    /**
+     * Products with an ID above {@code id} in ID order; walks the whole catalog in batches without offsets.
+     */
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package de.haw.swa.ordermanagement.infrastructure.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Compact binary representation of the REST DTOs ({@code application/cbor}).
+ *
+ * The encoding is pinned here instead of following the {@code spring.jackson.*} settings,
+ * so that binary clients see the same schema regardless of how JSON output is configured:
+ * <ul>
+ *   <li>Money amounts are written as CBOR decimal fractions (tag 4, {@code [exponent, mantissa]}),
+ *       which keeps them exact and typically fits the mantissa into a 32-bit integer.</li>
+ *   <li>Timestamps are written as signed 64-bit epoch milliseconds, interpreting the
+ *       {@link LocalDateTime} values as UTC. Sub-millisecond precision is dropped.</li>
+ * </ul>
+ */
+public final class BinaryWireFormat {
+
+    private BinaryWireFormat() {}
+
+    /**
+     * Creates a new CBOR mapper with the pinned encodings. Mappers are thread-safe
+     * once configured and should be created once and shared.
+     */
+    public static ObjectMapper cborMapper() {
+        ObjectMapper mapper = new ObjectMapper(new CBORFactory());
+        mapper.registerModule(new JavaTimeModule());
+        mapper.registerModule(wireModule());
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return mapper;
+    }
+
+    static SimpleModule wireModule() {
+        SimpleModule module = new SimpleModule("BinaryWireFormat");
+        module.addSerializer(LocalDateTime.class, new EpochMillisSerializer());
+        module.addDeserializer(LocalDateTime.class, new EpochMillisDeserializer());
+        module.addSerializer(BigDecimal.class, new DecimalFractionSerializer());
+        return module;
+    }
+
+    private static final class EpochMillisSerializer extends JsonSerializer<LocalDateTime> {
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeNumber(value.toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+    }
+
+    private static final class EpochMillisDeserializer extends JsonDeserializer<LocalDateTime> {
+        @Override
+        public LocalDateTime deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(p.getLongValue()), ZoneOffset.UTC);
+        }
+    }
+
+    /**
+     * Always emits the number as a CBOR decimal fraction with a non-positive exponent,
+     * never as a float, so amounts like {@code 1E+3} keep the same shape as {@code 1000.00}.
+     */
+    private static final class DecimalFractionSerializer extends JsonSerializer<BigDecimal> {
+        @Override
+        public void serialize(BigDecimal value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeNumber(value.scale() < 0 ? value.setScale(0) : value);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package de.haw.swa.ordermanagement.infrastructure.concurrent;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small thread-safe cache that evicts the least recently used entry once {@code maxSize} is reached.
+ * Intended for bounded lookaside caches in front of a persistent store; all operations lock the cache.
+ */
+public class LruCache<K, V> {
+    
+    private final Map<K, V> entries;
+    
+    public LruCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Max size must be positive");
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+    
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+    
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+    
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+    
+    public synchronized int size() {
+        return entries.size();
+    }
+}
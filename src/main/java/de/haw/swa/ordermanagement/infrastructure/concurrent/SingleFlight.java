@@ -0,0 +1,115 @@
+package de.haw.swa.ordermanagement.infrastructure.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key into a single call.
+ *
+ * The first caller for a key (the leader) runs the loader; callers arriving while it is
+ * still running (followers) wait for and share its result or exception. Nothing is cached:
+ * once the leader finishes, the next call for the key starts a new load. Followers wait at
+ * most {@code maxWait} and then run the loader themselves, so a slow leader cannot stall them
+ * indefinitely.
+ *
+ * Shared results must be immutable, because they are handed to several threads.
+ *
+ * Metrics: {@code ordermanagement.singleflight.calls} (tagged with {@code outcome} =
+ * leader/coalesced/timeout) and the derived {@code ordermanagement.singleflight.coalescing.ratio}.
+ */
+public class SingleFlight<K, V> {
+    
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long maxWaitNanos;
+    
+    private final Counter leaders;
+    private final Counter coalesced;
+    private final Counter timeouts;
+    
+    public SingleFlight(String name, Duration maxWait, MeterRegistry meterRegistry) {
+        this.maxWaitNanos = maxWait.toNanos();
+        this.leaders = callCounter(meterRegistry, name, "leader");
+        this.coalesced = callCounter(meterRegistry, name, "coalesced");
+        this.timeouts = callCounter(meterRegistry, name, "timeout");
+        
+        Gauge.builder("ordermanagement.singleflight.inflight", inFlight, ConcurrentHashMap::size)
+            .description("Keys with a load currently in progress")
+            .tag("name", name)
+            .register(meterRegistry);
+        Gauge.builder("ordermanagement.singleflight.coalescing.ratio", this, SingleFlight::coalescingRatio)
+            .description("Share of calls that were served by another caller's load")
+            .tag("name", name)
+            .register(meterRegistry);
+    }
+    
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, own);
+        
+        if (existing == null) {
+            leaders.increment();
+            return lead(key, own, loader);
+        }
+        
+        try {
+            V result = existing.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+            coalesced.increment();
+            return result;
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            return loader.get();
+        } catch (ExecutionException e) {
+            coalesced.increment();
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for in-flight load of " + key, e);
+        }
+    }
+    
+    double coalescingRatio() {
+        double shared = coalesced.count();
+        double total = shared + leaders.count() + timeouts.count();
+        return total == 0 ? 0.0 : shared / total;
+    }
+    
+    private V lead(K key, CompletableFuture<V> own, Supplier<V> loader) {
+        try {
+            V result = loader.get();
+            own.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+    
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+    
+    private static Counter callCounter(MeterRegistry meterRegistry, String name, String outcome) {
+        return Counter.builder("ordermanagement.singleflight.calls")
+            .description("Calls through the single-flight layer by outcome")
+            .tag("name", name)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,30 @@
+package de.haw.swa.ordermanagement.infrastructure.concurrent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Creates {@link SingleFlight} instances that share the configured wait bound and meter registry.
+ */
+@Component
+public class SingleFlightFactory {
+    
+    private final MeterRegistry meterRegistry;
+    private final Duration maxWait;
+    
+    public SingleFlightFactory(MeterRegistry meterRegistry,
+                               @Value("${ordermanagement.single-flight.max-wait:2s}") Duration maxWait) {
+        this.meterRegistry = meterRegistry;
+        this.maxWait = maxWait;
+    }
+    
+    /**
+     * @param name metric tag identifying the coalesced read, e.g. {@code product-by-id}
+     */
+    public <K, V> SingleFlight<K, V> create(String name) {
+        return new SingleFlight<>(name, maxWait, meterRegistry);
+    }
+}
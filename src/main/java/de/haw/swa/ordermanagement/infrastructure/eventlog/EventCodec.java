@@ -0,0 +1,300 @@
+package de.haw.swa.ordermanagement.infrastructure.eventlog;
+
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of domain event records for the {@link EventLog}.
+ *
+ * An event is written as its registered type ID followed by its record components in declaration
+ * order: UUIDs as 16 bytes, timestamps as epoch seconds and nanos, numbers as zig-zag varints,
+ * strings and enum names as length-prefixed UTF-8. There are no field names, so type IDs must stay
+ * stable and components may only be appended; components missing at the end of an older record are
+ * decoded as {@code null}, or zero and {@code false} if primitive. Register all types before the codec is used.
+ */
+public class EventCodec {
+    
+    private static final Set<Class<?>> SUPPORTED_TYPES = Set.of(
+        UUID.class, LocalDateTime.class, Long.class, long.class, Integer.class, int.class,
+        Boolean.class, boolean.class, String.class, BigDecimal.class);
+    
+    private final Map<Integer, EventType> typesById = new HashMap<>();
+    private final Map<Class<?>, EventType> typesByClass = new HashMap<>();
+    
+    public EventCodec register(int typeId, Class<? extends DomainEvent> type) {
+        if (!type.isRecord()) {
+            throw new IllegalArgumentException(type.getSimpleName() + " is not a record");
+        }
+        if (typesById.containsKey(typeId)) {
+            throw new IllegalArgumentException("Type ID " + typeId + " is already used by "
+                + typesById.get(typeId).type().getSimpleName());
+        }
+        RecordComponent[] components = type.getRecordComponents();
+        for (RecordComponent component : components) {
+            Class<?> componentType = component.getType();
+            if (!SUPPORTED_TYPES.contains(componentType) && !componentType.isEnum()) {
+                throw new IllegalArgumentException("Unsupported component " + type.getSimpleName() + "."
+                    + component.getName() + " of type " + componentType.getSimpleName());
+            }
+        }
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor(
+                Arrays.stream(components).map(RecordComponent::getType).toArray(Class<?>[]::new));
+            Method[] accessors = Arrays.stream(components).map(RecordComponent::getAccessor).toArray(Method[]::new);
+            EventType eventType = new EventType(typeId, type, constructor, accessors);
+            typesById.put(typeId, eventType);
+            typesByClass.put(type, eventType);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("No canonical constructor in " + type.getSimpleName(), e);
+        }
+        return this;
+    }
+    
+    public boolean supports(DomainEvent event) {
+        return typesByClass.containsKey(event.getClass());
+    }
+    
+    public byte[] encode(DomainEvent event) {
+        EventType type = typesByClass.get(event.getClass());
+        if (type == null) {
+            throw new IllegalArgumentException("Event type not registered: " + event.getClass().getSimpleName());
+        }
+        Output out = new Output();
+        out.writeVarLong(type.id());
+        try {
+            for (Method accessor : type.accessors()) {
+                writeValue(out, accessor.getReturnType(), accessor.invoke(event));
+            }
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot read " + type.type().getSimpleName(), e);
+        }
+        return out.toByteArray();
+    }
+    
+    public DomainEvent decode(ByteBuffer buffer, int offset, int length) {
+        Input in = new Input(buffer, offset, offset + length);
+        int typeId = (int) in.readVarLong();
+        EventType type = typesById.get(typeId);
+        if (type == null) {
+            throw new IllegalStateException("Unknown event type ID " + typeId);
+        }
+        Method[] accessors = type.accessors();
+        Object[] values = new Object[accessors.length];
+        for (int i = 0; i < accessors.length; i++) {
+            Class<?> valueType = accessors[i].getReturnType();
+            values[i] = in.hasRemaining() ? readValue(in, valueType) : defaultValue(valueType);
+        }
+        try {
+            return (DomainEvent) type.constructor().newInstance(values);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create " + type.type().getSimpleName(), e);
+        }
+    }
+    
+    private static void writeValue(Output out, Class<?> type, Object value) {
+        if (type.isPrimitive()) {
+            // Primitives are never null, no presence marker needed
+            if (type == long.class || type == int.class) {
+                out.writeVarLong(zigZag(((Number) value).longValue()));
+            } else {
+                out.writeByte((Boolean) value ? 1 : 0);
+            }
+            return;
+        }
+        if (value == null) {
+            out.writeByte(0);
+            return;
+        }
+        out.writeByte(1);
+        if (type == UUID.class) {
+            UUID uuid = (UUID) value;
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else if (type == LocalDateTime.class) {
+            LocalDateTime time = (LocalDateTime) value;
+            out.writeVarLong(zigZag(time.toEpochSecond(ZoneOffset.UTC)));
+            out.writeVarLong(time.getNano());
+        } else if (type == Long.class || type == Integer.class) {
+            out.writeVarLong(zigZag(((Number) value).longValue()));
+        } else if (type == Boolean.class) {
+            out.writeByte((Boolean) value ? 1 : 0);
+        } else if (type == String.class) {
+            out.writeBytes(((String) value).getBytes(StandardCharsets.UTF_8));
+        } else if (type == BigDecimal.class) {
+            BigDecimal decimal = (BigDecimal) value;
+            out.writeVarLong(zigZag(decimal.scale()));
+            out.writeBytes(decimal.unscaledValue().toByteArray());
+        } else {
+            out.writeBytes(((Enum<?>) value).name().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object defaultValue(Class<?> type) {
+        if (type == long.class) {
+            return 0L;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == boolean.class) {
+            return false;
+        }
+        return null;
+    }
+    
+    private static Object readValue(Input in, Class<?> type) {
+        if (type == long.class) {
+            return unZigZag(in.readVarLong());
+        } else if (type == int.class) {
+            return (int) unZigZag(in.readVarLong());
+        } else if (type == boolean.class) {
+            return in.readByte() != 0;
+        }
+        if (in.readByte() == 0) {
+            return null;
+        }
+        if (type == UUID.class) {
+            return new UUID(in.readLong(), in.readLong());
+        } else if (type == LocalDateTime.class) {
+            long seconds = unZigZag(in.readVarLong());
+            return LocalDateTime.ofEpochSecond(seconds, (int) in.readVarLong(), ZoneOffset.UTC);
+        } else if (type == Long.class) {
+            return unZigZag(in.readVarLong());
+        } else if (type == Integer.class) {
+            return (int) unZigZag(in.readVarLong());
+        } else if (type == Boolean.class) {
+            return in.readByte() != 0;
+        } else if (type == String.class) {
+            return new String(in.readBytes(), StandardCharsets.UTF_8);
+        } else if (type == BigDecimal.class) {
+            int scale = (int) unZigZag(in.readVarLong());
+            return new BigDecimal(new BigInteger(in.readBytes()), scale);
+        } else {
+            return Enum.valueOf((Class<? extends Enum>) type, new String(in.readBytes(), StandardCharsets.UTF_8));
+        }
+    }
+    
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+    
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+    
+    private record EventType(int id, Class<?> type, Constructor<?> constructor, Method[] accessors) {}
+    
+    private static final class Output {
+        
+        private byte[] bytes = new byte[64];
+        private int size;
+        
+        void writeByte(int value) {
+            ensureCapacity(1);
+            bytes[size++] = (byte) value;
+        }
+        
+        void writeLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (value >>> shift);
+            }
+        }
+        
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+        
+        void writeBytes(byte[] value) {
+            writeVarLong(value.length);
+            ensureCapacity(value.length);
+            System.arraycopy(value, 0, bytes, size, value.length);
+            size += value.length;
+        }
+        
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+        
+        private void ensureCapacity(int additional) {
+            if (size + additional > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + additional));
+            }
+        }
+    }
+    
+    private static final class Input {
+        
+        private final ByteBuffer buffer;
+        private final int limit;
+        private int position;
+        
+        Input(ByteBuffer buffer, int position, int limit) {
+            this.buffer = buffer;
+            this.position = position;
+            this.limit = limit;
+        }
+        
+        boolean hasRemaining() {
+            return position < limit;
+        }
+        
+        byte readByte() {
+            checkAvailable(1);
+            return buffer.get(position++);
+        }
+        
+        long readLong() {
+            checkAvailable(8);
+            long value = buffer.getLong(position);
+            position += 8;
+            return value;
+        }
+        
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("Malformed varint");
+        }
+        
+        byte[] readBytes() {
+            int length = (int) readVarLong();
+            checkAvailable(length);
+            byte[] value = new byte[length];
+            buffer.get(position, value);
+            position += length;
+            return value;
+        }
+        
+        private void checkAvailable(int length) {
+            if (length < 0 || position + length > limit) {
+                throw new IllegalStateException("Event record is truncated");
+            }
+        }
+    }
+}
\ No newline at end of file
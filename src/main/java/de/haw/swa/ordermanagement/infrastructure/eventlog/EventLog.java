@@ -0,0 +1,275 @@
+package de.haw.swa.ordermanagement.infrastructure.eventlog;
+
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Local append-only log of domain events in memory-mapped segment files.
+ *
+ * Appends are serialized by a single lock and only copy the encoded event into the mapped segment;
+ * durability is handled by a background flusher according to the {@link FsyncMode}. In
+ * {@link FsyncMode#ALWAYS} an append waits until its record has been forced to disk, but all appends
+ * that arrive while a force is running share the next one (group commit).
+ *
+ * Positions are byte offsets across all segments and only grow; {@link #reader(long)} tails the log
+ * from any position previously returned by {@link #append(DomainEvent)}. On start the last segment is
+ * scanned and a torn record at its end is discarded.
+ */
+public class EventLog implements AutoCloseable {
+    
+    private static final Logger log = LoggerFactory.getLogger(EventLog.class);
+    
+    public enum FsyncMode {
+        /** Each append returns once its record is on disk. */
+        ALWAYS,
+        /** Records are forced every fsync interval; a crash loses at most one interval. */
+        INTERVAL,
+        /** Forcing is left to the operating system. */
+        NEVER
+    }
+    
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncMode fsyncMode;
+    private final Duration fsyncInterval;
+    private final EventCodec codec;
+    private final ConcurrentSkipListMap<Long, LogSegment> segments = new ConcurrentSkipListMap<>();
+    
+    private final Object appendLock = new Object();
+    private LogSegment active;
+    private int activePosition;
+    private volatile long endPosition;
+    
+    private final Object flushLock = new Object();
+    private long durablePosition;
+    private boolean flushRequested;
+    private volatile boolean closed;
+    private final Thread flusher;
+    
+    private EventLog(Path directory, int segmentSize, FsyncMode fsyncMode, Duration fsyncInterval, EventCodec codec) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsyncMode = fsyncMode;
+        this.fsyncInterval = fsyncInterval;
+        this.codec = codec;
+        this.flusher = fsyncMode == FsyncMode.NEVER ? null : new Thread(this::flushLoop, "event-log-flusher");
+    }
+    
+    public static EventLog open(Path directory, int segmentSize, FsyncMode fsyncMode,
+                                Duration fsyncInterval, EventCodec codec) throws IOException {
+        if (segmentSize < 1024) {
+            throw new IllegalArgumentException("Segment size must be at least 1 KiB");
+        }
+        Files.createDirectories(directory);
+        EventLog eventLog = new EventLog(directory, segmentSize, fsyncMode, fsyncInterval, codec);
+        eventLog.recover();
+        if (eventLog.flusher != null) {
+            eventLog.flusher.setDaemon(true);
+            eventLog.flusher.start();
+        }
+        return eventLog;
+    }
+    
+    /**
+     * Appends the event and returns its position.
+     *
+     * @throws IllegalArgumentException if the event type is not registered or does not fit into a segment
+     */
+    public long append(DomainEvent event) {
+        byte[] payload = codec.encode(event);
+        int recordSize = LogSegment.HEADER_SIZE + payload.length;
+        if (recordSize + 4 > segmentSize) {
+            throw new IllegalArgumentException("Event of " + payload.length + " bytes exceeds the segment size");
+        }
+        long position;
+        long end;
+        synchronized (appendLock) {
+            if (closed) {
+                throw new IllegalStateException("Event log is closed");
+            }
+            if (activePosition + recordSize + 4 > active.capacity()) {
+                roll();
+            }
+            position = active.baseOffset() + activePosition;
+            active.write(activePosition, payload);
+            activePosition += recordSize;
+            end = position + recordSize;
+            endPosition = end;
+        }
+        if (fsyncMode == FsyncMode.ALWAYS) {
+            awaitDurable(end);
+        }
+        return position;
+    }
+    
+    /**
+     * Returns a reader that starts at {@code position}; use {@code 0} to read the whole log.
+     */
+    public EventLogReader reader(long position) {
+        return new EventLogReader(this, Math.max(position, segments.firstKey()));
+    }
+    
+    /**
+     * Position after the last complete record, i.e. the position the next append will get.
+     */
+    public long endPosition() {
+        return endPosition;
+    }
+    
+    /**
+     * Forces all appended records to disk regardless of the fsync mode.
+     */
+    public void flush() {
+        long target = endPosition;
+        activeSegment().force();
+        markDurable(target);
+    }
+    
+    @Override
+    public void close() {
+        synchronized (appendLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        synchronized (flushLock) {
+            flushLock.notifyAll();
+        }
+        if (flusher != null) {
+            flusher.interrupt();
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (fsyncMode != FsyncMode.NEVER) {
+            active.force();
+        }
+        segments.values().forEach(LogSegment::close);
+    }
+    
+    EventCodec codec() {
+        return codec;
+    }
+    
+    Map.Entry<Long, LogSegment> segmentAt(long position) {
+        return segments.floorEntry(position);
+    }
+    
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(LogSegment::isSegmentFile).sorted().toList();
+        }
+        for (Path file : files) {
+            long baseOffset = LogSegment.baseOffsetOf(file);
+            segments.put(baseOffset, LogSegment.open(directory, baseOffset, segmentSize));
+        }
+        if (segments.isEmpty()) {
+            segments.put(0L, LogSegment.open(directory, 0, segmentSize));
+        }
+        active = segments.lastEntry().getValue();
+        activePosition = active.scanEnd();
+        if (active.isRolledAt(activePosition)) {
+            // Crashed between marking the end of a segment and creating its successor
+            roll();
+        } else {
+            active.truncate(activePosition);
+        }
+        endPosition = active.baseOffset() + activePosition;
+        durablePosition = endPosition;
+        log.info("Opened event log in {} with {} segment(s), end position {}", directory, segments.size(), endPosition);
+    }
+    
+    /**
+     * Starts a new segment whose base offset continues where the current one ended.
+     */
+    private void roll() {
+        active.markEnd(activePosition);
+        if (fsyncMode != FsyncMode.NEVER) {
+            active.force();
+        }
+        long baseOffset = active.baseOffset() + activePosition;
+        try {
+            LogSegment next = LogSegment.open(directory, baseOffset, segmentSize);
+            segments.put(baseOffset, next);
+            active = next;
+            activePosition = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create event log segment", e);
+        }
+    }
+    
+    private LogSegment activeSegment() {
+        synchronized (appendLock) {
+            return active;
+        }
+    }
+    
+    private void awaitDurable(long position) {
+        synchronized (flushLock) {
+            flushRequested = true;
+            flushLock.notifyAll();
+            while (durablePosition < position && !closed) {
+                try {
+                    flushLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for event log fsync", e);
+                }
+            }
+        }
+    }
+    
+    private void markDurable(long position) {
+        synchronized (flushLock) {
+            durablePosition = Math.max(durablePosition, position);
+            flushLock.notifyAll();
+        }
+    }
+    
+    private void flushLoop() {
+        while (!closed) {
+            try {
+                if (fsyncMode == FsyncMode.ALWAYS) {
+                    synchronized (flushLock) {
+                        while (!flushRequested && !closed) {
+                            flushLock.wait();
+                        }
+                        flushRequested = false;
+                    }
+                } else {
+                    Thread.sleep(fsyncInterval.toMillis());
+                }
+            } catch (InterruptedException e) {
+                // close() interrupts the flusher, the final force happens there
+                return;
+            }
+            long target = endPosition;
+            if (target > durablePosition()) {
+                // Earlier segments were forced when they were rolled
+                activeSegment().force();
+                markDurable(target);
+            }
+        }
+    }
+    
+    private long durablePosition() {
+        synchronized (flushLock) {
+            return durablePosition;
+        }
+    }
+}
\ No newline at end of file
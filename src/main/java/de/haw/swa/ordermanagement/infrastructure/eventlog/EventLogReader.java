@@ -0,0 +1,50 @@
+package de.haw.swa.ordermanagement.infrastructure.eventlog;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tailing reader of an {@link EventLog}.
+ *
+ * Each reader keeps its own position and reads directly from the mapped segments, so readers never
+ * block appends. A reader is not thread-safe; give each consumer its own.
+ */
+public class EventLogReader {
+    
+    private final EventLog eventLog;
+    private long position;
+    
+    EventLogReader(EventLog eventLog, long position) {
+        this.eventLog = eventLog;
+        this.position = position;
+    }
+    
+    /**
+     * Returns up to {@code maxEvents} events appended since the last poll, or an empty list if the reader has caught up.
+     */
+    public List<LoggedEvent> poll(int maxEvents) {
+        long end = eventLog.endPosition();
+        List<LoggedEvent> events = new ArrayList<>(Math.min(maxEvents, 256));
+        while (events.size() < maxEvents && position < end) {
+            Map.Entry<Long, LogSegment> segment = eventLog.segmentAt(position);
+            ByteBuffer view = segment.getValue().readView();
+            int offset = (int) (position - segment.getKey());
+            int length = view.getInt(offset);
+            if (length <= 0) {
+                throw new IllegalStateException("No event record at position " + position);
+            }
+            events.add(new LoggedEvent(position, eventLog.codec().decode(view, offset + LogSegment.HEADER_SIZE, length)));
+            position += LogSegment.HEADER_SIZE + length;
+        }
+        return events;
+    }
+    
+    /**
+     * Position of the next event this reader will return.
+     */
+    public long position() {
+        return position;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,156 @@
+package de.haw.swa.ordermanagement.infrastructure.eventlog;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * One memory-mapped, fixed-size file of the {@link EventLog}.
+ *
+ * Records are framed as {@code [int length][int crc32c][payload]}. Since new files are zero-filled,
+ * a length of {@code 0} marks the end of the written data; {@link #END_OF_SEGMENT} marks a segment
+ * that was rolled because the next record did not fit.
+ */
+final class LogSegment implements AutoCloseable {
+    
+    static final int HEADER_SIZE = 8;
+    static final int END_OF_SEGMENT = -1;
+    private static final String SUFFIX = ".log";
+    private static final byte[] ZEROS = new byte[4096];
+    
+    private final long baseOffset;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    
+    private LogSegment(long baseOffset, Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.baseOffset = baseOffset;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+    
+    static LogSegment open(Path directory, long baseOffset, int capacity) throws IOException {
+        Path path = directory.resolve(fileName(baseOffset));
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            int size = (int) Math.max(capacity, channel.size());
+            return new LogSegment(baseOffset, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    
+    static String fileName(long baseOffset) {
+        return String.format("%020d%s", baseOffset, SUFFIX);
+    }
+    
+    static boolean isSegmentFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.length() == 20 + SUFFIX.length() && name.endsWith(SUFFIX);
+    }
+    
+    static long baseOffsetOf(Path path) {
+        return Long.parseLong(path.getFileName().toString().substring(0, 20));
+    }
+    
+    long baseOffset() {
+        return baseOffset;
+    }
+    
+    int capacity() {
+        return buffer.capacity();
+    }
+    
+    /**
+     * Writes a record at {@code position}. The length is written last, so readers never see a partial record.
+     */
+    void write(int position, byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        buffer.put(position + HEADER_SIZE, payload);
+        buffer.putInt(position + 4, (int) crc.getValue());
+        buffer.putInt(position, payload.length);
+    }
+    
+    void markEnd(int position) {
+        if (position + 4 <= buffer.capacity()) {
+            buffer.putInt(position, END_OF_SEGMENT);
+        }
+    }
+    
+    /**
+     * Finds the end of the valid records, i.e. the first position that is unused, rolled or holds a torn record.
+     */
+    int scanEnd() {
+        int position = 0;
+        while (position + HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_SIZE + length > buffer.capacity()
+                || !checksumMatches(position, length)) {
+                return position;
+            }
+            position += HEADER_SIZE + length;
+        }
+        return position;
+    }
+    
+    boolean isRolledAt(int position) {
+        return position + 4 <= buffer.capacity() && buffer.getInt(position) == END_OF_SEGMENT;
+    }
+    
+    /**
+     * Zeroes the records from {@code position} on up to the first zero length word, so leftovers of a torn
+     * write are not mistaken for records later. The rest of the file was never written and stays untouched;
+     * a length that does not fit the segment zeroes everything after it.
+     */
+    void truncate(int position) {
+        while (position + 4 <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length == 0) {
+                return;
+            }
+            int next = length > 0 && position + HEADER_SIZE + length <= buffer.capacity()
+                ? position + HEADER_SIZE + length : buffer.capacity();
+            zero(position, next);
+            position = next;
+        }
+        zero(position, buffer.capacity());
+    }
+    
+    ByteBuffer readView() {
+        return buffer.duplicate();
+    }
+    
+    void force() {
+        buffer.force();
+    }
+    
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close " + path, e);
+        }
+    }
+    
+    private void zero(int from, int to) {
+        for (int at = from; at < to; at += ZEROS.length) {
+            buffer.put(at, ZEROS, 0, Math.min(ZEROS.length, to - at));
+        }
+    }
+    
+    private boolean checksumMatches(int position, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(position + HEADER_SIZE, length));
+        return (int) crc.getValue() == buffer.getInt(position + 4);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,8 @@
+package de.haw.swa.ordermanagement.infrastructure.eventlog;
+
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+
+/**
+ * An event read from the {@link EventLog} together with its position in the log.
+ */
+public record LoggedEvent(long position, DomainEvent event) {}
\ No newline at end of file
@@ -0,0 +1,141 @@
+package de.haw.swa.ordermanagement.infrastructure.history;
+
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainClock;
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Moves the archived orders of past months from the archive tables into the {@link OrderHistoryStore}.
+ *
+ * Months are exported oldest first, once they ended {@code exportAfter} ago and the {@code orders} table
+ * holds none of their orders anymore, i.e. all of them were archived; the export stops at the first month
+ * that still has orders there, so the history always covers whole months up to its end. Each month is
+ * written as a segment and then deleted from the archive in one transaction. If that transaction fails,
+ * the segment is kept and the next run only deletes the rows, so every order is in exactly one place
+ * for reports, which take the months covered by the history from it alone.
+ *
+ * The store directory must be shared by all instances that report from it; a report that runs while a
+ * month is exported may miss that month.
+ */
+public class OrderHistoryExporter {
+    
+    private static final Logger log = LoggerFactory.getLogger(OrderHistoryExporter.class);
+    
+    private static final String ARCHIVED_ORDERS = "SELECT o.id, o.customer_id, o.status, o.created_at, o.updated_at,"
+        + " i.product_id, i.product_name, i.unit_price, i.quantity"
+        + " FROM archive.orders o LEFT JOIN archive.order_items i ON i.order_id = o.id"
+        + " WHERE o.created_at >= ? AND o.created_at < ? ORDER BY o.id, i.id";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+    private final OrderHistoryStore store;
+    private final Duration exportAfter;
+    private final Counter exportedOrders;
+    
+    public OrderHistoryExporter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry, OrderHistoryStore store, Duration exportAfter) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.store = store;
+        this.exportAfter = exportAfter;
+        this.exportedOrders = Counter.builder("ordermanagement.orders.exported")
+            .description("Archived orders moved to the order history files")
+            .register(meterRegistry);
+    }
+    
+    @Scheduled(cron = "${ordermanagement.order-history.cron:0 30 3 * * *}")
+    public void exportClosedMonths() {
+        try {
+            int exported = exportMonthsBefore(DomainClock.now().minus(exportAfter).toLocalDate());
+            if (exported > 0) {
+                log.info("Exported {} orders to the order history", exported);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Exporting orders to the order history failed, retrying with the next run", e);
+        }
+    }
+    
+    /**
+     * Exports the months that ended on or before {@code cutoff}; returns how many orders were moved.
+     */
+    public int exportMonthsBefore(LocalDate cutoff) {
+        store.refresh();
+        LocalDateTime oldest = jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM (SELECT MIN(created_at) AS created_at"
+            + " FROM orders UNION ALL SELECT MIN(created_at) AS created_at FROM archive.orders) oldest", LocalDateTime.class);
+        if (oldest == null) {
+            return 0;
+        }
+        int total = 0;
+        for (YearMonth month = YearMonth.from(oldest);
+                !month.plusMonths(1).atDay(1).isAfter(cutoff); month = month.plusMonths(1)) {
+            YearMonth current = month;
+            Integer moved = newTransaction.execute(status -> exportMonth(current));
+            if (moved == null || moved < 0) {
+                break;
+            }
+            exportedOrders.increment(moved);
+            total += moved;
+        }
+        return total;
+    }
+    
+    /**
+     * Writes the archived orders of a month to the history, unless already done, and deletes them from the
+     * archive; returns how many were deleted, or -1 if the month still has orders that are not archived.
+     */
+    private int exportMonth(YearMonth month) {
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        Long remaining = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM orders WHERE created_at >= ? AND created_at < ?", Long.class, from, to);
+        if (remaining != null && remaining > 0) {
+            log.info("Not exporting {} yet, {} of its orders are not archived", month, remaining);
+            return -1;
+        }
+        if (!store.contains(month)) {
+            OrderHistorySegment.Writer writer = OrderHistorySegment.writer(month);
+            long[] previousOrderId = {Long.MIN_VALUE};
+            jdbcTemplate.query(ARCHIVED_ORDERS, rs -> {
+                long orderId = rs.getLong(1);
+                if (orderId != previousOrderId[0]) {
+                    writer.addOrder(orderId, rs.getLong(2), OrderStatus.valueOf(rs.getString(3)),
+                        rs.getObject(4, LocalDateTime.class), rs.getObject(5, LocalDateTime.class));
+                    previousOrderId[0] = orderId;
+                }
+                long productId = rs.getLong(6);
+                if (!rs.wasNull()) {
+                    writer.addItem(productId, rs.getString(7), Money.euro(rs.getBigDecimal(8)).getCents(), rs.getInt(9));
+                }
+            }, from, to);
+            if (writer.orderCount() == 0) {
+                return 0;
+            }
+            try {
+                OrderHistorySegment segment = store.write(writer, month);
+                log.debug("Wrote {} orders of {} in {} bytes", segment.orderCount(), month, segment.fileSize());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write the order history of " + month, e);
+            }
+        }
+        jdbcTemplate.update("DELETE FROM archive.order_items WHERE order_id IN"
+            + " (SELECT id FROM archive.orders WHERE created_at >= ? AND created_at < ?)", from, to);
+        return jdbcTemplate.update("DELETE FROM archive.orders WHERE created_at >= ? AND created_at < ?", from, to);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,703 @@
+package de.haw.swa.ordermanagement.infrastructure.history;
+
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * One month of exported orders in a read-only file, stored column by column.
+ *
+ * Orders are sorted by ID and stored with their columns, followed by the columns of all their items.
+ * Every column is a block of variable-length integers compressed on its own with deflate:
+ * <ul>
+ *   <li>order IDs and creation times as differences to the previous order, which are small as both grow
+ *       together; update times as the difference to the creation time,</li>
+ *   <li>product names as codes into a dictionary of the distinct names of the segment,</li>
+ *   <li>amounts as {@code long} cents; item totals are not stored but computed from unit price and quantity.</li>
+ * </ul>
+ * Timestamps have microsecond precision, like the database columns.
+ *
+ * The header holds the range of creation times and the statuses in the segment, so a scan for other dates or
+ * statuses skips the segment without reading it. Lookups of an order by ID skip segments by the range of their
+ * order IDs, which is read from the ID column once; lookups by customer decode the customer column. A scan decompresses the status and creation time columns
+ * to select the orders, and the other columns only when they are first read, so each column is only decoded
+ * when it is needed.
+ *
+ * File layout: {@code [int magic][int version][int year][int month][int orders][int items][long min created]
+ * [long max created][int status mask][int columns]}, then {@code [byte column][int length][int raw length]
+ * [int crc32c]} per column and the column blocks in the same order.
+ */
+public final class OrderHistorySegment {
+    
+    private static final int MAGIC = 0x4F485331; // "OHS1"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 48;
+    private static final int COLUMN_ENTRY_SIZE = 13;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final int ALL_STATUSES = (1 << STATUSES.length) - 1;
+    
+    /**
+     * Column IDs are part of the file format, never reuse or renumber them.
+     */
+    enum Column {
+        ORDER_ID(1),
+        CUSTOMER_ID(2),
+        STATUS(3),
+        CREATED_AT(4),
+        UPDATED_AT(5),
+        ITEM_COUNT(6),
+        PRODUCT_ID(7),
+        PRODUCT_NAME(8),
+        PRODUCT_NAMES(9),
+        UNIT_PRICE(10),
+        QUANTITY(11);
+        
+        private final int id;
+        
+        Column(int id) {
+            this.id = id;
+        }
+        
+        static Column of(int id) {
+            for (Column column : values()) {
+                if (column.id == id) {
+                    return column;
+                }
+            }
+            throw new IllegalArgumentException("Unknown column " + id);
+        }
+    }
+    
+    private final Path path;
+    private final YearMonth month;
+    private final int orderCount;
+    private final int itemCount;
+    private final long minCreatedAt;
+    private final long maxCreatedAt;
+    private final int statusMask;
+    private final Map<Column, Block> blocks;
+    private final long fileSize;
+    
+    // First and last order ID, read on the first lookup by ID
+    private volatile long[] orderIdRange;
+    
+    private OrderHistorySegment(Path path, YearMonth month, int orderCount, int itemCount, long minCreatedAt,
+                                long maxCreatedAt, int statusMask, Map<Column, Block> blocks, long fileSize) {
+        this.path = path;
+        this.month = month;
+        this.orderCount = orderCount;
+        this.itemCount = itemCount;
+        this.minCreatedAt = minCreatedAt;
+        this.maxCreatedAt = maxCreatedAt;
+        this.statusMask = statusMask;
+        this.blocks = blocks;
+        this.fileSize = fileSize;
+    }
+    
+    /**
+     * Reads the header of a segment file; the columns are read by the scans.
+     */
+    public static OrderHistorySegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = read(channel, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new IOException(path + " is not an order history segment");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException(path + " has unsupported version " + version);
+            }
+            YearMonth month = YearMonth.of(header.getInt(), header.getInt());
+            int orderCount = header.getInt();
+            int itemCount = header.getInt();
+            long minCreatedAt = header.getLong();
+            long maxCreatedAt = header.getLong();
+            int statusMask = header.getInt();
+            int columnCount = header.getInt();
+            
+            ByteBuffer entries = read(channel, HEADER_SIZE, columnCount * COLUMN_ENTRY_SIZE);
+            Map<Column, Block> blocks = new EnumMap<>(Column.class);
+            long offset = HEADER_SIZE + (long) columnCount * COLUMN_ENTRY_SIZE;
+            for (int i = 0; i < columnCount; i++) {
+                Column column = Column.of(entries.get());
+                int length = entries.getInt();
+                blocks.put(column, new Block(offset, length, entries.getInt(), entries.getInt()));
+                offset += length;
+            }
+            if (offset != channel.size()) {
+                throw new IOException(path + " is truncated or has trailing data");
+            }
+            return new OrderHistorySegment(path, month, orderCount, itemCount, minCreatedAt, maxCreatedAt,
+                statusMask, blocks, offset);
+        }
+    }
+    
+    public static Writer writer(YearMonth month) {
+        return new Writer(month);
+    }
+    
+    public YearMonth month() {
+        return month;
+    }
+    
+    public int orderCount() {
+        return orderCount;
+    }
+    
+    public int itemCount() {
+        return itemCount;
+    }
+    
+    public long fileSize() {
+        return fileSize;
+    }
+    
+    /**
+     * Whether the segment may hold orders with one of the statuses created in {@code [from, to)}, decided from
+     * the header alone.
+     */
+    public boolean mayContain(Collection<OrderStatus> statuses, LocalDateTime from, LocalDateTime to) {
+        return overlaps(mask(statuses), toMicros(from), toMicros(to));
+    }
+    
+    /**
+     * Item lines of the orders with one of the statuses created in {@code [from, to)}, in order of the order IDs.
+     * The cursor must be closed.
+     */
+    public Cursor scan(Collection<OrderStatus> statuses, LocalDateTime from, LocalDateTime to) {
+        return new Cursor(mask(statuses), toMicros(from), toMicros(to), null, 0);
+    }
+    
+    /**
+     * Whether the order ID is within the range of the segment's order IDs; reads the ID column on the first call.
+     */
+    public boolean mayHoldOrder(long orderId) {
+        long[] range = orderIdRange();
+        return orderId >= range[0] && orderId <= range[1];
+    }
+    
+    /**
+     * Item lines of the order with the given ID, none if the segment does not hold it. The cursor must be closed.
+     */
+    public Cursor scanOrder(long orderId) {
+        return new Cursor(ALL_STATUSES, Long.MIN_VALUE, Long.MAX_VALUE, Column.ORDER_ID, orderId);
+    }
+    
+    /**
+     * Item lines of the orders of the customer, in order of the order IDs. The cursor must be closed.
+     */
+    public Cursor scanCustomer(long customerId) {
+        return new Cursor(ALL_STATUSES, Long.MIN_VALUE, Long.MAX_VALUE, Column.CUSTOMER_ID, customerId);
+    }
+    
+    private long[] orderIdRange() {
+        long[] range = orderIdRange;
+        if (range == null) {
+            if (orderCount == 0) {
+                range = new long[] {Long.MAX_VALUE, Long.MIN_VALUE};
+            } else {
+                try (Cursor cursor = new Cursor(0, Long.MIN_VALUE, Long.MAX_VALUE, null, 0)) {
+                    // Orders are sorted by ID
+                    long[] orderIds = (long[]) cursor.column(Column.ORDER_ID);
+                    range = new long[] {orderIds[0], orderIds[orderIds.length - 1]};
+                }
+            }
+            orderIdRange = range;
+        }
+        return range;
+    }
+    
+    private boolean overlaps(int statuses, long from, long to) {
+        return orderCount > 0 && (statusMask & statuses) != 0 && maxCreatedAt >= from && minCreatedAt < to;
+    }
+    
+    static long toMicros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + timestamp.getNano() / 1_000;
+    }
+    
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+            (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+    
+    private static int mask(Collection<OrderStatus> statuses) {
+        int mask = 0;
+        for (OrderStatus status : statuses) {
+            mask |= 1 << status.ordinal();
+        }
+        return mask;
+    }
+    
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of segment file");
+            }
+        }
+        return buffer.flip();
+    }
+    
+    /**
+     * Position and sizes of a compressed column block.
+     */
+    private record Block(long offset, int length, int rawLength, int checksum) {
+    }
+    
+    /**
+     * Selected item lines of a segment, optionally only those of the orders whose key column holds a value. The columns are decoded into primitive arrays on first access, so moving
+     * the cursor and reading a line does not allocate, except for the creation time of each order.
+     */
+    public final class Cursor implements AutoCloseable {
+        
+        private final FileChannel channel;
+        private final int statuses;
+        private final long from;
+        private final long to;
+        private final Column keyColumn;
+        private final long key;
+        private final Map<Column, Object> decoded = new EnumMap<>(Column.class);
+        
+        private byte[] status;
+        private long[] createdAt;
+        private int[] itemCounts;
+        private long[] keys;
+        private int order = -1;
+        private int item;
+        private int itemEnd;
+        private LocalDateTime orderCreatedAt;
+        
+        private Cursor(int statuses, long from, long to, Column keyColumn, long key) {
+            this.statuses = statuses;
+            this.from = from;
+            this.to = to;
+            this.keyColumn = keyColumn;
+            this.key = key;
+            try {
+                this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open " + path, e);
+            }
+        }
+        
+        /**
+         * Moves to the next selected item line; returns {@code false} when there are no more.
+         */
+        public boolean next() {
+            if (item + 1 < itemEnd) {
+                item++;
+                return true;
+            }
+            if (order == -1) {
+                if (!overlaps(statuses, from, to)) {
+                    order = orderCount;
+                    return false;
+                }
+                status = (byte[]) column(Column.STATUS);
+                createdAt = (long[]) column(Column.CREATED_AT);
+                itemCounts = (int[]) column(Column.ITEM_COUNT);
+                keys = keyColumn == null ? null : (long[]) column(keyColumn);
+                itemEnd = 0;
+            }
+            while (++order < orderCount) {
+                item = itemEnd;
+                itemEnd += itemCounts[order];
+                if (item < itemEnd && (statuses & 1 << status[order]) != 0
+                    && createdAt[order] >= from && createdAt[order] < to && (keys == null || keys[order] == key)) {
+                    orderCreatedAt = null;
+                    return true;
+                }
+            }
+            itemEnd = item;
+            return false;
+        }
+        
+        public long orderId() {
+            return ((long[]) column(Column.ORDER_ID))[order];
+        }
+        
+        public long customerId() {
+            return ((long[]) column(Column.CUSTOMER_ID))[order];
+        }
+        
+        public OrderStatus status() {
+            return STATUSES[status[order]];
+        }
+        
+        public LocalDateTime createdAt() {
+            if (orderCreatedAt == null) {
+                orderCreatedAt = fromMicros(createdAt[order]);
+            }
+            return orderCreatedAt;
+        }
+        
+        public LocalDateTime updatedAt() {
+            return fromMicros(((long[]) column(Column.UPDATED_AT))[order]);
+        }
+        
+        public long productId() {
+            return ((long[]) column(Column.PRODUCT_ID))[item];
+        }
+        
+        public String productName() {
+            String[] names = (String[]) column(Column.PRODUCT_NAMES);
+            return names[((int[]) column(Column.PRODUCT_NAME))[item]];
+        }
+        
+        public long unitPriceCents() {
+            return ((long[]) column(Column.UNIT_PRICE))[item];
+        }
+        
+        public int quantity() {
+            return ((int[]) column(Column.QUANTITY))[item];
+        }
+        
+        public long totalPriceCents() {
+            return Math.multiplyExact(unitPriceCents(), quantity());
+        }
+        
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot close " + path, e);
+            }
+        }
+        
+        private Object column(Column column) {
+            Object values = decoded.get(column);
+            if (values == null) {
+                values = decode(column, inflate(column));
+                decoded.put(column, values);
+            }
+            return values;
+        }
+        
+        private byte[] inflate(Column column) {
+            Block block = blocks.get(column);
+            if (block == null) {
+                throw new IllegalStateException(path + " has no column " + column);
+            }
+            try {
+                ByteBuffer compressed = read(channel, block.offset(), block.length());
+                CRC32C crc = new CRC32C();
+                crc.update(compressed.duplicate());
+                if ((int) crc.getValue() != block.checksum()) {
+                    throw new IOException("Column " + column + " is corrupt");
+                }
+                Inflater inflater = new Inflater();
+                try {
+                    inflater.setInput(compressed);
+                    byte[] raw = new byte[block.rawLength()];
+                    int length = 0;
+                    while (length < raw.length && !inflater.finished()) {
+                        int inflated = inflater.inflate(raw, length, raw.length - length);
+                        if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                            break;
+                        }
+                        length += inflated;
+                    }
+                    if (length != raw.length) {
+                        throw new IOException("Column " + column + " is truncated");
+                    }
+                    return raw;
+                } finally {
+                    inflater.end();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read " + path, e);
+            } catch (DataFormatException e) {
+                throw new UncheckedIOException("Cannot read " + path, new IOException("Column " + column + " is corrupt", e));
+            }
+        }
+        
+        private Object decode(Column column, byte[] raw) {
+            VarIntReader reader = new VarIntReader(raw);
+            switch (column) {
+                case ORDER_ID -> {
+                    long[] values = new long[orderCount];
+                    long previous = 0;
+                    for (int i = 0; i < orderCount; i++) {
+                        previous += reader.readSigned();
+                        values[i] = previous;
+                    }
+                    return values;
+                }
+                case CREATED_AT -> {
+                    long[] values = new long[orderCount];
+                    long previous = 0;
+                    for (int i = 0; i < orderCount; i++) {
+                        previous += reader.readSigned();
+                        values[i] = previous;
+                    }
+                    return values;
+                }
+                case UPDATED_AT -> {
+                    long[] created = (long[]) column(Column.CREATED_AT);
+                    long[] values = new long[orderCount];
+                    for (int i = 0; i < orderCount; i++) {
+                        values[i] = created[i] + reader.readSigned();
+                    }
+                    return values;
+                }
+                case CUSTOMER_ID -> {
+                    return reader.readLongs(orderCount);
+                }
+                case STATUS -> {
+                    return raw;
+                }
+                case ITEM_COUNT -> {
+                    return reader.readInts(orderCount);
+                }
+                case PRODUCT_ID, UNIT_PRICE -> {
+                    return reader.readLongs(itemCount);
+                }
+                case PRODUCT_NAME, QUANTITY -> {
+                    return reader.readInts(itemCount);
+                }
+                case PRODUCT_NAMES -> {
+                    String[] names = new String[(int) reader.readUnsigned()];
+                    for (int i = 0; i < names.length; i++) {
+                        names[i] = reader.readString();
+                    }
+                    return names;
+                }
+                default -> throw new IllegalStateException("Unexpected column " + column);
+            }
+        }
+    }
+    
+    /**
+     * Collects the orders of a month, which must be added in order of their IDs, each followed by its items,
+     * and writes them as a segment.
+     */
+    public static final class Writer {
+        
+        private final YearMonth month;
+        private final Map<Column, VarIntWriter> columns = new EnumMap<>(Column.class);
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+        private int orderCount;
+        private int itemCount;
+        private int currentItems;
+        private long previousOrderId;
+        private long previousCreatedAt;
+        private long minCreatedAt = Long.MAX_VALUE;
+        private long maxCreatedAt = Long.MIN_VALUE;
+        private int statusMask;
+        
+        private Writer(YearMonth month) {
+            this.month = month;
+            for (Column column : Column.values()) {
+                if (column != Column.PRODUCT_NAMES) {
+                    columns.put(column, new VarIntWriter());
+                }
+            }
+        }
+        
+        public Writer addOrder(long orderId, long customerId, OrderStatus status,
+                               LocalDateTime createdAt, LocalDateTime updatedAt) {
+            if (orderCount > 0 && orderId <= previousOrderId) {
+                throw new IllegalArgumentException("Orders must be added in ascending order of their IDs");
+            }
+            long created = toMicros(createdAt);
+            finishOrder();
+            columns.get(Column.ORDER_ID).writeSigned(orderId - previousOrderId);
+            columns.get(Column.CUSTOMER_ID).writeSigned(customerId);
+            columns.get(Column.STATUS).write(status.ordinal());
+            columns.get(Column.CREATED_AT).writeSigned(created - previousCreatedAt);
+            columns.get(Column.UPDATED_AT).writeSigned(toMicros(updatedAt) - created);
+            previousOrderId = orderId;
+            previousCreatedAt = created;
+            minCreatedAt = Math.min(minCreatedAt, created);
+            maxCreatedAt = Math.max(maxCreatedAt, created);
+            statusMask |= 1 << status.ordinal();
+            orderCount++;
+            currentItems = 0;
+            return this;
+        }
+        
+        public Writer addItem(long productId, String productName, long unitPriceCents, int quantity) {
+            if (orderCount == 0) {
+                throw new IllegalStateException("Items must follow their order");
+            }
+            Integer code = dictionary.get(productName);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.put(productName, code);
+                names.add(productName);
+            }
+            columns.get(Column.PRODUCT_ID).writeSigned(productId);
+            columns.get(Column.PRODUCT_NAME).writeUnsigned(code);
+            columns.get(Column.UNIT_PRICE).writeSigned(unitPriceCents);
+            columns.get(Column.QUANTITY).writeUnsigned(quantity);
+            currentItems++;
+            itemCount++;
+            return this;
+        }
+        
+        public int orderCount() {
+            return orderCount;
+        }
+        
+        /**
+         * Writes the segment to {@code path} and forces it to disk.
+         */
+        public void write(Path path) throws IOException {
+            finishOrder();
+            long min = orderCount == 0 ? 0 : minCreatedAt;
+            long max = orderCount == 0 ? 0 : maxCreatedAt;
+            Map<Column, byte[]> raw = new EnumMap<>(Column.class);
+            columns.forEach((column, writer) -> raw.put(column, writer.toByteArray()));
+            VarIntWriter dictionaryColumn = new VarIntWriter();
+            dictionaryColumn.writeUnsigned(names.size());
+            names.forEach(dictionaryColumn::writeString);
+            raw.put(Column.PRODUCT_NAMES, dictionaryColumn.toByteArray());
+            
+            Map<Column, byte[]> compressed = new EnumMap<>(Column.class);
+            raw.forEach((column, bytes) -> compressed.put(column, deflate(bytes)));
+            
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + compressed.size() * COLUMN_ENTRY_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(month.getYear()).putInt(month.getMonthValue())
+                .putInt(orderCount).putInt(itemCount).putLong(min).putLong(max).putInt(statusMask)
+                .putInt(compressed.size());
+            compressed.forEach((column, bytes) -> {
+                CRC32C crc = new CRC32C();
+                crc.update(bytes);
+                header.put((byte) column.id).putInt(bytes.length).putInt(raw.get(column).length)
+                    .putInt((int) crc.getValue());
+            });
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                writeFully(channel, header.flip());
+                for (byte[] bytes : compressed.values()) {
+                    writeFully(channel, ByteBuffer.wrap(bytes));
+                }
+                channel.force(true);
+            }
+        }
+        
+        private void finishOrder() {
+            if (orderCount > 0 && currentItems >= 0) {
+                columns.get(Column.ITEM_COUNT).writeUnsigned(currentItems);
+                currentItems = -1;
+            }
+        }
+        
+        private static byte[] deflate(byte[] raw) {
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try {
+                deflater.setInput(raw);
+                deflater.finish();
+                ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+                byte[] buffer = new byte[8192];
+                while (!deflater.finished()) {
+                    out.write(buffer, 0, deflater.deflate(buffer));
+                }
+                return out.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+        
+        private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+    
+    /**
+     * LEB128 variable-length integers; signed values are zigzag-encoded, so small negative differences stay short.
+     */
+    private static final class VarIntWriter extends ByteArrayOutputStream {
+        
+        void writeUnsigned(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+        
+        void writeSigned(long value) {
+            writeUnsigned((value << 1) ^ (value >> 63));
+        }
+        
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeUnsigned(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+    }
+    
+    private static final class VarIntReader {
+        
+        private final byte[] bytes;
+        private int position;
+        
+        VarIntReader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+        
+        long readUnsigned() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+        
+        long readSigned() {
+            long zigzag = readUnsigned();
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+        
+        long[] readLongs(int count) {
+            long[] values = new long[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = readSigned();
+            }
+            return values;
+        }
+        
+        int[] readInts(int count) {
+            int[] values = new int[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = (int) readUnsigned();
+            }
+            return values;
+        }
+        
+        String readString() {
+            int length = (int) readUnsigned();
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
\ No newline at end of file
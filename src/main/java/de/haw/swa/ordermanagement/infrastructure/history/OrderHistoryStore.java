@@ -0,0 +1,209 @@
+package de.haw.swa.ordermanagement.infrastructure.history;
+
+import de.haw.swa.ordermanagement.domain.model.order.Order;
+import de.haw.swa.ordermanagement.domain.model.order.OrderItem;
+import de.haw.swa.ordermanagement.domain.model.order.OrderItemLine;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+import de.haw.swa.ordermanagement.domain.repository.OrderHistoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The order history as a directory of {@link OrderHistorySegment} files, one per month.
+ *
+ * The headers of the segments are read once; the directory is listed again before each report and lookup to
+ * pick up segments written by other instances sharing it. A scan only opens the segments of the months in its date
+ * range whose header admits the statuses and dates, and streams their lines without loading them. A
+ * segment is written to a temporary file, forced to disk and then renamed, so readers never see a
+ * partial segment; a temporary file left by a crash is replaced when the month is exported again.
+ *
+ * Exported orders are also looked up by ID and by customer, for the order repository once they are no longer
+ * in the archive. They are rebuilt as read-only archived orders; orders exported without items are not found.
+ */
+public class OrderHistoryStore implements OrderHistoryRepository {
+    
+    private static final Logger log = LoggerFactory.getLogger(OrderHistoryStore.class);
+    
+    private static final String PREFIX = "orders-";
+    private static final String SUFFIX = ".seg";
+    private static final String TEMPORARY_SUFFIX = ".seg.tmp";
+    
+    private final Path directory;
+    private final ConcurrentSkipListMap<YearMonth, OrderHistorySegment> segments = new ConcurrentSkipListMap<>();
+    
+    private OrderHistoryStore(Path directory) {
+        this.directory = directory;
+    }
+    
+    public static OrderHistoryStore open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        OrderHistoryStore store = new OrderHistoryStore(directory);
+        store.refresh();
+        log.info("Opened order history with {} months in {}", store.segments.size(), directory);
+        return store;
+    }
+    
+    /**
+     * Reads the headers of segments that were added to the directory since the last refresh.
+     */
+    public synchronized void refresh() {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.toList()) {
+                String name = path.getFileName().toString();
+                if (name.startsWith(PREFIX) && name.endsWith(SUFFIX)) {
+                    YearMonth month = YearMonth.parse(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+                    if (!segments.containsKey(month)) {
+                        segments.put(month, OrderHistorySegment.open(path));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the order history in " + directory, e);
+        }
+    }
+    
+    public boolean contains(YearMonth month) {
+        return segments.containsKey(month);
+    }
+    
+    public Optional<YearMonth> lastMonth() {
+        return segments.isEmpty() ? Optional.empty() : Optional.of(segments.lastKey());
+    }
+    
+    /**
+     * Stores the segment of a month that is not in the history yet.
+     */
+    public synchronized OrderHistorySegment write(OrderHistorySegment.Writer writer, YearMonth month) throws IOException {
+        if (segments.containsKey(month)) {
+            throw new IllegalStateException("The history already holds " + month);
+        }
+        Path path = directory.resolve(PREFIX + month + SUFFIX);
+        Path temporary = directory.resolve(PREFIX + month + TEMPORARY_SUFFIX);
+        Files.deleteIfExists(temporary);
+        writer.write(temporary);
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        OrderHistorySegment segment = OrderHistorySegment.open(path);
+        segments.put(month, segment);
+        return segment;
+    }
+    
+    @Override
+    public Optional<LocalDate> coveredUntil() {
+        refresh();
+        return lastMonth().map(month -> month.plusMonths(1).atDay(1));
+    }
+    
+    @Override
+    public Stream<OrderItemLine> streamItemLines(Collection<OrderStatus> statuses, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return Stream.empty();
+        }
+        List<OrderHistorySegment> candidates = new ArrayList<>();
+        for (Map.Entry<YearMonth, OrderHistorySegment> entry
+                : segments.subMap(YearMonth.from(from), true, YearMonth.from(to), true).entrySet()) {
+            if (entry.getValue().mayContain(statuses, from, to)) {
+                candidates.add(entry.getValue());
+            }
+        }
+        // Each segment is opened when the stream reaches it and closed by flatMap once its lines are consumed
+        return candidates.stream().flatMap(segment -> {
+            OrderHistorySegment.Cursor cursor = segment.scan(statuses, from, to);
+            return StreamSupport.stream(new ItemLines(cursor), false).onClose(cursor::close);
+        });
+    }
+    
+    /**
+     * The exported order with the given ID.
+     */
+    public Optional<Order> findById(long orderId) {
+        refresh();
+        for (OrderHistorySegment segment : segments.values()) {
+            if (segment.mayHoldOrder(orderId)) {
+                List<Order> orders = read(segment.scanOrder(orderId));
+                if (!orders.isEmpty()) {
+                    return Optional.of(orders.get(0));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * The exported orders of the customer, oldest month first; reads the customer column of every month.
+     */
+    public List<Order> findByCustomerId(long customerId) {
+        refresh();
+        List<Order> orders = new ArrayList<>();
+        for (OrderHistorySegment segment : segments.values()) {
+            orders.addAll(read(segment.scanCustomer(customerId)));
+        }
+        return orders;
+    }
+    
+    private static List<Order> read(OrderHistorySegment.Cursor cursor) {
+        List<Order> orders = new ArrayList<>();
+        try (cursor) {
+            List<OrderItem> items = new ArrayList<>();
+            boolean more = cursor.next();
+            while (more) {
+                long orderId = cursor.orderId();
+                long customerId = cursor.customerId();
+                OrderStatus status = cursor.status();
+                LocalDateTime createdAt = cursor.createdAt();
+                LocalDateTime updatedAt = cursor.updatedAt();
+                do {
+                    items.add(new OrderItem(cursor.productId(), cursor.productName(),
+                        Money.euroCents(cursor.unitPriceCents()), cursor.quantity()));
+                    more = cursor.next();
+                } while (more && cursor.orderId() == orderId);
+                orders.add(Order.reconstituteArchived(orderId, customerId, List.copyOf(items), status, createdAt, updatedAt));
+                items.clear();
+            }
+        }
+        return orders;
+    }
+    
+    /**
+     * Lines of a cursor, created one at a time as the stream is consumed.
+     */
+    private static final class ItemLines extends Spliterators.AbstractSpliterator<OrderItemLine> {
+        
+        private final OrderHistorySegment.Cursor cursor;
+        
+        ItemLines(OrderHistorySegment.Cursor cursor) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.cursor = cursor;
+        }
+        
+        @Override
+        public boolean tryAdvance(Consumer<? super OrderItemLine> action) {
+            if (!cursor.next()) {
+                return false;
+            }
+            action.accept(new OrderItemLine(cursor.orderId(), cursor.customerId(), cursor.createdAt(),
+                cursor.productId(), cursor.quantity(), Money.euroCents(cursor.totalPriceCents())));
+            return true;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,205 @@
+package de.haw.swa.ordermanagement.infrastructure.persistence;
+
+import de.haw.swa.ordermanagement.domain.model.shared.AggregateRoot;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Base for hand-written {@link JpaRepository} implementations of the aggregate repositories.
+ *
+ * Subclasses provide storage for single aggregates ({@code save}, {@code findById}, {@code findAll},
+ * {@code count}, {@code deleteById}); the batch, flush and reference variants are derived from those.
+ * Sorting, paging with sort and query-by-example are not supported.
+ */
+public abstract class AggregateRepositorySupport<T extends AggregateRoot<Long>> implements JpaRepository<T, Long> {
+    
+    private final Field idField;
+    
+    protected AggregateRepositorySupport(Class<T> type) {
+        try {
+            this.idField = type.getDeclaredField("id");
+            this.idField.setAccessible(true);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalArgumentException(type.getSimpleName() + " has no id field", e);
+        }
+    }
+    
+    /**
+     * Sets the generated ID of a new aggregate, as JPA would.
+     */
+    protected void assignId(T aggregate, Long id) {
+        try {
+            idField.set(aggregate, id);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot assign ID to " + aggregate.getClass().getSimpleName(), e);
+        }
+    }
+    
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> aggregates) {
+        List<S> saved = new ArrayList<>();
+        for (S aggregate : aggregates) {
+            saved.add(save(aggregate));
+        }
+        return saved;
+    }
+    
+    @Override
+    public <S extends T> S saveAndFlush(S aggregate) {
+        return save(aggregate);
+    }
+    
+    @Override
+    public <S extends T> List<S> saveAllAndFlush(Iterable<S> aggregates) {
+        return saveAll(aggregates);
+    }
+    
+    @Override
+    public boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
+    
+    @Override
+    public List<T> findAllById(Iterable<Long> ids) {
+        List<T> found = new ArrayList<>();
+        for (Long id : ids) {
+            findById(id).ifPresent(found::add);
+        }
+        return found;
+    }
+    
+    @Override
+    public List<T> findAll(Sort sort) {
+        requireUnsorted(sort);
+        return findAll();
+    }
+    
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(findAll());
+        }
+        requireUnsorted(pageable.getSort());
+        List<T> all = findAll();
+        List<T> content = all.stream()
+            .skip(pageable.getOffset())
+            .limit(pageable.getPageSize())
+            .toList();
+        return new PageImpl<>(content, pageable, all.size());
+    }
+    
+    @Override
+    public void delete(T aggregate) {
+        if (aggregate.getId() != null) {
+            deleteById(aggregate.getId());
+        }
+    }
+    
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        ids.forEach(this::deleteById);
+    }
+    
+    @Override
+    public void deleteAll(Iterable<? extends T> aggregates) {
+        aggregates.forEach(this::delete);
+    }
+    
+    @Override
+    public void deleteAll() {
+        deleteAll(findAll());
+    }
+    
+    @Override
+    public void flush() {
+        // Changes are written by save
+    }
+    
+    @Override
+    public void deleteAllInBatch(Iterable<T> aggregates) {
+        deleteAll(aggregates);
+    }
+    
+    @Override
+    public void deleteAllByIdInBatch(Iterable<Long> ids) {
+        deleteAllById(ids);
+    }
+    
+    @Override
+    public void deleteAllInBatch() {
+        deleteAll();
+    }
+    
+    @Override
+    public T getReferenceById(Long id) {
+        return findById(id).orElseThrow(() -> new IllegalArgumentException("No aggregate with ID " + id));
+    }
+    
+    @Override
+    @Deprecated
+    public T getOne(Long id) {
+        return getReferenceById(id);
+    }
+    
+    @Override
+    @Deprecated
+    public T getById(Long id) {
+        return getReferenceById(id);
+    }
+    
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        throw queryByExampleNotSupported();
+    }
+    
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        throw queryByExampleNotSupported();
+    }
+    
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        throw queryByExampleNotSupported();
+    }
+    
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw queryByExampleNotSupported();
+    }
+    
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        throw queryByExampleNotSupported();
+    }
+    
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        throw queryByExampleNotSupported();
+    }
+    
+    @Override
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw queryByExampleNotSupported();
+    }
+    
+    private void requireUnsorted(Sort sort) {
+        if (sort.isSorted()) {
+            throw new UnsupportedOperationException("Sorting is not supported by " + getClass().getSimpleName());
+        }
+    }
+    
+    private UnsupportedOperationException queryByExampleNotSupported() {
+        return new UnsupportedOperationException("Query by example is not supported by " + getClass().getSimpleName());
+    }
+}
\ No newline at end of file
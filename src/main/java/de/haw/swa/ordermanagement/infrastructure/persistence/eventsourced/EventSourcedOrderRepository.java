@@ -0,0 +1,342 @@
+package de.haw.swa.ordermanagement.infrastructure.persistence.eventsourced;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.haw.swa.ordermanagement.domain.model.order.Order;
+import de.haw.swa.ordermanagement.domain.model.order.OrderItemLine;
+import de.haw.swa.ordermanagement.domain.model.order.OrderSearch;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.order.OrderSummary;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderCancelled;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderConfirmed;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderCreated;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderDelivered;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderPaid;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderReturned;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderShipped;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+import de.haw.swa.ordermanagement.domain.repository.OrderRepository;
+import de.haw.swa.ordermanagement.infrastructure.persistence.AggregateRepositorySupport;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link OrderRepository} that stores orders as a stream of events instead of rewriting the {@code orders} row.
+ *
+ * Saving appends the order's pending events to {@code order_events}; loading restores the latest
+ * snapshot and replays the events after it. Every {@code snapshotInterval} events a new snapshot is
+ * written, so loads stay bounded. {@link OrderCreated} carries no items, so every stream starts with
+ * a snapshot of the created order instead. Callers must clear the events after saving, as
+ * {@code OrderService} does; saving the same event twice violates the event ID constraint.
+ *
+ * Saving checks that the stream still ends at the event the order was loaded at, and fails with an
+ * {@link OptimisticLockingFailureException} otherwise. The stream row is locked until the transaction
+ * ends, so concurrent saves of one order wait for each other and the later one fails the check.
+ *
+ * Queries select the streams first and then load the snapshots and events of up to
+ * {@value #LOAD_BATCH_SIZE} orders with one query each.
+ */
+public class EventSourcedOrderRepository extends AggregateRepositorySupport<Order> implements OrderRepository {
+    
+    private static final Map<String, Class<? extends DomainEvent>> EVENT_TYPES = Stream.of(
+            OrderConfirmed.class, OrderPaid.class, OrderShipped.class,
+            OrderDelivered.class, OrderCancelled.class, OrderReturned.class)
+        .collect(Collectors.toUnmodifiableMap(Class::getSimpleName, Function.identity()));
+    
+    private static final int LOAD_BATCH_SIZE = 500;
+    
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int snapshotInterval;
+    
+    public EventSourcedOrderRepository(EntityManager entityManager, ObjectMapper objectMapper, int snapshotInterval) {
+        super(Order.class);
+        if (snapshotInterval < 1) {
+            throw new IllegalArgumentException("Snapshot interval must be positive");
+        }
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.snapshotInterval = snapshotInterval;
+    }
+    
+    @Override
+    public <S extends Order> S save(S order) {
+        OrderStream stream;
+        if (order.getId() == null) {
+            stream = new OrderStream(order.getCustomerId(), order.getStatus(), order.getCreatedAt(), order.getUpdatedAt());
+            entityManager.persist(stream);
+            entityManager.lock(stream, LockModeType.PESSIMISTIC_WRITE);
+            assignId(order, stream.getId());
+            writeSnapshot(stream, order);
+        } else {
+            stream = entityManager.find(OrderStream.class, order.getId());
+            if (stream == null) {
+                throw new IllegalArgumentException("Order " + order.getId() + " was not created by this repository");
+            }
+            if (entityManager.getLockMode(stream) != LockModeType.PESSIMISTIC_WRITE) {
+                // Waits for a concurrent append to the stream and reads the position it left
+                entityManager.refresh(stream, LockModeType.PESSIMISTIC_WRITE);
+            }
+            if (stream.getLastSequence() != order.getStreamPosition()) {
+                throw new OptimisticLockingFailureException("Order " + order.getId() + " was changed concurrently: loaded at event "
+                    + order.getStreamPosition() + ", stream is at event " + stream.getLastSequence());
+            }
+        }
+        
+        for (DomainEvent event : order.getDomainEvents()) {
+            if (event instanceof OrderCreated) {
+                continue; // Covered by the initial snapshot
+            }
+            long sequence = stream.append(order.getStatus(), order.getUpdatedAt());
+            entityManager.persist(new StoredOrderEvent(order.getId(), sequence, event.eventId(),
+                event.getClass().getSimpleName(), event.occurredOn(), toJson(event)));
+        }
+        
+        if (stream.getLastSequence() - stream.getSnapshotSequence() >= snapshotInterval) {
+            writeSnapshot(stream, order);
+        }
+        order.atStreamPosition(stream.getLastSequence());
+        return order;
+    }
+    
+    @Override
+    public Optional<Order> findById(Long id) {
+        OrderStream stream = entityManager.find(OrderStream.class, id);
+        return Optional.ofNullable(stream).map(found -> loadAll(List.of(found)).get(0));
+    }
+    
+    @Override
+    public boolean existsById(Long id) {
+        return entityManager.find(OrderStream.class, id) != null;
+    }
+    
+    @Override
+    public List<Order> findAll() {
+        return loadAll(entityManager.createQuery(
+                "SELECT s FROM OrderStream s ORDER BY s.id", OrderStream.class)
+            .getResultList());
+    }
+    
+    @Override
+    public long count() {
+        return entityManager.createQuery("SELECT COUNT(s) FROM OrderStream s", Long.class).getSingleResult();
+    }
+    
+    @Override
+    public void deleteById(Long id) {
+        entityManager.createQuery("DELETE FROM StoredOrderEvent e WHERE e.orderId = :id")
+            .setParameter("id", id)
+            .executeUpdate();
+        entityManager.createQuery("DELETE FROM OrderSnapshot s WHERE s.orderId = :id")
+            .setParameter("id", id)
+            .executeUpdate();
+        entityManager.createQuery("DELETE FROM OrderStream s WHERE s.id = :id")
+            .setParameter("id", id)
+            .executeUpdate();
+    }
+    
+    @Override
+    public List<Order> findByCustomerId(Long customerId) {
+        return loadAll(entityManager.createQuery(
+                "SELECT s FROM OrderStream s WHERE s.customerId = :customerId ORDER BY s.id", OrderStream.class)
+            .setParameter("customerId", customerId)
+            .getResultList());
+    }
+    
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        return loadAll(entityManager.createQuery(
+                "SELECT s FROM OrderStream s WHERE s.status = :status ORDER BY s.id", OrderStream.class)
+            .setParameter("status", status)
+            .getResultList());
+    }
+    
+    @Override
+    public List<Order> findByCustomerIdQuery(Long customerId) {
+        return findByCustomerId(customerId);
+    }
+    
+    @Override
+    public List<Order> findAllWithItemsByIdIn(Collection<Long> ids) {
+        List<Long> remaining = List.copyOf(ids);
+        List<Order> orders = new ArrayList<>(remaining.size());
+        for (int start = 0; start < remaining.size(); start += LOAD_BATCH_SIZE) {
+            orders.addAll(loadBatch(entityManager.createQuery(
+                    "SELECT s FROM OrderStream s WHERE s.id IN :ids ORDER BY s.id", OrderStream.class)
+                .setParameter("ids", remaining.subList(start, Math.min(start + LOAD_BATCH_SIZE, remaining.size())))
+                .getResultList()));
+        }
+        return orders;
+    }
+    
+    @Override
+    public List<OrderSummary> findAllSummaries() {
+        return findAll().stream().map(OrderSummary::of).toList();
+    }
+    
+    @Override
+    public List<OrderSummary> findSummariesByCustomerId(Long customerId) {
+        return findByCustomerId(customerId).stream().map(OrderSummary::of).toList();
+    }
+    
+    @Override
+    public List<Order> findArchivedByCustomerId(Long customerId) {
+        return List.of();
+    }
+    
+    @Override
+    public List<OrderSummary> findSummariesByStatus(OrderStatus status) {
+        return findByStatus(status).stream().map(OrderSummary::of).toList();
+    }
+    
+    @Override
+    public List<OrderSummary> findSummariesUpdatedSince(LocalDateTime since) {
+        return loadAll(entityManager.createQuery(
+                "SELECT s FROM OrderStream s WHERE s.updatedAt >= :since ORDER BY s.id", OrderStream.class)
+            .setParameter("since", since)
+            .getResultList()).stream()
+            .map(OrderSummary::of)
+            .toList();
+    }
+    
+    @Override
+    public List<OrderSummary> searchSummaries(OrderSearch search, int limit) {
+        if (search.customerId() != null) {
+            return search.select(findSummariesByCustomerId(search.customerId()), limit);
+        } else if (search.status() != null) {
+            return search.select(findSummariesByStatus(search.status()), limit);
+        }
+        return search.select(findAllSummaries(), limit);
+    }
+    
+    @Override
+    public Long findMinId(LocalDateTime from, LocalDateTime to) {
+        return entityManager.createQuery(
+                "SELECT MIN(s.id) FROM OrderStream s WHERE s.createdAt >= :from AND s.createdAt < :to", Long.class)
+            .setParameter("from", from)
+            .setParameter("to", to)
+            .getSingleResult();
+    }
+    
+    @Override
+    public Long findMaxId(LocalDateTime from, LocalDateTime to) {
+        return entityManager.createQuery(
+                "SELECT MAX(s.id) FROM OrderStream s WHERE s.createdAt >= :from AND s.createdAt < :to", Long.class)
+            .setParameter("from", from)
+            .setParameter("to", to)
+            .getSingleResult();
+    }
+    
+    @Override
+    public Stream<OrderItemLine> streamItemLines(long fromId, long toId, Collection<OrderStatus> statuses,
+                                                 LocalDateTime from, LocalDateTime to) {
+        return loadAll(entityManager.createQuery(
+                "SELECT s FROM OrderStream s WHERE s.id >= :fromId AND s.id < :toId AND s.status IN :statuses "
+                    + "AND s.createdAt >= :from AND s.createdAt < :to ORDER BY s.id", OrderStream.class)
+            .setParameter("fromId", fromId)
+            .setParameter("toId", toId)
+            .setParameter("statuses", statuses)
+            .setParameter("from", from)
+            .setParameter("to", to)
+            .getResultList()).stream()
+            .flatMap(order -> OrderItemLine.of(order).stream());
+    }
+    
+    @Override
+    public List<Long> archive(Collection<OrderStatus> statuses, LocalDateTime updatedBefore, int limit) {
+        // Event streams are append-only and complete by design; they are not moved to the archive
+        return List.of();
+    }
+    
+    private List<Order> loadAll(List<OrderStream> streams) {
+        List<Order> orders = new ArrayList<>(streams.size());
+        for (int start = 0; start < streams.size(); start += LOAD_BATCH_SIZE) {
+            orders.addAll(loadBatch(streams.subList(start, Math.min(start + LOAD_BATCH_SIZE, streams.size()))));
+        }
+        return orders;
+    }
+    
+    /**
+     * Loads the latest snapshot of each stream and the events after it, with one query for all snapshots
+     * and one for all events.
+     */
+    private List<Order> loadBatch(List<OrderStream> streams) {
+        if (streams.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = streams.stream().map(OrderStream::getId).toList();
+        Map<Long, OrderSnapshot> snapshots = entityManager.createQuery(
+                "SELECT s FROM OrderSnapshot s, OrderStream t WHERE t.id IN :ids AND s.orderId = t.id "
+                    + "AND s.sequenceNumber = t.snapshotSequence", OrderSnapshot.class)
+            .setParameter("ids", ids)
+            .getResultStream()
+            .collect(Collectors.toMap(OrderSnapshot::getOrderId, Function.identity()));
+        Map<Long, List<StoredOrderEvent>> events = entityManager.createQuery(
+                "SELECT e FROM StoredOrderEvent e, OrderStream t WHERE t.id IN :ids AND e.orderId = t.id "
+                    + "AND e.sequenceNumber > t.snapshotSequence ORDER BY e.orderId, e.sequenceNumber", StoredOrderEvent.class)
+            .setParameter("ids", ids)
+            .getResultStream()
+            .collect(Collectors.groupingBy(StoredOrderEvent::getOrderId));
+        
+        List<Order> orders = new ArrayList<>(streams.size());
+        for (OrderStream stream : streams) {
+            OrderSnapshot snapshot = snapshots.get(stream.getId());
+            if (snapshot == null) {
+                throw new IllegalStateException("No snapshot at event " + stream.getSnapshotSequence() + " of order " + stream.getId());
+            }
+            orders.add(restore(snapshot, events.getOrDefault(stream.getId(), List.of())));
+        }
+        return orders;
+    }
+    
+    private Order restore(OrderSnapshot snapshot, List<StoredOrderEvent> events) {
+        Order order = fromJson(snapshot.getPayload(), OrderState.class).toOrder();
+        long position = snapshot.getSequenceNumber();
+        for (StoredOrderEvent event : events) {
+            order.replay(toEvent(event));
+            position = event.getSequenceNumber();
+        }
+        order.atStreamPosition(position);
+        return order;
+    }
+    
+    private void writeSnapshot(OrderStream stream, Order order) {
+        entityManager.persist(new OrderSnapshot(stream.getId(), stream.getLastSequence(), toJson(OrderState.of(order))));
+        stream.snapshotTaken();
+    }
+    
+    private DomainEvent toEvent(StoredOrderEvent event) {
+        Class<? extends DomainEvent> type = EVENT_TYPES.get(event.getEventType());
+        if (type == null) {
+            throw new IllegalStateException("Unknown event type " + event.getEventType() + " in order " + event.getOrderId());
+        }
+        return fromJson(event.getPayload(), type);
+    }
+    
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+    
+    private <T> T fromJson(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot deserialize " + type.getSimpleName(), e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package de.haw.swa.ordermanagement.infrastructure.persistence.eventsourced;
+
+import jakarta.persistence.*;
+
+/**
+ * Full state of an order after the event with {@code sequenceNumber}; loading starts from the
+ * latest snapshot and replays only the events after it. Sequence 0 is the order as created.
+ */
+@Entity
+@Table(name = "order_snapshots", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_order_snapshots_sequence", columnNames = {"order_id", "sequence_number"})
+})
+public class OrderSnapshot {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "order_id", nullable = false, updatable = false)
+    private Long orderId;
+    
+    @Column(name = "sequence_number", nullable = false, updatable = false)
+    private long sequenceNumber;
+    
+    @Column(nullable = false, updatable = false, length = 1_000_000)
+    private String payload;
+    
+    protected OrderSnapshot() {}
+    
+    public OrderSnapshot(Long orderId, long sequenceNumber, String payload) {
+        this.orderId = orderId;
+        this.sequenceNumber = sequenceNumber;
+        this.payload = payload;
+    }
+    
+    public Long getOrderId() {
+        return orderId;
+    }
+    
+    public long getSequenceNumber() {
+        return sequenceNumber;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+}
\ No newline at end of file
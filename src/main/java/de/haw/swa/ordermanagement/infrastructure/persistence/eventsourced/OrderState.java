@@ -0,0 +1,41 @@
+package de.haw.swa.ordermanagement.infrastructure.persistence.eventsourced;
+
+import de.haw.swa.ordermanagement.domain.model.order.Order;
+import de.haw.swa.ordermanagement.domain.model.order.OrderItem;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JSON form of an {@link Order} in {@link OrderSnapshot#getPayload()}.
+ */
+record OrderState(
+        Long orderId,
+        Long customerId,
+        OrderStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        List<Item> items
+) {
+    
+    record Item(Long productId, String productName, long unitPriceCents, int quantity) {}
+    
+    static OrderState of(Order order) {
+        List<Item> items = order.getItems().stream()
+            .map(item -> new Item(item.getProductId(), item.getProductName(),
+                item.getUnitPrice().getCents(), item.getQuantity()))
+            .toList();
+        return new OrderState(order.getId(), order.getCustomerId(), order.getStatus(),
+            order.getCreatedAt(), order.getUpdatedAt(), items);
+    }
+    
+    Order toOrder() {
+        List<OrderItem> orderItems = items.stream()
+            .map(item -> new OrderItem(item.productId(), item.productName(),
+                Money.euroCents(item.unitPriceCents()), item.quantity()))
+            .toList();
+        return Order.reconstitute(orderId, customerId, orderItems, status, createdAt, updatedAt);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package de.haw.swa.ordermanagement.infrastructure.persistence.eventsourced;
+
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per event-sourced order: generates the order ID, tracks the stream position and keeps
+ * the customer, creation time and current status and change time for queries, so they need not replay every order.
+ */
+@Entity
+@Table(name = "order_streams", indexes = {
+    @Index(name = "idx_order_streams_customer", columnList = "customer_id"),
+    @Index(name = "idx_order_streams_status", columnList = "status"),
+    @Index(name = "idx_order_streams_updated", columnList = "updated_at"),
+    @Index(name = "idx_order_streams_created", columnList = "created_at")
+})
+public class OrderStream {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, columnDefinition = "VARCHAR(20)")
+    private OrderStatus status;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+    
+    @Column(name = "snapshot_sequence", nullable = false)
+    private long snapshotSequence;
+    
+    // Concurrent appends to the same stream fail instead of interleaving
+    @Version
+    private Long revision;
+    
+    protected OrderStream() {}
+    
+    public OrderStream(Long customerId, OrderStatus status, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.customerId = customerId;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
+    /**
+     * Reserves the sequence number for the next event, which leaves the order in {@code newStatus} as of {@code changedAt}.
+     */
+    public long append(OrderStatus newStatus, LocalDateTime changedAt) {
+        this.status = newStatus;
+        this.updatedAt = changedAt;
+        return ++lastSequence;
+    }
+    
+    public void snapshotTaken() {
+        this.snapshotSequence = lastSequence;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public Long getCustomerId() {
+        return customerId;
+    }
+    
+    public OrderStatus getStatus() {
+        return status;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public long getLastSequence() {
+        return lastSequence;
+    }
+    
+    public long getSnapshotSequence() {
+        return snapshotSequence;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package de.haw.swa.ordermanagement.infrastructure.persistence.eventsourced;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Append-only record of one order event; rows are inserted once and never updated.
+ */
+@Entity
+@Table(name = "order_events", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_order_events_sequence", columnNames = {"order_id", "sequence_number"}),
+    @UniqueConstraint(name = "uk_order_events_event_id", columnNames = "event_id")
+})
+public class StoredOrderEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "order_id", nullable = false, updatable = false)
+    private Long orderId;
+    
+    @Column(name = "sequence_number", nullable = false, updatable = false)
+    private long sequenceNumber;
+    
+    @Column(name = "event_id", nullable = false, updatable = false)
+    private UUID eventId;
+    
+    @Column(name = "event_type", nullable = false, updatable = false, length = 50)
+    private String eventType;
+    
+    @Column(name = "occurred_on", nullable = false, updatable = false)
+    private LocalDateTime occurredOn;
+    
+    @Column(nullable = false, updatable = false, length = 4000)
+    private String payload;
+    
+    protected StoredOrderEvent() {}
+    
+    public StoredOrderEvent(Long orderId, long sequenceNumber, UUID eventId, String eventType,
+                            LocalDateTime occurredOn, String payload) {
+        this.orderId = orderId;
+        this.sequenceNumber = sequenceNumber;
+        this.eventId = eventId;
+        this.eventType = eventType;
+        this.occurredOn = occurredOn;
+        this.payload = payload;
+    }
+    
+    public Long getOrderId() {
+        return orderId;
+    }
+    
+    public long getSequenceNumber() {
+        return sequenceNumber;
+    }
+    
+    public String getEventType() {
+        return eventType;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+}
\ No newline at end of file
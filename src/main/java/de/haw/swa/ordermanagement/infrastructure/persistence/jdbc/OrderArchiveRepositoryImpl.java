@@ -0,0 +1,245 @@
+package de.haw.swa.ordermanagement.infrastructure.persistence.jdbc;
+
+import de.haw.swa.ordermanagement.domain.model.order.Order;
+import de.haw.swa.ordermanagement.domain.model.order.OrderItem;
+import de.haw.swa.ordermanagement.domain.model.order.OrderItemLine;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.order.OrderSummary;
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+import de.haw.swa.ordermanagement.domain.repository.OrderArchiveRepository;
+import de.haw.swa.ordermanagement.infrastructure.history.OrderHistoryStore;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link OrderArchiveRepository} part of the JPA order repository, picked up by Spring Data by its name;
+ * its methods take the place of the ones Spring Data would otherwise implement.
+ *
+ * Orders that are not archived are still read through JPA. The archive tables are read with plain SQL,
+ * and archived orders are rebuilt with {@link Order#reconstituteArchived}, detached from JPA and read-only. An order is moved in
+ * one transaction, and the archive is read after the orders table, so a read never misses an order
+ * that is being moved but may see it twice; duplicates are dropped. Summaries and item lines are read from
+ * both tables in one statement. Lookups by ID and by customer finally ask the {@link OrderHistoryStore},
+ * if the history is enabled, for orders that were exported from the archive.
+ */
+public class OrderArchiveRepositoryImpl implements OrderArchiveRepository {
+    
+    private static final int FETCH_SIZE = 1000;
+    
+    private static final String ORDER_COLUMNS = "id, customer_id, status, total_amount, currency, created_at, updated_at";
+    private static final String ITEM_COLUMNS = "id, order_id, product_id, product_name, unit_price, quantity, total_price";
+    
+    private static final String ITEM_LINES = "SELECT o.id, o.customer_id, o.created_at, i.product_id, i.quantity, i.total_price"
+        + " FROM %s o JOIN %s i ON i.order_id = o.id"
+        + " WHERE o.id >= ? AND o.id < ? AND o.status IN (%s) AND o.created_at >= ? AND o.created_at < ?";
+    
+    private static final RowMapper<OrderItemLine> ITEM_LINE = (rs, row) -> new OrderItemLine(
+        rs.getLong(1),
+        rs.getLong(2),
+        rs.getObject(3, LocalDateTime.class),
+        rs.getLong(4),
+        rs.getInt(5),
+        Money.euro(rs.getBigDecimal(6))
+    );
+    
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<OrderHistoryStore> orderHistory;
+    
+    public OrderArchiveRepositoryImpl(EntityManager entityManager, JdbcTemplate jdbcTemplate,
+                                      ObjectProvider<OrderHistoryStore> orderHistory) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.orderHistory = orderHistory;
+    }
+    
+    @Override
+    public Optional<Order> findById(Long id) {
+        Order order = entityManager.find(Order.class, id);
+        if (order != null) {
+            return Optional.of(order);
+        }
+        Optional<Order> archived = findArchived("id = ?", id).stream().findFirst();
+        if (archived.isPresent()) {
+            return archived;
+        }
+        OrderHistoryStore history = orderHistory.getIfAvailable();
+        return history == null ? Optional.empty() : history.findById(id);
+    }
+    
+    @Override
+    public List<Order> findAllWithItemsByIdIn(Collection<Long> ids) {
+        List<Order> orders = entityManager.createQuery(
+                "SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id IN :ids", Order.class)
+            .setParameter("ids", ids)
+            .getResultList();
+        Set<Long> missing = new LinkedHashSet<>(ids);
+        orders.forEach(order -> missing.remove(order.getId()));
+        if (missing.isEmpty()) {
+            return orders;
+        }
+        List<Order> archived = findArchived("id IN (" + placeholders(missing.size()) + ")", missing.toArray());
+        archived.forEach(order -> missing.remove(order.getId()));
+        OrderHistoryStore history = orderHistory.getIfAvailable();
+        if (history != null && !missing.isEmpty()) {
+            archived = new ArrayList<>(archived);
+            for (Long id : missing) {
+                history.findById(id).ifPresent(archived::add);
+            }
+        }
+        return withArchived(orders, archived, Order::getId);
+    }
+    
+    @Override
+    public List<Order> findByCustomerId(Long customerId) {
+        List<Order> orders = entityManager.createQuery(
+                "SELECT o FROM Order o WHERE o.customerId = :customerId", Order.class)
+            .setParameter("customerId", customerId)
+            .getResultList();
+        return withArchived(orders, findArchivedByCustomerId(customerId), Order::getId);
+    }
+    
+    @Override
+    public List<Order> findArchivedByCustomerId(Long customerId) {
+        return withExported(findArchived("customer_id = ?", customerId), customerId, Function.identity(), Order::getId);
+    }
+    
+    @Override
+    public List<OrderSummary> findSummariesByCustomerId(Long customerId) {
+        return withExported(jdbcTemplate.query("SELECT " + ORDER_COLUMNS + " FROM orders WHERE customer_id = ?"
+                + " UNION ALL SELECT " + ORDER_COLUMNS + " FROM archive.orders WHERE customer_id = ?",
+            OrderSearchRepositoryImpl.SUMMARY, customerId, customerId), customerId, OrderSummary::of, OrderSummary::id);
+    }
+    
+    @Override
+    public Long findMinId(LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.queryForObject("SELECT MIN(id) FROM (SELECT MIN(id) AS id FROM orders"
+            + " WHERE created_at >= ? AND created_at < ? UNION ALL SELECT MIN(id) AS id FROM archive.orders"
+            + " WHERE created_at >= ? AND created_at < ?) ids", Long.class, from, to, from, to);
+    }
+    
+    @Override
+    public Long findMaxId(LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM (SELECT MAX(id) AS id FROM orders"
+            + " WHERE created_at >= ? AND created_at < ? UNION ALL SELECT MAX(id) AS id FROM archive.orders"
+            + " WHERE created_at >= ? AND created_at < ?) ids", Long.class, from, to, from, to);
+    }
+    
+    @Override
+    public Stream<OrderItemLine> streamItemLines(long fromId, long toId, Collection<OrderStatus> statuses,
+                                                 LocalDateTime from, LocalDateTime to) {
+        String in = placeholders(statuses.size());
+        String sql = ITEM_LINES.formatted("orders", "order_items", in)
+            + " UNION ALL " + ITEM_LINES.formatted("archive.orders", "archive.order_items", in)
+            + " ORDER BY 1";
+        List<Object> parameters = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            parameters.add(fromId);
+            parameters.add(toId);
+            statuses.forEach(status -> parameters.add(status.name()));
+            parameters.add(from);
+            parameters.add(to);
+        }
+        return jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(FETCH_SIZE);
+            new ArgumentPreparedStatementSetter(parameters.toArray()).setValues(statement);
+            return statement;
+        }, ITEM_LINE);
+    }
+    
+    @Override
+    public List<Long> archive(Collection<OrderStatus> statuses, LocalDateTime updatedBefore, int limit) {
+        List<Object> parameters = new ArrayList<>();
+        statuses.forEach(status -> parameters.add(status.name()));
+        parameters.add(updatedBefore);
+        parameters.add(limit);
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM orders WHERE status IN (" + placeholders(statuses.size())
+            + ") AND updated_at < ? LIMIT ? FOR UPDATE", Long.class, parameters.toArray());
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        String in = placeholders(ids.size());
+        Object[] orderIds = ids.toArray();
+        jdbcTemplate.update("INSERT INTO archive.order_items (" + ITEM_COLUMNS + ") SELECT " + ITEM_COLUMNS
+            + " FROM order_items WHERE order_id IN (" + in + ")", orderIds);
+        jdbcTemplate.update("DELETE FROM order_items WHERE order_id IN (" + in + ")", orderIds);
+        jdbcTemplate.update("INSERT INTO archive.orders (" + ORDER_COLUMNS + ") SELECT " + ORDER_COLUMNS
+            + " FROM orders WHERE id IN (" + in + ")", orderIds);
+        jdbcTemplate.update("DELETE FROM orders WHERE id IN (" + in + ")", orderIds);
+        return ids;
+    }
+    
+    /**
+     * Archived orders matching the condition on {@code archive.orders}, with their items.
+     */
+    private List<Order> findArchived(String condition, Object... parameters) {
+        List<OrderSummary> orders = jdbcTemplate.query("SELECT " + ORDER_COLUMNS + " FROM archive.orders WHERE " + condition,
+            OrderSearchRepositoryImpl.SUMMARY, parameters);
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<OrderItem>> items = new HashMap<>();
+        jdbcTemplate.query("SELECT order_id, product_id, product_name, unit_price, quantity FROM archive.order_items"
+                + " WHERE order_id IN (SELECT id FROM archive.orders WHERE " + condition + ") ORDER BY id",
+            rs -> {
+                items.computeIfAbsent(rs.getLong("order_id"), orderId -> new ArrayList<>())
+                    .add(new OrderItem(rs.getLong("product_id"), rs.getString("product_name"),
+                        Money.euro(rs.getBigDecimal("unit_price")), rs.getInt("quantity")));
+            },
+            parameters);
+        return orders.stream()
+            .map(order -> Order.reconstituteArchived(order.id(), order.customerId(), items.getOrDefault(order.id(), List.of()),
+                order.status(), order.createdAt(), order.updatedAt()))
+            .toList();
+    }
+    
+    /**
+     * Adds the exported orders of the customer, read after the database, so an order exported meanwhile is
+     * found at least once.
+     */
+    private <T> List<T> withExported(List<T> orders, Long customerId, Function<Order, T> mapper, Function<T, Long> id) {
+        OrderHistoryStore history = orderHistory.getIfAvailable();
+        if (history == null) {
+            return orders;
+        }
+        return withArchived(orders, history.findByCustomerId(customerId).stream().map(mapper).toList(), id);
+    }
+    
+    private static <T> List<T> withArchived(List<T> current, List<T> archived, Function<T, Long> id) {
+        if (archived.isEmpty()) {
+            return current;
+        }
+        Set<Long> currentIds = current.stream().map(id).collect(Collectors.toCollection(HashSet::new));
+        List<T> all = new ArrayList<>(current);
+        for (T order : archived) {
+            if (!currentIds.contains(id.apply(order))) {
+                all.add(order);
+            }
+        }
+        return all;
+    }
+    
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
\ No newline at end of file
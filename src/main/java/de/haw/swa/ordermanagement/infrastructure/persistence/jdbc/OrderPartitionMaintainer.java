@@ -0,0 +1,59 @@
+package de.haw.swa.ordermanagement.infrastructure.persistence.jdbc;
+
+import de.haw.swa.ordermanagement.domain.model.shared.DomainClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.YearMonth;
+
+/**
+ * Keeps the monthly partitions of the PostgreSQL {@code orders} table in place: creates the partitions
+ * of the current and the next {@code monthsAhead} months, and drops the partitions of past months that
+ * the archival emptied. Both are done by database functions of the schema migrations; a run that
+ * collides with the same run of another instance fails without effect and is repeated next time.
+ *
+ * Orders of a month without a partition go to the default partition and are moved once it is created.
+ */
+public class OrderPartitionMaintainer {
+    
+    private static final Logger log = LoggerFactory.getLogger(OrderPartitionMaintainer.class);
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    
+    public OrderPartitionMaintainer(JdbcTemplate jdbcTemplate, int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainOnStartup() {
+        maintain();
+    }
+    
+    @Scheduled(cron = "${ordermanagement.order-partitions.cron:0 0 3 * * *}")
+    public void maintain() {
+        YearMonth current = YearMonth.from(DomainClock.now());
+        try {
+            int created = 0;
+            for (int i = 0; i <= monthsAhead; i++) {
+                if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT create_order_partition(?)", Boolean.class,
+                        current.plusMonths(i).atDay(1)))) {
+                    created++;
+                }
+            }
+            // Only months before the previous one, which can no longer receive new orders
+            Integer dropped = jdbcTemplate.queryForObject("SELECT drop_empty_order_partitions(?)", Integer.class,
+                current.minusMonths(1).atDay(1));
+            if (created > 0 || dropped != null && dropped > 0) {
+                log.info("Created {} and dropped {} order partitions", created, dropped);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Maintaining the order partitions failed, retrying with the next run", e);
+        }
+    }
+}
\ No newline at end of file
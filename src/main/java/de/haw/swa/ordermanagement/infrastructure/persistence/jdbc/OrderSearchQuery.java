@@ -0,0 +1,63 @@
+package de.haw.swa.ordermanagement.infrastructure.persistence.jdbc;
+
+import de.haw.swa.ordermanagement.domain.model.order.OrderSearch;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SQL for an {@link OrderSearch} with only the conditions that are set, so the database can pick the
+ * index for exactly those: {@code (customer_id, created_at, id)} for the orders of a customer and
+ * {@code (status, updated_at, id)} for the orders in a status, each read backwards from the cursor in
+ * sort order, which makes the {@code LIMIT} stop the scan early.
+ */
+record OrderSearchQuery(String sql, List<Object> parameters) {
+    
+    static final String COLUMNS = "id, customer_id, status, total_amount, currency, created_at, updated_at";
+    
+    static OrderSearchQuery of(OrderSearch search, int limit) {
+        String sortColumn = search.sortBy() == OrderSearch.SortBy.CREATED ? "created_at" : "updated_at";
+        List<String> conditions = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+        if (search.customerId() != null) {
+            conditions.add("customer_id = ?");
+            parameters.add(search.customerId());
+        }
+        if (search.status() != null) {
+            conditions.add("status = ?");
+            parameters.add(search.status().name());
+        }
+        range(conditions, parameters, "created_at", search.createdFrom(), search.createdTo());
+        range(conditions, parameters, "updated_at", search.updatedFrom(), search.updatedTo());
+        if (search.minTotal() != null) {
+            conditions.add("total_amount >= ?");
+            parameters.add(search.minTotal().getAmount());
+        }
+        if (search.after() != null) {
+            conditions.add("(" + sortColumn + ", id) < (?, ?)");
+            parameters.add(search.after().timestamp());
+            parameters.add(search.after().orderId());
+        }
+        
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM orders");
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY ").append(sortColumn).append(" DESC, id DESC LIMIT ?");
+        parameters.add(Math.max(limit, 0));
+        return new OrderSearchQuery(sql.toString(), List.copyOf(parameters));
+    }
+    
+    private static void range(List<String> conditions, List<Object> parameters, String column,
+                              LocalDateTime from, LocalDateTime to) {
+        if (from != null) {
+            conditions.add(column + " >= ?");
+            parameters.add(from);
+        }
+        if (to != null) {
+            conditions.add(column + " < ?");
+            parameters.add(to);
+        }
+    }
+}
\ No newline at end of file
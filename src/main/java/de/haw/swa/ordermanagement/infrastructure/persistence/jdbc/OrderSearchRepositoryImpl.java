@@ -0,0 +1,43 @@
+package de.haw.swa.ordermanagement.infrastructure.persistence.jdbc;
+
+import de.haw.swa.ordermanagement.domain.model.order.OrderSearch;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.order.OrderSummary;
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+import de.haw.swa.ordermanagement.domain.repository.OrderSearchRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * {@link OrderSearchRepository} part of the JPA order repository, picked up by Spring Data by its name.
+ *
+ * Runs plain SQL built by {@link OrderSearchQuery} through the connection of the current transaction;
+ * the search reads only columns of the orders table, so no entities are involved.
+ */
+public class OrderSearchRepositoryImpl implements OrderSearchRepository {
+    
+    static final RowMapper<OrderSummary> SUMMARY = (rs, row) -> new OrderSummary(
+        rs.getLong("id"),
+        rs.getLong("customer_id"),
+        OrderStatus.valueOf(rs.getString("status")),
+        Money.euro(rs.getBigDecimal("total_amount")),
+        rs.getString("currency"),
+        rs.getObject("created_at", LocalDateTime.class),
+        rs.getObject("updated_at", LocalDateTime.class)
+    );
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public OrderSearchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @Override
+    public List<OrderSummary> searchSummaries(OrderSearch search, int limit) {
+        OrderSearchQuery query = OrderSearchQuery.of(search, limit);
+        return jdbcTemplate.query(query.sql(), SUMMARY, query.parameters().toArray());
+    }
+}
\ No newline at end of file
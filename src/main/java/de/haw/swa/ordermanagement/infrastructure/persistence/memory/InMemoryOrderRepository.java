@@ -0,0 +1,143 @@
+package de.haw.swa.ordermanagement.infrastructure.persistence.memory;
+
+import de.haw.swa.ordermanagement.domain.model.order.Order;
+import de.haw.swa.ordermanagement.domain.model.order.OrderItemLine;
+import de.haw.swa.ordermanagement.domain.model.order.OrderSearch;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.order.OrderSummary;
+import de.haw.swa.ordermanagement.domain.repository.OrderRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * {@link OrderRepository} for the {@code memory} profile, with secondary indexes on customer and status.
+ */
+public class InMemoryOrderRepository extends InMemoryRepository<Order> implements OrderRepository {
+    
+    private final SecondaryIndex<Long> byCustomer = new SecondaryIndex<>();
+    private final SecondaryIndex<OrderStatus> byStatus = new SecondaryIndex<>();
+    
+    public InMemoryOrderRepository() {
+        super(Order.class);
+    }
+    
+    @Override
+    protected void index(Order order) {
+        byCustomer.put(order.getId(), order.getCustomerId());
+        byStatus.put(order.getId(), order.getStatus());
+    }
+    
+    @Override
+    protected void unindex(Order order) {
+        byCustomer.remove(order.getId());
+        byStatus.remove(order.getId());
+    }
+    
+    @Override
+    public List<Order> findByCustomerId(Long customerId) {
+        return lookup(byCustomer.idsFor(customerId), order -> order.getCustomerId().equals(customerId));
+    }
+    
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        // The status changes in place before save; re-check it so a stale index entry is never returned
+        return lookup(byStatus.idsFor(status), order -> order.getStatus() == status);
+    }
+    
+    @Override
+    public List<Order> findByCustomerIdQuery(Long customerId) {
+        return findByCustomerId(customerId);
+    }
+    
+    @Override
+    public List<Order> findAllWithItemsByIdIn(Collection<Long> ids) {
+        return findAllById(ids);
+    }
+    
+    @Override
+    public List<OrderSummary> findAllSummaries() {
+        return findAll().stream().map(OrderSummary::of).toList();
+    }
+    
+    @Override
+    public List<OrderSummary> findSummariesByCustomerId(Long customerId) {
+        return findByCustomerId(customerId).stream().map(OrderSummary::of).toList();
+    }
+    
+    @Override
+    public List<Order> findArchivedByCustomerId(Long customerId) {
+        return List.of();
+    }
+    
+    @Override
+    public List<OrderSummary> findSummariesByStatus(OrderStatus status) {
+        return findByStatus(status).stream().map(OrderSummary::of).toList();
+    }
+    
+    @Override
+    public List<OrderSummary> findSummariesUpdatedSince(LocalDateTime since) {
+        return findAllSummaries().stream().filter(summary -> !summary.updatedAt().isBefore(since)).toList();
+    }
+    
+    @Override
+    public List<OrderSummary> searchSummaries(OrderSearch search, int limit) {
+        if (search.customerId() != null) {
+            return search.select(findSummariesByCustomerId(search.customerId()), limit);
+        } else if (search.status() != null) {
+            return search.select(findSummariesByStatus(search.status()), limit);
+        }
+        return search.select(findAllSummaries(), limit);
+    }
+    
+    @Override
+    public Long findMinId(LocalDateTime from, LocalDateTime to) {
+        return store.values().stream()
+            .filter(order -> !order.getCreatedAt().isBefore(from) && order.getCreatedAt().isBefore(to))
+            .map(Order::getId)
+            .findFirst()
+            .orElse(null);
+    }
+    
+    @Override
+    public Long findMaxId(LocalDateTime from, LocalDateTime to) {
+        return store.descendingMap().values().stream()
+            .filter(order -> !order.getCreatedAt().isBefore(from) && order.getCreatedAt().isBefore(to))
+            .map(Order::getId)
+            .findFirst()
+            .orElse(null);
+    }
+    
+    @Override
+    public Stream<OrderItemLine> streamItemLines(long fromId, long toId, Collection<OrderStatus> statuses,
+                                                 LocalDateTime from, LocalDateTime to) {
+        if (fromId >= toId) {
+            return Stream.empty();
+        }
+        return store.subMap(fromId, toId).values().stream()
+            .filter(order -> statuses.contains(order.getStatus()))
+            .filter(order -> !order.getCreatedAt().isBefore(from) && order.getCreatedAt().isBefore(to))
+            .flatMap(order -> OrderItemLine.of(order).stream());
+    }
+    
+    @Override
+    public List<Long> archive(Collection<OrderStatus> statuses, LocalDateTime updatedBefore, int limit) {
+        // All orders stay in memory; there is no archive to move them to
+        return List.of();
+    }
+    
+    private List<Order> lookup(Collection<Long> ids, Predicate<Order> stillMatches) {
+        List<Order> orders = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Order order = store.get(id);
+            if (order != null && stillMatches.test(order)) {
+                orders.add(order);
+            }
+        }
+        return orders;
+    }
+}
\ No newline at end of file
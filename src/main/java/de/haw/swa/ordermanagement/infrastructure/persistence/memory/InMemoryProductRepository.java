@@ -0,0 +1,88 @@
+package de.haw.swa.ordermanagement.infrastructure.persistence.memory;
+
+import de.haw.swa.ordermanagement.domain.model.product.Product;
+import de.haw.swa.ordermanagement.domain.repository.ProductRepository;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * {@link ProductRepository} for the {@code memory} profile.
+ *
+ * Keeps the lower-cased names next to the products so name searches do not convert names per query,
+ * and an index of the products in stock for {@link #findAvailableProducts()}.
+ */
+public class InMemoryProductRepository extends InMemoryRepository<Product> implements ProductRepository {
+    
+    private final ConcurrentSkipListMap<Long, String> lowerCaseNames = new ConcurrentSkipListMap<>();
+    private final SecondaryIndex<Boolean> byAvailability = new SecondaryIndex<>();
+    
+    public InMemoryProductRepository() {
+        super(Product.class);
+    }
+    
+    @Override
+    protected void index(Product product) {
+        lowerCaseNames.put(product.getId(), product.getName().toLowerCase(Locale.ROOT));
+        byAvailability.put(product.getId(), product.getStockQuantity() > 0);
+    }
+    
+    @Override
+    protected void unindex(Product product) {
+        lowerCaseNames.remove(product.getId());
+        byAvailability.remove(product.getId());
+    }
+    
+    @Override
+    public List<Product> findByNameContainingIgnoreCase(String name) {
+        String fragment = name.toLowerCase(Locale.ROOT);
+        List<Product> products = new ArrayList<>();
+        for (Map.Entry<Long, String> entry : lowerCaseNames.entrySet()) {
+            if (entry.getValue().contains(fragment)) {
+                Product product = store.get(entry.getKey());
+                if (product != null) {
+                    products.add(product);
+                }
+            }
+        }
+        return products;
+    }
+    
+    @Override
+    public List<Product> findAvailableProducts() {
+        List<Product> products = new ArrayList<>();
+        for (Long id : byAvailability.idsFor(true)) {
+            Product product = store.get(id);
+            // Stock changes in place before save; re-check so sold-out products are never returned
+            if (product != null && product.getStockQuantity() > 0) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+    
+    @Override
+    public List<Product> findByMinStockQuantity(int minQuantity) {
+        return store.values().stream()
+            .filter(product -> product.getStockQuantity() >= minQuantity)
+            .toList();
+    }
+    
+    @Override
+    public List<Product> findLowOnStock() {
+        return store.values().stream()
+            .filter(Product::isLowOnStock)
+            .toList();
+    }
+    
+    @Override
+    public List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit) {
+        return store.tailMap(id, false).values().stream()
+            .limit(limit.isUnlimited() ? Long.MAX_VALUE : limit.max())
+            .toList();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package de.haw.swa.ordermanagement.infrastructure.persistence.memory;
+
+import de.haw.swa.ordermanagement.domain.model.shared.AggregateRoot;
+import de.haw.swa.ordermanagement.infrastructure.persistence.AggregateRepositorySupport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base for repositories that keep aggregates in a lock-free {@link ConcurrentSkipListMap},
+ * ordered by ID like the database results.
+ *
+ * Aggregates are stored by reference, so changes are visible before {@code save} is called and are
+ * not rolled back with a failed transaction. Subclasses maintain their secondary indexes in
+ * {@link #index(AggregateRoot)} and {@link #unindex(AggregateRoot)}; queries must re-check the
+ * indexed property because it may have changed since the last {@code save}.
+ */
+public abstract class InMemoryRepository<T extends AggregateRoot<Long>> extends AggregateRepositorySupport<T> {
+    
+    protected final ConcurrentSkipListMap<Long, T> store = new ConcurrentSkipListMap<>();
+    
+    private final AtomicLong sequence = new AtomicLong();
+    
+    protected InMemoryRepository(Class<T> type) {
+        super(type);
+    }
+    
+    protected abstract void index(T aggregate);
+    
+    protected abstract void unindex(T aggregate);
+    
+    @Override
+    public <S extends T> S save(S aggregate) {
+        Long id = aggregate.getId();
+        if (id == null) {
+            id = sequence.incrementAndGet();
+            assignId(aggregate, id);
+        } else {
+            // Keep generated IDs ahead of IDs that were assigned elsewhere, e.g. seed data
+            sequence.accumulateAndGet(id, Math::max);
+        }
+        store.put(id, aggregate);
+        index(aggregate);
+        return aggregate;
+    }
+    
+    @Override
+    public Optional<T> findById(Long id) {
+        return Optional.ofNullable(store.get(id));
+    }
+    
+    @Override
+    public boolean existsById(Long id) {
+        return store.containsKey(id);
+    }
+    
+    @Override
+    public List<T> findAll() {
+        return new ArrayList<>(store.values());
+    }
+    
+    @Override
+    public long count() {
+        return store.size();
+    }
+    
+    @Override
+    public void deleteById(Long id) {
+        T removed = store.remove(id);
+        if (removed != null) {
+            unindex(removed);
+        }
+    }
+    
+    @Override
+    public void deleteAll() {
+        store.keySet().forEach(this::deleteById);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package de.haw.swa.ordermanagement.infrastructure.persistence.memory;
+
+import java.util.Collections;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Maps a property value to the IDs of the aggregates having it, e.g. customer ID to order IDs.
+ * Remembers the last indexed value per ID, so re-indexing after a change moves the ID to its new key.
+ */
+class SecondaryIndex<K> {
+    
+    private final ConcurrentHashMap<K, NavigableSet<Long>> idsByKey = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, K> keyById = new ConcurrentHashMap<>();
+    
+    void put(Long id, K key) {
+        K previous = keyById.put(id, key);
+        if (previous != null && !previous.equals(key)) {
+            idsFor(previous).remove(id);
+        }
+        idsByKey.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>()).add(id);
+    }
+    
+    void remove(Long id) {
+        K previous = keyById.remove(id);
+        if (previous != null) {
+            idsFor(previous).remove(id);
+        }
+    }
+    
+    /**
+     * IDs currently indexed under {@code key}, in ascending order.
+     */
+    NavigableSet<Long> idsFor(K key) {
+        NavigableSet<Long> ids = idsByKey.get(key);
+        return ids != null ? ids : Collections.emptyNavigableSet();
+    }
+}
@@ -0,0 +1,62 @@
+package de.haw.swa.ordermanagement.infrastructure.replay;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.OptionalLong;
+
+/**
+ * Stores the log position of a replay in one small file per replay name.
+ *
+ * Files are replaced atomically, so a crash leaves either the previous or the new checkpoint.
+ */
+public class ReplayCheckpointStore {
+    
+    private final Path directory;
+    
+    public ReplayCheckpointStore(Path directory) {
+        this.directory = directory;
+    }
+    
+    public OptionalLong load(String name) {
+        Path file = fileOf(name);
+        if (!Files.exists(file)) {
+            return OptionalLong.empty();
+        }
+        try {
+            return OptionalLong.of(Long.parseLong(Files.readString(file, StandardCharsets.US_ASCII).trim()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read checkpoint " + file, e);
+        }
+    }
+    
+    public void save(String name, long position) {
+        Path file = fileOf(name);
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.writeString(directory.resolve(name + ".checkpoint.tmp"),
+                Long.toString(position), StandardCharsets.US_ASCII);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write checkpoint " + file, e);
+        }
+    }
+    
+    public void delete(String name) {
+        try {
+            Files.deleteIfExists(fileOf(name));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot delete checkpoint of " + name, e);
+        }
+    }
+    
+    private Path fileOf(String name) {
+        if (!name.matches("[A-Za-z0-9._-]+")) {
+            throw new IllegalArgumentException("Invalid replay name: " + name);
+        }
+        return directory.resolve(name + ".checkpoint");
+    }
+}
\ No newline at end of file
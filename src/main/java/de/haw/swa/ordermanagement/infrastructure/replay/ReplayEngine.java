@@ -0,0 +1,197 @@
+package de.haw.swa.ordermanagement.infrastructure.replay;
+
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+import de.haw.swa.ordermanagement.infrastructure.eventlog.EventLog;
+import de.haw.swa.ordermanagement.infrastructure.eventlog.EventLogReader;
+import de.haw.swa.ordermanagement.infrastructure.eventlog.LoggedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Rebuilds {@link ReplayProjection}s from the {@link EventLog} on a fork-join pool.
+ *
+ * The log is read in batches. Each batch is split into partitions by aggregate ID and the partitions
+ * are applied in parallel, so the events of one aggregate keep their log order. While the pool works
+ * on a batch, the calling thread already reads and decodes the next one. After a batch completes all
+ * events before its end are applied, which makes that position a consistent checkpoint. A run ends at
+ * the end of the log as of its start; events appended meanwhile are left to the live event handlers.
+ */
+public class ReplayEngine implements AutoCloseable {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReplayEngine.class);
+    
+    private static final int PARTITIONS_PER_THREAD = 4;
+    
+    private final EventLog eventLog;
+    private final ReplayCheckpointStore checkpoints;
+    private final ForkJoinPool pool;
+    private final int partitions;
+    private final int batchSize;
+    private final long checkpointInterval;
+    
+    /**
+     * @param parallelism        worker threads, {@code 0} for one per available processor
+     * @param batchSize          events read and applied per round
+     * @param checkpointInterval minimum number of events between two checkpoints
+     */
+    public ReplayEngine(EventLog eventLog, ReplayCheckpointStore checkpoints,
+                        int parallelism, int batchSize, long checkpointInterval) {
+        if (batchSize < 1 || checkpointInterval < 1) {
+            throw new IllegalArgumentException("Batch size and checkpoint interval must be positive");
+        }
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.eventLog = eventLog;
+        this.checkpoints = checkpoints;
+        this.pool = new ForkJoinPool(threads);
+        this.partitions = threads * PARTITIONS_PER_THREAD;
+        this.batchSize = batchSize;
+        this.checkpointInterval = checkpointInterval;
+    }
+    
+    /**
+     * Resets the projections and applies the whole log.
+     */
+    public ReplayResult rebuild(String name, List<ReplayProjection> projections) {
+        checkpoints.delete(name);
+        projections.forEach(ReplayProjection::reset);
+        return replay(name, projections, 0);
+    }
+    
+    /**
+     * Continues a previous replay from its last checkpoint, or rebuilds if there is none.
+     * Events after the checkpoint may have been applied already and are applied again.
+     */
+    public ReplayResult resume(String name, List<ReplayProjection> projections) {
+        var checkpoint = checkpoints.load(name);
+        if (checkpoint.isEmpty()) {
+            return rebuild(name, projections);
+        }
+        return replay(name, projections, checkpoint.getAsLong());
+    }
+    
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+    
+    private ReplayResult replay(String name, List<ReplayProjection> projections, long startPosition) {
+        log.info("Replaying {} from position {} with {} threads", name, startPosition, pool.getParallelism());
+        long started = System.nanoTime();
+        EventLogReader reader = eventLog.reader(startPosition);
+        long endPosition = Math.max(eventLog.endPosition(), startPosition);
+        long events = 0;
+        long sinceCheckpoint = 0;
+        
+        List<LoggedEvent> batch = poll(reader, endPosition);
+        while (!batch.isEmpty()) {
+            ForkJoinTask<Void> applying = pool.submit(new ApplyBatch(batch, projections));
+            List<LoggedEvent> next = poll(reader, endPosition);
+            applying.join();
+            
+            events += batch.size();
+            sinceCheckpoint += batch.size();
+            long position = next.isEmpty() ? endPosition : next.get(0).position();
+            if (sinceCheckpoint >= checkpointInterval || next.isEmpty()) {
+                checkpoint(name, projections, position);
+                sinceCheckpoint = 0;
+                log.info("Replay {}: {} events at {} events/s", name, events,
+                    Math.round(eventsPerSecond(events, System.nanoTime() - started)));
+            }
+            batch = next;
+        }
+        
+        projections.forEach(projection -> projection.onCompleted(endPosition));
+        ReplayResult result = new ReplayResult(events, startPosition, endPosition,
+            Duration.ofNanos(System.nanoTime() - started));
+        log.info("Replay {} finished: {} events in {} ms ({} events/s)", name, result.events(),
+            result.elapsed().toMillis(), Math.round(result.eventsPerSecond()));
+        return result;
+    }
+    
+    /**
+     * Next batch of events that start before {@code endPosition}.
+     */
+    private List<LoggedEvent> poll(EventLogReader reader, long endPosition) {
+        List<LoggedEvent> events = reader.poll(batchSize);
+        int count = 0;
+        while (count < events.size() && events.get(count).position() < endPosition) {
+            count++;
+        }
+        return count == events.size() ? events : events.subList(0, count);
+    }
+    
+    private void checkpoint(String name, List<ReplayProjection> projections, long position) {
+        projections.forEach(projection -> projection.onCheckpoint(position));
+        checkpoints.save(name, position);
+    }
+    
+    private int partitionOf(Long aggregateId) {
+        if (aggregateId == null) {
+            return 0;
+        }
+        // Spread sequential IDs evenly across partitions
+        long mixed = aggregateId * 0x9E3779B97F4A7C15L;
+        return (int) Long.remainderUnsigned(mixed ^ (mixed >>> 32), partitions);
+    }
+    
+    private static double eventsPerSecond(long events, long nanos) {
+        return events * 1_000_000_000.0 / Math.max(nanos, 1);
+    }
+    
+    private final class ApplyBatch extends RecursiveAction {
+        
+        private final List<LoggedEvent> batch;
+        private final List<ReplayProjection> projections;
+        
+        ApplyBatch(List<LoggedEvent> batch, List<ReplayProjection> projections) {
+            this.batch = batch;
+            this.projections = projections;
+        }
+        
+        @Override
+        protected void compute() {
+            List<List<DomainEvent>> partitioned = new ArrayList<>(partitions);
+            for (int i = 0; i < partitions; i++) {
+                partitioned.add(new ArrayList<>(batch.size() / partitions + 1));
+            }
+            for (LoggedEvent logged : batch) {
+                partitioned.get(partitionOf(logged.event().aggregateId())).add(logged.event());
+            }
+            
+            List<ApplyPartition> tasks = new ArrayList<>(partitions);
+            for (List<DomainEvent> events : partitioned) {
+                if (!events.isEmpty()) {
+                    tasks.add(new ApplyPartition(events, projections));
+                }
+            }
+            invokeAll(tasks);
+        }
+    }
+    
+    private static final class ApplyPartition extends RecursiveAction {
+        
+        private final List<DomainEvent> events;
+        private final List<ReplayProjection> projections;
+        
+        ApplyPartition(List<DomainEvent> events, List<ReplayProjection> projections) {
+            this.events = events;
+            this.projections = projections;
+        }
+        
+        @Override
+        protected void compute() {
+            for (DomainEvent event : events) {
+                for (ReplayProjection projection : projections) {
+                    projection.apply(event);
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package de.haw.swa.ordermanagement.infrastructure.replay;
+
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+
+/**
+ * A read model that can be rebuilt by the {@link ReplayEngine}.
+ *
+ * {@link #apply(DomainEvent)} is called concurrently for different aggregates, but the events of one
+ * aggregate arrive in log order and from one thread at a time.
+ */
+public interface ReplayProjection {
+    
+    String name();
+    
+    /**
+     * Drops all state before a replay from the start of the log.
+     */
+    void reset();
+    
+    void apply(DomainEvent event);
+    
+    /**
+     * Called once all events before {@code position} are applied and before the checkpoint is stored.
+     * Projections that keep their state outside the JVM flush it here, so a replay can resume from the checkpoint.
+     */
+    default void onCheckpoint(long position) {
+    }
+    
+    /**
+     * Called once a run applied all events up to {@code position}, the end of the log when it started.
+     */
+    default void onCompleted(long position) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package de.haw.swa.ordermanagement.infrastructure.replay;
+
+import java.time.Duration;
+
+/**
+ * Outcome of a replay run.
+ *
+ * @param startPosition log position the run started from, {@code 0} unless it resumed from a checkpoint
+ * @param endPosition   log position after the last applied event
+ */
+public record ReplayResult(long events, long startPosition, long endPosition, Duration elapsed) {
+    
+    public double eventsPerSecond() {
+        long nanos = Math.max(elapsed.toNanos(), 1);
+        return events * 1_000_000_000.0 / nanos;
+    }
+}
\ No newline at end of file
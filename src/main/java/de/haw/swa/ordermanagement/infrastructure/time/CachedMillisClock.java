@@ -0,0 +1,99 @@
+package de.haw.swa.ordermanagement.infrastructure.time;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clock whose time is refreshed by a background thread once per millisecond.
+ *
+ * Reading it is a single volatile read, which pays off when many threads stamp events concurrently.
+ * The time may lag the system clock by about one tick; call {@link #close()} to stop the ticker thread.
+ */
+public class CachedMillisClock extends Clock implements AutoCloseable {
+    
+    private final ZoneId zone;
+    private final ScheduledExecutorService ticker;
+    private volatile long millis;
+    
+    public CachedMillisClock(ZoneId zone) {
+        this.zone = zone;
+        this.millis = System.currentTimeMillis();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cached-millis-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ticker.scheduleAtFixedRate(this::tick, 1, 1, TimeUnit.MILLISECONDS);
+    }
+    
+    private void tick() {
+        long now = System.currentTimeMillis();
+        // Never run backwards, even if the system clock is adjusted
+        if (now > millis) {
+            millis = now;
+        }
+    }
+    
+    @Override
+    public long millis() {
+        return millis;
+    }
+    
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis);
+    }
+    
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+    
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return zone.equals(this.zone) ? this : new ZonedView(this, zone);
+    }
+    
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+    
+    /**
+     * Same ticker, different zone.
+     */
+    private static final class ZonedView extends Clock {
+        
+        private final CachedMillisClock source;
+        private final ZoneId zone;
+        
+        ZonedView(CachedMillisClock source, ZoneId zone) {
+            this.source = source;
+            this.zone = zone;
+        }
+        
+        @Override
+        public long millis() {
+            return source.millis();
+        }
+        
+        @Override
+        public Instant instant() {
+            return source.instant();
+        }
+        
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+        
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return source.withZone(zone);
+        }
+    }
+}
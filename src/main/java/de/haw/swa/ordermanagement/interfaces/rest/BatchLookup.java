@@ -0,0 +1,74 @@
+package de.haw.swa.ordermanagement.interfaces.rest;
+
+import de.haw.swa.ordermanagement.interfaces.rest.dto.BatchGetResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Shared handling of {@code ?ids=1,2,3} lookups: enforces the batch size limit, records
+ * the requested batch sizes, loads all IDs with a single call and reassembles the results
+ * in request order with explicit markers for missing IDs.
+ */
+@Component
+public class BatchLookup {
+    
+    private final MeterRegistry meterRegistry;
+    private final int maxIds;
+    
+    public BatchLookup(MeterRegistry meterRegistry,
+                       @Value("${ordermanagement.multi-get.max-ids:100}") int maxIds) {
+        this.meterRegistry = meterRegistry;
+        this.maxIds = maxIds;
+    }
+    
+    /**
+     * @param resource name used as metric tag, e.g. {@code products}
+     * @param ids      requested IDs in request order, duplicates allowed
+     * @param loader   loads all distinct IDs at once and returns the found entities by ID
+     */
+    public <T> BatchGetResponse<T> lookup(String resource, List<Long> ids, Function<Collection<Long>, Map<Long, T>> loader) {
+        if (ids.isEmpty() || ids.contains(null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Parameter 'ids' must contain at least one valid ID");
+        }
+        if (ids.size() > maxIds) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "At most " + maxIds + " IDs can be requested at once, got " + ids.size());
+        }
+        
+        DistributionSummary.builder("ordermanagement.multiget.batch.size")
+            .description("Number of IDs requested per multi-get call")
+            .baseUnit("ids")
+            .tag("resource", resource)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(1.0)
+            .maximumExpectedValue((double) maxIds)
+            .register(meterRegistry)
+            .record(ids.size());
+        
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        Map<Long, T> found = loader.apply(distinctIds);
+        
+        List<BatchGetResponse.Entry<T>> results = new ArrayList<>(ids.size());
+        Set<String> missingIds = new LinkedHashSet<>();
+        for (Long id : ids) {
+            T value = found.get(id);
+            results.add(new BatchGetResponse.Entry<>(id.toString(), value != null, value));
+            if (value == null) {
+                missingIds.add(id.toString());
+            }
+        }
+        return new BatchGetResponse<>(results, List.copyOf(missingIds));
+    }
+}
@@ -0,0 +1,57 @@
+package de.haw.swa.ordermanagement.interfaces.rest;
+
+import de.haw.swa.ordermanagement.application.service.CustomerOrderHistoryService;
+import de.haw.swa.ordermanagement.interfaces.rest.dto.CustomerOrderResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/customers")
+@CrossOrigin(origins = "http://localhost:3000")
+@Tag(name = "Customers", description = "Order history of customers")
+public class CustomerController {
+    
+    private final CustomerOrderHistoryService customerOrderHistoryService;
+    
+    public CustomerController(CustomerOrderHistoryService customerOrderHistoryService) {
+        this.customerOrderHistoryService = customerOrderHistoryService;
+    }
+    
+    @GetMapping(value = "/{customerId}/order-history", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    @Operation(
+        summary = "Get the order history of a customer",
+        description = """
+            Returns every order of the customer in ID order, including archived and exported ones, with its current
+            status. The history is kept in memory from the order events and rebuilt from the event log on startup;
+            without the event log it only contains the orders changed since the last start.
+            """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "History retrieved successfully, empty for unknown customers",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = CustomerOrderResponse.class))
+            )
+        )
+    })
+    public ResponseEntity<List<CustomerOrderResponse>> getOrderHistory(
+            @Parameter(description = "ID of the customer", example = "1", required = true)
+            @PathVariable Long customerId) {
+        return ResponseEntity.ok(customerOrderHistoryService.ordersOf(customerId).stream()
+            .map(CustomerOrderResponse::from)
+            .toList());
+    }
+}
\ No newline at end of file
@@ -1,10 +1,28 @@
 package de.haw.swa.ordermanagement.interfaces.rest;
 
+import de.haw.swa.ordermanagement.application.readmodel.OrderView;
+import de.haw.swa.ordermanagement.application.service.IdempotencyKeyConflictException;
+import de.haw.swa.ordermanagement.application.service.IdempotencyKeyInProgressException;
+import de.haw.swa.ordermanagement.application.service.IdempotencyService;
+import de.haw.swa.ordermanagement.application.service.IdempotencyService.IdempotentResult;
+import de.haw.swa.ordermanagement.application.service.OrderQueryService;
 import de.haw.swa.ordermanagement.application.service.OrderService;
+import de.haw.swa.ordermanagement.application.service.OrderStatisticsService;
 import de.haw.swa.ordermanagement.domain.model.order.Order;
+import de.haw.swa.ordermanagement.domain.model.order.OrderSearch;
 import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.order.OrderSummary;
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+import de.haw.swa.ordermanagement.infrastructure.concurrent.SingleFlight;
+import de.haw.swa.ordermanagement.infrastructure.concurrent.SingleFlightFactory;
+import de.haw.swa.ordermanagement.interfaces.rest.dto.BatchGetResponse;
 import de.haw.swa.ordermanagement.interfaces.rest.dto.CreateOrderRequest;
+import de.haw.swa.ordermanagement.interfaces.rest.dto.OrderFieldSelection;
+import de.haw.swa.ordermanagement.interfaces.rest.dto.OrderListView;
 import de.haw.swa.ordermanagement.interfaces.rest.dto.OrderResponse;
+import de.haw.swa.ordermanagement.interfaces.rest.dto.OrderSearchResponse;
+import de.haw.swa.ordermanagement.interfaces.rest.dto.OrderStatisticsResponse;
+import de.haw.swa.ordermanagement.interfaces.rest.dto.OrderSummaryResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,11 +32,20 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -26,16 +53,42 @@ import java.util.List;
 @Tag(name = "Orders", description = "Order lifecycle management operations")
 public class OrderController {
     
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    
     private final OrderService orderService;
+    private final OrderQueryService orderQueryService;
+    private final OrderStatisticsService orderStatisticsService;
+    private final IdempotencyService idempotencyService;
+    private final BatchLookup batchLookup;
+    private final SingleFlight<Long, Optional<OrderResponse>> orderReads;
+    private final int maxPageSize;
     
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService,
+                           OrderQueryService orderQueryService,
+                           OrderStatisticsService orderStatisticsService,
+                           IdempotencyService idempotencyService,
+                           BatchLookup batchLookup,
+                           SingleFlightFactory singleFlightFactory,
+                           @Value("${ordermanagement.order-search.max-page-size:100}") int maxPageSize) {
         this.orderService = orderService;
+        this.orderQueryService = orderQueryService;
+        this.orderStatisticsService = orderStatisticsService;
+        this.idempotencyService = idempotencyService;
+        this.batchLookup = batchLookup;
+        this.orderReads = singleFlightFactory.create("order-by-id");
+        this.maxPageSize = maxPageSize;
     }
     
-    @PostMapping
+    @PostMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     @Operation(
         summary = "Create a new order",
-        description = "Creates a new order with the specified customer and product items. The order starts in PENDING status."
+        description = """
+            Creates a new order with the specified customer and product items. The order starts in PENDING status.
+            
+            Send an `Idempotency-Key` header to make retries safe: repeating the request with the same key returns
+            the originally created order (marked with `Idempotent-Replayed: true`) instead of creating another one.
+            """
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -73,6 +126,16 @@ public class OrderController {
             responseCode = "400",
             description = "Invalid order data provided",
             content = @Content(mediaType = "application/json")
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "A request with the same idempotency key is still being processed",
+            content = @Content()
+        ),
+        @ApiResponse(
+            responseCode = "422",
+            description = "The idempotency key was already used for a different request",
+            content = @Content()
         )
     })
     public ResponseEntity<OrderResponse> createOrder(
@@ -104,7 +167,24 @@ public class OrderController {
                     )
                 )
             )
-            CreateOrderRequest request) {
+            CreateOrderRequest request,
+            @Parameter(description = "Client-generated key that identifies retries of the same request", example = "3f9c2b1e-order-42")
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(placeOrder(request));
+        }
+        
+        IdempotentResult<OrderResponse> result = idempotencyService.execute(
+            "create-order", requireValidKey(idempotencyKey), request, OrderResponse.class,
+            () -> IdempotentResult.of(HttpStatus.CREATED.value(), placeOrder(request)));
+        
+        return ResponseEntity.status(result.statusCode())
+            .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+            .body(result.body());
+    }
+    
+    private OrderResponse placeOrder(CreateOrderRequest request) {
         List<OrderService.OrderItemDto> items = request.items().stream()
             .map(item -> new OrderService.OrderItemDto(
                 item.productId(),
@@ -117,11 +197,10 @@ public class OrderController {
             items
         );
         
-        return ResponseEntity.status(HttpStatus.CREATED)
-            .body(OrderResponse.from(order));
+        return OrderResponse.from(order);
     }
     
-    @GetMapping("/{orderId}")
+    @GetMapping(value = "/{orderId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     @Operation(
         summary = "Get order by ID",
         description = "Retrieves a specific order by its unique identifier."
@@ -144,15 +223,58 @@ public class OrderController {
     public ResponseEntity<OrderResponse> getOrder(
             @Parameter(description = "Unique identifier of the order", example = "1", required = true)
             @PathVariable Long orderId) {
-        return orderService.findById(orderId)
-            .map(order -> ResponseEntity.ok(OrderResponse.from(order)))
+        // Concurrent requests for the same order share one lookup; the immutable response is shared, not the entity
+        return orderReads.execute(orderId, () -> orderQueryService.findById(orderId).map(OrderResponse::from))
+            .map(ResponseEntity::ok)
             .orElse(ResponseEntity.notFound().build());
     }
     
-    @GetMapping
+    @GetMapping(params = "ids", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    @Operation(
+        summary = "Get multiple orders by ID",
+        description = """
+            Retrieves several orders, including their items, from the in-memory order view; orders not held there
+            are loaded with a single database query.
+            Results follow the order of the requested IDs; IDs without an order are marked with `found: false`
+            and listed in `missingIds`. The number of IDs per request is limited (default 100).
+            """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Lookup completed (some IDs may be missing)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = BatchGetResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "No IDs or too many IDs requested",
+            content = @Content()
+        )
+    })
+    public ResponseEntity<BatchGetResponse<OrderResponse>> getOrdersByIds(
+            @Parameter(description = "Comma-separated order IDs", example = "1,2,3", required = true)
+            @RequestParam List<Long> ids) {
+        BatchGetResponse<OrderResponse> response = batchLookup.lookup("orders", ids, orderIds ->
+            orderQueryService.findAllByIds(orderIds).stream()
+                .collect(Collectors.toMap(OrderView::id, OrderResponse::from)));
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     @Operation(
         summary = "Get orders with optional filtering",
-        description = "Retrieves orders with optional filtering by customer ID or order status. If no filters are provided, returns all orders."
+        description = """
+            Retrieves orders with optional filtering by customer ID, order status or both. If no filters are provided, returns all orders.
+            For date ranges, a minimum total or paging use `/api/orders/search`.
+            
+            Use `view=summary` to get IDs, status, totals and timestamps only, or `fields` to pick individual fields.
+            Orders are served from an in-memory view that is updated with every order change; changes made through
+            other instances become visible with the next synchronization (every 30 seconds by default).
+            """
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -162,29 +284,182 @@ public class OrderController {
                 mediaType = "application/json",
                 schema = @Schema(type = "array", implementation = OrderResponse.class)
             )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Unknown view or field name",
+            content = @Content()
         )
     })
-    public ResponseEntity<List<OrderResponse>> getOrders(
+    public ResponseEntity<List<?>> getOrders(
             @Parameter(description = "Filter orders by customer ID", example = "1")
             @RequestParam(required = false) Long customerId,
             @Parameter(description = "Filter orders by status", example = "PENDING")
-            @RequestParam(required = false) OrderStatus status) {
+            @RequestParam(required = false) OrderStatus status,
+            @Parameter(description = "Response shape: 'full' (with items) or 'summary' (without items)", example = "summary")
+            @RequestParam(defaultValue = "full") String view,
+            @Parameter(description = "Comma-separated list of fields to return", example = "orderId,status,totalAmount")
+            @RequestParam(required = false) List<String> fields) {
         
-        List<Order> orders;
+        OrderListView listView;
+        OrderFieldSelection selection;
+        try {
+            listView = OrderListView.parse(view);
+            selection = fields != null ? OrderFieldSelection.parse(fields) : null;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
         
-        if (customerId != null) {
-            orders = orderService.findByCustomerId(customerId);
-        } else if (status != null) {
-            orders = orderService.findByStatus(status);
-        } else {
-            orders = orderService.findAll(); // Return all orders
+        if (listView == OrderListView.SUMMARY && selection != null && selection.requiresItems()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Field 'items' is not part of the summary view");
         }
         
-        List<OrderResponse> response = orders.stream()
-            .map(OrderResponse::from)
+        if (listView == OrderListView.FULL && (selection == null || selection.requiresItems())) {
+            List<OrderResponse> response = findOrders(customerId, status).stream()
+                .map(OrderResponse::from)
+                .toList();
+            
+            return ResponseEntity.ok(selection == null ? response : response.stream().map(selection::project).toList());
+        }
+        
+        // Neither the summary view nor a fieldset without items needs the items collection
+        List<OrderSummaryResponse> response = findOrderSummaries(customerId, status).stream()
+            .map(OrderSummaryResponse::from)
             .toList();
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(selection == null ? response : response.stream().map(selection::project).toList());
+    }
+    
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    @Operation(
+        summary = "Search orders",
+        description = """
+            Searches orders by any combination of customer, status, creation and update time ranges (start inclusive,
+            end exclusive) and minimum total. Results are summaries, newest first by creation time or, with
+            `sort=updated`, by last update. Pages are at most `size` orders (default 20, upper bound 100); pass the
+            returned `nextCursor` as `cursor` to get the next page. Searches are answered by the database, which
+            has indexes for the orders of a customer by creation time and for the orders in a status by update time.
+            """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Orders retrieved successfully (may be empty)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = OrderSearchResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid sort order, cursor, page size or minimum total",
+            content = @Content()
+        )
+    })
+    public ResponseEntity<OrderSearchResponse> searchOrders(
+            @Parameter(description = "ID of the customer", example = "1")
+            @RequestParam(required = false) Long customerId,
+            @Parameter(description = "Current status", example = "PAID")
+            @RequestParam(required = false) OrderStatus status,
+            @Parameter(description = "Created at or after", example = "2024-01-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @Parameter(description = "Created before", example = "2024-02-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @Parameter(description = "Last updated at or after", example = "2024-01-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedFrom,
+            @Parameter(description = "Last updated before", example = "2024-02-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedTo,
+            @Parameter(description = "Lowest total amount (inclusive)", example = "100.00")
+            @RequestParam(required = false) BigDecimal minTotal,
+            @Parameter(description = "Sort order: 'created' or 'updated', newest first", example = "created")
+            @RequestParam(defaultValue = "created") String sort,
+            @Parameter(description = "nextCursor of the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        OrderSearch search;
+        try {
+            if (size < 1 || (minTotal != null && minTotal.signum() < 0)) {
+                throw new IllegalArgumentException("Page size must be positive and the minimum total not negative");
+            }
+            search = new OrderSearch(customerId, status, createdFrom, createdTo, updatedFrom, updatedTo,
+                minTotal == null ? null : Money.euro(minTotal),
+                OrderSearch.SortBy.valueOf(sort.toUpperCase(Locale.ROOT)),
+                cursor == null ? null : OrderSearchResponse.decodeCursor(cursor));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        int pageSize = Math.min(size, maxPageSize);
+        
+        // One more than requested tells whether there is a next page
+        List<OrderSummary> orders = orderQueryService.search(search, pageSize + 1);
+        List<OrderSummary> page = orders.size() > pageSize ? orders.subList(0, pageSize) : orders;
+        String nextCursor = orders.size() > pageSize
+            ? OrderSearchResponse.encodeCursor(search.cursorAfter(page.get(page.size() - 1)))
+            : null;
+        
+        return ResponseEntity.ok(new OrderSearchResponse(page.stream().map(OrderSummaryResponse::from).toList(), nextCursor));
+    }
+    
+    @GetMapping(value = "/stats", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    @Operation(
+        summary = "Get order statistics",
+        description = """
+            Returns the number and amount of orders per status, the revenue and the orders that reached each status
+            per day (last 30 days by default). The statistics are maintained in memory from order changes and do not
+            query the orders; changes made through other instances are included after their next flush (every
+            10 seconds by default).
+            """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Statistics retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = OrderStatisticsResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Order statistics are disabled",
+            content = @Content()
+        )
+    })
+    public ResponseEntity<OrderStatisticsResponse> getOrderStatistics() {
+        if (!orderStatisticsService.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(OrderStatisticsResponse.from(
+            orderStatisticsService.byStatus(), orderStatisticsService.daily()));
+    }
+    
+    private List<OrderView> findOrders(Long customerId, OrderStatus status) {
+        if (customerId != null && status != null) {
+            return orderQueryService.findByCustomerId(customerId).stream()
+                .filter(order -> order.status() == status)
+                .toList();
+        } else if (customerId != null) {
+            return orderQueryService.findByCustomerId(customerId);
+        } else if (status != null) {
+            return orderQueryService.findByStatus(status);
+        } else {
+            return orderQueryService.findAll(); // Return all orders
+        }
+    }
+    
+    private List<OrderSummary> findOrderSummaries(Long customerId, OrderStatus status) {
+        if (customerId != null && status != null) {
+            return orderQueryService.findSummariesByCustomerId(customerId).stream()
+                .filter(order -> order.status() == status)
+                .toList();
+        } else if (customerId != null) {
+            return orderQueryService.findSummariesByCustomerId(customerId);
+        } else if (status != null) {
+            return orderQueryService.findSummariesByStatus(status);
+        } else {
+            return orderQueryService.findAllSummaries();
+        }
     }
     
     @PutMapping("/{orderId}/confirm")
@@ -215,6 +490,8 @@ public class OrderController {
             shipped without manual intervention.
             
             **Event-driven flow**: CONFIRMED → PAID → (automatic) SHIPPED
+            
+            With an `Idempotency-Key` header a retried payment is acknowledged without being processed twice.
             """
     )
     @ApiResponses(value = {
@@ -232,13 +509,37 @@ public class OrderController {
             responseCode = "400",
             description = "Invalid order status for payment processing",
             content = @Content()
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "A payment with the same idempotency key is still being processed",
+            content = @Content()
+        ),
+        @ApiResponse(
+            responseCode = "422",
+            description = "The idempotency key was already used for another order",
+            content = @Content()
         )
     })
     public ResponseEntity<Void> payOrder(
             @Parameter(description = "Unique identifier of the order to process payment for", example = "1", required = true)
-            @PathVariable Long orderId) {
-        orderService.processPayment(orderId);
-        return ResponseEntity.ok().build();
+            @PathVariable Long orderId,
+            @Parameter(description = "Client-generated key that identifies retries of the same payment", example = "3f9c2b1e-pay-42")
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            orderService.processPayment(orderId);
+            return ResponseEntity.ok().build();
+        }
+        
+        IdempotentResult<Void> result = idempotencyService.execute(
+            "pay-order", requireValidKey(idempotencyKey), orderId, Void.class, () -> {
+                orderService.processPayment(orderId);
+                return IdempotentResult.of(HttpStatus.OK.value(), null);
+            });
+        
+        return ResponseEntity.status(result.statusCode())
+            .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+            .build();
     }
     
     @PutMapping("/{orderId}/ship")
@@ -311,4 +612,22 @@ public class OrderController {
         orderService.returnOrder(orderId);
         return ResponseEntity.ok().build();
     }
+    
+    private static String requireValidKey(String idempotencyKey) {
+        if (!IdempotencyService.isValidKey(idempotencyKey)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Header " + IDEMPOTENCY_KEY_HEADER + " must contain 1 to " + IdempotencyService.MAX_KEY_LENGTH + " characters");
+        }
+        return idempotencyKey;
+    }
+    
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<Void> handleIdempotencyKeyConflict(IdempotencyKeyConflictException e) {
+        return ResponseEntity.unprocessableEntity().build();
+    }
+    
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<Void> handleIdempotencyKeyInProgress(IdempotencyKeyInProgressException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
 }
\ No newline at end of file
@@ -1,10 +1,24 @@
 package de.haw.swa.ordermanagement.interfaces.rest;
 
+import de.haw.swa.ordermanagement.application.readmodel.LowStockIndex;
+import de.haw.swa.ordermanagement.application.readmodel.ProductFacetIndex;
+import de.haw.swa.ordermanagement.application.readmodel.ProductPage;
+import de.haw.swa.ordermanagement.application.readmodel.ProductSearchIndex;
+import de.haw.swa.ordermanagement.application.readmodel.ProductView;
+import de.haw.swa.ordermanagement.application.readmodel.TopSellers;
+import de.haw.swa.ordermanagement.application.service.ProductQueryService;
+import de.haw.swa.ordermanagement.application.service.ProductService;
+import de.haw.swa.ordermanagement.application.service.TopSellingProductsService;
 import de.haw.swa.ordermanagement.domain.model.product.Product;
 import de.haw.swa.ordermanagement.domain.model.shared.Money;
-import de.haw.swa.ordermanagement.domain.repository.ProductRepository;
+import de.haw.swa.ordermanagement.infrastructure.concurrent.SingleFlight;
+import de.haw.swa.ordermanagement.infrastructure.concurrent.SingleFlightFactory;
+import de.haw.swa.ordermanagement.interfaces.rest.dto.BatchGetResponse;
 import de.haw.swa.ordermanagement.interfaces.rest.dto.CreateProductRequest;
+import de.haw.swa.ordermanagement.interfaces.rest.dto.LowStockProductResponse;
+import de.haw.swa.ordermanagement.interfaces.rest.dto.ProductFilterResponse;
 import de.haw.swa.ordermanagement.interfaces.rest.dto.ProductResponse;
+import de.haw.swa.ordermanagement.interfaces.rest.dto.TopProductResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,11 +28,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/products")
@@ -26,13 +47,34 @@ import java.util.List;
 @Tag(name = "Products", description = "Product catalog management operations")
 public class ProductController {
     
-    private final ProductRepository productRepository;
+    private final ProductService productService;
+    private final ProductQueryService productQueryService;
+    private final TopSellingProductsService topSellingProductsService;
+    private final BatchLookup batchLookup;
+    private final SingleFlight<Long, Optional<ProductResponse>> productReads;
+    private final int maxSearchResults;
+    private final int maxSuggestions;
+    private final int maxTopProducts;
     
-    public ProductController(ProductRepository productRepository) {
-        this.productRepository = productRepository;
+    public ProductController(ProductService productService,
+                             ProductQueryService productQueryService,
+                             TopSellingProductsService topSellingProductsService,
+                             BatchLookup batchLookup,
+                             SingleFlightFactory singleFlightFactory,
+                             @Value("${ordermanagement.product-catalog.max-search-results:100}") int maxSearchResults,
+                             @Value("${ordermanagement.product-catalog.max-suggestions:10}") int maxSuggestions,
+                             @Value("${ordermanagement.top-products.max-results:100}") int maxTopProducts) {
+        this.productService = productService;
+        this.productQueryService = productQueryService;
+        this.topSellingProductsService = topSellingProductsService;
+        this.batchLookup = batchLookup;
+        this.productReads = singleFlightFactory.create("product-by-id");
+        this.maxSearchResults = maxSearchResults;
+        this.maxSuggestions = maxSuggestions;
+        this.maxTopProducts = maxTopProducts;
     }
     
-    @PostMapping
+    @PostMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     @Operation(
         summary = "Create a new product",
         description = "Creates a new product in the catalog with the provided details. The product will be assigned a unique ID and added to the inventory."
@@ -89,19 +131,18 @@ public class ProductController {
                 )
             )
             CreateProductRequest request) {
-        Product product = new Product(
+        Product savedProduct = productService.createProduct(
             request.name(),
             request.description(),
             Money.euro(request.price()),
-            request.stockQuantity()
+            request.stockQuantity(),
+            request.lowStockThreshold()
         );
-        
-        Product savedProduct = productRepository.save(product);
         return ResponseEntity.status(HttpStatus.CREATED)
             .body(ProductResponse.from(savedProduct));
     }
     
-    @GetMapping
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     @Operation(
         summary = "Get all products",
         description = "Retrieves all products from the catalog with their current stock information."
@@ -141,7 +182,7 @@ public class ProductController {
         )
     })
     public ResponseEntity<List<ProductResponse>> getAllProducts() {
-        List<Product> products = productRepository.findAll();
+        List<ProductView> products = productQueryService.findAll();
         List<ProductResponse> response = products.stream()
             .map(ProductResponse::from)
             .toList();
@@ -149,7 +190,41 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
     
-    @GetMapping("/{productId}")
+    @GetMapping(params = "ids", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    @Operation(
+        summary = "Get multiple products by ID",
+        description = """
+            Retrieves several products with a single database query.
+            Results follow the order of the requested IDs; IDs without a product are marked with `found: false`
+            and listed in `missingIds`. The number of IDs per request is limited (default 100).
+            """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Lookup completed (some IDs may be missing)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = BatchGetResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "No IDs or too many IDs requested",
+            content = @Content()
+        )
+    })
+    public ResponseEntity<BatchGetResponse<ProductResponse>> getProductsByIds(
+            @Parameter(description = "Comma-separated product IDs", example = "1,2,3", required = true)
+            @RequestParam List<Long> ids) {
+        BatchGetResponse<ProductResponse> response = batchLookup.lookup("products", ids, productIds ->
+            productQueryService.findAllByIds(productIds).stream()
+                .collect(Collectors.toMap(ProductView::id, ProductResponse::from)));
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping(value = "/{productId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     @Operation(
         summary = "Get product by ID",
         description = "Retrieves a specific product by its unique identifier."
@@ -172,15 +247,21 @@ public class ProductController {
     public ResponseEntity<ProductResponse> getProduct(
             @Parameter(description = "Unique identifier of the product", example = "1", required = true)
             @PathVariable Long productId) {
-        return productRepository.findById(productId)
-            .map(product -> ResponseEntity.ok(ProductResponse.from(product)))
+        // Concurrent requests for the same product share one repository lookup
+        return productReads.execute(productId, () -> productQueryService.findById(productId).map(ProductResponse::from))
+            .map(ResponseEntity::ok)
             .orElse(ResponseEntity.notFound().build());
     }
     
-    @GetMapping("/search")
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     @Operation(
-        summary = "Search products by name",
-        description = "Searches for products whose names contain the specified search term (case-insensitive)."
+        summary = "Search products by name and description",
+        description = """
+            Searches for products whose name or description contains every word of the search term (case-insensitive).
+            Matches in the name rank before matches in the description, whole words before parts of words.
+            At most `limit` products are returned (default and upper bound 100). The search term needs a word of
+            at least two characters; single characters only narrow down the matches of the other words.
+            """
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -190,12 +271,23 @@ public class ProductController {
                 mediaType = "application/json",
                 schema = @Schema(type = "array", implementation = ProductResponse.class)
             )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Search term without a word of at least two characters",
+            content = @Content()
         )
     })
     public ResponseEntity<List<ProductResponse>> searchProducts(
-            @Parameter(description = "Search term to match against product names", example = "laptop", required = true)
-            @RequestParam String name) {
-        List<Product> products = productRepository.findByNameContainingIgnoreCase(name);
+            @Parameter(description = "Search term to match against product names and descriptions", example = "laptop", required = true)
+            @RequestParam String name,
+            @Parameter(description = "Maximum number of results", example = "20")
+            @RequestParam(required = false) Integer limit) {
+        if (!ProductSearchIndex.isSearchable(name)) {
+            return ResponseEntity.badRequest().build();
+        }
+        int maxResults = limit == null ? maxSearchResults : Math.max(0, Math.min(limit, maxSearchResults));
+        List<ProductView> products = productQueryService.search(name, maxResults);
         List<ProductResponse> response = products.stream()
             .map(ProductResponse::from)
             .toList();
@@ -203,6 +295,168 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping(value = "/filter", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    @Operation(
+        summary = "Filter products with facet counts",
+        description = """
+            Filters the catalog by price range, availability, minimum stock and name (every word must occur in the name).
+            Results are ordered by ID and paginated; `size` is limited to 100. The response also counts the matches
+            per price band and per availability, each without its own filter, so clients can show the effect of changing it.
+            """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Filter applied (the page may be empty)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ProductFilterResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Negative page, size or price",
+            content = @Content()
+        )
+    })
+    public ResponseEntity<ProductFilterResponse> filterProducts(
+            @Parameter(description = "Lowest price (inclusive)", example = "100.00")
+            @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "Highest price (inclusive)", example = "999.99")
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @Parameter(description = "Only products in stock (true) or out of stock (false)", example = "true")
+            @RequestParam(required = false) Boolean inStock,
+            @Parameter(description = "Minimum stock quantity", example = "10")
+            @RequestParam(required = false) Integer minStock,
+            @Parameter(description = "Words that must occur in the name", example = "laptop")
+            @RequestParam(required = false) String name,
+            @Parameter(description = "Page number, starting at 0", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        if (page < 0 || size < 0 || isNegative(minPrice) || isNegative(maxPrice)) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = Math.min(size, maxSearchResults);
+        ProductFacetIndex.Filter filter = new ProductFacetIndex.Filter(
+            minPrice == null ? null : Money.euro(minPrice).getCents(),
+            maxPrice == null ? null : Money.euro(maxPrice).getCents(),
+            inStock,
+            minStock,
+            name
+        );
+        ProductPage result = productQueryService.filter(filter, (int) Math.min((long) page * pageSize, Integer.MAX_VALUE), pageSize);
+        
+        return ResponseEntity.ok(ProductFilterResponse.from(result, page, pageSize));
+    }
+    
+    @GetMapping(value = "/suggest", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    @Operation(
+        summary = "Suggest products for a name prefix",
+        description = """
+            Type-ahead suggestions: products whose name, or a word of it, starts with the prefix (case-insensitive).
+            Products with more stock come first. At most `limit` products are returned (default and upper bound 10).
+            """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Suggestions (may be empty)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(type = "array", implementation = ProductResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<List<ProductResponse>> suggestProducts(
+            @Parameter(description = "Beginning of a product name or of a word in it", example = "kopf", required = true)
+            @RequestParam String prefix,
+            @Parameter(description = "Maximum number of suggestions", example = "5")
+            @RequestParam(required = false) Integer limit) {
+        int maxResults = limit == null ? maxSuggestions : Math.max(0, Math.min(limit, maxSuggestions));
+        List<ProductResponse> response = productQueryService.suggest(prefix, maxResults).stream()
+            .map(ProductResponse::from)
+            .toList();
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping(value = "/top", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    @Operation(
+        summary = "Get the best-selling products of the recent past",
+        description = """
+            Ranks products by the units sold in orders confirmed within the configured window (default: the last hour).
+            Counts come from a bounded-memory sketch on each instance: they may overestimate by up to `maxError`
+            and only include orders confirmed through this instance. At most `limit` products are returned (default and upper bound 100).
+            """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Ranking retrieved (may be empty)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(type = "array", implementation = TopProductResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Tracking of top-selling products is disabled",
+            content = @Content()
+        )
+    })
+    public ResponseEntity<List<TopProductResponse>> getTopProducts(
+            @Parameter(description = "Maximum number of products", example = "10")
+            @RequestParam(required = false) Integer limit) {
+        if (!topSellingProductsService.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        int maxResults = limit == null ? maxTopProducts : Math.max(0, Math.min(limit, maxTopProducts));
+        List<TopSellers.Seller> sellers = topSellingProductsService.top(maxResults);
+        Map<Long, ProductView> products = productQueryService.findAllByIds(sellers.stream().map(TopSellers.Seller::productId).toList())
+            .stream()
+            .collect(Collectors.toMap(ProductView::id, Function.identity()));
+        List<TopProductResponse> response = sellers.stream()
+            .map(seller -> TopProductResponse.from(seller, products.get(seller.productId())))
+            .toList();
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping(value = "/low-stock", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    @Operation(
+        summary = "Get the products that need restocking",
+        description = """
+            Lists the products whose stock is at or below their low-stock threshold, the largest shortfall first.
+            Served from an in-memory index; alerts are pushed as ProductStockLow events when a product crosses its threshold.
+            At most `limit` products are returned (default and upper bound 100).
+            """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Products low on stock (may be empty)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(type = "array", implementation = LowStockProductResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<List<LowStockProductResponse>> getLowStockProducts(
+            @Parameter(description = "Maximum number of products", example = "20")
+            @RequestParam(required = false) Integer limit) {
+        int maxResults = limit == null ? maxSearchResults : Math.max(0, Math.min(limit, maxSearchResults));
+        List<LowStockIndex.LowStock> lowStock = productQueryService.findLowStock(maxResults);
+        Map<Long, ProductView> products = productQueryService.findAllByIds(lowStock.stream().map(LowStockIndex.LowStock::productId).toList())
+            .stream()
+            .collect(Collectors.toMap(ProductView::id, Function.identity()));
+        List<LowStockProductResponse> response = lowStock.stream()
+            .map(low -> LowStockProductResponse.from(low, products.get(low.productId())))
+            .toList();
+        
+        return ResponseEntity.ok(response);
+    }
+    
     @DeleteMapping("/{productId}")
     @Operation(
         summary = "Delete a product",
@@ -223,11 +477,14 @@ public class ProductController {
     public ResponseEntity<Void> deleteProduct(
             @Parameter(description = "Unique identifier of the product to delete", example = "1", required = true)
             @PathVariable Long productId) {
-        if (productRepository.findById(productId).isPresent()) {
-            productRepository.deleteById(productId);
+        if (productService.deleteProduct(productId)) {
             return ResponseEntity.noContent().build();
         } else {
             return ResponseEntity.notFound().build();
         }
     }
+    
+    private static boolean isNegative(BigDecimal amount) {
+        return amount != null && amount.signum() < 0;
+    }
 }
\ No newline at end of file
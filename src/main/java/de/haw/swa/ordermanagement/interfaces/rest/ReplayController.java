@@ -0,0 +1,96 @@
+package de.haw.swa.ordermanagement.interfaces.rest;
+
+import de.haw.swa.ordermanagement.application.service.ReplayService;
+import de.haw.swa.ordermanagement.infrastructure.replay.ReplayResult;
+import de.haw.swa.ordermanagement.interfaces.rest.dto.ReplayResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.function.Function;
+
+@RestController
+@RequestMapping("/api/admin/replays")
+@CrossOrigin(origins = "http://localhost:3000")
+@Tag(name = "Replays", description = "Rebuilding read models from the event log")
+public class ReplayController {
+    
+    private final ReplayService replayService;
+    
+    public ReplayController(ReplayService replayService) {
+        this.replayService = replayService;
+    }
+    
+    @PostMapping(value = "/{name}/rebuild", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    @Operation(
+        summary = "Rebuild a read model",
+        description = """
+            Resets the read model (`order-view`, `order-statistics` or `customer-order-history`) and applies the
+            whole event log up to its current end. Runs one at a time and returns when done. Rebuilding the
+            statistics counts orders changed during the rebuild twice; run it on one instance while no orders change.
+            """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Read model rebuilt",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ReplayResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Unknown read model or event log disabled",
+            content = @Content()
+        )
+    })
+    public ResponseEntity<ReplayResponse> rebuild(
+            @Parameter(description = "Name of the read model", example = "customer-order-history", required = true)
+            @PathVariable String name) {
+        return replay(name, replayService::rebuild);
+    }
+    
+    @PostMapping(value = "/{name}/resume", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    @Operation(
+        summary = "Resume replaying into a read model",
+        description = """
+            Applies the event log from the checkpoint of the previous replay of the read model up to its current
+            end, e.g. after a rebuild failed. Without a checkpoint the read model is rebuilt.
+            """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Replay completed",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ReplayResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Unknown read model or event log disabled",
+            content = @Content()
+        )
+    })
+    public ResponseEntity<ReplayResponse> resume(
+            @Parameter(description = "Name of the read model", example = "order-statistics", required = true)
+            @PathVariable String name) {
+        return replay(name, replayService::resume);
+    }
+    
+    private ResponseEntity<ReplayResponse> replay(String name, Function<String, ReplayResult> run) {
+        if (!replayService.isEnabled() || !replayService.isKnown(name)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(ReplayResponse.from(run.apply(name)));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package de.haw.swa.ordermanagement.interfaces.rest;
+
+import de.haw.swa.ordermanagement.application.service.RevenueReportService;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainClock;
+import de.haw.swa.ordermanagement.interfaces.rest.dto.RevenueReportResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/reports")
+@CrossOrigin(origins = "http://localhost:3000")
+@Tag(name = "Reports", description = "Sales reporting over the stored orders")
+public class ReportController {
+    
+    private final RevenueReportService revenueReportService;
+    private final int maxResults;
+    private final int defaultDays;
+    
+    public ReportController(RevenueReportService revenueReportService,
+                            @Value("${ordermanagement.revenue-report.max-results:100}") int maxResults,
+                            @Value("${ordermanagement.revenue-report.default-days:30}") int defaultDays) {
+        this.revenueReportService = revenueReportService;
+        this.maxResults = maxResults;
+        this.defaultDays = defaultDays;
+    }
+    
+    @GetMapping(value = "/revenue", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    @Operation(
+        summary = "Get a revenue report",
+        description = """
+            Sums the paid orders (neither cancelled nor returned) created in the date range by day, product and customer.
+            The orders are read from the database in ranges of order IDs that are aggregated in parallel, so the report
+            reflects all committed orders at the time of the request; months exported to the order history are read from
+            its files instead. Without dates the last 30 days up to today are
+            reported. Products and customers are ranked by revenue; at most `limit` of each are returned
+            (default and upper bound 100).
+            """
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Report computed successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = RevenueReportResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "The range starts after it ends",
+            content = @Content()
+        )
+    })
+    public ResponseEntity<RevenueReportResponse> getRevenueReport(
+            @Parameter(description = "First day (inclusive)", example = "2024-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day (inclusive)", example = "2024-01-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Maximum number of products and of customers", example = "10")
+            @RequestParam(required = false) Integer limit) {
+        LocalDate end = to != null ? to : DomainClock.now().toLocalDate();
+        LocalDate start = from != null ? from : end.minusDays(defaultDays - 1L);
+        if (start.isAfter(end)) {
+            return ResponseEntity.badRequest().build();
+        }
+        int ranked = limit == null ? maxResults : Math.max(0, Math.min(limit, maxResults));
+        
+        return ResponseEntity.ok(RevenueReportResponse.from(revenueReportService.report(start, end, ranked)));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package de.haw.swa.ordermanagement.interfaces.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Result of a lookup by ID list; results follow the order of the requested IDs")
+public record BatchGetResponse<T>(
+    @Schema(description = "One entry per requested ID, in request order")
+    List<Entry<T>> results,
+    
+    @Schema(description = "Requested IDs that do not exist", example = "[\"42\"]")
+    List<String> missingIds
+) {
+    
+    @Schema(description = "Lookup result for a single requested ID")
+    public record Entry<T>(
+        @Schema(description = "Requested ID", example = "1")
+        String id,
+        
+        @Schema(description = "Whether an entity with this ID exists", example = "true")
+        boolean found,
+        
+        @Schema(description = "The entity, or null if it was not found")
+        T value
+    ) {}
+}
\ No newline at end of file
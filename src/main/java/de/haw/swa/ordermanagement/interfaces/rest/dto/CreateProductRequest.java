@@ -25,5 +25,14 @@ public record CreateProductRequest(
     @NotNull
     @Min(0)
     @Schema(description = "Initial stock quantity", example = "50", required = true)
-    Integer stockQuantity
-) {}
\ No newline at end of file
+    Integer stockQuantity,
+    
+    @Min(0)
+    @Schema(description = "Stock level at or below which a low-stock event is raised; defaults to the configured threshold", example = "5")
+    Integer lowStockThreshold
+) {
+    
+    public CreateProductRequest(String name, String description, BigDecimal price, Integer stockQuantity) {
+        this(name, description, price, stockQuantity, null);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package de.haw.swa.ordermanagement.interfaces.rest.dto;
+
+import de.haw.swa.ordermanagement.application.readmodel.CustomerOrderHistory;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Schema(description = "Order in the history of a customer")
+public record CustomerOrderResponse(
+    @Schema(description = "Unique identifier of the order", example = "1")
+    String orderId,
+    
+    @Schema(description = "Total amount of the order in EUR; missing for orders logged before totals were recorded",
+        example = "2599.98")
+    BigDecimal totalAmount,
+    
+    @Schema(description = "Current status of the order", example = "PAID")
+    OrderStatus status,
+    
+    @Schema(description = "Date and time when the order was created", example = "2024-01-15T10:30:00")
+    LocalDateTime createdAt,
+    
+    @Schema(description = "Date and time when the order was last updated", example = "2024-01-15T10:30:00")
+    LocalDateTime updatedAt
+) {
+    
+    public static CustomerOrderResponse from(CustomerOrderHistory.Entry entry) {
+        return new CustomerOrderResponse(
+            entry.orderId().toString(),
+            entry.totalAmountCents() == null ? null : Money.euroCents(entry.totalAmountCents()).getAmount(),
+            entry.status(),
+            entry.createdAt(),
+            entry.updatedAt()
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package de.haw.swa.ordermanagement.interfaces.rest.dto;
+
+import de.haw.swa.ordermanagement.application.readmodel.LowStockIndex;
+import de.haw.swa.ordermanagement.application.readmodel.ProductView;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Product whose stock is at or below its low-stock threshold")
+public record LowStockProductResponse(
+    @Schema(description = "Unique identifier of the product", example = "5")
+    String productId,
+    
+    @Schema(description = "Name of the product", example = "Monitor")
+    String name,
+    
+    @Schema(description = "Available stock quantity", example = "2")
+    int stockQuantity,
+    
+    @Schema(description = "Stock level at or below which the product needs restocking", example = "5")
+    int lowStockThreshold
+) {
+    
+    public static LowStockProductResponse from(LowStockIndex.LowStock lowStock, ProductView product) {
+        return new LowStockProductResponse(
+            Long.toString(lowStock.productId()),
+            product == null ? null : product.name(),
+            lowStock.stockQuantity(),
+            lowStock.lowStockThreshold()
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package de.haw.swa.ordermanagement.interfaces.rest.dto;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sparse fieldset requested with the {@code fields} query parameter.
+ * Field names are those of {@link OrderResponse}; values keep their types so every
+ * message converter (JSON or CBOR) encodes them the same way as the full response.
+ */
+public final class OrderFieldSelection {
+    
+    public static final String ITEMS = "items";
+    
+    public static final List<String> AVAILABLE_FIELDS = List.of(
+        "orderId", "customerId", ITEMS, "totalAmount", "currency", "status", "createdAt", "updatedAt"
+    );
+    
+    private final Set<String> fields;
+    
+    private OrderFieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+    
+    /**
+     * Parses the requested field names, keeping the canonical order of {@link #AVAILABLE_FIELDS}.
+     *
+     * @throws IllegalArgumentException if a field is unknown or nothing was requested
+     */
+    public static OrderFieldSelection parse(Collection<String> requested) {
+        Set<String> wanted = new LinkedHashSet<>();
+        for (String field : requested) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!AVAILABLE_FIELDS.contains(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "', available fields: " + AVAILABLE_FIELDS);
+            }
+            wanted.add(name);
+        }
+        if (wanted.isEmpty()) {
+            throw new IllegalArgumentException("At least one field must be requested");
+        }
+        
+        Set<String> ordered = new LinkedHashSet<>();
+        for (String field : AVAILABLE_FIELDS) {
+            if (wanted.contains(field)) {
+                ordered.add(field);
+            }
+        }
+        return new OrderFieldSelection(ordered);
+    }
+    
+    public boolean requiresItems() {
+        return fields.contains(ITEMS);
+    }
+    
+    public Map<String, Object> project(OrderResponse order) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String field : fields) {
+            result.put(field, switch (field) {
+                case "orderId" -> order.orderId();
+                case "customerId" -> order.customerId();
+                case ITEMS -> order.items();
+                case "totalAmount" -> order.totalAmount();
+                case "currency" -> order.currency();
+                case "status" -> order.status();
+                case "createdAt" -> order.createdAt();
+                case "updatedAt" -> order.updatedAt();
+                default -> throw new IllegalStateException("Unhandled field: " + field);
+            });
+        }
+        return result;
+    }
+    
+    public Map<String, Object> project(OrderSummaryResponse order) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String field : fields) {
+            result.put(field, switch (field) {
+                case "orderId" -> order.orderId();
+                case "customerId" -> order.customerId();
+                case "totalAmount" -> order.totalAmount();
+                case "currency" -> order.currency();
+                case "status" -> order.status();
+                case "createdAt" -> order.createdAt();
+                case "updatedAt" -> order.updatedAt();
+                default -> throw new IllegalStateException("Field not available in the summary view: " + field);
+            });
+        }
+        return result;
+    }
+}
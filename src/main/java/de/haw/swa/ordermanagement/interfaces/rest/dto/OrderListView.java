@@ -0,0 +1,21 @@
+package de.haw.swa.ordermanagement.interfaces.rest.dto;
+
+import java.util.Locale;
+
+/**
+ * Shape of the order listing selected with the {@code view} query parameter.
+ */
+public enum OrderListView {
+    /** Complete orders including their items. */
+    FULL,
+    /** IDs, status, totals and timestamps only; items are not loaded. */
+    SUMMARY;
+    
+    public static OrderListView parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown view '" + value + "', expected 'full' or 'summary'");
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package de.haw.swa.ordermanagement.interfaces.rest.dto;
 
+import de.haw.swa.ordermanagement.application.readmodel.OrderView;
 import de.haw.swa.ordermanagement.domain.model.order.Order;
 import de.haw.swa.ordermanagement.domain.model.order.OrderItem;
 import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
@@ -51,6 +52,21 @@ public record OrderResponse(
         );
     }
     
+    public static OrderResponse from(OrderView order) {
+        return new OrderResponse(
+            order.id().toString(),
+            order.customerId().toString(),
+            order.items().stream()
+                .map(OrderItemResponse::from)
+                .toList(),
+            order.totalAmount().getAmount(),
+            order.totalAmount().getCurrency().getCurrencyCode(),
+            order.status(),
+            order.createdAt(),
+            order.updatedAt()
+        );
+    }
+    
     @Schema(description = "Order item information")
     public record OrderItemResponse(
         @Schema(description = "ID of the product", example = "1")
@@ -78,5 +94,15 @@ public record OrderResponse(
                 item.getTotalPrice().getAmount()
             );
         }
+        
+        public static OrderItemResponse from(OrderView.Item item) {
+            return new OrderItemResponse(
+                item.productId().toString(),
+                item.productName(),
+                item.unitPrice().getAmount(),
+                item.quantity(),
+                item.totalPrice().getAmount()
+            );
+        }
     }
 }
\ No newline at end of file
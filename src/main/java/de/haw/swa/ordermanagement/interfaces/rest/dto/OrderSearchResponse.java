@@ -0,0 +1,45 @@
+package de.haw.swa.ordermanagement.interfaces.rest.dto;
+
+import de.haw.swa.ordermanagement.domain.model.order.OrderSearch;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+@Schema(description = "One page of orders matching a search")
+public record OrderSearchResponse(
+    @Schema(description = "Matching orders, newest first")
+    List<OrderSummaryResponse> orders,
+    
+    @Schema(description = "Pass as `cursor` to get the next page; missing on the last page", example = "MjAyNC0wMS0xNVQxMDozMDo0Mnw0Mg")
+    String nextCursor
+) {
+    
+    /**
+     * Opaque form of a cursor: its timestamp and order ID, Base64 encoded.
+     */
+    public static String encodeCursor(OrderSearch.Cursor cursor) {
+        String plain = cursor.timestamp() + "|" + cursor.orderId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * @throws IllegalArgumentException if the text is not a cursor returned by {@link #encodeCursor}
+     */
+    public static OrderSearch.Cursor decodeCursor(String encoded) {
+        try {
+            String plain = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int separator = plain.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + encoded);
+            }
+            return new OrderSearch.Cursor(LocalDateTime.parse(plain.substring(0, separator)),
+                Long.parseLong(plain.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + encoded, e);
+        }
+    }
+}
\ No newline at end of file
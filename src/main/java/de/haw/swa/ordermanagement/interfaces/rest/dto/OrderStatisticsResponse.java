@@ -0,0 +1,82 @@
+package de.haw.swa.ordermanagement.interfaces.rest.dto;
+
+import de.haw.swa.ordermanagement.application.readmodel.OrderStatistics;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+
+@Schema(description = "Order counts and amounts per status and per day")
+public record OrderStatisticsResponse(
+    @Schema(description = "Number and amount of the orders currently in each status")
+    Map<OrderStatus, StatusTotals> byStatus,
+    
+    @Schema(description = "Number of all orders", example = "42")
+    long totalOrders,
+    
+    @Schema(description = "Amount of all orders that are paid and neither cancelled nor returned", example = "12599.90")
+    BigDecimal revenue,
+    
+    @Schema(description = "Currency code", example = "EUR")
+    String currency,
+    
+    @Schema(description = "Number and amount of the orders that reached each status, per day")
+    List<DailyStatistics> daily
+) {
+    
+    private static final Set<OrderStatus> REVENUE_STATUSES = Set.of(OrderStatus.PAID, OrderStatus.SHIPPED, OrderStatus.DELIVERED);
+    
+    public static OrderStatisticsResponse from(Map<OrderStatus, OrderStatistics.Totals> byStatus,
+                                               SortedMap<LocalDate, Map<OrderStatus, OrderStatistics.Totals>> daily) {
+        long totalOrders = 0;
+        long revenueCents = 0;
+        for (Map.Entry<OrderStatus, OrderStatistics.Totals> entry : byStatus.entrySet()) {
+            totalOrders += entry.getValue().orders();
+            if (REVENUE_STATUSES.contains(entry.getKey())) {
+                revenueCents += entry.getValue().amountCents();
+            }
+        }
+        return new OrderStatisticsResponse(
+            StatusTotals.from(byStatus),
+            totalOrders,
+            BigDecimal.valueOf(revenueCents, 2),
+            "EUR",
+            daily.entrySet().stream()
+                .map(entry -> new DailyStatistics(entry.getKey(), StatusTotals.from(entry.getValue())))
+                .toList()
+        );
+    }
+    
+    @Schema(description = "Number and amount of orders")
+    public record StatusTotals(
+        @Schema(description = "Number of orders", example = "3")
+        long orders,
+        
+        @Schema(description = "Sum of the order totals", example = "2599.98")
+        BigDecimal amount
+    ) {
+        
+        static Map<OrderStatus, StatusTotals> from(Map<OrderStatus, OrderStatistics.Totals> totals) {
+            Map<OrderStatus, StatusTotals> response = new EnumMap<>(OrderStatus.class);
+            totals.forEach((status, total) ->
+                response.put(status, new StatusTotals(total.orders(), BigDecimal.valueOf(total.amountCents(), 2))));
+            return response;
+        }
+    }
+    
+    @Schema(description = "Orders that reached each status on one day")
+    public record DailyStatistics(
+        @Schema(description = "Day", example = "2024-01-15")
+        LocalDate date,
+        
+        @Schema(description = "Number and amount of the orders that reached each status on this day")
+        Map<OrderStatus, StatusTotals> entered
+    ) {
+    }
+}
\ No newline at end of file
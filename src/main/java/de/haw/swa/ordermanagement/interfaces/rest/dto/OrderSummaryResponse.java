@@ -0,0 +1,45 @@
+package de.haw.swa.ordermanagement.interfaces.rest.dto;
+
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.order.OrderSummary;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Schema(description = "Order information without items, returned by the summary view")
+public record OrderSummaryResponse(
+    @Schema(description = "Unique identifier of the order", example = "1")
+    String orderId,
+    
+    @Schema(description = "ID of the customer who placed the order", example = "1")
+    String customerId,
+    
+    @Schema(description = "Total amount of the order", example = "2599.98")
+    BigDecimal totalAmount,
+    
+    @Schema(description = "Currency code", example = "EUR")
+    String currency,
+    
+    @Schema(description = "Current status of the order", example = "PENDING")
+    OrderStatus status,
+    
+    @Schema(description = "Date and time when the order was created", example = "2024-01-15T10:30:00")
+    LocalDateTime createdAt,
+    
+    @Schema(description = "Date and time when the order was last updated", example = "2024-01-15T10:30:00")
+    LocalDateTime updatedAt
+) {
+    
+    public static OrderSummaryResponse from(OrderSummary summary) {
+        return new OrderSummaryResponse(
+            summary.id().toString(),
+            summary.customerId().toString(),
+            summary.totalAmount().getAmount(),
+            summary.currency(),
+            summary.status(),
+            summary.createdAt(),
+            summary.updatedAt()
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package de.haw.swa.ordermanagement.interfaces.rest.dto;
+
+import de.haw.swa.ordermanagement.application.readmodel.ProductFacetIndex;
+import de.haw.swa.ordermanagement.application.readmodel.ProductPage;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(description = "One page of filtered products with facet counts")
+public record ProductFilterResponse(
+    @Schema(description = "Products of the requested page, ordered by ID")
+    List<ProductResponse> products,
+    
+    @Schema(description = "Requested page, starting at 0", example = "0")
+    int page,
+    
+    @Schema(description = "Requested page size", example = "20")
+    int size,
+    
+    @Schema(description = "Number of matching products on all pages", example = "42")
+    long totalElements,
+    
+    @Schema(description = "Number of pages", example = "3")
+    int totalPages,
+    
+    @Schema(description = "Number of matches per price band and availability")
+    Facets facets
+) {
+    
+    public static ProductFilterResponse from(ProductPage result, int page, int size) {
+        return new ProductFilterResponse(
+            result.products().stream().map(ProductResponse::from).toList(),
+            page,
+            size,
+            result.total(),
+            size == 0 ? 0 : (result.total() + size - 1) / size,
+            Facets.from(result.facets())
+        );
+    }
+    
+    @Schema(description = "Facet counts; each facet ignores its own filter and applies all others")
+    public record Facets(
+        @Schema(description = "Matches per price band, ignoring minPrice and maxPrice")
+        List<PriceBand> priceBands,
+        
+        @Schema(description = "Matches in stock, ignoring the inStock filter", example = "37")
+        int inStock,
+        
+        @Schema(description = "Matches out of stock, ignoring the inStock filter", example = "5")
+        int outOfStock
+    ) {
+        
+        static Facets from(ProductFacetIndex.Facets facets) {
+            return new Facets(
+                facets.priceBands().stream()
+                    .map(band -> new PriceBand(BigDecimal.valueOf(band.fromCents(), 2),
+                        band.toCents() == null ? null : BigDecimal.valueOf(band.toCents(), 2), band.count()))
+                    .toList(),
+                facets.inStock(),
+                facets.outOfStock()
+            );
+        }
+    }
+    
+    @Schema(description = "Number of matches in one price band")
+    public record PriceBand(
+        @Schema(description = "Lowest price in the band", example = "100.00")
+        BigDecimal from,
+        
+        @Schema(description = "Price where the next band starts; missing for the highest band", example = "250.00")
+        BigDecimal to,
+        
+        @Schema(description = "Number of matches in the band", example = "12")
+        int count
+    ) {
+    }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package de.haw.swa.ordermanagement.interfaces.rest.dto;
 
+import de.haw.swa.ordermanagement.application.readmodel.ProductView;
 import de.haw.swa.ordermanagement.domain.model.product.Product;
 import io.swagger.v3.oas.annotations.media.Schema;
 
@@ -36,4 +37,15 @@ public record ProductResponse(
             product.getStockQuantity()
         );
     }
+    
+    public static ProductResponse from(ProductView product) {
+        return new ProductResponse(
+            product.id().toString(),
+            product.name(),
+            product.description(),
+            product.price().getAmount(),
+            product.price().getCurrency().getCurrencyCode(),
+            product.stockQuantity()
+        );
+    }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package de.haw.swa.ordermanagement.interfaces.rest.dto;
+
+import de.haw.swa.ordermanagement.infrastructure.replay.ReplayResult;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a replay of the event log into a read model")
+public record ReplayResponse(
+    @Schema(description = "Events applied", example = "1500000")
+    long events,
+    
+    @Schema(description = "Log position the replay started from, 0 for a rebuild", example = "0")
+    long startPosition,
+    
+    @Schema(description = "Log position after the last applied event", example = "98304000")
+    long endPosition,
+    
+    @Schema(description = "Duration of the replay in milliseconds", example = "2150")
+    long elapsedMillis,
+    
+    @Schema(description = "Events applied per second", example = "697674")
+    long eventsPerSecond
+) {
+    
+    public static ReplayResponse from(ReplayResult result) {
+        return new ReplayResponse(
+            result.events(),
+            result.startPosition(),
+            result.endPosition(),
+            result.elapsed().toMillis(),
+            Math.round(result.eventsPerSecond())
+        );
+    }
+}
\ No newline at end of file
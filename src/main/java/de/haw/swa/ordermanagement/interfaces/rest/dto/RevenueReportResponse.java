@@ -0,0 +1,121 @@
+package de.haw.swa.ordermanagement.interfaces.rest.dto;
+
+import de.haw.swa.ordermanagement.application.readmodel.RevenueAccumulator;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Schema(description = "Revenue and units sold per day, product and customer for the orders created in a date range")
+public record RevenueReportResponse(
+    @Schema(description = "First day of the report", example = "2024-01-01")
+    LocalDate from,
+    
+    @Schema(description = "Last day of the report (inclusive)", example = "2024-01-31")
+    LocalDate to,
+    
+    @Schema(description = "Number of paid orders that were neither cancelled nor returned", example = "42")
+    long orders,
+    
+    @Schema(description = "Units sold in these orders", example = "97")
+    long units,
+    
+    @Schema(description = "Amount of these orders", example = "12599.90")
+    BigDecimal revenue,
+    
+    @Schema(description = "Currency code", example = "EUR")
+    String currency,
+    
+    @Schema(description = "Totals per day with orders, in date order")
+    List<DailyRevenue> daily,
+    
+    @Schema(description = "Products with the highest revenue first, at most `limit`")
+    List<ProductRevenue> products,
+    
+    @Schema(description = "Number of different products sold", example = "5")
+    int productCount,
+    
+    @Schema(description = "Customers with the highest revenue first, at most `limit`")
+    List<CustomerRevenue> customers,
+    
+    @Schema(description = "Number of different customers with orders", example = "3")
+    int customerCount
+) {
+    
+    public static RevenueReportResponse from(RevenueAccumulator.RevenueReport report) {
+        return new RevenueReportResponse(
+            report.from(),
+            report.to(),
+            report.orders(),
+            report.units(),
+            euro(report.revenueCents()),
+            "EUR",
+            report.days().stream()
+                .map(day -> new DailyRevenue(day.day(), day.orders(), day.units(), euro(day.revenueCents())))
+                .toList(),
+            report.products().stream()
+                .map(product -> new ProductRevenue(Long.toString(product.productId()), product.orders(), product.units(),
+                    euro(product.revenueCents())))
+                .toList(),
+            report.productCount(),
+            report.customers().stream()
+                .map(customer -> new CustomerRevenue(Long.toString(customer.customerId()), customer.orders(),
+                    customer.units(), euro(customer.revenueCents())))
+                .toList(),
+            report.customerCount()
+        );
+    }
+    
+    private static BigDecimal euro(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+    
+    @Schema(description = "Orders created on one day")
+    public record DailyRevenue(
+        @Schema(description = "Day", example = "2024-01-15")
+        LocalDate date,
+        
+        @Schema(description = "Number of orders", example = "3")
+        long orders,
+        
+        @Schema(description = "Units sold", example = "7")
+        long units,
+        
+        @Schema(description = "Amount of the orders", example = "2599.98")
+        BigDecimal revenue
+    ) {
+    }
+    
+    @Schema(description = "Sales of one product")
+    public record ProductRevenue(
+        @Schema(description = "Unique identifier of the product", example = "1")
+        String productId,
+        
+        @Schema(description = "Number of orders containing the product", example = "3")
+        long orders,
+        
+        @Schema(description = "Units sold", example = "4")
+        long units,
+        
+        @Schema(description = "Amount of the sold units", example = "3999.96")
+        BigDecimal revenue
+    ) {
+    }
+    
+    @Schema(description = "Orders of one customer")
+    public record CustomerRevenue(
+        @Schema(description = "Unique identifier of the customer", example = "1")
+        String customerId,
+        
+        @Schema(description = "Number of orders", example = "2")
+        long orders,
+        
+        @Schema(description = "Units ordered", example = "5")
+        long units,
+        
+        @Schema(description = "Amount of the orders", example = "1299.99")
+        BigDecimal revenue
+    ) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package de.haw.swa.ordermanagement.interfaces.rest.dto;
+
+import de.haw.swa.ordermanagement.application.readmodel.ProductView;
+import de.haw.swa.ordermanagement.application.readmodel.TopSellers;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Units sold of a product within the recent window")
+public record TopProductResponse(
+    @Schema(description = "Unique identifier of the product", example = "1")
+    String productId,
+    
+    @Schema(description = "Name of the product; missing if the product was deleted", example = "Laptop")
+    String name,
+    
+    @Schema(description = "Estimated units sold in confirmed orders, never less than the actual number", example = "120")
+    long unitsSold,
+    
+    @Schema(description = "By how much unitsSold may overestimate the actual number", example = "0")
+    long maxError
+) {
+    
+    public static TopProductResponse from(TopSellers.Seller seller, ProductView product) {
+        return new TopProductResponse(
+            Long.toString(seller.productId()),
+            product == null ? null : product.name(),
+            seller.units(),
+            seller.maxError()
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,4 @@
+-- H2 has neither expression, partial nor trigram indexes: name searches scan the products table, and
+-- low-stock lookups use a plain index on the compared columns
+
+CREATE INDEX idx_products_low_stock ON products (low_stock_threshold, stock_quantity);
@@ -7,10 +7,10 @@ INSERT INTO customers (name, email, street, city, postal_code, country) VALUES
 ('Peter Müller', 'peter.mueller@example.com', 'Teststraße 3', 'München', '80331', 'Deutschland');
 
 -- Insert sample products (let JPA auto-generate IDs)
-INSERT INTO products (name, description, price, stock_quantity) VALUES
-('Laptop', 'Hochleistungs-Laptop für Entwickler', 1299.99, 10),
-('Smartphone', 'Neuestes Smartphone-Modell', 799.99, 25),
-('Tablet', 'Tablet für Multimedia und Produktivität', 399.99, 15),
-('Kopfhörer', 'Kabellose Bluetooth-Kopfhörer', 149.99, 50),
-('Monitor', '27-Zoll 4K Monitor', 299.99, 8);
+INSERT INTO products (name, description, price, stock_quantity, low_stock_threshold) VALUES
+('Laptop', 'Hochleistungs-Laptop für Entwickler', 1299.99, 10, 2),
+('Smartphone', 'Neuestes Smartphone-Modell', 799.99, 25, 5),
+('Tablet', 'Tablet für Multimedia und Produktivität', 399.99, 15, 5),
+('Kopfhörer', 'Kabellose Bluetooth-Kopfhörer', 149.99, 50, 10),
+('Monitor', '27-Zoll 4K Monitor', 299.99, 8, 2);
 
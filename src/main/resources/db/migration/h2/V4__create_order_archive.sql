@@ -0,0 +1,27 @@
+-- Archive of terminal orders, filled by the archival job; H2 has no table partitioning, so the orders
+-- table itself stays as it is
+
+CREATE SCHEMA archive;
+
+CREATE TABLE archive.orders (
+    id           BIGINT PRIMARY KEY,
+    customer_id  BIGINT NOT NULL,
+    status       VARCHAR(20) NOT NULL,
+    total_amount NUMERIC(10, 2) NOT NULL,
+    currency     VARCHAR(3) NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE archive.order_items (
+    id           BIGINT PRIMARY KEY,
+    order_id     BIGINT NOT NULL,
+    product_id   BIGINT NOT NULL,
+    product_name VARCHAR(255) NOT NULL,
+    unit_price   NUMERIC(10, 2) NOT NULL,
+    quantity     INTEGER NOT NULL,
+    total_price  NUMERIC(10, 2) NOT NULL
+);
+
+CREATE INDEX idx_archive_orders_customer ON archive.orders (customer_id);
+CREATE INDEX idx_archive_order_items_order ON archive.order_items (order_id);
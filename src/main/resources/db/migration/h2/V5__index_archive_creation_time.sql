@@ -0,0 +1,3 @@
+-- The order history export reads and deletes the archived orders one month of creation at a time
+
+CREATE INDEX idx_archive_orders_created ON archive.orders (created_at);
@@ -0,0 +1,3 @@
+-- The order view synchronization reads the orders changed since its previous run
+
+CREATE INDEX idx_orders_updated ON orders (updated_at);
@@ -0,0 +1,12 @@
+-- The order view synchronization reads the event-sourced orders changed since its previous run.
+-- Streams without events after their creation are marked as changed now, so the next run reads them once
+
+ALTER TABLE order_streams ADD COLUMN updated_at TIMESTAMP(6);
+
+UPDATE order_streams SET updated_at = COALESCE(
+    (SELECT MAX(e.occurred_on) FROM order_events e WHERE e.order_id = order_streams.id),
+    CURRENT_TIMESTAMP);
+
+ALTER TABLE order_streams ALTER COLUMN updated_at SET NOT NULL;
+
+CREATE INDEX idx_order_streams_updated ON order_streams (updated_at);
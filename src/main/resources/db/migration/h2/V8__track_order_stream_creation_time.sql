@@ -0,0 +1,13 @@
+-- Revenue reports find the ID range of the event-sourced orders created in a period without replaying them.
+-- Existing streams take the creation time from their initial snapshot, or their change time if it carries none
+
+ALTER TABLE order_streams ADD COLUMN created_at TIMESTAMP(6);
+
+UPDATE order_streams SET created_at = COALESCE(
+    (SELECT CAST(REGEXP_SUBSTR(s.payload, '"createdAt":"([^"]+)"', 1, 1, 'c', 1) AS TIMESTAMP(6))
+     FROM order_snapshots s WHERE s.order_id = order_streams.id AND s.sequence_number = 0),
+    updated_at);
+
+ALTER TABLE order_streams ALTER COLUMN created_at SET NOT NULL;
+
+CREATE INDEX idx_order_streams_created ON order_streams (created_at);
@@ -0,0 +1,106 @@
+-- Schema of all entities; Hibernate validates it against the mappings at startup
+
+CREATE TABLE customers (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    email       VARCHAR(255) NOT NULL,
+    street      VARCHAR(255) NOT NULL,
+    city        VARCHAR(255) NOT NULL,
+    postal_code VARCHAR(255) NOT NULL,
+    country     VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_customers_email UNIQUE (email)
+);
+
+CREATE TABLE products (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name                VARCHAR(255) NOT NULL,
+    description         VARCHAR(255),
+    price               NUMERIC(10, 2) NOT NULL,
+    stock_quantity      INTEGER NOT NULL,
+    low_stock_threshold INTEGER
+);
+
+CREATE TABLE orders (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    customer_id  BIGINT NOT NULL,
+    status       VARCHAR(20) NOT NULL,
+    total_amount NUMERIC(10, 2) NOT NULL,
+    currency     VARCHAR(3) NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6) NOT NULL,
+    CONSTRAINT ck_orders_status CHECK (status IN ('PENDING', 'CONFIRMED', 'PAID', 'SHIPPED', 'DELIVERED', 'CANCELLED', 'RETURNED'))
+);
+
+CREATE TABLE order_items (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id     BIGINT NOT NULL,
+    product_id   BIGINT NOT NULL,
+    product_name VARCHAR(255) NOT NULL,
+    unit_price   NUMERIC(10, 2) NOT NULL,
+    quantity     INTEGER NOT NULL,
+    total_price  NUMERIC(10, 2) NOT NULL,
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id),
+    CONSTRAINT ck_order_items_quantity CHECK (quantity > 0)
+);
+
+CREATE TABLE order_statistics (
+    bucket_date          DATE NOT NULL,
+    status               VARCHAR(20) NOT NULL,
+    entered_count        BIGINT NOT NULL,
+    entered_amount_cents BIGINT NOT NULL,
+    exited_count         BIGINT NOT NULL,
+    exited_amount_cents  BIGINT NOT NULL,
+    version              BIGINT,
+    PRIMARY KEY (bucket_date, status)
+);
+
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    request_hash    VARCHAR(64) NOT NULL,
+    status          VARCHAR(20) NOT NULL,
+    response_status INTEGER,
+    response_body   VARCHAR(1000000),
+    created_at      TIMESTAMP(6) NOT NULL,
+    completed_at    TIMESTAMP(6),
+    version         BIGINT
+);
+
+-- Event store of the 'event-sourced' profile
+
+CREATE TABLE order_streams (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    customer_id       BIGINT NOT NULL,
+    status            VARCHAR(20) NOT NULL,
+    last_sequence     BIGINT NOT NULL,
+    snapshot_sequence BIGINT NOT NULL,
+    revision          BIGINT
+);
+
+CREATE TABLE order_snapshots (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id        BIGINT NOT NULL,
+    sequence_number BIGINT NOT NULL,
+    payload         VARCHAR(1000000) NOT NULL,
+    CONSTRAINT uk_order_snapshots_sequence UNIQUE (order_id, sequence_number)
+);
+
+CREATE TABLE order_events (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id        BIGINT NOT NULL,
+    sequence_number BIGINT NOT NULL,
+    event_id        UUID NOT NULL,
+    event_type      VARCHAR(50) NOT NULL,
+    occurred_on     TIMESTAMP(6) NOT NULL,
+    payload         VARCHAR(4000) NOT NULL,
+    CONSTRAINT uk_order_events_sequence UNIQUE (order_id, sequence_number),
+    CONSTRAINT uk_order_events_event_id UNIQUE (event_id)
+);
+
+-- Indexes declared on the entities; the customer and status indexes also serve lookups by customer_id and status alone
+
+CREATE INDEX idx_orders_customer_created ON orders (customer_id, created_at, id);
+CREATE INDEX idx_orders_status_updated ON orders (status, updated_at, id);
+CREATE INDEX idx_order_items_order ON order_items (order_id);
+CREATE INDEX idx_order_streams_customer ON order_streams (customer_id);
+CREATE INDEX idx_order_streams_status ON order_streams (status);
+CREATE INDEX idx_idempotency_keys_created ON idempotency_keys (created_at);
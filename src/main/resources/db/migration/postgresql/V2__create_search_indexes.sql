@@ -0,0 +1,11 @@
+-- Indexes only PostgreSQL can build
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Name searches (findByNameContainingIgnoreCase) compare upper(name) with LIKE '%...%', which a B-tree
+-- cannot serve; a trigram index can
+CREATE INDEX idx_products_name_trgm ON products USING gin (upper(name) gin_trgm_ops);
+
+-- Only the few products that need restocking, for findLowOnStock; the predicate matches the query
+CREATE INDEX idx_products_low_stock ON products (id)
+    WHERE low_stock_threshold IS NOT NULL AND stock_quantity <= low_stock_threshold;
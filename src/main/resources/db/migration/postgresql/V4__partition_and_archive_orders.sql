@@ -0,0 +1,140 @@
+-- Orders are partitioned by the month of created_at, and terminal orders are moved to the archive schema
+-- by the archival job, so the hot table and its indexes only hold what is still being worked on
+
+-- The primary key of a partitioned table has to contain the partition key, so order_items can no longer
+-- reference orders by ID alone; items are written and archived together with their order
+ALTER TABLE order_items DROP CONSTRAINT fk_order_items_order;
+
+ALTER TABLE orders RENAME TO orders_unpartitioned;
+ALTER INDEX orders_pkey RENAME TO orders_unpartitioned_pkey;
+DROP INDEX idx_orders_customer_created;
+DROP INDEX idx_orders_status_updated;
+ALTER TABLE orders_unpartitioned ALTER COLUMN id DROP IDENTITY;
+
+-- The ID comes from a sequence owned by the column instead of an identity column; Hibernate only reads
+-- the generated ID back, so the mapping does not change
+CREATE SEQUENCE orders_id_seq;
+
+CREATE TABLE orders (
+    id           BIGINT NOT NULL DEFAULT nextval('orders_id_seq'),
+    customer_id  BIGINT NOT NULL,
+    status       VARCHAR(20) NOT NULL,
+    total_amount NUMERIC(10, 2) NOT NULL,
+    currency     VARCHAR(3) NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id, created_at),
+    CONSTRAINT ck_orders_status CHECK (status IN ('PENDING', 'CONFIRMED', 'PAID', 'SHIPPED', 'DELIVERED', 'CANCELLED', 'RETURNED'))
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE orders_id_seq OWNED BY orders.id;
+
+CREATE INDEX idx_orders_customer_created ON orders (customer_id, created_at, id);
+CREATE INDEX idx_orders_status_updated ON orders (status, updated_at, id);
+
+-- Partitions get their indexes under the names of the parent's indexes with the partition as suffix,
+-- e.g. idx_orders_customer_created_2024_01, so query plans stay readable
+CREATE FUNCTION create_order_partition_indexes(partition_name TEXT, suffix TEXT) RETURNS VOID
+LANGUAGE plpgsql AS $$
+BEGIN
+    EXECUTE format('CREATE INDEX %I ON %I (customer_id, created_at, id)', 'idx_orders_customer_created_' || suffix, partition_name);
+    EXECUTE format('CREATE INDEX %I ON %I (status, updated_at, id)', 'idx_orders_status_updated_' || suffix, partition_name);
+END;
+$$;
+
+-- Orders outside of all monthly partitions, e.g. imported with old timestamps
+CREATE TABLE orders_default (LIKE orders INCLUDING DEFAULTS INCLUDING CONSTRAINTS);
+SELECT create_order_partition_indexes('orders_default', 'default');
+ALTER TABLE orders ATTACH PARTITION orders_default DEFAULT;
+
+-- Creates the partition of the month containing the given day unless it exists; orders of that month
+-- that went to the default partition in the meantime are moved into it. Returns whether it was created.
+CREATE FUNCTION create_order_partition(for_day DATE) RETURNS BOOLEAN
+LANGUAGE plpgsql AS $$
+DECLARE
+    month_start DATE := date_trunc('month', for_day)::DATE;
+    month_end DATE := (date_trunc('month', for_day) + INTERVAL '1 month')::DATE;
+    suffix TEXT := to_char(month_start, 'YYYY_MM');
+    partition_name TEXT := 'orders_' || to_char(month_start, 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE orders INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    PERFORM create_order_partition_indexes(partition_name, suffix);
+    EXECUTE format('WITH moved AS (DELETE FROM orders_default WHERE created_at >= %L AND created_at < %L RETURNING *) '
+        || 'INSERT INTO %I SELECT * FROM moved', month_start, month_end, partition_name);
+    EXECUTE format('ALTER TABLE orders ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+        partition_name, month_start, month_end);
+    RETURN TRUE;
+END;
+$$;
+
+-- Drops the monthly partitions that ended before the given day and no longer hold any orders, because
+-- all of them were archived. Returns the number of dropped partitions.
+CREATE FUNCTION drop_empty_order_partitions(ended_before DATE) RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    candidate TEXT;
+    is_empty BOOLEAN;
+    dropped INTEGER := 0;
+BEGIN
+    FOR candidate IN
+        SELECT c.relname
+        FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'orders'::regclass
+          AND c.relname ~ '^orders_[0-9]{4}_[0-9]{2}$'
+          AND to_date(substring(c.relname FROM 8), 'YYYY_MM') + INTERVAL '1 month' <= ended_before
+    LOOP
+        EXECUTE format('LOCK TABLE %I IN ACCESS EXCLUSIVE MODE', candidate);
+        EXECUTE format('SELECT NOT EXISTS (SELECT 1 FROM %I)', candidate) INTO is_empty;
+        IF is_empty THEN
+            EXECUTE format('DROP TABLE %I', candidate);
+            dropped := dropped + 1;
+        END IF;
+    END LOOP;
+    RETURN dropped;
+END;
+$$;
+
+-- Partitions from the oldest order up to three months ahead; the application keeps creating them ahead
+SELECT create_order_partition(first_day::DATE)
+FROM generate_series(
+    date_trunc('month', COALESCE((SELECT MIN(created_at) FROM orders_unpartitioned), now())),
+    date_trunc('month', now()) + INTERVAL '3 months',
+    INTERVAL '1 month') AS first_day;
+
+INSERT INTO orders (id, customer_id, status, total_amount, currency, created_at, updated_at)
+SELECT id, customer_id, status, total_amount, currency, created_at, updated_at FROM orders_unpartitioned;
+
+SELECT setval('orders_id_seq', COALESCE((SELECT MAX(id) FROM orders), 0) + 1, false);
+
+DROP TABLE orders_unpartitioned;
+
+-- Archive of terminal orders: written once and only read by ID or customer, so the pages are packed
+-- full and only those two lookups are indexed
+
+CREATE SCHEMA archive;
+
+CREATE TABLE archive.orders (
+    id           BIGINT PRIMARY KEY,
+    customer_id  BIGINT NOT NULL,
+    status       VARCHAR(20) NOT NULL,
+    total_amount NUMERIC(10, 2) NOT NULL,
+    currency     VARCHAR(3) NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6) NOT NULL
+) WITH (fillfactor = 100);
+
+CREATE TABLE archive.order_items (
+    id           BIGINT PRIMARY KEY,
+    order_id     BIGINT NOT NULL,
+    product_id   BIGINT NOT NULL,
+    product_name VARCHAR(255) NOT NULL,
+    unit_price   NUMERIC(10, 2) NOT NULL,
+    quantity     INTEGER NOT NULL,
+    total_price  NUMERIC(10, 2) NOT NULL
+) WITH (fillfactor = 100);
+
+CREATE INDEX idx_archive_orders_customer ON archive.orders (customer_id);
+CREATE INDEX idx_archive_order_items_order ON archive.order_items (order_id);
@@ -0,0 +1,26 @@
+-- The order view synchronization reads the orders changed since its previous run
+
+CREATE OR REPLACE FUNCTION create_order_partition_indexes(partition_name TEXT, suffix TEXT) RETURNS VOID
+LANGUAGE plpgsql AS $$
+BEGIN
+    EXECUTE format('CREATE INDEX %I ON %I (customer_id, created_at, id)', 'idx_orders_customer_created_' || suffix, partition_name);
+    EXECUTE format('CREATE INDEX %I ON %I (status, updated_at, id)', 'idx_orders_status_updated_' || suffix, partition_name);
+    EXECUTE format('CREATE INDEX %I ON %I (updated_at)', 'idx_orders_updated_' || suffix, partition_name);
+END;
+$$;
+
+-- The existing partitions get the index under its partition name first; the index on the parent then
+-- attaches them instead of creating its own
+DO $$
+DECLARE
+    partition_name TEXT;
+BEGIN
+    FOR partition_name IN
+        SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = 'orders'::regclass
+    LOOP
+        EXECUTE format('CREATE INDEX %I ON %I (updated_at)', 'idx_orders_updated_' || substring(partition_name FROM 8), partition_name);
+    END LOOP;
+END;
+$$;
+
+CREATE INDEX idx_orders_updated ON orders (updated_at);
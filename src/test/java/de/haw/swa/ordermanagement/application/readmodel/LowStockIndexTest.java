@@ -0,0 +1,53 @@
+package de.haw.swa.ordermanagement.application.readmodel;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LowStockIndexTest {
+    
+    private LowStockIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        index = new LowStockIndex();
+        index.put(1L, 10, 2);
+        index.put(2L, 4, 5);
+        index.put(3L, 5, 5);
+        index.put(4L, 0, 10);
+        index.put(5L, 1, null);
+    }
+    
+    @Test
+    void shouldListProductsAtOrBelowThresholdLargestShortfallFirst() {
+        assertEquals(List.of(
+            new LowStockIndex.LowStock(4L, 0, 10),
+            new LowStockIndex.LowStock(2L, 4, 5),
+            new LowStockIndex.LowStock(3L, 5, 5)
+        ), index.lowStock(10));
+        assertEquals(List.of(new LowStockIndex.LowStock(4L, 0, 10)), index.lowStock(1));
+        assertEquals(3, index.lowStockCount());
+        assertEquals(4, index.size());
+    }
+    
+    @Test
+    void shouldFollowStockChanges() {
+        assertTrue(index.updateStock(4L, 11));
+        assertTrue(index.updateStock(1L, 2));
+        assertFalse(index.updateStock(5L, 0));
+        
+        assertEquals(List.of(2L, 1L, 3L), index.lowStock(10).stream().map(LowStockIndex.LowStock::productId).toList());
+    }
+    
+    @Test
+    void shouldDropProductsWithoutThresholdOrRemoved() {
+        index.put(2L, 4, null);
+        index.remove(4L);
+        
+        assertEquals(List.of(new LowStockIndex.LowStock(3L, 5, 5)), index.lowStock(10));
+        assertEquals(2, index.size());
+    }
+}
\ No newline at end of file
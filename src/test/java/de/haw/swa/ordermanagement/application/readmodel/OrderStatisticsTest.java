@@ -0,0 +1,102 @@
+package de.haw.swa.ordermanagement.application.readmodel;
+
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderStatisticsTest {
+    
+    private static final LocalDate DAY = LocalDate.of(2024, 1, 15);
+    
+    private OrderStatistics statistics;
+    
+    @BeforeEach
+    void setUp() {
+        statistics = new OrderStatistics();
+    }
+    
+    @Test
+    void shouldMoveOrdersBetweenStatuses() {
+        statistics.recordTransition(DAY, null, OrderStatus.PENDING, 10_00);
+        statistics.recordTransition(DAY, null, OrderStatus.PENDING, 25_00);
+        statistics.recordTransition(DAY, OrderStatus.PENDING, OrderStatus.CONFIRMED, 25_00);
+        
+        Map<OrderStatus, OrderStatistics.Totals> byStatus = statistics.byStatus();
+        assertEquals(new OrderStatistics.Totals(1, 10_00), byStatus.get(OrderStatus.PENDING));
+        assertEquals(new OrderStatistics.Totals(1, 25_00), byStatus.get(OrderStatus.CONFIRMED));
+        assertEquals(new OrderStatistics.Totals(0, 0), byStatus.get(OrderStatus.PAID));
+    }
+    
+    @Test
+    void shouldCountEnteredOrdersPerDay() {
+        statistics.recordTransition(DAY, null, OrderStatus.PENDING, 10_00);
+        statistics.recordTransition(DAY.plusDays(1), OrderStatus.PENDING, OrderStatus.CANCELLED, 10_00);
+        statistics.recordTransition(DAY.minusDays(5), null, OrderStatus.PENDING, 99_00);
+        
+        var daily = statistics.daily(DAY);
+        assertEquals(List.of(DAY, DAY.plusDays(1)), List.copyOf(daily.keySet()));
+        assertEquals(new OrderStatistics.Totals(1, 10_00), daily.get(DAY).get(OrderStatus.PENDING));
+        assertEquals(new OrderStatistics.Totals(1, 10_00), daily.get(DAY.plusDays(1)).get(OrderStatus.CANCELLED));
+        assertEquals(new OrderStatistics.Totals(0, 0), daily.get(DAY.plusDays(1)).get(OrderStatus.PENDING));
+    }
+    
+    @Test
+    void shouldKeepTotalsWhenDrainingPendingChanges() {
+        statistics.recordTransition(DAY, null, OrderStatus.PENDING, 10_00);
+        statistics.recordTransition(DAY, OrderStatus.PENDING, OrderStatus.CONFIRMED, 10_00);
+        Map<OrderStatus, OrderStatistics.Totals> before = statistics.byStatus();
+        
+        List<OrderStatistics.Bucket> deltas = statistics.drain();
+        
+        assertEquals(List.of(
+            new OrderStatistics.Bucket(DAY, OrderStatus.PENDING, 1, 10_00, 1, 10_00),
+            new OrderStatistics.Bucket(DAY, OrderStatus.CONFIRMED, 1, 10_00, 0, 0)), deltas);
+        assertEquals(before, statistics.byStatus());
+        assertTrue(statistics.drain().isEmpty());
+    }
+    
+    @Test
+    void shouldKeepTotalsWhenRestoringFailedFlush() {
+        statistics.recordTransition(DAY, null, OrderStatus.PENDING, 10_00);
+        List<OrderStatistics.Bucket> deltas = statistics.drain();
+        statistics.recordTransition(DAY, null, OrderStatus.PENDING, 5_00);
+        
+        statistics.restore(deltas);
+        
+        assertEquals(new OrderStatistics.Totals(2, 15_00), statistics.byStatus().get(OrderStatus.PENDING));
+        assertEquals(List.of(new OrderStatistics.Bucket(DAY, OrderStatus.PENDING, 2, 15_00, 0, 0)), statistics.drain());
+    }
+    
+    @Test
+    void shouldAddPendingChangesToPersistedBaseline() {
+        statistics.resetBaseline(List.of(
+            new OrderStatistics.Bucket(DAY, OrderStatus.PENDING, 5, 50_00, 2, 20_00),
+            new OrderStatistics.Bucket(DAY, OrderStatus.CONFIRMED, 2, 20_00, 0, 0)));
+        statistics.recordTransition(DAY, OrderStatus.PENDING, OrderStatus.CONFIRMED, 10_00);
+        
+        Map<OrderStatus, OrderStatistics.Totals> byStatus = statistics.byStatus();
+        assertEquals(new OrderStatistics.Totals(2, 20_00), byStatus.get(OrderStatus.PENDING));
+        assertEquals(new OrderStatistics.Totals(3, 30_00), byStatus.get(OrderStatus.CONFIRMED));
+        assertEquals(new OrderStatistics.Totals(3, 30_00), statistics.daily(DAY).get(DAY).get(OrderStatus.CONFIRMED));
+    }
+    
+    @Test
+    void shouldNotLoseConcurrentTransitions() {
+        IntStream.range(0, 10_000).parallel().forEach(i -> {
+            statistics.recordTransition(DAY, null, OrderStatus.PENDING, 1_00);
+            if (i % 100 == 0) {
+                statistics.drain();
+            }
+        });
+        statistics.drain();
+        
+        assertEquals(new OrderStatistics.Totals(10_000, 10_000_00), statistics.byStatus().get(OrderStatus.PENDING));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,99 @@
+package de.haw.swa.ordermanagement.application.readmodel;
+
+import de.haw.swa.ordermanagement.domain.model.order.Order;
+import de.haw.swa.ordermanagement.domain.model.order.OrderItem;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderViewStoreTest {
+    
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 1, 15, 10, 30);
+    
+    private OrderViewStore store;
+    
+    @BeforeEach
+    void setUp() {
+        store = new OrderViewStore();
+    }
+    
+    @Test
+    void shouldIndexOrdersByCustomerAndStatus() {
+        store.put(order(1L, 10L, OrderStatus.PENDING));
+        store.put(order(2L, 10L, OrderStatus.CONFIRMED));
+        store.put(order(3L, 20L, OrderStatus.PENDING));
+        
+        assertEquals(List.of(1L, 2L), ids(store.findByCustomerId(10L)));
+        assertEquals(List.of(1L, 3L), ids(store.findByStatus(OrderStatus.PENDING)));
+        assertEquals(List.of(1L, 2L, 3L), ids(store.findAll()));
+        assertTrue(store.findByCustomerId(99L).isEmpty());
+    }
+    
+    @Test
+    void shouldMoveOrderBetweenStatusIndexes() {
+        store.put(order(1L, 10L, OrderStatus.PENDING));
+        
+        assertTrue(store.changeStatus(1L, OrderStatus.CONFIRMED, CREATED.plusMinutes(1)));
+        
+        assertTrue(store.findByStatus(OrderStatus.PENDING).isEmpty());
+        assertEquals(List.of(1L), ids(store.findByStatus(OrderStatus.CONFIRMED)));
+        assertEquals(CREATED.plusMinutes(1), store.get(1L).orElseThrow().updatedAt());
+        assertFalse(store.changeStatus(2L, OrderStatus.CONFIRMED, CREATED));
+    }
+    
+    @Test
+    void shouldKeepNewerViewWhenOlderUpdateArrivesLate() {
+        store.put(order(1L, 10L, OrderStatus.PENDING));
+        store.changeStatus(1L, OrderStatus.SHIPPED, CREATED.plusMinutes(5));
+        
+        // E.g. a database load that started before the status change
+        store.put(OrderView.of(order(1L, 10L, OrderStatus.PAID)).withStatus(OrderStatus.PAID, CREATED.plusMinutes(3)));
+        
+        assertEquals(OrderStatus.SHIPPED, store.get(1L).orElseThrow().status());
+        assertTrue(store.findByStatus(OrderStatus.PAID).isEmpty());
+    }
+    
+    @Test
+    void shouldOrderChangesWithinSameMillisecondByLifecycle() {
+        store.put(order(1L, 10L, OrderStatus.PENDING));
+        store.changeStatus(1L, OrderStatus.SHIPPED, CREATED);
+        store.changeStatus(1L, OrderStatus.PAID, CREATED);
+        
+        assertEquals(OrderStatus.SHIPPED, store.get(1L).orElseThrow().status());
+    }
+    
+    @Test
+    void shouldTrackFootprintAndShareProductNames() {
+        store.put(order(1L, 10L, OrderStatus.PENDING));
+        store.put(order(2L, 20L, OrderStatus.PENDING));
+        
+        assertEquals(2, store.size());
+        assertEquals(4, store.itemCount());
+        assertTrue(store.estimatedBytes() > 0);
+        assertSame(store.get(1L).orElseThrow().items().get(0).productName(),
+            store.get(2L).orElseThrow().items().get(0).productName());
+        
+        store.remove(1L);
+        
+        assertEquals(1, store.size());
+        assertEquals(2, store.itemCount());
+        assertTrue(store.findByCustomerId(10L).isEmpty());
+    }
+    
+    private static Order order(Long id, Long customerId, OrderStatus status) {
+        List<OrderItem> items = List.of(
+            new OrderItem(1L, new String("Laptop"), Money.euro(1299.99), 1),
+            new OrderItem(4L, new String("Kopfhörer"), Money.euro(149.99), 2));
+        return Order.reconstitute(id, customerId, items, status, CREATED, CREATED);
+    }
+    
+    private static List<Long> ids(List<OrderView> views) {
+        return views.stream().map(OrderView::id).toList();
+    }
+}
\ No newline at end of file
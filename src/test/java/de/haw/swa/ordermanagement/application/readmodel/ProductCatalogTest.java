@@ -0,0 +1,212 @@
+package de.haw.swa.ordermanagement.application.readmodel;
+
+import de.haw.swa.ordermanagement.domain.model.product.Product;
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCatalogTest {
+    
+    private ProductCatalog catalog;
+    
+    @BeforeEach
+    void setUp() {
+        catalog = new ProductCatalog(16);
+    }
+    
+    @Test
+    void shouldReturnStoredProduct() {
+        catalog.put(1L, "Laptop", "Gaming-Laptop mit RTX", Money.euro(new BigDecimal("1299.99")), 10);
+        
+        ProductView view = catalog.get(1L).orElseThrow();
+        assertEquals(1L, view.id());
+        assertEquals("Laptop", view.name());
+        assertEquals("Gaming-Laptop mit RTX", view.description());
+        assertEquals(Money.euro(new BigDecimal("1299.99")), view.price());
+        assertEquals(10, view.stockQuantity());
+        assertTrue(catalog.get(2L).isEmpty());
+    }
+    
+    @Test
+    void shouldKeepMissingDescriptionAndNonAsciiNames() {
+        catalog.put(4L, "Kopfhörer", null, Money.euro(new BigDecimal("89.50")), 3);
+        
+        ProductView view = catalog.get(4L).orElseThrow();
+        assertEquals("Kopfhörer", view.name());
+        assertNull(view.description());
+    }
+    
+    @Test
+    void shouldOverwriteExistingProduct() {
+        catalog.put(1L, "Laptop", "Alt", Money.euro(new BigDecimal("999.00")), 10);
+        catalog.put(1L, "Laptop Pro", "Neu", Money.euro(new BigDecimal("1499.00")), 7);
+        
+        ProductView view = catalog.get(1L).orElseThrow();
+        assertEquals("Laptop Pro", view.name());
+        assertEquals("Neu", view.description());
+        assertEquals(Money.euro(new BigDecimal("1499.00")), view.price());
+        assertEquals(7, view.stockQuantity());
+        assertEquals(1, catalog.size());
+    }
+    
+    @Test
+    void shouldUpdateStockInPlace() {
+        catalog.put(1L, "Laptop", null, Money.euro(new BigDecimal("999.00")), 10);
+        
+        assertTrue(catalog.updateStock(1L, 8));
+        assertFalse(catalog.updateStock(2L, 5));
+        
+        assertEquals(8, catalog.get(1L).orElseThrow().stockQuantity());
+        assertTrue(catalog.get(2L).isEmpty());
+    }
+    
+    @Test
+    void shouldReuseSlotOfRemovedProduct() {
+        catalog.put(1L, "Laptop", null, Money.euro(new BigDecimal("999.00")), 10);
+        catalog.put(2L, "Smartphone", null, Money.euro(new BigDecimal("599.00")), 5);
+        
+        catalog.remove(1L);
+        catalog.put(3L, "Tablet", "10 Zoll", Money.euro(new BigDecimal("399.00")), 2);
+        
+        assertTrue(catalog.get(1L).isEmpty());
+        assertEquals("Smartphone", catalog.get(2L).orElseThrow().name());
+        assertEquals("Tablet", catalog.get(3L).orElseThrow().name());
+        assertEquals(2, catalog.size());
+    }
+    
+    @Test
+    void shouldReturnProductsInIdOrder() {
+        catalog.put(3L, "Tablet", null, Money.euro(new BigDecimal("399.00")), 2);
+        catalog.put(1L, "Laptop", null, Money.euro(new BigDecimal("999.00")), 10);
+        catalog.put(2L, "Smartphone", null, Money.euro(new BigDecimal("599.00")), 5);
+        
+        assertEquals(List.of(1L, 2L, 3L), catalog.findAll().stream().map(ProductView::id).toList());
+        assertEquals(List.of(3L, 1L), catalog.getAll(List.of(3L, 9L, 1L)).stream().map(ProductView::id).toList());
+    }
+    
+    @Test
+    void shouldGrowBeyondExpectedSize() {
+        for (long id = 1; id <= 1000; id++) {
+            catalog.put(id, "Produkt " + id, "Beschreibung " + id, Money.euroCents(id * 100), (int) id);
+        }
+        
+        assertEquals(1000, catalog.size());
+        for (long id = 1; id <= 1000; id++) {
+            ProductView view = catalog.get(id).orElseThrow();
+            assertEquals("Produkt " + id, view.name());
+            assertEquals("Beschreibung " + id, view.description());
+            assertEquals((int) id, view.stockQuantity());
+        }
+    }
+    
+    @Test
+    void shouldKeepStringsReadableAfterCompaction() {
+        catalog.put(1L, "Laptop", null, Money.euro(new BigDecimal("999.00")), 10);
+        for (int round = 0; round < 500; round++) {
+            catalog.put(2L, "Smartphone " + round, "Beschreibung " + round, Money.euro(new BigDecimal("599.00")), 5);
+        }
+        long reserved = catalog.offHeapBytes();
+        for (int round = 0; round < 500; round++) {
+            catalog.put(2L, "Smartphone " + round, "Beschreibung " + round, Money.euro(new BigDecimal("599.00")), 5);
+        }
+        
+        assertEquals("Laptop", catalog.get(1L).orElseThrow().name());
+        assertEquals("Smartphone 499", catalog.get(2L).orElseThrow().name());
+        assertEquals("Beschreibung 499", catalog.get(2L).orElseThrow().description());
+        assertEquals(reserved, catalog.offHeapBytes());
+    }
+    
+    @Test
+    void shouldReleaseStringsOfRemovedProducts() {
+        for (long id = 1; id <= 100; id++) {
+            catalog.put(id, "Produkt " + id, "Beschreibung ".repeat(10) + id, Money.euroCents(id * 100), 1);
+        }
+        long reserved = catalog.offHeapBytes();
+        for (long id = 2; id <= 100; id++) {
+            catalog.remove(id);
+        }
+        
+        assertTrue(catalog.offHeapBytes() < reserved);
+        assertEquals("Beschreibung ".repeat(10) + 1, catalog.get(1L).orElseThrow().description());
+    }
+    
+    @Test
+    void shouldReleaseStringsOfProductsNotWrittenDuringSync() {
+        for (long id = 1; id <= 100; id++) {
+            catalog.put(id, "Produkt " + id, "Beschreibung ".repeat(10) + id, Money.euroCents(id * 100), 1);
+        }
+        long reserved = catalog.offHeapBytes();
+        int generation = catalog.beginSync();
+        catalog.put(1L, "Produkt 1", "Beschreibung ".repeat(10) + 1, Money.euroCents(100), 1);
+        
+        assertEquals(99, catalog.removeNotSyncedSince(generation).size());
+        assertTrue(catalog.offHeapBytes() < reserved);
+        assertEquals("Produkt 1", catalog.get(1L).orElseThrow().name());
+    }
+    
+    @Test
+    void shouldRemoveProductsNotWrittenDuringSync() {
+        catalog.put(1L, "Laptop", null, Money.euro(new BigDecimal("999.00")), 10);
+        catalog.put(2L, "Smartphone", null, Money.euro(new BigDecimal("599.00")), 5);
+        catalog.put(3L, "Tablet", null, Money.euro(new BigDecimal("399.00")), 2);
+        
+        int generation = catalog.beginSync();
+        catalog.put(1L, "Laptop", null, Money.euro(new BigDecimal("999.00")), 10);
+        catalog.updateStock(3L, 1);
+        
+        assertEquals(List.of(2L), catalog.removeNotSyncedSince(generation));
+        assertTrue(catalog.get(2L).isEmpty());
+        assertEquals(List.of(1L, 3L), catalog.findAll().stream().map(ProductView::id).toList());
+    }
+    
+    @Test
+    void shouldNotLetEarlierReadOverwriteLaterStockChange() {
+        catalog.put(1L, "Laptop", null, Money.euro(new BigDecimal("999.00")), 10);
+        long changeMark = catalog.changeMark();
+        Product read = new Product(1L, "Laptop", null, Money.euro(new BigDecimal("999.00")), 10);
+        
+        catalog.updateStock(1L, 8);
+        
+        assertFalse(catalog.putIfUnchangedSince(read, changeMark));
+        assertEquals(8, catalog.get(1L).orElseThrow().stockQuantity());
+        assertTrue(catalog.putIfUnchangedSince(
+            new Product(1L, "Laptop", null, Money.euro(new BigDecimal("949.00")), 8), catalog.changeMark()));
+        assertEquals(Money.euro(new BigDecimal("949.00")), catalog.get(1L).orElseThrow().price());
+    }
+    
+    @Test
+    void shouldKeepProductChangedDuringSync() {
+        catalog.put(1L, "Laptop", null, Money.euro(new BigDecimal("999.00")), 10);
+        
+        int generation = catalog.beginSync();
+        long changeMark = catalog.changeMark();
+        catalog.updateStock(1L, 8);
+        catalog.putIfUnchangedSince(new Product(1L, "Laptop", null, Money.euro(new BigDecimal("999.00")), 10), changeMark);
+        
+        assertEquals(List.of(), catalog.removeNotSyncedSince(generation));
+        assertEquals(8, catalog.get(1L).orElseThrow().stockQuantity());
+    }
+    
+    @Test
+    void shouldNotBringBackProductRemovedDuringSync() {
+        catalog.put(1L, "Laptop", null, Money.euro(new BigDecimal("999.00")), 10);
+        Product read = new Product(1L, "Laptop", null, Money.euro(new BigDecimal("999.00")), 10);
+        
+        int generation = catalog.beginSync();
+        long changeMark = catalog.changeMark();
+        catalog.remove(1L);
+        
+        assertFalse(catalog.putIfUnchangedSince(read, changeMark));
+        assertTrue(catalog.get(1L).isEmpty());
+        catalog.removeNotSyncedSince(generation);
+        // The next synchronization starts after the removal and clears the tombstone
+        generation = catalog.beginSync();
+        catalog.removeNotSyncedSince(generation);
+        assertTrue(catalog.putIfUnchangedSince(read, catalog.changeMark()));
+    }
+}
\ No newline at end of file
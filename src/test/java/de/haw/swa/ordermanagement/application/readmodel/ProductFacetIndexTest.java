@@ -0,0 +1,123 @@
+package de.haw.swa.ordermanagement.application.readmodel;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductFacetIndexTest {
+    
+    private static final ProductFacetIndex.Filter ALL = new ProductFacetIndex.Filter(null, null, null, null, null);
+    
+    private ProductFacetIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        // Bands: below 100, 100 to below 500, 500 and above
+        index = new ProductFacetIndex(new long[] {10000, 50000}, new int[] {10, 50});
+        index.put(1L, "Laptop", 129999, 10);
+        index.put(2L, "Smartphone", 79999, 25);
+        index.put(3L, "Tablet", 39999, 15);
+        index.put(4L, "Kopfhörer", 14999, 50);
+        index.put(5L, "Monitor", 29999, 8);
+        index.put(6L, "Laptoptasche", 4999, 0);
+    }
+    
+    @Test
+    void shouldReturnAllProductsOrderedByIdWithFacetCounts() {
+        ProductFacetIndex.Result result = index.filter(ALL, 0, 10);
+        
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), result.productIds());
+        assertEquals(6, result.total());
+        assertEquals(List.of(1, 3, 2), bandCounts(result));
+        assertEquals(5, result.facets().inStock());
+        assertEquals(1, result.facets().outOfStock());
+    }
+    
+    @Test
+    void shouldFilterByPriceRangeAcrossAndWithinBands() {
+        // Whole middle band plus part of the highest one
+        ProductFacetIndex.Result result = index.filter(new ProductFacetIndex.Filter(10000L, 80000L, null, null, null), 0, 10);
+        
+        assertEquals(List.of(2L, 3L, 4L, 5L), result.productIds());
+        // Price counts ignore the price range itself
+        assertEquals(List.of(1, 3, 2), bandCounts(result));
+        assertEquals(4, result.facets().inStock());
+        assertEquals(0, result.facets().outOfStock());
+    }
+    
+    @Test
+    void shouldCombineAvailabilityStockAndName() {
+        assertEquals(List.of(6L), index.filter(new ProductFacetIndex.Filter(null, null, false, null, null), 0, 10).productIds());
+        assertEquals(List.of(2L, 3L, 4L), index.filter(new ProductFacetIndex.Filter(null, null, null, 15, null), 0, 10).productIds());
+        assertEquals(List.of(2L, 4L), index.filter(new ProductFacetIndex.Filter(null, null, null, 20, null), 0, 10).productIds());
+        assertEquals(List.of(4L), index.filter(new ProductFacetIndex.Filter(null, null, null, 50, null), 0, 10).productIds());
+        
+        ProductFacetIndex.Result laptops = index.filter(new ProductFacetIndex.Filter(null, null, true, null, "LAPTOP"), 0, 10);
+        assertEquals(List.of(1L), laptops.productIds());
+        assertEquals(1, laptops.facets().inStock());
+        assertEquals(1, laptops.facets().outOfStock());
+        assertEquals(List.of(0, 0, 1), bandCounts(laptops));
+    }
+    
+    @Test
+    void shouldPaginate() {
+        ProductFacetIndex.Result second = index.filter(ALL, 2, 2);
+        
+        assertEquals(List.of(3L, 4L), second.productIds());
+        assertEquals(6, second.total());
+        assertTrue(index.filter(ALL, 6, 2).productIds().isEmpty());
+    }
+    
+    @Test
+    void shouldPaginateProductsIndexedOutOfIdOrder() {
+        index = new ProductFacetIndex(new long[] {10000, 50000}, new int[] {10, 50});
+        // Reverse order, so every page has to pick the lowest IDs among all matches
+        for (long id = 100; id >= 1; id--) {
+            index.put(id, "Produkt " + id, id * 1000, (int) id % 3);
+        }
+        
+        assertEquals(List.of(1L, 2L, 3L), index.filter(ALL, 0, 3).productIds());
+        assertEquals(LongStream.rangeClosed(41, 60).boxed().toList(), index.filter(ALL, 40, 20).productIds());
+        assertEquals(List.of(99L, 100L), index.filter(ALL, 98, 10).productIds());
+        // In stock: every ID not divisible by three
+        assertEquals(List.of(50L, 52L, 53L), index.filter(new ProductFacetIndex.Filter(null, null, true, null, null), 33, 3).productIds());
+    }
+    
+    @Test
+    void shouldPaginateAfterRemovedOrdinalsAreReused() {
+        // Re-added between its neighbours, so the ordinals stay in ID order
+        index.remove(3L);
+        index.put(3L, "Tablet", 39999, 15);
+        assertEquals(List.of(3L, 4L, 5L), index.filter(ALL, 2, 3).productIds());
+        
+        // Takes the ordinal of product 5, before product 6
+        index.remove(5L);
+        index.put(9L, "Maus", 1999, 3);
+        assertEquals(List.of(3L, 4L, 6L), index.filter(ALL, 2, 3).productIds());
+        assertEquals(List.of(6L, 9L), index.filter(ALL, 4, 3).productIds());
+    }
+    
+    @Test
+    void shouldFollowUpdatesAndRemovals() {
+        assertTrue(index.updateStock(6L, 60));
+        index.put(1L, "Laptop", 89999, 10);
+        index.remove(2L);
+        index.put(7L, "Maus", 1999, 3);
+        
+        ProductFacetIndex.Result result = index.filter(ALL, 0, 10);
+        assertEquals(List.of(1L, 3L, 4L, 5L, 6L, 7L), result.productIds());
+        assertEquals(List.of(2, 3, 1), bandCounts(result));
+        assertEquals(6, result.facets().inStock());
+        assertEquals(List.of(4L, 6L), index.filter(new ProductFacetIndex.Filter(null, null, null, 50, null), 0, 10).productIds());
+        assertFalse(index.updateStock(2L, 1));
+        assertEquals(6, index.size());
+    }
+    
+    private static List<Integer> bandCounts(ProductFacetIndex.Result result) {
+        return result.facets().priceBands().stream().map(ProductFacetIndex.PriceBandCount::count).toList();
+    }
+}
\ No newline at end of file
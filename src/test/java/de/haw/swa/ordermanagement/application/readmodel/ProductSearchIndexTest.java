@@ -0,0 +1,108 @@
+package de.haw.swa.ordermanagement.application.readmodel;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+    
+    private ProductSearchIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.put(1L, "Laptop", "Hochleistungs-Laptop für Entwickler");
+        index.put(2L, "Smartphone", "Neuestes Smartphone-Modell");
+        index.put(3L, "Tablet", "Tablet für Multimedia und Produktivität");
+        index.put(4L, "Kopfhörer", "Kabellose Bluetooth-Kopfhörer");
+        index.put(5L, "Monitor", "27-Zoll 4K Monitor");
+    }
+    
+    @Test
+    void shouldFindSubstringsCaseInsensitively() {
+        assertEquals(List.of(1L), index.search("LAPTOP", 10));
+        assertEquals(List.of(2L), index.search("phone", 10));
+        assertEquals(List.of(4L), index.search("kopfhörer", 10));
+    }
+    
+    @Test
+    void shouldRequireEveryTermToMatch() {
+        assertEquals(List.of(3L), index.search("tablet multimedia", 10));
+        assertTrue(index.search("tablet bluetooth", 10).isEmpty());
+        assertTrue(index.search("nichtvorhanden", 10).isEmpty());
+    }
+    
+    @Test
+    void shouldSearchDescriptionsAndShortTerms() {
+        assertEquals(List.of(1L, 3L), index.search("für", 10));
+        assertEquals(List.of(5L), index.search("4k", 10));
+        assertEquals(List.of(5L), index.search("27-zoll", 10));
+    }
+    
+    @Test
+    void shouldFindTwoCharacterTermsThroughTheirBigram() {
+        index.put(6L, "TV-Halterung", "Wandhalterung für Fernseher");
+        index.put(7L, "Gaming PC", "Mit RTX-Grafik");
+        
+        assertEquals(List.of(6L), index.search("tv", 10));
+        assertEquals(List.of(7L), index.search("pc", 10));
+        assertEquals(List.of(4L), index.search("th", 10));
+        assertTrue(index.search("xq", 10).isEmpty());
+    }
+    
+    @Test
+    void shouldUseSingleCharactersOnlyToNarrowOtherTerms() {
+        assertEquals(List.of(5L), index.search("monitor k", 10));
+        assertTrue(index.search("monitor q", 10).isEmpty());
+        assertTrue(index.search("k", 10).isEmpty());
+        
+        assertFalse(ProductSearchIndex.isSearchable("k"));
+        assertFalse(ProductSearchIndex.isSearchable(" - "));
+        assertTrue(ProductSearchIndex.isSearchable("4k"));
+        assertTrue(ProductSearchIndex.isSearchable("k monitor"));
+    }
+    
+    @Test
+    void shouldRankNameMatchesBeforeDescriptionMatches() {
+        index.put(6L, "Laptoptasche", "Tasche für 15-Zoll Geräte");
+        index.put(7L, "Maus", "Passend zu jedem Laptop");
+        index.put(8L, "Gaming Laptop", "Mit RTX-Grafik");
+        
+        // Whole word in a shorter name, whole word, start of a word, description only
+        assertEquals(List.of(1L, 8L, 6L, 7L), index.search("laptop", 10));
+        assertEquals(List.of(1L, 8L), index.search("laptop", 2));
+    }
+    
+    @Test
+    void shouldReplaceIndexedTextOnUpdate() {
+        index.put(1L, "Notebook", "Leichtes Notebook");
+        
+        assertTrue(index.search("laptop", 10).isEmpty());
+        assertEquals(List.of(1L), index.search("notebook", 10));
+        assertEquals(5, index.size());
+    }
+    
+    @Test
+    void shouldForgetRemovedProductsAndReuseTheirOrdinals() {
+        index.remove(2L);
+        index.put(9L, "Smartwatch", "Fitness-Tracker");
+        
+        assertTrue(index.search("smartphone", 10).isEmpty());
+        assertEquals(List.of(9L), index.search("smart", 10));
+        assertEquals(5, index.size());
+    }
+    
+    @Test
+    void shouldFindProductsAmongManyEntries() {
+        for (long id = 100; id < 10_100; id++) {
+            index.put(id, "Artikel " + id, "Zubehör Serie " + (id % 10));
+        }
+        
+        assertEquals(List.of(4711L), index.search("artikel 4711", 10));
+        assertEquals(10, index.search("serie 7", 10).size());
+        assertTrue(index.gramCount() > 0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package de.haw.swa.ordermanagement.application.readmodel;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSuggesterTest {
+    
+    private ProductSuggester suggester;
+    
+    @BeforeEach
+    void setUp() {
+        suggester = new ProductSuggester(3);
+        suggester.put(1L, "Laptop", 10);
+        suggester.put(2L, "Laptoptasche", 40);
+        suggester.put(3L, "Gaming Laptop", 5);
+        suggester.put(4L, "Kabellose Kopfhörer", 50);
+        suggester.put(5L, "Lautsprecher", 20);
+    }
+    
+    @Test
+    void shouldSuggestByPrefixWithMostStockFirst() {
+        assertEquals(List.of(2L, 5L, 1L), suggester.suggest("la", 10));
+        assertEquals(List.of(2L, 1L, 3L), suggester.suggest("LAPTOP", 10));
+        assertEquals(List.of(2L), suggester.suggest("laptopt", 10));
+        assertEquals(List.of(2L, 5L), suggester.suggest("la", 2));
+    }
+    
+    @Test
+    void shouldSuggestByLaterWordsOfTheName() {
+        assertEquals(List.of(4L), suggester.suggest("kopf", 10));
+        assertEquals(List.of(4L), suggester.suggest("kab", 10));
+        assertEquals(List.of(3L), suggester.suggest("gaming lap", 10));
+    }
+    
+    @Test
+    void shouldReturnNothingForUnknownOrEmptyPrefixes() {
+        assertTrue(suggester.suggest("maus", 10).isEmpty());
+        assertTrue(suggester.suggest("laq", 10).isEmpty());
+        assertTrue(suggester.suggest("laptoptaschen", 10).isEmpty());
+        assertTrue(suggester.suggest("  ", 10).isEmpty());
+    }
+    
+    @Test
+    void shouldReorderWhenStockChanges() {
+        assertTrue(suggester.updateWeight(3L, 100));
+        
+        assertEquals(List.of(3L, 2L, 5L), suggester.suggest("la", 10));
+        assertEquals(List.of(3L), suggester.suggest("gam", 10));
+        assertFalse(suggester.updateWeight(99L, 1));
+    }
+    
+    @Test
+    void shouldFollowRenamesAndRemovals() {
+        suggester.put(2L, "Notebooktasche", 40);
+        suggester.remove(5L);
+        
+        assertEquals(List.of(1L, 3L), suggester.suggest("la", 10));
+        assertEquals(List.of(2L), suggester.suggest("note", 10));
+        assertTrue(suggester.suggest("laut", 10).isEmpty());
+        assertEquals(4, suggester.size());
+    }
+    
+    @Test
+    void shouldKeepSuggestionsAfterEdgesAreSplitAndMerged() {
+        suggester.put(6L, "Lap", 1);
+        assertEquals(List.of(2L, 1L, 3L), suggester.suggest("lap", 10));
+        
+        suggester.remove(1L);
+        suggester.remove(2L);
+        suggester.remove(6L);
+        
+        assertEquals(List.of(3L), suggester.suggest("lapt", 10));
+        assertEquals(List.of(5L, 3L), suggester.suggest("la", 10));
+    }
+}
\ No newline at end of file
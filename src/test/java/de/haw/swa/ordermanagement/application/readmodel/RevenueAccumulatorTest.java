@@ -0,0 +1,94 @@
+package de.haw.swa.ordermanagement.application.readmodel;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevenueAccumulatorTest {
+    
+    private static final LocalDate MONDAY = LocalDate.of(2024, 1, 15);
+    private static final LocalDate TUESDAY = MONDAY.plusDays(1);
+    
+    @Test
+    void shouldSumLinesPerDayProductAndCustomer() {
+        RevenueAccumulator totals = new RevenueAccumulator();
+        totals.add(1L, 10L, MONDAY, 100L, 2, 2000);
+        totals.add(1L, 10L, MONDAY, 101L, 1, 500);
+        totals.add(1L, 10L, MONDAY, 100L, 1, 1000);
+        totals.add(2L, 11L, MONDAY, 101L, 3, 1500);
+        totals.add(3L, 10L, TUESDAY, 100L, 1, 1000);
+        
+        RevenueAccumulator.RevenueReport report = totals.report(MONDAY, TUESDAY, 10);
+        
+        assertEquals(3, report.orders());
+        assertEquals(8, report.units());
+        assertEquals(6000, report.revenueCents());
+        assertEquals(List.of(
+            new RevenueAccumulator.DayRevenue(MONDAY, 2, 7, 5000),
+            new RevenueAccumulator.DayRevenue(TUESDAY, 1, 1, 1000)
+        ), report.days());
+        assertEquals(List.of(
+            new RevenueAccumulator.ProductRevenue(100L, 2, 4, 4000),
+            new RevenueAccumulator.ProductRevenue(101L, 2, 4, 2000)
+        ), report.products());
+        assertEquals(List.of(
+            new RevenueAccumulator.CustomerRevenue(10L, 2, 5, 4500),
+            new RevenueAccumulator.CustomerRevenue(11L, 1, 3, 1500)
+        ), report.customers());
+    }
+    
+    @Test
+    void shouldRankAtMostTheRequestedNumberOfProductsAndCustomers() {
+        RevenueAccumulator totals = new RevenueAccumulator();
+        totals.add(1L, 10L, MONDAY, 100L, 1, 100);
+        totals.add(2L, 11L, MONDAY, 101L, 1, 300);
+        totals.add(3L, 12L, MONDAY, 102L, 1, 200);
+        
+        RevenueAccumulator.RevenueReport report = totals.report(MONDAY, MONDAY, 2);
+        
+        assertEquals(List.of(101L, 102L), report.products().stream().map(RevenueAccumulator.ProductRevenue::productId).toList());
+        assertEquals(List.of(11L, 12L), report.customers().stream().map(RevenueAccumulator.CustomerRevenue::customerId).toList());
+        assertEquals(3, report.productCount());
+        assertEquals(3, report.customerCount());
+    }
+    
+    @Test
+    void shouldMergePartitionsToTheSameTotalsAsASingleScan() {
+        Random random = new Random(42);
+        RevenueAccumulator single = new RevenueAccumulator();
+        RevenueAccumulator[] partitions = {new RevenueAccumulator(), new RevenueAccumulator(), new RevenueAccumulator()};
+        for (long orderId = 1; orderId <= 3000; orderId++) {
+            long customerId = random.nextInt(500);
+            LocalDate day = MONDAY.plusDays(random.nextInt(40));
+            RevenueAccumulator partition = partitions[(int) (orderId * 3 / 3001)];
+            int lines = 1 + random.nextInt(4);
+            for (int line = 0; line < lines; line++) {
+                long productId = random.nextInt(2000);
+                int quantity = 1 + random.nextInt(5);
+                long cents = quantity * (100L + random.nextInt(10000));
+                single.add(orderId, customerId, day, productId, quantity, cents);
+                partition.add(orderId, customerId, day, productId, quantity, cents);
+            }
+        }
+        
+        RevenueAccumulator merged = partitions[0].merge(partitions[1]).merge(partitions[2]);
+        
+        assertEquals(single.report(MONDAY, MONDAY.plusDays(39), Integer.MAX_VALUE),
+            merged.report(MONDAY, MONDAY.plusDays(39), Integer.MAX_VALUE));
+        assertEquals(3000, merged.orders());
+    }
+    
+    @Test
+    void shouldReportNothingWithoutLines() {
+        RevenueAccumulator.RevenueReport report = new RevenueAccumulator().report(MONDAY, TUESDAY, 10);
+        
+        assertEquals(0, report.orders());
+        assertEquals(0, report.revenueCents());
+        assertTrue(report.days().isEmpty());
+        assertTrue(report.products().isEmpty());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package de.haw.swa.ordermanagement.application.readmodel;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopSellersTest {
+    
+    private static final long MINUTE = 60_000;
+    private static final long HOUR = 60 * MINUTE;
+    
+    @Test
+    void shouldRankProductsByUnitsSold() {
+        TopSellers topSellers = new TopSellers(HOUR, 12, 100, 0);
+        topSellers.record(1L, 2, 0);
+        topSellers.record(2L, 5, MINUTE);
+        topSellers.record(3L, 1, 2 * MINUTE);
+        topSellers.record(1L, 4, 10 * MINUTE);
+        
+        assertEquals(List.of(new TopSellers.Seller(1L, 6, 0), new TopSellers.Seller(2L, 5, 0)),
+            topSellers.top(2, 11 * MINUTE));
+        assertEquals(3, topSellers.top(10, 11 * MINUTE).size());
+    }
+    
+    @Test
+    void shouldForgetSalesThatLeftTheWindow() {
+        TopSellers topSellers = new TopSellers(HOUR, 12, 100, 0);
+        topSellers.record(1L, 10, 0);
+        topSellers.record(2L, 1, 30 * MINUTE);
+        
+        assertEquals(1L, topSellers.top(1, 59 * MINUTE).get(0).productId());
+        // The slot of the first sale is out of the window, even before it is reused
+        assertEquals(List.of(new TopSellers.Seller(2L, 1, 0)), topSellers.top(10, 61 * MINUTE));
+        
+        topSellers.record(3L, 2, 62 * MINUTE);
+        // Late sale for a slot that has been reused since
+        topSellers.record(1L, 1, MINUTE);
+        assertEquals(List.of(new TopSellers.Seller(3L, 2, 0), new TopSellers.Seller(2L, 1, 0)),
+            topSellers.top(10, 62 * MINUTE));
+    }
+    
+    @Test
+    void shouldKeepHeavyHittersWhenCountersRunOut() {
+        TopSellers topSellers = new TopSellers(HOUR, 1, 3, 0);
+        for (long productId = 10; productId < 110; productId++) {
+            topSellers.record(productId, 1, 0);
+            if (productId % 4 == 0) {
+                topSellers.record(1L, 3, 0);
+                topSellers.record(2L, 2, 0);
+            }
+        }
+        
+        List<TopSellers.Seller> top = topSellers.top(2, 0);
+        assertEquals(List.of(1L, 2L), top.stream().map(TopSellers.Seller::productId).toList());
+        // Estimates never undercount, and the overestimate is bounded by the reported error
+        assertTrue(top.get(0).units() >= 75 && top.get(0).units() - top.get(0).maxError() <= 75);
+        assertTrue(top.get(1).units() >= 50 && top.get(1).units() - top.get(1).maxError() <= 50);
+    }
+    
+    @Test
+    void shouldNeverUndercountProductsEvictedFromOtherSlots() {
+        TopSellers topSellers = new TopSellers(3 * MINUTE, 3, 2, 0);
+        // First slot: product 2 is evicted by product 3, which inherits its count of 3
+        topSellers.record(1L, 5, 0);
+        topSellers.record(2L, 3, 0);
+        topSellers.record(3L, 1, 0);
+        // Second slot: full, with a lowest count of 2
+        topSellers.record(2L, 6, MINUTE);
+        topSellers.record(4L, 2, MINUTE);
+        // Third slot: not full, so products it does not track sold nothing there
+        topSellers.record(1L, 1, 2 * MINUTE);
+        
+        List<TopSellers.Seller> top = topSellers.top(10, 2 * MINUTE);
+        assertEquals(List.of(
+            new TopSellers.Seller(2L, 10, 4),
+            new TopSellers.Seller(1L, 8, 2),
+            new TopSellers.Seller(3L, 6, 5),
+            new TopSellers.Seller(4L, 6, 4)), top);
+        long[] actual = {0, 6, 9, 1, 2};
+        for (TopSellers.Seller seller : top) {
+            assertTrue(seller.units() >= actual[(int) seller.productId()]);
+            assertTrue(seller.units() - seller.maxError() <= actual[(int) seller.productId()]);
+        }
+    }
+    
+    @Test
+    void shouldServeCachedRankingUntilItIsStale() {
+        TopSellers topSellers = new TopSellers(HOUR, 12, 100, 1000);
+        topSellers.record(1L, 1, 0);
+        assertEquals(1, topSellers.top(10, 0).size());
+        
+        topSellers.record(2L, 5, 100);
+        assertEquals(1, topSellers.top(10, 500).size());
+        assertEquals(2L, topSellers.top(10, 1000).get(0).productId());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package de.haw.swa.ordermanagement.application.service;
+
+import de.haw.swa.ordermanagement.application.readmodel.CustomerOrderHistory;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderCancelled;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderConfirmed;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderCreated;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderPaid;
+import de.haw.swa.ordermanagement.domain.model.product.events.ProductStockChanged;
+import de.haw.swa.ordermanagement.infrastructure.eventlog.EventCodec;
+import de.haw.swa.ordermanagement.infrastructure.eventlog.EventLog;
+import de.haw.swa.ordermanagement.infrastructure.replay.ReplayCheckpointStore;
+import de.haw.swa.ordermanagement.infrastructure.replay.ReplayEngine;
+import de.haw.swa.ordermanagement.infrastructure.replay.ReplayResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerOrderHistoryServiceTest {
+    
+    private static final int ORDERS = 300;
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 15, 10, 30);
+    
+    @TempDir
+    Path directory;
+    
+    private EventLog eventLog;
+    private ReplayEngine engine;
+    private CustomerOrderHistoryService service;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        EventCodec codec = new EventCodec()
+            .register(1, OrderCreated.class)
+            .register(2, OrderConfirmed.class)
+            .register(3, OrderPaid.class)
+            .register(7, OrderCancelled.class)
+            .register(9, ProductStockChanged.class);
+        eventLog = EventLog.open(directory.resolve("log"), 64 * 1024, EventLog.FsyncMode.NEVER, Duration.ofMillis(10), codec);
+        engine = new ReplayEngine(eventLog, new ReplayCheckpointStore(directory.resolve("checkpoints")), 4, 64, 200);
+        service = new CustomerOrderHistoryService();
+        
+        // Order n belongs to customer n % 10; every second order is paid, every third of the others cancelled
+        for (long id = 1; id <= ORDERS; id++) {
+            eventLog.append(OrderCreated.create(id, id % 10, id * 100, NOW.plusMinutes(id)));
+            eventLog.append(ProductStockChanged.create(id, 9));
+        }
+        for (long id = 1; id <= ORDERS; id++) {
+            if (id % 2 == 0) {
+                eventLog.append(OrderConfirmed.create(id, NOW.plusHours(6)));
+                eventLog.append(OrderPaid.create(id, NOW.plusHours(7)));
+            } else if (id % 3 == 0) {
+                eventLog.append(OrderCancelled.create(id, OrderStatus.PENDING, NOW.plusHours(6)));
+            }
+        }
+    }
+    
+    @AfterEach
+    void tearDown() {
+        engine.close();
+        eventLog.close();
+    }
+    
+    @Test
+    void shouldRebuildHistoryFromEventLog() {
+        ReplayResult result = engine.rebuild("customer-order-history", List.of(service.replayProjection()));
+        
+        assertEquals(eventLog.endPosition(), result.endPosition());
+        List<CustomerOrderHistory.Entry> orders = service.ordersOf(4L);
+        assertEquals(ORDERS / 10, orders.size());
+        for (CustomerOrderHistory.Entry order : orders) {
+            long id = order.orderId();
+            assertEquals(4L, id % 10);
+            assertEquals(id * 100, order.totalAmountCents());
+            assertEquals(NOW.plusMinutes(id), order.createdAt());
+            assertEquals(OrderStatus.PAID, order.status());
+            assertEquals(NOW.plusHours(7), order.updatedAt());
+        }
+        // Orders 1, 11 and 21
+        assertEquals(List.of(OrderStatus.PENDING, OrderStatus.PENDING, OrderStatus.CANCELLED),
+            service.ordersOf(1L).subList(0, 3).stream().map(CustomerOrderHistory.Entry::status).toList());
+    }
+    
+    @Test
+    void shouldKeepNewerStateWhenEventsArriveAgain() {
+        engine.rebuild("customer-order-history", List.of(service.replayProjection()));
+        
+        // The live handler delivers an event the replay already applied
+        service.apply(OrderConfirmed.create(4L, NOW.plusHours(6)));
+        service.apply(OrderCreated.create(4L, 4L, 400L, NOW.plusMinutes(4)));
+        
+        CustomerOrderHistory.Entry order = service.ordersOf(4L).get(0);
+        assertEquals(4L, order.orderId());
+        assertEquals(OrderStatus.PAID, order.status());
+        assertEquals(NOW.plusHours(7), order.updatedAt());
+    }
+}
\ No newline at end of file
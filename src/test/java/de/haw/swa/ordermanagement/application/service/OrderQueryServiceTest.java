@@ -0,0 +1,68 @@
+package de.haw.swa.ordermanagement.application.service;
+
+import de.haw.swa.ordermanagement.domain.model.order.Order;
+import de.haw.swa.ordermanagement.domain.model.order.OrderItem;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.order.OrderSummary;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainClock;
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+import de.haw.swa.ordermanagement.domain.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderQueryServiceTest {
+    
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 12, 0);
+    
+    @Mock
+    private OrderRepository orderRepository;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    private OrderQueryService orderQueryService;
+    
+    @BeforeEach
+    void setUp() {
+        DomainClock.set(Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+        orderQueryService = new OrderQueryService(orderRepository, transactionManager, new SimpleMeterRegistry(),
+            true, Duration.ofMinutes(2), Duration.ofMinutes(1), 500);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        DomainClock.reset();
+    }
+    
+    @Test
+    void shouldOnlyReadOrdersChangedSinceThePreviousSynchronization() {
+        Order order = new Order(1L, 1L, List.of(new OrderItem(1L, "Laptop", Money.euro(999.99), 1)));
+        when(orderRepository.findAllSummaries()).thenReturn(List.of(OrderSummary.of(order)));
+        when(orderRepository.findAllWithItemsByIdIn(List.of(1L))).thenReturn(List.of(order));
+        orderQueryService.synchronize();
+        
+        order.confirm();
+        when(orderRepository.findSummariesUpdatedSince(NOW.minusMinutes(1))).thenReturn(List.of(OrderSummary.of(order)));
+        orderQueryService.synchronize();
+        
+        assertEquals(OrderStatus.CONFIRMED, orderQueryService.findById(1L).orElseThrow().status());
+        verify(orderRepository, times(1)).findAllSummaries();
+        verify(orderRepository, times(2)).findAllWithItemsByIdIn(List.of(1L));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package de.haw.swa.ordermanagement.config;
+
+import de.haw.swa.ordermanagement.domain.model.shared.DomainClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClockConfigTest {
+    
+    @AfterEach
+    void tearDown() {
+        DomainClock.reset();
+    }
+    
+    @Test
+    void shouldLeaveClockOfAnotherContextInstalled() {
+        ClockConfig first = new ClockConfig();
+        ClockConfig second = new ClockConfig();
+        first.clock("cached");
+        Clock secondClock = second.clock("system");
+        
+        first.destroy();
+        
+        assertSame(secondClock, DomainClock.get());
+        second.destroy();
+        assertNotSame(secondClock, DomainClock.get());
+    }
+}
\ No newline at end of file
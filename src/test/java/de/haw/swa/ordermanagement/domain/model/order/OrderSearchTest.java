@@ -0,0 +1,58 @@
+package de.haw.swa.ordermanagement.domain.model.order;
+
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderSearchTest {
+    
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 1, 15, 12, 0);
+    
+    private final List<OrderSummary> orders = List.of(
+        summary(1L, 10L, OrderStatus.PENDING, 5000, NOON, NOON.plusHours(5)),
+        summary(2L, 10L, OrderStatus.PAID, 15000, NOON.plusHours(1), NOON.plusHours(2)),
+        summary(3L, 11L, OrderStatus.PAID, 25000, NOON.plusHours(1), NOON.plusHours(3)),
+        summary(4L, 10L, OrderStatus.PAID, 35000, NOON.plusHours(2), NOON.plusHours(2))
+    );
+    
+    @Test
+    void shouldCombineAllCriteria() {
+        OrderSearch search = new OrderSearch(10L, OrderStatus.PAID, NOON, NOON.plusHours(2), null, null,
+            Money.euroCents(10000), OrderSearch.SortBy.CREATED, null);
+        
+        assertEquals(List.of(2L), ids(search.select(orders, 10)));
+    }
+    
+    @Test
+    void shouldOrderNewestFirstByChosenTimestampThenId() {
+        OrderSearch byCreation = new OrderSearch(null, null, null, null, null, null, null, OrderSearch.SortBy.CREATED, null);
+        OrderSearch byUpdate = new OrderSearch(null, null, null, null, null, null, null, OrderSearch.SortBy.UPDATED, null);
+        
+        assertEquals(List.of(4L, 3L, 2L, 1L), ids(byCreation.select(orders, 10)));
+        assertEquals(List.of(1L, 3L, 4L, 2L), ids(byUpdate.select(orders, 10)));
+    }
+    
+    @Test
+    void shouldContinueAfterCursorWithoutGapsOrRepeats() {
+        OrderSearch firstPage = new OrderSearch(null, null, null, null, null, null, null, OrderSearch.SortBy.CREATED, null);
+        List<OrderSummary> first = firstPage.select(orders, 2);
+        OrderSearch nextPage = new OrderSearch(null, null, null, null, null, null, null, OrderSearch.SortBy.CREATED,
+            firstPage.cursorAfter(first.get(1)));
+        
+        assertEquals(List.of(4L, 3L), ids(first));
+        assertEquals(List.of(2L, 1L), ids(nextPage.select(orders, 2)));
+    }
+    
+    private static List<Long> ids(List<OrderSummary> summaries) {
+        return summaries.stream().map(OrderSummary::id).toList();
+    }
+    
+    private static OrderSummary summary(Long id, Long customerId, OrderStatus status, long totalCents,
+                                        LocalDateTime createdAt, LocalDateTime updatedAt) {
+        return new OrderSummary(id, customerId, status, Money.euroCents(totalCents), "EUR", createdAt, updatedAt);
+    }
+}
\ No newline at end of file
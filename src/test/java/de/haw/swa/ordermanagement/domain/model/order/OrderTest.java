@@ -1,14 +1,18 @@
 package de.haw.swa.ordermanagement.domain.model.order;
 
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderCancelled;
 import de.haw.swa.ordermanagement.domain.model.order.events.OrderConfirmed;
 import de.haw.swa.ordermanagement.domain.model.order.events.OrderCreated;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderDelivered;
 import de.haw.swa.ordermanagement.domain.model.order.events.OrderPaid;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderReturned;
 import de.haw.swa.ordermanagement.domain.model.order.events.OrderShipped;
 import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
 import de.haw.swa.ordermanagement.domain.model.shared.Money;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -246,4 +250,71 @@ class OrderTest {
         OrderShipped event = (OrderShipped) events.get(0);
         assertEquals(orderId, event.orderId());
     }
+    
+    @Test
+    void shouldRegisterOrderDeliveredAndReturnedEvents() {
+        Order order = new Order(orderId, customerId, orderItems);
+        order.confirm();
+        order.markAsPaid();
+        order.ship();
+        order.clearEvents();
+        
+        order.deliver();
+        order.returnOrder();
+        
+        List<DomainEvent> events = order.getDomainEvents();
+        assertEquals(2, events.size());
+        assertTrue(events.get(0) instanceof OrderDelivered);
+        assertTrue(events.get(1) instanceof OrderReturned);
+    }
+    
+    @Test
+    void shouldRegisterOrderCancelledEventWithPreviousStatus() {
+        Order order = new Order(orderId, customerId, orderItems);
+        order.confirm();
+        order.clearEvents();
+        
+        order.cancel();
+        
+        List<DomainEvent> events = order.getDomainEvents();
+        assertEquals(1, events.size());
+        OrderCancelled event = (OrderCancelled) events.get(0);
+        assertEquals(orderId, event.orderId());
+        assertEquals(OrderStatus.CONFIRMED, event.previousStatus());
+    }
+    
+    @Test
+    void shouldRebuildOrderByReplayingEvents() {
+        Order original = new Order(orderId, customerId, orderItems);
+        Order rebuilt = Order.reconstitute(orderId, customerId, List.of(
+                new OrderItem(1L, "Test Product 1", Money.euro(10.00), 2),
+                new OrderItem(2L, "Test Product 2", Money.euro(15.00), 1)),
+            OrderStatus.PENDING, original.getCreatedAt(), original.getUpdatedAt());
+        original.clearEvents();
+        
+        original.confirm();
+        original.markAsPaid();
+        original.ship();
+        original.getDomainEvents().forEach(rebuilt::replay);
+        
+        assertEquals(OrderStatus.SHIPPED, rebuilt.getStatus());
+        assertEquals(original.getUpdatedAt(), rebuilt.getUpdatedAt());
+        assertEquals(Money.euro(35.00), rebuilt.getTotalAmount());
+        assertTrue(rebuilt.getDomainEvents().isEmpty());
+    }
+    
+    @Test
+    void shouldRejectChangesToArchivedOrder() {
+        LocalDateTime delivered = LocalDateTime.of(2024, 3, 1, 12, 0);
+        Order order = Order.reconstituteArchived(orderId, customerId, List.of(
+                new OrderItem(1L, "Test Product 1", Money.euro(10.00), 2)),
+            OrderStatus.DELIVERED, delivered.minusDays(3), delivered);
+        
+        assertTrue(order.isArchived());
+        assertThrows(IllegalStateException.class, order::returnOrder);
+        assertThrows(IllegalStateException.class, order::cancel);
+        assertEquals(OrderStatus.DELIVERED, order.getStatus());
+        assertEquals(delivered, order.getUpdatedAt());
+        assertTrue(order.getDomainEvents().isEmpty());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package de.haw.swa.ordermanagement.domain.model.product;
+
+import de.haw.swa.ordermanagement.domain.model.product.events.ProductStockChanged;
+import de.haw.swa.ordermanagement.domain.model.product.events.ProductStockLow;
+import de.haw.swa.ordermanagement.domain.model.product.events.ProductStockReplenished;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductTest {
+    
+    @Test
+    void shouldRaiseLowStockEventOnceWhenCrossingThreshold() {
+        Product product = new Product("Monitor", "27-Zoll 4K Monitor", Money.euro(299.99), 8, 5);
+        
+        product.reduceStock(2);
+        assertEquals(List.of(ProductStockChanged.class), eventTypes(product));
+        product.clearEvents();
+        
+        product.reduceStock(1);
+        assertEquals(List.of(ProductStockChanged.class, ProductStockLow.class), eventTypes(product));
+        ProductStockLow low = (ProductStockLow) product.getDomainEvents().get(1);
+        assertEquals(5, low.stockQuantity());
+        assertEquals(5, low.lowStockThreshold());
+        assertTrue(product.isLowOnStock());
+        product.clearEvents();
+        
+        product.reduceStock(3);
+        assertEquals(List.of(ProductStockChanged.class), eventTypes(product));
+    }
+    
+    @Test
+    void shouldRaiseReplenishedEventWhenRisingAboveThreshold() {
+        Product product = new Product("Monitor", "27-Zoll 4K Monitor", Money.euro(299.99), 3, 5);
+        
+        product.increaseStock(2);
+        assertEquals(List.of(ProductStockChanged.class), eventTypes(product));
+        product.clearEvents();
+        
+        product.increaseStock(1);
+        assertEquals(List.of(ProductStockChanged.class, ProductStockReplenished.class), eventTypes(product));
+        assertFalse(product.isLowOnStock());
+    }
+    
+    @Test
+    void shouldNotRaiseLowStockEventsWithoutThreshold() {
+        Product product = new Product("Monitor", "27-Zoll 4K Monitor", Money.euro(299.99), 3);
+        
+        product.reduceStock(3);
+        
+        assertEquals(List.of(ProductStockChanged.class), eventTypes(product));
+        assertFalse(product.isLowOnStock());
+    }
+    
+    @Test
+    void shouldRejectNegativeThreshold() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new Product("Monitor", "27-Zoll 4K Monitor", Money.euro(299.99), 3, -1));
+    }
+    
+    private static List<Class<?>> eventTypes(Product product) {
+        return product.getDomainEvents().stream().<Class<?>>map(DomainEvent::getClass).toList();
+    }
+}
\ No newline at end of file
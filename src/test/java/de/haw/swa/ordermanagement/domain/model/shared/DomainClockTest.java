@@ -0,0 +1,62 @@
+package de.haw.swa.ordermanagement.domain.model.shared;
+
+import de.haw.swa.ordermanagement.domain.model.order.Order;
+import de.haw.swa.ordermanagement.domain.model.order.OrderItem;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderConfirmed;
+import de.haw.swa.ordermanagement.infrastructure.time.MutableClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DomainClockTest {
+    
+    private MutableClock clock;
+    
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-15T10:30:00.123Z"), ZoneOffset.UTC);
+        DomainClock.set(clock);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        DomainClock.reset();
+    }
+    
+    @Test
+    void shouldReturnTimeOfInstalledClock() {
+        assertEquals(LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_000_000), DomainClock.now());
+    }
+    
+    @Test
+    void shouldReuseTimestampWithinSameMillisecond() {
+        LocalDateTime first = DomainClock.now();
+        
+        assertSame(first, DomainClock.now());
+        
+        clock.advance(Duration.ofMillis(1));
+        assertEquals(first.plusNanos(1_000_000), DomainClock.now());
+    }
+    
+    @Test
+    void shouldStampOrdersAndEventsWithDomainTime() {
+        Order order = new Order(1L, 1L, List.of(new OrderItem(1L, "Laptop", Money.euro(1299.99), 1)));
+        order.clearEvents();
+        
+        clock.advance(Duration.ofMinutes(5));
+        order.confirm();
+        
+        assertEquals(LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_000_000), order.getCreatedAt());
+        assertEquals(LocalDateTime.of(2024, 1, 15, 10, 35, 0, 123_000_000), order.getUpdatedAt());
+        OrderConfirmed event = (OrderConfirmed) order.getDomainEvents().get(0);
+        assertEquals(order.getUpdatedAt(), event.occurredOn());
+    }
+}
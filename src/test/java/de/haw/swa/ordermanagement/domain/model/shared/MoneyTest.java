@@ -115,4 +115,20 @@ class MoneyTest {
         
         assertEquals("10.50 EUR", result);
     }
+    
+    @Test
+    void shouldExposeAmountInCents() {
+        Money money = Money.euro(new BigDecimal("1299.99"));
+        
+        assertEquals(129_999L, money.getCents());
+        assertEquals(money, Money.euroCents(129_999L));
+    }
+    
+    @Test
+    void shouldThrowExceptionOnOverflow() {
+        Money money = Money.euroCents(Long.MAX_VALUE / 2 + 1);
+        
+        assertThrows(ArithmeticException.class, () -> money.multiply(2));
+        assertThrows(ArithmeticException.class, () -> money.add(money));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package de.haw.swa.ordermanagement.domain.model.shared;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+    
+    @Test
+    void shouldGenerateVersion7Uuid() {
+        UUID uuid = UuidV7.generate();
+        
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+    
+    @Test
+    void shouldEncodeCurrentTime() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7.generate();
+        long after = System.currentTimeMillis();
+        
+        long timestamp = UuidV7.timestamp(uuid);
+        assertTrue(timestamp >= before && timestamp <= after + 1);
+    }
+    
+    @Test
+    void shouldBeStrictlyIncreasingWithinThread() {
+        UUID previous = UuidV7.generate();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = UuidV7.generate();
+            assertTrue(next.compareTo(previous) > 0, () -> next + " is not after " + previous);
+            previous = next;
+        }
+    }
+    
+    @Test
+    void shouldStayMonotonicWhenClockMovesBackwardsOrCounterOverflows() {
+        UuidV7.State state = new UuidV7.State();
+        Set<UUID> seen = new HashSet<>();
+        
+        UUID previous = state.next(1_000);
+        for (int i = 0; i < 10_000; i++) {
+            UUID next = state.next(999);
+            assertTrue(next.compareTo(previous) > 0);
+            assertTrue(seen.add(next));
+            previous = next;
+        }
+        assertTrue(UuidV7.timestamp(previous) > 1_000);
+    }
+    
+    @Test
+    void shouldRejectOtherVersions() {
+        assertThrows(IllegalArgumentException.class, () -> UuidV7.timestamp(UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,67 @@
+package de.haw.swa.ordermanagement.infrastructure.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORParser;
+import com.fasterxml.jackson.core.JsonToken;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.interfaces.rest.dto.OrderResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryWireFormatTest {
+    
+    private final ObjectMapper mapper = BinaryWireFormat.cborMapper();
+    
+    @Test
+    void shouldRoundTripOrderResponse() throws Exception {
+        OrderResponse order = sampleOrder();
+        
+        byte[] encoded = mapper.writeValueAsBytes(order);
+        OrderResponse decoded = mapper.readValue(encoded, OrderResponse.class);
+        
+        assertEquals(order, decoded);
+    }
+    
+    @Test
+    void shouldEncodeTimestampsAsEpochMillis() throws Exception {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 1, 15, 10, 30);
+        
+        byte[] encoded = mapper.writeValueAsBytes(timestamp);
+        
+        try (CBORParser parser = new CBORFactory().createParser(encoded)) {
+            assertEquals(JsonToken.VALUE_NUMBER_INT, parser.nextToken());
+            assertEquals(1705314600000L, parser.getLongValue());
+        }
+    }
+    
+    @Test
+    void shouldEncodeAmountsAsExactDecimals() throws Exception {
+        byte[] encoded = mapper.writeValueAsBytes(new BigDecimal("2599.98"));
+        
+        try (CBORParser parser = new CBORFactory().createParser(encoded)) {
+            assertEquals(JsonToken.VALUE_NUMBER_FLOAT, parser.nextToken());
+            assertEquals(new BigDecimal("2599.98"), parser.getDecimalValue());
+        }
+    }
+    
+    private OrderResponse sampleOrder() {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_000_000);
+        return new OrderResponse(
+            "1",
+            "1",
+            List.of(new OrderResponse.OrderItemResponse(
+                "1", "Gaming Laptop", new BigDecimal("1299.99"), 2, new BigDecimal("2599.98"))),
+            new BigDecimal("2599.98"),
+            "EUR",
+            OrderStatus.PENDING,
+            timestamp,
+            timestamp
+        );
+    }
+}
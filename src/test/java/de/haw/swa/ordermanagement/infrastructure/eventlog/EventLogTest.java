@@ -0,0 +1,220 @@
+package de.haw.swa.ordermanagement.infrastructure.eventlog;
+
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderCancelled;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderCreated;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderPaid;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventLogTest {
+    
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 15, 10, 30, 12, 345_678_901);
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void shouldReadBackAppendedEvents() throws IOException {
+        List<DomainEvent> events = List.of(
+            OrderCreated.create(1L, 42L, 129_999L, NOW),
+            OrderPaid.create(1L, NOW),
+            OrderCancelled.create(1L, OrderStatus.CONFIRMED, NOW),
+            OrderCreated.create(2L, null, NOW));
+        
+        try (EventLog eventLog = open(64 * 1024, EventLog.FsyncMode.NEVER)) {
+            events.forEach(eventLog::append);
+            
+            assertEquals(events, eventsOf(eventLog.reader(0).poll(100)));
+        }
+    }
+    
+    @Test
+    void shouldTailNewEvents() throws IOException {
+        try (EventLog eventLog = open(64 * 1024, EventLog.FsyncMode.NEVER)) {
+            EventLogReader reader = eventLog.reader(0);
+            assertTrue(reader.poll(10).isEmpty());
+            
+            long position = eventLog.append(OrderPaid.create(1L, NOW));
+            List<LoggedEvent> polled = reader.poll(10);
+            
+            assertEquals(1, polled.size());
+            assertEquals(position, polled.get(0).position());
+            assertEquals(eventLog.endPosition(), reader.position());
+            assertTrue(reader.poll(10).isEmpty());
+        }
+    }
+    
+    @Test
+    void shouldRollSegmentsAndReadAcrossThem() throws IOException {
+        List<DomainEvent> events = new ArrayList<>();
+        try (EventLog eventLog = open(1024, EventLog.FsyncMode.INTERVAL)) {
+            for (long i = 1; i <= 200; i++) {
+                DomainEvent event = OrderCreated.create(i, i % 7, NOW);
+                events.add(event);
+                eventLog.append(event);
+            }
+            
+            EventLogReader reader = eventLog.reader(0);
+            List<LoggedEvent> read = new ArrayList<>();
+            for (List<LoggedEvent> batch = reader.poll(30); !batch.isEmpty(); batch = reader.poll(30)) {
+                read.addAll(batch);
+            }
+            
+            assertEquals(events, eventsOf(read));
+        }
+        assertTrue(segmentFiles().size() > 1);
+    }
+    
+    @Test
+    void shouldContinueAfterReopening() throws IOException {
+        long end;
+        try (EventLog eventLog = open(1024, EventLog.FsyncMode.ALWAYS)) {
+            for (long i = 1; i <= 50; i++) {
+                eventLog.append(OrderPaid.create(i, NOW));
+            }
+            end = eventLog.endPosition();
+        }
+        
+        try (EventLog eventLog = open(1024, EventLog.FsyncMode.ALWAYS)) {
+            assertEquals(end, eventLog.endPosition());
+            assertEquals(end, eventLog.append(OrderPaid.create(51L, NOW)));
+            
+            List<LoggedEvent> read = eventLog.reader(0).poll(100);
+            assertEquals(51, read.size());
+            assertEquals(51L, ((OrderPaid) read.get(50).event()).orderId());
+        }
+    }
+    
+    @Test
+    void shouldDiscardTornRecordOnRecovery() throws IOException {
+        long end;
+        try (EventLog eventLog = open(64 * 1024, EventLog.FsyncMode.NEVER)) {
+            eventLog.append(OrderPaid.create(1L, NOW));
+            end = eventLog.endPosition();
+        }
+        // Simulate a crash in the middle of the next append: length written, payload incomplete
+        try (FileChannel channel = FileChannel.open(segmentFiles().get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(12).putInt(40).putInt(12345).putInt(7).flip(), end);
+        }
+        
+        try (EventLog eventLog = open(64 * 1024, EventLog.FsyncMode.NEVER)) {
+            assertEquals(end, eventLog.endPosition());
+            eventLog.append(OrderPaid.create(2L, NOW));
+            
+            assertEquals(2, eventLog.reader(0).poll(10).size());
+        }
+    }
+    
+    @Test
+    void shouldZeroOnlyTornRecordsOnRecovery() throws IOException {
+        long end;
+        try (EventLog eventLog = open(64 * 1024, EventLog.FsyncMode.NEVER)) {
+            eventLog.append(OrderPaid.create(1L, NOW));
+            end = eventLog.endPosition();
+        }
+        // A torn record, a later record that reached the disk before it, then unwritten space up to a marker
+        try (FileChannel channel = FileChannel.open(segmentFiles().get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(12).putInt(40).putInt(12345).putInt(7).flip(), end);
+            channel.write(ByteBuffer.allocate(24).putInt(16).putInt(6789).putLong(-1).putLong(-1).flip(), end + 48);
+            channel.write(ByteBuffer.allocate(4).putInt(-1).flip(), 32 * 1024);
+        }
+        
+        try (EventLog eventLog = open(64 * 1024, EventLog.FsyncMode.NEVER)) {
+            assertEquals(end, eventLog.endPosition());
+        }
+        
+        ByteBuffer contents = ByteBuffer.wrap(Files.readAllBytes(segmentFiles().get(0)));
+        for (int at = (int) end; at < end + 72; at++) {
+            assertEquals(0, contents.get(at), "Byte " + at);
+        }
+        assertEquals(-1, contents.getInt(32 * 1024));
+    }
+    
+    @Test
+    void shouldGroupCommitConcurrentAppends() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (EventLog eventLog = open(4096, EventLog.FsyncMode.ALWAYS)) {
+            List<Future<Long>> positions = new ArrayList<>();
+            for (long i = 1; i <= 400; i++) {
+                long orderId = i;
+                positions.add(executor.submit(() -> eventLog.append(OrderPaid.create(orderId, NOW))));
+            }
+            for (Future<Long> position : positions) {
+                position.get();
+            }
+            
+            assertEquals(400, eventLog.reader(0).poll(1000).size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    @Test
+    void shouldRejectUnregisteredEventTypes() throws IOException {
+        try (EventLog eventLog = EventLog.open(directory, 1024, EventLog.FsyncMode.NEVER, Duration.ofMillis(10),
+                new EventCodec().register(1, OrderPaid.class))) {
+            assertThrows(IllegalArgumentException.class, () -> eventLog.append(OrderCreated.create(1L, 42L, NOW)));
+        }
+    }
+    
+    @Test
+    void shouldDecodeRecordsWrittenBeforeComponentsWereAppended() {
+        OrderPaid paid = OrderPaid.create(1L, NOW);
+        byte[] encoded = new EventCodec().register(3, OrderPaid.class).encode(paid);
+        
+        DomainEvent decoded = new EventCodec().register(3, PaidWithAttempts.class)
+            .decode(ByteBuffer.wrap(encoded), 0, encoded.length);
+        
+        assertEquals(new PaidWithAttempts(paid.eventId(), NOW, 1L, null, 0), decoded);
+    }
+    
+    private EventLog open(int segmentSize, EventLog.FsyncMode fsyncMode) throws IOException {
+        EventCodec codec = new EventCodec()
+            .register(1, OrderCreated.class)
+            .register(3, OrderPaid.class)
+            .register(7, OrderCancelled.class);
+        return EventLog.open(directory, segmentSize, fsyncMode, Duration.ofMillis(5), codec);
+    }
+    
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+    
+    private static List<DomainEvent> eventsOf(List<LoggedEvent> logged) {
+        return logged.stream().map(LoggedEvent::event).toList();
+    }
+    
+    /**
+     * {@link OrderPaid} with components appended in a later version.
+     */
+    record PaidWithAttempts(UUID eventId, LocalDateTime occurredOn, Long orderId, String provider, int attempts)
+            implements DomainEvent {
+        
+        @Override
+        public Long aggregateId() {
+            return orderId;
+        }
+    }
+}
\ No newline at end of file
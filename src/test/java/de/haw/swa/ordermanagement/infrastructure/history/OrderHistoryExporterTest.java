@@ -0,0 +1,203 @@
+package de.haw.swa.ordermanagement.infrastructure.history;
+
+import de.haw.swa.ordermanagement.application.readmodel.RevenueAccumulator;
+import de.haw.swa.ordermanagement.application.service.OrderArchiveService;
+import de.haw.swa.ordermanagement.application.service.RevenueReportService;
+import de.haw.swa.ordermanagement.domain.model.order.OrderItemLine;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exports archived orders of 2001 from the H2 database into a history of its own per test. Other tests
+ * create no orders that old, and the orders of each test are deleted afterwards, so the oldest month
+ * the exporter finds is one of the test.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class OrderHistoryExporterTest {
+    
+    private static final YearMonth JANUARY = YearMonth.of(2001, 1);
+    private static final YearMonth FEBRUARY = YearMonth.of(2001, 2);
+    private static final YearMonth MARCH = YearMonth.of(2001, 3);
+    private static final LocalDateTime TEST_ORDERS_END = LocalDateTime.of(2002, 1, 1, 0, 0);
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+    
+    @TempDir
+    Path directory;
+    
+    private OrderHistoryStore store;
+    private OrderHistoryExporter exporter;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        store = OrderHistoryStore.open(directory);
+        exporter = new OrderHistoryExporter(jdbcTemplate, transactionManager, new SimpleMeterRegistry(), store,
+            Duration.ofDays(365));
+    }
+    
+    @AfterEach
+    void deleteTestOrders() {
+        for (String schema : List.of("", "archive.")) {
+            jdbcTemplate.update("DELETE FROM " + schema + "order_items WHERE order_id IN (SELECT id FROM " + schema
+                + "orders WHERE created_at < ?)", TEST_ORDERS_END);
+            jdbcTemplate.update("DELETE FROM " + schema + "orders WHERE created_at < ?", TEST_ORDERS_END);
+        }
+    }
+    
+    @Test
+    void shouldReportSameRevenueBeforeAndAfterExport() {
+        for (int day = 1; day <= 28; day += 3) {
+            insertOrder(JANUARY.atDay(day).atTime(10, day), OrderStatus.DELIVERED, 1L + day % 3, 1L + day % 4, "19.99", 1 + day % 2);
+            insertOrder(FEBRUARY.atDay(day).atTime(11, day), OrderStatus.DELIVERED, 1L + day % 2, 1L + day % 5, "5.49", 2);
+            insertOrder(FEBRUARY.atDay(day).atTime(12, day), OrderStatus.CANCELLED, 1L, 1L, "99.00", 1);
+            insertOrder(MARCH.atDay(day).atTime(9, day), OrderStatus.DELIVERED, 2L, 1L + day % 3, "7.00", 3);
+        }
+        // Keeps March and later in the database
+        insertOrder(MARCH.atDay(30).atTime(8, 0), OrderStatus.PAID, 3L, 2L, "12.50", 1);
+        orderArchiveService.archiveUpdatedBefore(TEST_ORDERS_END);
+        RevenueReportService reports = new RevenueReportService(orderRepository, Optional.of(store), transactionManager,
+            new SimpleMeterRegistry(), 2, 4);
+        List<LocalDate[]> ranges = List.of(
+            new LocalDate[] {LocalDate.of(2001, 1, 10), LocalDate.of(2001, 3, 20)},
+            new LocalDate[] {LocalDate.of(2001, 1, 1), LocalDate.of(2001, 12, 31)},
+            new LocalDate[] {LocalDate.of(2001, 2, 1), LocalDate.of(2001, 2, 28)},
+            new LocalDate[] {LocalDate.of(2001, 2, 28), LocalDate.of(2001, 3, 1)});
+        try {
+            List<RevenueAccumulator.RevenueReport> before = ranges.stream()
+                .map(range -> reports.report(range[0], range[1], 10))
+                .toList();
+            
+            int exported = exporter.exportMonthsBefore(LocalDate.of(2001, 12, 31));
+            
+            assertEquals(30, exported);
+            assertEquals(Optional.of(LocalDate.of(2001, 3, 1)), store.coveredUntil());
+            assertEquals(0, countArchived(JANUARY) + countArchived(FEBRUARY));
+            assertEquals(10, countArchived(MARCH));
+            List<RevenueAccumulator.RevenueReport> after = ranges.stream()
+                .map(range -> reports.report(range[0], range[1], 10))
+                .toList();
+            assertEquals(before, after);
+            assertTrue(before.get(0).revenueCents() > 0);
+            assertEquals(24, before.get(0).orders());
+        } finally {
+            reports.close();
+        }
+    }
+    
+    @Test
+    void shouldNotExportMonthWithOrdersThatAreNotArchived() {
+        insertOrder(JANUARY.atDay(5).atStartOfDay(), OrderStatus.DELIVERED, 1L, 1L, "19.99", 1);
+        orderArchiveService.archiveUpdatedBefore(TEST_ORDERS_END);
+        insertOrder(JANUARY.atDay(20).atStartOfDay(), OrderStatus.SHIPPED, 1L, 1L, "19.99", 1);
+        
+        assertEquals(0, exporter.exportMonthsBefore(LocalDate.of(2001, 12, 31)));
+        
+        assertFalse(store.contains(JANUARY));
+        assertEquals(Optional.empty(), store.coveredUntil());
+        assertEquals(1, countArchived(JANUARY));
+    }
+    
+    @Test
+    void shouldWriteSegmentAndDeleteArchivedOrders() {
+        long orderId = insertOrder(JANUARY.atDay(5).atTime(14, 30), OrderStatus.DELIVERED, 2L, 3L, "19.99", 2);
+        orderArchiveService.archiveUpdatedBefore(TEST_ORDERS_END);
+        
+        assertEquals(1, exporter.exportMonthsBefore(LocalDate.of(2001, 2, 1)));
+        
+        assertTrue(store.contains(JANUARY));
+        assertEquals(0, countArchived(JANUARY));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM archive.order_items WHERE order_id = ?",
+            Integer.class, orderId));
+        try (Stream<OrderItemLine> lines = store.streamItemLines(List.of(OrderStatus.DELIVERED), JANUARY.atDay(1).atStartOfDay(),
+                FEBRUARY.atDay(1).atStartOfDay())) {
+            assertEquals(List.of(orderId), lines.map(OrderItemLine::orderId).toList());
+        }
+    }
+    
+    @Test
+    void shouldOnlyDeleteArchivedOrdersWhenSegmentWasWrittenBefore() throws IOException {
+        long orderId = insertOrder(JANUARY.atDay(5).atTime(14, 30), OrderStatus.DELIVERED, 2L, 3L, "19.99", 2);
+        orderArchiveService.archiveUpdatedBefore(TEST_ORDERS_END);
+        // A previous run wrote the segment but failed to delete the orders from the archive
+        LocalDateTime createdAt = JANUARY.atDay(5).atTime(14, 30);
+        store.write(OrderHistorySegment.writer(JANUARY)
+            .addOrder(orderId, 2, OrderStatus.DELIVERED, createdAt, createdAt.plusDays(1))
+            .addItem(3, "Produkt 3", 1_999, 2), JANUARY);
+        
+        assertEquals(1, exporter.exportMonthsBefore(LocalDate.of(2001, 2, 1)));
+        
+        assertEquals(0, countArchived(JANUARY));
+        try (Stream<OrderItemLine> lines = store.streamItemLines(List.of(OrderStatus.DELIVERED), JANUARY.atDay(1).atStartOfDay(),
+                FEBRUARY.atDay(1).atStartOfDay())) {
+            assertEquals(1, lines.count());
+        }
+    }
+    
+    /**
+     * Inserts an order with one item, last updated a day after it was created; returns its ID.
+     */
+    private long insertOrder(LocalDateTime createdAt, OrderStatus status, long customerId, long productId,
+                             String unitPrice, int quantity) {
+        BigDecimal price = new BigDecimal(unitPrice);
+        BigDecimal total = price.multiply(BigDecimal.valueOf(quantity));
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement("INSERT INTO orders"
+                + " (customer_id, status, total_amount, currency, created_at, updated_at) VALUES (?, ?, ?, 'EUR', ?, ?)",
+                Statement.RETURN_GENERATED_KEYS);
+            statement.setLong(1, customerId);
+            statement.setString(2, status.name());
+            statement.setBigDecimal(3, total);
+            statement.setObject(4, createdAt);
+            statement.setObject(5, createdAt.plusDays(1));
+            return statement;
+        }, keyHolder);
+        long orderId = keyHolder.getKey().longValue();
+        jdbcTemplate.update("INSERT INTO order_items (order_id, product_id, product_name, unit_price, quantity, total_price)"
+            + " VALUES (?, ?, ?, ?, ?, ?)", orderId, productId, "Produkt " + productId, price, quantity, total);
+        return orderId;
+    }
+    
+    private int countArchived(YearMonth month) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM archive.orders WHERE created_at >= ? AND created_at < ?",
+            Integer.class, month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+    }
+}
\ No newline at end of file
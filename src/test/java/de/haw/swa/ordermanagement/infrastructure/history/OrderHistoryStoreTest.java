@@ -0,0 +1,212 @@
+package de.haw.swa.ordermanagement.infrastructure.history;
+
+import de.haw.swa.ordermanagement.domain.model.order.Order;
+import de.haw.swa.ordermanagement.domain.model.order.OrderItem;
+import de.haw.swa.ordermanagement.domain.model.order.OrderItemLine;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderHistoryStoreTest {
+    
+    private static final YearMonth MAY = YearMonth.of(2022, 5);
+    private static final YearMonth JUNE = YearMonth.of(2022, 6);
+    private static final Set<OrderStatus> ALL = EnumSet.allOf(OrderStatus.class);
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void shouldReadBackExportedOrders() throws IOException {
+        OrderHistoryStore store = OrderHistoryStore.open(directory);
+        LocalDateTime created = LocalDateTime.of(2022, 5, 3, 14, 15, 16, 123_456_000);
+        store.write(OrderHistorySegment.writer(MAY)
+            .addOrder(1_000_001, 42, OrderStatus.DELIVERED, created, created.plusDays(5))
+            .addItem(7, "Laptop", 99_999, 1)
+            .addItem(8, "Maus", 1_999, 3)
+            .addOrder(1_000_005, 43, OrderStatus.CANCELLED, created.plusHours(2), created.plusHours(3))
+            .addItem(8, "Maus", 1_999, 1), MAY);
+        
+        OrderHistorySegment segment = OrderHistorySegment.open(directory.resolve("orders-2022-05.seg"));
+        try (OrderHistorySegment.Cursor cursor = segment.scan(ALL, MAY.atDay(1).atStartOfDay(),
+                JUNE.atDay(1).atStartOfDay())) {
+            assertTrue(cursor.next());
+            assertEquals(1_000_001, cursor.orderId());
+            assertEquals(42, cursor.customerId());
+            assertEquals(OrderStatus.DELIVERED, cursor.status());
+            assertEquals(created, cursor.createdAt());
+            assertEquals(created.plusDays(5), cursor.updatedAt());
+            assertEquals("Laptop", cursor.productName());
+            assertEquals(99_999, cursor.totalPriceCents());
+            assertTrue(cursor.next());
+            assertEquals("Maus", cursor.productName());
+            assertEquals(5_997, cursor.totalPriceCents());
+            assertTrue(cursor.next());
+            assertEquals(1_000_005, cursor.orderId());
+            assertEquals(OrderStatus.CANCELLED, cursor.status());
+            assertEquals("Maus", cursor.productName());
+            assertFalse(cursor.next());
+            assertFalse(cursor.next());
+        }
+    }
+    
+    @Test
+    void shouldFindExportedOrdersByIdAndCustomer() throws IOException {
+        OrderHistoryStore store = OrderHistoryStore.open(directory);
+        store.write(month(MAY, 100), MAY);
+        store.write(month(JUNE, 100), JUNE);
+        
+        Order order = store.findById(orderId(JUNE, 12)).orElseThrow();
+        assertEquals(5L, order.getCustomerId());
+        assertEquals(OrderStatus.PAID, order.getStatus());
+        assertEquals(createdAt(JUNE, 12), order.getCreatedAt());
+        assertEquals(createdAt(JUNE, 12).plusDays(3), order.getUpdatedAt());
+        assertTrue(order.isArchived());
+        OrderItem item = order.getItems().get(0);
+        assertEquals(1002L, item.getProductId());
+        assertEquals("Artikel 2", item.getProductName());
+        assertEquals(Money.euroCents(112), item.getUnitPrice());
+        assertEquals(2, item.getQuantity());
+        assertEquals(1, order.getItems().size());
+        assertTrue(store.findById(orderId(JUNE, 101)).isEmpty());
+        assertTrue(store.findById(orderId(MAY, 0)).isEmpty());
+        
+        List<Order> orders = store.findByCustomerId(3);
+        assertEquals(28, orders.size());
+        assertEquals(orderId(MAY, 3), orders.get(0).getId());
+        assertEquals(orderId(JUNE, 94), orders.get(orders.size() - 1).getId());
+        assertTrue(orders.stream().allMatch(found -> found.getCustomerId() == 3L));
+        assertEquals(List.of(), store.findByCustomerId(7));
+    }
+    
+    @Test
+    void shouldStreamLinesMatchingStatusesAndDates() throws IOException {
+        OrderHistoryStore store = OrderHistoryStore.open(directory);
+        store.write(month(MAY, 100), MAY);
+        store.write(month(JUNE, 100), JUNE);
+        
+        Set<OrderStatus> delivered = EnumSet.of(OrderStatus.DELIVERED);
+        LocalDateTime from = LocalDateTime.of(2022, 5, 20, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2022, 6, 10, 0, 0);
+        List<OrderItemLine> lines;
+        try (Stream<OrderItemLine> stream = store.streamItemLines(delivered, from, to)) {
+            lines = stream.toList();
+        }
+        
+        List<OrderItemLine> expected = new ArrayList<>();
+        for (YearMonth month : List.of(MAY, JUNE)) {
+            for (int day = 1; day <= 100; day++) {
+                LocalDateTime created = createdAt(month, day);
+                if (status(day) == OrderStatus.DELIVERED && !created.isBefore(from) && created.isBefore(to)) {
+                    expected.add(new OrderItemLine(orderId(month, day), (long) day % 7, created, 1000L + day % 5, 2,
+                        Money.euroCents(2 * (100L + day))));
+                }
+            }
+        }
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, lines);
+    }
+    
+    @Test
+    void shouldSkipSegmentsOutsideTheRangeWithoutReadingThem() throws IOException {
+        OrderHistoryStore store = OrderHistoryStore.open(directory);
+        store.write(month(MAY, 100), MAY);
+        store.write(month(JUNE, 100), JUNE);
+        corruptColumns(directory.resolve("orders-2022-05.seg"));
+        
+        LocalDateTime june = JUNE.atDay(1).atStartOfDay();
+        try (Stream<OrderItemLine> lines = store.streamItemLines(ALL, june, june.plusMonths(1))) {
+            assertEquals(100, lines.count());
+        }
+        // May only holds PAID, DELIVERED and CANCELLED orders
+        try (Stream<OrderItemLine> lines = store.streamItemLines(EnumSet.of(OrderStatus.PENDING), june.minusMonths(1), june)) {
+            assertEquals(0, lines.count());
+        }
+        try (Stream<OrderItemLine> lines = store.streamItemLines(ALL, june.minusMonths(1), june)) {
+            assertThrows(UncheckedIOException.class, lines::count);
+        }
+    }
+    
+    @Test
+    void shouldCompressRepetitiveColumns() throws IOException {
+        OrderHistoryStore store = OrderHistoryStore.open(directory);
+        OrderHistorySegment segment = store.write(month(MAY, 50_000), MAY);
+        
+        assertEquals(50_000, segment.orderCount());
+        // A row of the order and item tables takes more than 100 bytes in the database
+        assertTrue(segment.fileSize() < 50_000 * 10, "Segment has " + segment.fileSize() + " bytes");
+    }
+    
+    @Test
+    void shouldCoverMonthsWrittenByOtherInstances() throws IOException {
+        OrderHistoryStore store = OrderHistoryStore.open(directory);
+        assertEquals(Optional.empty(), store.coveredUntil());
+        
+        OrderHistoryStore.open(directory).write(month(MAY, 10), MAY);
+        
+        assertEquals(Optional.of(LocalDate.of(2022, 6, 1)), store.coveredUntil());
+        assertTrue(store.contains(MAY));
+        assertThrows(IllegalStateException.class, () -> store.write(month(MAY, 10), MAY));
+    }
+    
+    /**
+     * Orders with one item each, spread over the month.
+     */
+    private static OrderHistorySegment.Writer month(YearMonth month, int orders) {
+        OrderHistorySegment.Writer writer = OrderHistorySegment.writer(month);
+        for (int i = 1; i <= orders; i++) {
+            LocalDateTime created = orders <= 100 ? createdAt(month, i)
+                : month.atDay(1).atStartOfDay().plusSeconds((long) i * 40);
+            writer.addOrder(orderId(month, i), i % 7, status(i), created, created.plusDays(3))
+                .addItem(1000 + i % 5, "Artikel " + (i % 5), 100 + i, 2);
+        }
+        return writer;
+    }
+    
+    /**
+     * Spreads up to 100 orders over the month.
+     */
+    private static LocalDateTime createdAt(YearMonth month, int i) {
+        return month.atDay(1 + (i - 1) * month.lengthOfMonth() / 100).atTime(9, i % 60);
+    }
+    
+    private static long orderId(YearMonth month, int i) {
+        return month.getMonthValue() * 1_000_000L + i;
+    }
+    
+    private static OrderStatus status(int i) {
+        return switch (i % 3) {
+            case 0 -> OrderStatus.PAID;
+            case 1 -> OrderStatus.DELIVERED;
+            default -> OrderStatus.CANCELLED;
+        };
+    }
+    
+    private static void corruptColumns(Path path) throws IOException {
+        long size = Files.size(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            ByteBuffer zeros = ByteBuffer.allocate(64);
+            channel.write(zeros, size - 64);
+        }
+    }
+}
\ No newline at end of file
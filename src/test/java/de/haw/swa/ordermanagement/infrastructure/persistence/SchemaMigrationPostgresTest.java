@@ -0,0 +1,119 @@
+package de.haw.swa.ordermanagement.infrastructure.persistence;
+
+import de.haw.swa.ordermanagement.application.service.OrderArchiveService;
+import de.haw.swa.ordermanagement.domain.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the PostgreSQL migrations are applied, that Hibernate accepts the resulting schema, that
+ * product name searches and low-stock lookups use the PostgreSQL-only indexes, and that orders move
+ * through the monthly partitions into the archive. Skipped without Docker.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("postgres")
+@Testcontainers(disabledWithoutDocker = true)
+class SchemaMigrationPostgresTest {
+    
+    private static final int PRODUCTS = 20_000;
+    
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+    
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @BeforeEach
+    void seedProducts() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products", Long.class) >= PRODUCTS) {
+            return;
+        }
+        // One product in a hundred is at or below its threshold
+        jdbcTemplate.update("""
+            INSERT INTO products (name, description, price, stock_quantity, low_stock_threshold)
+            SELECT 'Artikel ' || i, NULL, i % 500 + 0.99, CASE WHEN i % 100 = 0 THEN 1 ELSE 100 END, 5
+            FROM generate_series(1, ?) AS i
+            """, PRODUCTS);
+        jdbcTemplate.execute("ANALYZE products");
+    }
+    
+    @Test
+    void shouldApplyAllMigrations() {
+        List<String> versions = jdbcTemplate.queryForList(
+            "SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank", String.class);
+        
+        assertEquals(List.of("1", "2", "3", "4", "5", "6", "7", "8"), versions);
+    }
+    
+    @Test
+    void shouldSearchProductNamesThroughTrigramIndex() {
+        String plan = explain("SELECT id FROM products WHERE upper(name) LIKE upper(?) ESCAPE '\\'", "%tikel 1234%");
+        
+        assertTrue(plan.contains("idx_products_name_trgm"), plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+    }
+    
+    @Test
+    void shouldFindLowStockProductsThroughPartialIndex() {
+        String plan = explain("SELECT id FROM products WHERE low_stock_threshold IS NOT NULL"
+            + " AND stock_quantity <= low_stock_threshold");
+        
+        assertTrue(plan.contains("idx_products_low_stock"), plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+    }
+    
+    @Test
+    void shouldMoveOrdersThroughPartitionsIntoArchive() {
+        Long orderId = jdbcTemplate.queryForObject("""
+            INSERT INTO orders (customer_id, status, total_amount, currency, created_at, updated_at)
+            VALUES (1, 'DELIVERED', 10.00, 'EUR', TIMESTAMP '2020-05-17 10:00', TIMESTAMP '2020-05-20 10:00')
+            RETURNING id
+            """, Long.class);
+        assertEquals("orders_default", partitionOf(orderId));
+        
+        assertEquals(Boolean.TRUE, jdbcTemplate.queryForObject("SELECT create_order_partition(DATE '2020-05-01')", Boolean.class));
+        assertEquals("orders_2020_05", partitionOf(orderId));
+        
+        assertEquals(1, orderArchiveService.archiveUpdatedBefore(LocalDateTime.of(2020, 6, 1, 0, 0)));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM archive.orders WHERE id = ?", Integer.class, orderId));
+        assertTrue(orderRepository.findById(orderId).isPresent());
+        
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT drop_empty_order_partitions(DATE '2020-07-01')", Integer.class));
+        assertNull(jdbcTemplate.queryForObject("SELECT to_regclass('orders_2020_05')::text", String.class));
+    }
+    
+    private String partitionOf(Long orderId) {
+        return jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM orders WHERE id = ?", String.class, orderId);
+    }
+    
+    private String explain(String sql, Object... parameters) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters));
+    }
+}
\ No newline at end of file
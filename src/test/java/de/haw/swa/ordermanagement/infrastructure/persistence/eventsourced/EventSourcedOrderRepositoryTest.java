@@ -0,0 +1,189 @@
+package de.haw.swa.ordermanagement.infrastructure.persistence.eventsourced;
+
+import de.haw.swa.ordermanagement.domain.model.order.Order;
+import de.haw.swa.ordermanagement.domain.model.order.OrderItem;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.order.OrderSummary;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainClock;
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+import de.haw.swa.ordermanagement.domain.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Saves event-sourced orders in transactions of their own, as concurrent requests would.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles({"test", "event-sourced"})
+class EventSourcedOrderRepositoryTest {
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private TransactionTemplate transaction;
+    
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+    }
+    
+    @Test
+    void shouldRejectSavingOrderThatWasChangedSinceItWasLoaded() {
+        Long orderId = createOrder();
+        Order stale = transaction.execute(status -> orderRepository.findById(orderId).orElseThrow());
+        transaction.executeWithoutResult(status -> confirm(orderId));
+        
+        stale.cancel();
+        
+        assertThrows(OptimisticLockingFailureException.class,
+            () -> transaction.executeWithoutResult(status -> orderRepository.save(stale)));
+        Order order = orderRepository.findById(orderId).orElseThrow();
+        assertEquals(OrderStatus.CONFIRMED, order.getStatus());
+        assertEquals(1, order.getStreamPosition());
+    }
+    
+    @Test
+    void shouldLetOnlyOneOfTwoConcurrentSavesAppend() throws Exception {
+        Long orderId = createOrder();
+        CountDownLatch bothLoaded = new CountDownLatch(2);
+        CountDownLatch firstCommitted = new CountDownLatch(1);
+        
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> {
+                transaction.executeWithoutResult(status -> {
+                    Order order = orderRepository.findById(orderId).orElseThrow();
+                    bothLoaded.countDown();
+                    await(bothLoaded);
+                    order.confirm();
+                    orderRepository.save(order);
+                });
+                firstCommitted.countDown();
+            });
+            Future<?> second = executor.submit(() -> transaction.executeWithoutResult(status -> {
+                Order order = orderRepository.findById(orderId).orElseThrow();
+                bothLoaded.countDown();
+                await(firstCommitted);
+                order.cancel();
+                orderRepository.save(order);
+            }));
+            
+            first.get(10, TimeUnit.SECONDS);
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> second.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(OptimisticLockingFailureException.class, failure.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        Order order = orderRepository.findById(orderId).orElseThrow();
+        assertEquals(OrderStatus.CONFIRMED, order.getStatus());
+        assertEquals(1, order.getStreamPosition());
+    }
+    
+    @Test
+    void shouldFindOnlyOrdersChangedSince() {
+        createOrder();
+        Long confirmed = createOrder();
+        Clock clock = DomainClock.get();
+        DomainClock.set(Clock.offset(clock, Duration.ofDays(1)));
+        try {
+            LocalDateTime since = DomainClock.now();
+            transaction.executeWithoutResult(status -> confirm(confirmed));
+            Long created = createOrder();
+            
+            List<OrderSummary> changed = transaction.execute(status -> orderRepository.findSummariesUpdatedSince(since));
+            
+            assertEquals(List.of(confirmed, created), changed.stream().map(OrderSummary::id).toList());
+            assertEquals(OrderStatus.CONFIRMED, changed.get(0).status());
+        } finally {
+            DomainClock.set(clock);
+        }
+    }
+    
+    @Test
+    void shouldLoadSeveralOrdersWithTheEventsAfterTheirSnapshots() {
+        Long pending = createOrder(4711L);
+        Long confirmed = createOrder(4711L);
+        transaction.executeWithoutResult(status -> confirm(confirmed));
+        createOrder(4712L);
+        
+        List<Order> orders = transaction.execute(status -> orderRepository.findByCustomerId(4711L));
+        
+        assertEquals(List.of(pending, confirmed), orders.stream().map(Order::getId).toList());
+        assertEquals(List.of(OrderStatus.PENDING, OrderStatus.CONFIRMED), orders.stream().map(Order::getStatus).toList());
+        assertEquals(List.of(0L, 1L), orders.stream().map(Order::getStreamPosition).toList());
+        assertEquals("Laptop", orders.get(1).getItems().get(0).getProductName());
+        assertEquals(List.of(pending, confirmed), transaction.execute(status ->
+            orderRepository.findAllWithItemsByIdIn(List.of(confirmed, pending, -1L))).stream().map(Order::getId).toList());
+    }
+    
+    @Test
+    void shouldFindIdRangeOfOrdersCreatedInPeriod() {
+        createOrder();
+        Clock clock = DomainClock.get();
+        DomainClock.set(Clock.offset(clock, Duration.ofDays(40)));
+        try {
+            LocalDateTime from = DomainClock.now();
+            Long first = createOrder();
+            Long last = createOrder();
+            LocalDateTime to = DomainClock.now().plusSeconds(1);
+            
+            assertEquals(first, transaction.execute(status -> orderRepository.findMinId(from, to)));
+            assertEquals(last, transaction.execute(status -> orderRepository.findMaxId(from, to)));
+            assertNull(transaction.execute(status -> orderRepository.findMinId(to, to.plusDays(1))));
+            assertEquals(2, transaction.execute(status -> orderRepository.streamItemLines(
+                0, Long.MAX_VALUE, List.of(OrderStatus.values()), from, to).count()));
+        } finally {
+            DomainClock.set(clock);
+        }
+    }
+    
+    private Long createOrder() {
+        return createOrder(1L);
+    }
+    
+    private Long createOrder(Long customerId) {
+        return transaction.execute(status -> {
+            Order order = orderRepository.save(new Order(customerId, List.of(new OrderItem(1L, "Laptop", Money.euro(999.99), 1))));
+            order.clearEvents();
+            return order.getId();
+        });
+    }
+    
+    private void confirm(Long orderId) {
+        Order order = orderRepository.findById(orderId).orElseThrow();
+        order.confirm();
+        orderRepository.save(order);
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
\ No newline at end of file
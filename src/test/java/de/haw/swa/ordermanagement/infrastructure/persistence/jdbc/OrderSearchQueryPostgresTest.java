@@ -0,0 +1,126 @@
+package de.haw.swa.ordermanagement.infrastructure.persistence.jdbc;
+
+import de.haw.swa.ordermanagement.domain.model.order.OrderSearch;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.model.shared.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks with EXPLAIN on PostgreSQL that order searches use the indexes declared on the orders table
+ * instead of scanning it. Skipped without Docker.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("postgres")
+@Testcontainers(disabledWithoutDocker = true)
+class OrderSearchQueryPostgresTest {
+    
+    private static final int ORDERS = 50_000;
+    
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+    
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeEach
+    void seedOrders() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Long.class) >= ORDERS) {
+            return;
+        }
+        // 100 customers with 500 orders each, one per minute, spread evenly over the statuses
+        jdbcTemplate.update("""
+            INSERT INTO orders (customer_id, status, total_amount, currency, created_at, updated_at)
+            SELECT 1 + i % 100,
+                   (ARRAY['PENDING', 'CONFIRMED', 'PAID', 'SHIPPED', 'DELIVERED', 'CANCELLED'])[1 + i % 6],
+                   i % 1000 + 0.99, 'EUR',
+                   TIMESTAMP '2024-01-01' + i * INTERVAL '1 minute',
+                   TIMESTAMP '2024-01-01' + i * INTERVAL '1 minute' + (i % 97) * INTERVAL '1 hour'
+            FROM generate_series(1, ?) AS i
+            """, ORDERS);
+        jdbcTemplate.execute("ANALYZE orders");
+    }
+    
+    @Test
+    void shouldSearchOrdersOfCustomerThroughCustomerIndex() {
+        OrderSearch search = new OrderSearch(42L, null, LocalDateTime.of(2024, 1, 1, 0, 0),
+            LocalDateTime.of(2024, 2, 1, 0, 0), null, null, null, OrderSearch.SortBy.CREATED, null);
+        
+        String plan = explain(search);
+        
+        assertOrderedIndexScan(plan, "idx_orders_customer_created");
+    }
+    
+    @Test
+    void shouldSearchOrdersInStatusThroughStatusIndex() {
+        OrderSearch search = new OrderSearch(null, OrderStatus.PAID, null, null,
+            LocalDateTime.of(2024, 1, 10, 0, 0), null, Money.euro(new BigDecimal("100.00")),
+            OrderSearch.SortBy.UPDATED, null);
+        
+        String plan = explain(search);
+        
+        assertOrderedIndexScan(plan, "idx_orders_status_updated");
+    }
+    
+    @Test
+    void shouldContinueNextPageThroughIndexFromCursor() {
+        OrderSearch firstPage = new OrderSearch(42L, null, null, null, null, null, null,
+            OrderSearch.SortBy.CREATED, null);
+        List<Long> first = ids(firstPage, 20);
+        OrderSearch nextPage = new OrderSearch(42L, null, null, null, null, null, null, OrderSearch.SortBy.CREATED,
+            new OrderSearch.Cursor(jdbcTemplate.queryForObject("SELECT created_at FROM orders WHERE id = ?",
+                LocalDateTime.class, first.get(19)), first.get(19)));
+        
+        String plan = explain(nextPage);
+        List<Long> next = ids(nextPage, 20);
+        
+        assertTrue(plan.contains("Index Cond") && plan.contains("idx_orders_customer_created"), plan);
+        assertEquals(20, next.size());
+        assertTrue(next.get(0) < first.get(19));
+        assertTrue(next.stream().noneMatch(first::contains));
+    }
+    
+    /**
+     * The seeded orders are older than the monthly partitions of the orders table, so they are all in the
+     * default partition, which has to be read through the index in the requested order. The small monthly
+     * partitions may be read in any way, as long as the partitions are merged instead of sorting the result.
+     */
+    private static void assertOrderedIndexScan(String plan, String index) {
+        assertTrue(plan.contains(index + "_default on orders_default"), plan);
+        assertFalse(plan.contains("Seq Scan on orders_default"), plan);
+        assertTrue(plan.lines().limit(2).noneMatch(line -> line.contains("Sort  (")), plan);
+    }
+    
+    private String explain(OrderSearch search) {
+        OrderSearchQuery query = OrderSearchQuery.of(search, 21);
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + query.sql(), String.class,
+            query.parameters().toArray()));
+    }
+    
+    private List<Long> ids(OrderSearch search, int limit) {
+        OrderSearchQuery query = OrderSearchQuery.of(search, limit);
+        return jdbcTemplate.query(query.sql(), (rs, row) -> rs.getLong("id"), query.parameters().toArray());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,160 @@
+package de.haw.swa.ordermanagement.infrastructure.replay;
+
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderConfirmed;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderCreated;
+import de.haw.swa.ordermanagement.domain.model.order.events.OrderPaid;
+import de.haw.swa.ordermanagement.domain.model.shared.DomainEvent;
+import de.haw.swa.ordermanagement.infrastructure.eventlog.EventCodec;
+import de.haw.swa.ordermanagement.infrastructure.eventlog.EventLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayEngineTest {
+    
+    private static final int ORDERS = 500;
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 15, 10, 30);
+    
+    @TempDir
+    Path directory;
+    
+    private EventLog eventLog;
+    private ReplayCheckpointStore checkpoints;
+    private ReplayEngine engine;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        EventCodec codec = new EventCodec()
+            .register(1, OrderCreated.class)
+            .register(2, OrderConfirmed.class)
+            .register(3, OrderPaid.class);
+        eventLog = EventLog.open(directory.resolve("log"), 64 * 1024, EventLog.FsyncMode.NEVER, Duration.ofMillis(10), codec);
+        checkpoints = new ReplayCheckpointStore(directory.resolve("checkpoints"));
+        engine = new ReplayEngine(eventLog, checkpoints, 4, 100, 300);
+        
+        // Interleave the orders, so each batch holds events of many aggregates
+        for (long id = 1; id <= ORDERS; id++) {
+            eventLog.append(OrderCreated.create(id, id % 10, NOW));
+        }
+        for (long id = 1; id <= ORDERS; id++) {
+            eventLog.append(OrderConfirmed.create(id, NOW));
+            eventLog.append(OrderPaid.create(id, NOW));
+        }
+    }
+    
+    @AfterEach
+    void tearDown() {
+        engine.close();
+        eventLog.close();
+    }
+    
+    @Test
+    void shouldApplyEventsOfEachAggregateInOrder() {
+        HistoryProjection history = new HistoryProjection();
+        
+        ReplayResult result = engine.rebuild("history", List.of(history));
+        
+        assertEquals(3L * ORDERS, result.events());
+        assertEquals(eventLog.endPosition(), result.endPosition());
+        assertEquals(ORDERS, history.histories.size());
+        history.histories.values().forEach(events ->
+            assertEquals(List.of(OrderCreated.class, OrderConfirmed.class, OrderPaid.class), events));
+        assertEquals(eventLog.endPosition(), checkpoints.load("history").getAsLong());
+    }
+    
+    @Test
+    void shouldResetProjectionsOnRebuild() {
+        HistoryProjection history = new HistoryProjection();
+        engine.rebuild("history", List.of(history));
+        engine.rebuild("history", List.of(history));
+        
+        history.histories.values().forEach(events -> assertEquals(3, events.size()));
+    }
+    
+    @Test
+    void shouldResumeFromLastCheckpoint() {
+        CountingProjection failing = new CountingProjection(1000);
+        assertThrows(RuntimeException.class, () -> engine.rebuild("count", List.of(failing)));
+        long checkpoint = checkpoints.load("count").getAsLong();
+        assertTrue(checkpoint > 0);
+        
+        CountingProjection resumed = new CountingProjection(Long.MAX_VALUE);
+        ReplayResult result = engine.resume("count", List.of(resumed));
+        
+        assertEquals(checkpoint, result.startPosition());
+        assertEquals(result.events(), resumed.count.get());
+        assertTrue(result.events() < 3L * ORDERS);
+        assertEquals(eventLog.endPosition(), result.endPosition());
+    }
+    
+    @Test
+    void shouldRebuildWhenResumingWithoutCheckpoint() {
+        CountingProjection counting = new CountingProjection(Long.MAX_VALUE);
+        
+        ReplayResult result = engine.resume("count", List.of(counting));
+        
+        assertEquals(0, result.startPosition());
+        assertEquals(3L * ORDERS, counting.count.get());
+    }
+    
+    private static final class HistoryProjection implements ReplayProjection {
+        
+        final Map<Long, List<Class<?>>> histories = new ConcurrentHashMap<>();
+        
+        @Override
+        public String name() {
+            return "history";
+        }
+        
+        @Override
+        public void reset() {
+            histories.clear();
+        }
+        
+        @Override
+        public void apply(DomainEvent event) {
+            // Not synchronized on purpose: events of one aggregate must never be applied concurrently
+            histories.computeIfAbsent(event.aggregateId(), id -> new ArrayList<>()).add(event.getClass());
+        }
+    }
+    
+    private static final class CountingProjection implements ReplayProjection {
+        
+        final AtomicLong count = new AtomicLong();
+        private final long failAfter;
+        
+        CountingProjection(long failAfter) {
+            this.failAfter = failAfter;
+        }
+        
+        @Override
+        public String name() {
+            return "count";
+        }
+        
+        @Override
+        public void reset() {
+            count.set(0);
+        }
+        
+        @Override
+        public void apply(DomainEvent event) {
+            if (count.incrementAndGet() > failAfter) {
+                throw new IllegalStateException("Projection failed");
+            }
+        }
+    }
+}
\ No newline at end of file
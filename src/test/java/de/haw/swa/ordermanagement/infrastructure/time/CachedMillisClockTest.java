@@ -0,0 +1,36 @@
+package de.haw.swa.ordermanagement.infrastructure.time;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachedMillisClockTest {
+    
+    @Test
+    void shouldFollowSystemTime() throws InterruptedException {
+        try (CachedMillisClock clock = new CachedMillisClock(ZoneOffset.UTC)) {
+            long start = clock.millis();
+            assertTrue(Math.abs(System.currentTimeMillis() - start) < 100);
+            
+            Thread.sleep(50);
+            
+            assertTrue(clock.millis() > start);
+            assertEquals(clock.millis(), clock.instant().toEpochMilli(), 5);
+        }
+    }
+    
+    @Test
+    void shouldShareTickerAcrossZones() {
+        try (CachedMillisClock clock = new CachedMillisClock(ZoneOffset.UTC)) {
+            Clock berlin = clock.withZone(ZoneId.of("Europe/Berlin"));
+            
+            assertSame(clock, clock.withZone(ZoneOffset.UTC));
+            assertEquals(ZoneId.of("Europe/Berlin"), berlin.getZone());
+            assertEquals(clock.millis(), berlin.millis(), 5);
+        }
+    }
+}
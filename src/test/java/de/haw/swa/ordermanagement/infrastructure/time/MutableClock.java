@@ -0,0 +1,43 @@
+package de.haw.swa.ordermanagement.infrastructure.time;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * Deterministic clock for tests: time only changes when {@link #advance(Duration)} or {@link #set(Instant)} is called.
+ */
+public class MutableClock extends Clock {
+    
+    private final ZoneId zone;
+    private volatile Instant instant;
+    
+    public MutableClock(Instant instant, ZoneId zone) {
+        this.instant = instant;
+        this.zone = zone;
+    }
+    
+    public synchronized void advance(Duration duration) {
+        instant = instant.plus(duration);
+    }
+    
+    public void set(Instant instant) {
+        this.instant = instant;
+    }
+    
+    @Override
+    public Instant instant() {
+        return instant;
+    }
+    
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+    
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return new MutableClock(instant, zone);
+    }
+}
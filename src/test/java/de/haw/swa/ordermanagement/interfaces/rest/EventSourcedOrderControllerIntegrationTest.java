@@ -0,0 +1,10 @@
+package de.haw.swa.ordermanagement.interfaces.rest;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs the order API tests against the event-sourced order repository of the 'event-sourced' profile.
+ */
+@ActiveProfiles({"test", "event-sourced"})
+class EventSourcedOrderControllerIntegrationTest extends OrderControllerIntegrationTest {
+}
\ No newline at end of file
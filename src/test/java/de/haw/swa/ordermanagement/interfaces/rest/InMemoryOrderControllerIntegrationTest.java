@@ -0,0 +1,10 @@
+package de.haw.swa.ordermanagement.interfaces.rest;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs the order API tests against the in-memory repositories of the 'memory' profile.
+ */
+@ActiveProfiles({"test", "memory"})
+class InMemoryOrderControllerIntegrationTest extends OrderControllerIntegrationTest {
+}
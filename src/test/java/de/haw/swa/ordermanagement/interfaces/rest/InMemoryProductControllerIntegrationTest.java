@@ -0,0 +1,10 @@
+package de.haw.swa.ordermanagement.interfaces.rest;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs the product API tests against the in-memory repositories of the 'memory' profile.
+ */
+@ActiveProfiles({"test", "memory"})
+class InMemoryProductControllerIntegrationTest extends ProductControllerIntegrationTest {
+}
@@ -0,0 +1,202 @@
+package de.haw.swa.ordermanagement.interfaces.rest;
+
+import de.haw.swa.ordermanagement.application.readmodel.OrderView;
+import de.haw.swa.ordermanagement.application.service.OrderArchiveService;
+import de.haw.swa.ordermanagement.application.service.OrderQueryService;
+import de.haw.swa.ordermanagement.application.service.OrderService;
+import de.haw.swa.ordermanagement.domain.model.order.Order;
+import de.haw.swa.ordermanagement.domain.model.order.OrderStatus;
+import de.haw.swa.ordermanagement.domain.repository.OrderRepository;
+import de.haw.swa.ordermanagement.interfaces.rest.dto.CreateOrderRequest;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Archives orders through the JPA repository, the only one with an archive. The tests commit their
+ * orders, because the archival moves them in transactions of its own.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class OrderArchiveIntegrationTest {
+    
+    private static final LocalDateTime ARCHIVE_CUTOFF = LocalDateTime.of(2000, 1, 2, 0, 0);
+    
+    @LocalServerPort
+    private int port;
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+    
+    @Autowired
+    private OrderService orderService;
+    
+    @Autowired
+    private OrderQueryService orderQueryService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private Long customerId;
+    private Long productId;
+    
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.baseURI = "http://localhost";
+        
+        customerId = 1L; // Max Mustermann (first customer)
+        productId = 1L; // Laptop (first product)
+    }
+    
+    @Test
+    void shouldReadArchivedOrdersThroughRepository() {
+        String orderId = createOrder();
+        given()
+        .when()
+            .put("/api/orders/{orderId}/cancel", orderId)
+        .then()
+            .statusCode(HttpStatus.OK.value());
+        Long id = Long.valueOf(orderId);
+        
+        int archived = archive(id);
+        
+        assertEquals(1, archived);
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE id = ?", Integer.class, id));
+        Order order = orderRepository.findById(id).orElseThrow();
+        assertEquals(OrderStatus.CANCELLED, order.getStatus());
+        assertEquals(1, order.getItems().size());
+        assertTrue(orderRepository.findSummariesByCustomerId(customerId).stream().anyMatch(summary -> summary.id().equals(id)));
+        assertTrue(orderRepository.findByCustomerId(customerId).stream().anyMatch(found -> found.getId().equals(id)));
+        given()
+        .when()
+            .get("/api/orders/{orderId}", orderId)
+        .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("status", equalTo("CANCELLED"));
+    }
+    
+    @Test
+    void shouldDropArchivedOrdersFromViewButFindThemByCustomer() {
+        String orderId = createOrder();
+        given()
+        .when()
+            .put("/api/orders/{orderId}/cancel", orderId)
+        .then()
+            .statusCode(HttpStatus.OK.value());
+        Long id = Long.valueOf(orderId);
+        assertTrue(orderQueryService.isServing());
+        assertTrue(ids(orderQueryService.findByStatus(OrderStatus.CANCELLED)).contains(id));
+        
+        assertEquals(1, archive(id));
+        
+        assertFalse(ids(orderQueryService.findByStatus(OrderStatus.CANCELLED)).contains(id));
+        assertTrue(ids(orderQueryService.findByCustomerId(customerId)).contains(id));
+        assertEquals(OrderStatus.CANCELLED, orderQueryService.findById(id).orElseThrow().status());
+        assertFalse(ids(orderQueryService.findByStatus(OrderStatus.CANCELLED)).contains(id));
+        
+        // The cold-start load reads the orders table only
+        orderQueryService.replayProjection().reset();
+        orderQueryService.synchronize();
+        
+        assertTrue(orderQueryService.isServing());
+        assertTrue(ids(orderQueryService.findByCustomerId(customerId)).contains(id));
+        assertTrue(orderQueryService.findSummariesByCustomerId(customerId).stream().anyMatch(summary -> summary.id().equals(id)));
+        assertFalse(ids(orderQueryService.findByStatus(OrderStatus.CANCELLED)).contains(id));
+    }
+    
+    @Test
+    void shouldRejectReturningArchivedOrder() {
+        Long id = Long.valueOf(createOrder());
+        jdbcTemplate.update("UPDATE orders SET status = 'DELIVERED' WHERE id = ?", id);
+        assertEquals(1, archive(id));
+        Integer stock = stockOf(productId);
+        
+        assertThrows(IllegalStateException.class, () -> orderService.returnOrder(id));
+        
+        assertEquals(stock, stockOf(productId));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE id = ?", Integer.class, id));
+        assertEquals(OrderStatus.DELIVERED, orderRepository.findById(id).orElseThrow().getStatus());
+    }
+    
+    @Test
+    void shouldFindIdRangeOfOrdersCreatedInPeriod() {
+        Long archivedId = Long.valueOf(createOrder());
+        Long liveId = Long.valueOf(createOrder());
+        createOrder();
+        LocalDateTime june = LocalDateTime.of(1999, 6, 1, 0, 0);
+        try {
+            jdbcTemplate.update("UPDATE orders SET status = 'DELIVERED', created_at = ? WHERE id = ?", june.plusDays(9), archivedId);
+            jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id = ?", june.plusDays(19), liveId);
+            assertEquals(1, archive(archivedId));
+            
+            assertEquals(archivedId, orderRepository.findMinId(june, june.plusMonths(1)));
+            assertEquals(liveId, orderRepository.findMaxId(june, june.plusMonths(1)));
+            assertEquals(liveId, orderRepository.findMinId(june.plusDays(10), june.plusMonths(1)));
+            assertEquals(archivedId, orderRepository.findMaxId(june, june.plusDays(10)));
+            assertNull(orderRepository.findMinId(june.minusMonths(1), june));
+        } finally {
+            deleteOrdersCreatedBefore(ARCHIVE_CUTOFF);
+        }
+    }
+    
+    private String createOrder() {
+        CreateOrderRequest createOrderRequest = new CreateOrderRequest(
+            customerId,
+            List.of(new CreateOrderRequest.OrderItemRequest(productId, 1))
+        );
+        return given()
+            .contentType(ContentType.JSON)
+            .body(createOrderRequest)
+        .when()
+            .post("/api/orders")
+        .then()
+            .statusCode(HttpStatus.CREATED.value())
+            .extract()
+            .path("orderId");
+    }
+    
+    /**
+     * Backdates the order, so it is the only one old enough to be archived, and archives it.
+     */
+    private int archive(Long orderId) {
+        jdbcTemplate.update("UPDATE orders SET updated_at = ? WHERE id = ?", ARCHIVE_CUTOFF.minusDays(1), orderId);
+        return orderArchiveService.archiveUpdatedBefore(ARCHIVE_CUTOFF);
+    }
+    
+    /**
+     * Removes backdated orders, which would otherwise hold up the export of their month in other tests.
+     */
+    private void deleteOrdersCreatedBefore(LocalDateTime createdBefore) {
+        for (String schema : List.of("", "archive.")) {
+            jdbcTemplate.update("DELETE FROM " + schema + "order_items WHERE order_id IN (SELECT id FROM " + schema
+                + "orders WHERE created_at < ?)", createdBefore);
+            jdbcTemplate.update("DELETE FROM " + schema + "orders WHERE created_at < ?", createdBefore);
+        }
+    }
+    
+    private static List<Long> ids(List<OrderView> views) {
+        return views.stream().map(OrderView::id).toList();
+    }
+    
+    private Integer stockOf(Long productId) {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM products WHERE id = ?", Integer.class, productId);
+    }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package de.haw.swa.ordermanagement.interfaces.rest;
 
+import de.haw.swa.ordermanagement.application.service.PaymentService;
 import de.haw.swa.ordermanagement.domain.repository.CustomerRepository;
 import de.haw.swa.ordermanagement.domain.repository.ProductRepository;
 import de.haw.swa.ordermanagement.interfaces.rest.dto.CreateOrderRequest;
@@ -12,12 +13,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
@@ -33,6 +39,9 @@ class OrderControllerIntegrationTest {
     @Autowired
     private ProductRepository productRepository;
     
+    @SpyBean
+    private PaymentService paymentService;
+    
     private Long customerId;
     private Long productId;
     
@@ -41,7 +50,7 @@ class OrderControllerIntegrationTest {
         RestAssured.port = port;
         RestAssured.baseURI = "http://localhost";
         
-        // Use IDs from test data - these are auto-generated via data.sql
+        // Use IDs from test data - these are auto-generated by the sample data migration
         customerId = 1L; // Max Mustermann (first customer)
         productId = 1L; // Laptop (first product)
     }
@@ -236,6 +245,100 @@ class OrderControllerIntegrationTest {
             .body("customerId", everyItem(equalTo("1")));
     }
     
+    @Test
+    void shouldGetOrdersByIdsWithItems() {
+        CreateOrderRequest createOrderRequest = new CreateOrderRequest(
+            customerId,
+            List.of(new CreateOrderRequest.OrderItemRequest(productId, 1))
+        );
+        
+        String orderId = given()
+            .contentType(ContentType.JSON)
+            .body(createOrderRequest)
+        .when()
+            .post("/api/orders")
+        .then()
+            .statusCode(HttpStatus.CREATED.value())
+            .extract()
+            .path("orderId");
+        
+        given()
+            .queryParam("ids", "99999," + orderId)
+        .when()
+            .get("/api/orders")
+        .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("results", hasSize(2))
+            .body("results[0].found", equalTo(false))
+            .body("results[1].id", equalTo(orderId))
+            .body("results[1].value.items", hasSize(1))
+            .body("missingIds", contains("99999"));
+    }
+    
+    @Test
+    void shouldGetOrderSummariesWithoutItems() {
+        CreateOrderRequest createOrderRequest = new CreateOrderRequest(
+            customerId,
+            List.of(new CreateOrderRequest.OrderItemRequest(productId, 1))
+        );
+        
+        given()
+            .contentType(ContentType.JSON)
+            .body(createOrderRequest)
+        .when()
+            .post("/api/orders")
+        .then()
+            .statusCode(HttpStatus.CREATED.value());
+        
+        given()
+            .queryParam("customerId", customerId)
+            .queryParam("view", "summary")
+        .when()
+            .get("/api/orders")
+        .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("", hasSize(greaterThanOrEqualTo(1)))
+            .body("customerId", everyItem(equalTo("1")))
+            .body("[0].status", notNullValue())
+            .body("[0].totalAmount", notNullValue())
+            .body("[0]", not(hasKey("items")));
+    }
+    
+    @Test
+    void shouldGetOnlyRequestedFields() {
+        CreateOrderRequest createOrderRequest = new CreateOrderRequest(
+            customerId,
+            List.of(new CreateOrderRequest.OrderItemRequest(productId, 1))
+        );
+        
+        given()
+            .contentType(ContentType.JSON)
+            .body(createOrderRequest)
+        .when()
+            .post("/api/orders")
+        .then()
+            .statusCode(HttpStatus.CREATED.value());
+        
+        given()
+            .queryParam("fields", "orderId,status,totalAmount")
+        .when()
+            .get("/api/orders")
+        .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("", hasSize(greaterThanOrEqualTo(1)))
+            .body("[0].keySet()", containsInAnyOrder("orderId", "status", "totalAmount"));
+    }
+    
+    @Test
+    void shouldReturnBadRequestForUnknownField() {
+        given()
+            .queryParam("fields", "orderId,secret")
+        .when()
+            .get("/api/orders")
+        .then()
+            .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+    
     @Test
     void shouldCancelOrder() {
         // Create an order
@@ -269,4 +372,290 @@ class OrderControllerIntegrationTest {
             .statusCode(HttpStatus.OK.value())
             .body("status", equalTo("CANCELLED"));
     }
+    
+    @Test
+    void shouldCountOrderChangesInStatistics() {
+        int cancelledBefore = given()
+        .when()
+            .get("/api/orders/stats")
+        .then()
+            .statusCode(HttpStatus.OK.value())
+            .extract()
+            .path("byStatus.CANCELLED.orders");
+        
+        CreateOrderRequest createOrderRequest = new CreateOrderRequest(
+            customerId,
+            List.of(new CreateOrderRequest.OrderItemRequest(productId, 1))
+        );
+        String orderId = given()
+            .contentType(ContentType.JSON)
+            .body(createOrderRequest)
+        .when()
+            .post("/api/orders")
+        .then()
+            .statusCode(HttpStatus.CREATED.value())
+            .extract()
+            .path("orderId");
+        given()
+        .when()
+            .put("/api/orders/{orderId}/cancel", orderId)
+        .then()
+            .statusCode(HttpStatus.OK.value());
+        
+        given()
+        .when()
+            .get("/api/orders/stats")
+        .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("byStatus.CANCELLED.orders", equalTo(cancelledBefore + 1))
+            .body("currency", equalTo("EUR"))
+            .body("daily", not(empty()));
+    }
+    
+    @Test
+    void shouldRankProductsOfConfirmedOrdersAsTopSellers() {
+        CreateOrderRequest createOrderRequest = new CreateOrderRequest(
+            customerId,
+            List.of(new CreateOrderRequest.OrderItemRequest(productId, 2))
+        );
+        String orderId = given()
+            .contentType(ContentType.JSON)
+            .body(createOrderRequest)
+        .when()
+            .post("/api/orders")
+        .then()
+            .statusCode(HttpStatus.CREATED.value())
+            .extract()
+            .path("orderId");
+        given()
+        .when()
+            .put("/api/orders/{orderId}/confirm", orderId)
+        .then()
+            .statusCode(HttpStatus.OK.value());
+        
+        given()
+        .when()
+            .get("/api/products/top")
+        .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("productId", hasItem(productId.toString()))
+            .body("find { it.productId == '" + productId + "' }.name", equalTo("Laptop"))
+            .body("find { it.productId == '" + productId + "' }.unitsSold", greaterThanOrEqualTo(2));
+    }
+    
+    @Test
+    void shouldPageThroughSearchResultsWithCursor() {
+        CreateOrderRequest createOrderRequest = new CreateOrderRequest(
+            customerId,
+            List.of(new CreateOrderRequest.OrderItemRequest(productId, 1))
+        );
+        for (int i = 0; i < 3; i++) {
+            given()
+                .contentType(ContentType.JSON)
+                .body(createOrderRequest)
+            .when()
+                .post("/api/orders")
+            .then()
+                .statusCode(HttpStatus.CREATED.value());
+        }
+        
+        String nextCursor = given()
+            .queryParam("customerId", customerId)
+            .queryParam("status", "PENDING")
+            .queryParam("size", 2)
+        .when()
+            .get("/api/orders/search")
+        .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("orders", hasSize(2))
+            .body("orders.customerId", everyItem(equalTo(customerId.toString())))
+            .body("orders.status", everyItem(equalTo("PENDING")))
+            .body("nextCursor", notNullValue())
+            .extract()
+            .path("nextCursor");
+        
+        given()
+            .queryParam("customerId", customerId)
+            .queryParam("status", "PENDING")
+            .queryParam("size", 2)
+            .queryParam("cursor", nextCursor)
+        .when()
+            .get("/api/orders/search")
+        .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("orders", not(empty()))
+            .body("orders.status", everyItem(equalTo("PENDING")));
+    }
+    
+    @Test
+    void shouldRejectSearchWithInvalidCursor() {
+        given()
+            .queryParam("cursor", "not-a-cursor")
+        .when()
+            .get("/api/orders/search")
+        .then()
+            .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+    
+    @Test
+    void shouldFilterOrdersByCustomerAndStatusTogether() {
+        CreateOrderRequest createOrderRequest = new CreateOrderRequest(
+            customerId,
+            List.of(new CreateOrderRequest.OrderItemRequest(productId, 1))
+        );
+        String orderId = given()
+            .contentType(ContentType.JSON)
+            .body(createOrderRequest)
+        .when()
+            .post("/api/orders")
+        .then()
+            .statusCode(HttpStatus.CREATED.value())
+            .extract()
+            .path("orderId");
+        given()
+        .when()
+            .put("/api/orders/{orderId}/confirm", orderId)
+        .then()
+            .statusCode(HttpStatus.OK.value());
+        
+        given()
+            .queryParam("customerId", customerId)
+            .queryParam("status", "CONFIRMED")
+        .when()
+            .get("/api/orders")
+        .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("orderId", hasItem(orderId))
+            .body("status", everyItem(equalTo("CONFIRMED")));
+    }
+    
+    @Test
+    void shouldReportRevenueOfPaidOrders() {
+        CreateOrderRequest createOrderRequest = new CreateOrderRequest(
+            customerId,
+            List.of(new CreateOrderRequest.OrderItemRequest(productId, 2))
+        );
+        String orderId = given()
+            .contentType(ContentType.JSON)
+            .body(createOrderRequest)
+        .when()
+            .post("/api/orders")
+        .then()
+            .statusCode(HttpStatus.CREATED.value())
+            .extract()
+            .path("orderId");
+        given()
+        .when()
+            .put("/api/orders/{orderId}/confirm", orderId)
+        .then()
+            .statusCode(HttpStatus.OK.value());
+        given()
+        .when()
+            .put("/api/orders/{orderId}/pay", orderId)
+        .then()
+            .statusCode(HttpStatus.OK.value());
+        
+        given()
+        .when()
+            .get("/api/reports/revenue")
+        .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("orders", greaterThanOrEqualTo(1))
+            .body("currency", equalTo("EUR"))
+            .body("products.productId", hasItem(productId.toString()))
+            .body("products.find { it.productId == '" + productId + "' }.units", greaterThanOrEqualTo(2))
+            .body("customers.customerId", hasItem(customerId.toString()))
+            .body("daily", not(empty()));
+    }
+    
+    @Test
+    void shouldRejectRevenueReportEndingBeforeItStarts() {
+        given()
+            .queryParam("from", "2024-02-01")
+            .queryParam("to", "2024-01-01")
+        .when()
+            .get("/api/reports/revenue")
+        .then()
+            .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+    
+    @Test
+    void shouldReplayOrderCreationForSameIdempotencyKey() {
+        CreateOrderRequest createOrderRequest = new CreateOrderRequest(
+            customerId,
+            List.of(new CreateOrderRequest.OrderItemRequest(productId, 1))
+        );
+        
+        String orderId = given()
+            .contentType(ContentType.JSON)
+            .header("Idempotency-Key", "create-order-retry-test")
+            .body(createOrderRequest)
+        .when()
+            .post("/api/orders")
+        .then()
+            .statusCode(HttpStatus.CREATED.value())
+            .header("Idempotent-Replayed", "false")
+            .extract()
+            .path("orderId");
+        
+        // The retry must not create a second order
+        given()
+            .contentType(ContentType.JSON)
+            .header("Idempotency-Key", "create-order-retry-test")
+            .body(createOrderRequest)
+        .when()
+            .post("/api/orders")
+        .then()
+            .statusCode(HttpStatus.CREATED.value())
+            .header("Idempotent-Replayed", "true")
+            .body("orderId", equalTo(orderId));
+        
+        // Reusing the key for a different order is rejected
+        given()
+            .contentType(ContentType.JSON)
+            .header("Idempotency-Key", "create-order-retry-test")
+            .body(new CreateOrderRequest(customerId, List.of(new CreateOrderRequest.OrderItemRequest(productId, 3))))
+        .when()
+            .post("/api/orders")
+        .then()
+            .statusCode(HttpStatus.UNPROCESSABLE_ENTITY.value());
+    }
+    
+    @Test
+    void shouldPayOnlyOnceForSameIdempotencyKey() {
+        String orderId = given()
+            .contentType(ContentType.JSON)
+            .body(new CreateOrderRequest(customerId, List.of(new CreateOrderRequest.OrderItemRequest(productId, 1))))
+        .when()
+            .post("/api/orders")
+        .then()
+            .statusCode(HttpStatus.CREATED.value())
+            .extract()
+            .path("orderId");
+        given()
+        .when()
+            .put("/api/orders/{orderId}/confirm", orderId)
+        .then()
+            .statusCode(HttpStatus.OK.value());
+        clearInvocations(paymentService);
+        
+        given()
+            .header("Idempotency-Key", "pay-order-retry-test")
+        .when()
+            .put("/api/orders/{orderId}/pay", orderId)
+        .then()
+            .statusCode(HttpStatus.OK.value())
+            .header("Idempotent-Replayed", "false");
+        
+        // The retry gets the stored response instead of paying again
+        given()
+            .header("Idempotency-Key", "pay-order-retry-test")
+        .when()
+            .put("/api/orders/{orderId}/pay", orderId)
+        .then()
+            .statusCode(HttpStatus.OK.value())
+            .header("Idempotent-Replayed", "true");
+        
+        verify(paymentService, times(1)).processPayment(any());
+    }
 }
\ No newline at end of file
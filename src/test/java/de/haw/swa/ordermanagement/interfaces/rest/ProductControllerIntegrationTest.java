@@ -1,20 +1,26 @@
 package de.haw.swa.ordermanagement.interfaces.rest;
 
+import de.haw.swa.ordermanagement.infrastructure.codec.BinaryWireFormat;
 import de.haw.swa.ordermanagement.interfaces.rest.dto.CreateProductRequest;
+import de.haw.swa.ordermanagement.interfaces.rest.dto.ProductResponse;
 import io.restassured.RestAssured;
 
 import java.math.BigDecimal;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
@@ -135,6 +141,73 @@ class ProductControllerIntegrationTest {
             .body("stockQuantity", equalTo(15));
     }
     
+    @Test
+    void shouldReturnProductAsCborWhenRequested() throws Exception {
+        CreateProductRequest createProductRequest = new CreateProductRequest(
+            "Binary Product",
+            "Served as CBOR",
+            new BigDecimal("49.99"),
+            7
+        );
+        
+        String productId = given()
+            .contentType(ContentType.JSON)
+            .body(createProductRequest)
+        .when()
+            .post("/api/products")
+        .then()
+            .statusCode(HttpStatus.CREATED.value())
+            .extract()
+            .path("productId");
+        
+        byte[] body = given()
+            .accept(MediaType.APPLICATION_CBOR_VALUE)
+        .when()
+            .get("/api/products/{productId}", productId)
+        .then()
+            .statusCode(HttpStatus.OK.value())
+            .contentType(MediaType.APPLICATION_CBOR_VALUE)
+            .extract()
+            .asByteArray();
+        
+        ProductResponse product = BinaryWireFormat.cborMapper().readValue(body, ProductResponse.class);
+        assertEquals(productId, product.productId());
+        assertEquals("Binary Product", product.name());
+        assertEquals(new BigDecimal("49.99"), product.price());
+        assertEquals(7, product.stockQuantity());
+    }
+    
+    @Test
+    void shouldGetProductsByIdsInRequestOrder() {
+        given()
+            .queryParam("ids", "3,99999,1")
+        .when()
+            .get("/api/products")
+        .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("results", hasSize(3))
+            .body("results.id", contains("3", "99999", "1"))
+            .body("results.found", contains(true, false, true))
+            .body("results[0].value.name", equalTo("Tablet"))
+            .body("results[1].value", nullValue())
+            .body("results[2].value.name", equalTo("Laptop"))
+            .body("missingIds", contains("99999"));
+    }
+    
+    @Test
+    void shouldRejectTooManyIds() {
+        String ids = IntStream.rangeClosed(1, 101)
+            .mapToObj(String::valueOf)
+            .collect(Collectors.joining(","));
+        
+        given()
+            .queryParam("ids", ids)
+        .when()
+            .get("/api/products")
+        .then()
+            .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+    
     @Test
     void shouldReturnNotFoundForNonExistentProduct() {
         String nonExistentProductId = "99999";
@@ -199,6 +272,110 @@ class ProductControllerIntegrationTest {
             .body("name", everyItem(containsStringIgnoringCase("Computer")));
     }
     
+    @Test
+    void shouldRejectSearchWithoutWordOfTwoCharacters() {
+        given()
+            .queryParam("name", "a - b")
+        .when()
+            .get("/api/products/search")
+        .then()
+            .statusCode(HttpStatus.BAD_REQUEST.value());
+        
+        given()
+            .queryParam("name", "tv")
+        .when()
+            .get("/api/products/search")
+        .then()
+            .statusCode(HttpStatus.OK.value());
+    }
+    
+    @Test
+    void shouldListProductsAtOrBelowTheirLowStockThreshold() {
+        given()
+            .contentType(ContentType.JSON)
+            .body(new CreateProductRequest("Nachbestellen Drucker", "Fast ausverkauft", new BigDecimal("89.99"), 1, 5))
+        .when()
+            .post("/api/products")
+        .then()
+            .statusCode(HttpStatus.CREATED.value());
+        
+        given()
+        .when()
+            .get("/api/products/low-stock")
+        .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("find { it.name == 'Nachbestellen Drucker' }.stockQuantity", equalTo(1))
+            .body("find { it.name == 'Nachbestellen Drucker' }.lowStockThreshold", equalTo(5))
+            .body("name", not(hasItem("Kopfhörer")));
+    }
+    
+    @Test
+    void shouldFilterProductsWithFacetCounts() {
+        given()
+            .contentType(ContentType.JSON)
+            .body(new CreateProductRequest("Filtertest Lampe", "Ausverkauft", new BigDecimal("19.99"), 0))
+        .when()
+            .post("/api/products");
+        
+        given()
+            .contentType(ContentType.JSON)
+            .body(new CreateProductRequest("Filtertest Leuchte", "Vorrätig", new BigDecimal("149.99"), 5))
+        .when()
+            .post("/api/products");
+        
+        given()
+            .queryParam("name", "filtertest")
+            .queryParam("inStock", true)
+            .queryParam("maxPrice", "500")
+        .when()
+            .get("/api/products/filter")
+        .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("products.name", contains("Filtertest Leuchte"))
+            .body("totalElements", equalTo(1))
+            .body("facets.inStock", equalTo(1))
+            .body("facets.outOfStock", equalTo(1));
+        
+        given()
+            .queryParam("page", -1)
+        .when()
+            .get("/api/products/filter")
+        .then()
+            .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+    
+    @Test
+    void shouldSuggestProductsWithMostStockFirst() {
+        given()
+            .contentType(ContentType.JSON)
+            .body(new CreateProductRequest("Vorschlag Lautsprecher", "Wenig Bestand", new BigDecimal("49.99"), 5))
+        .when()
+            .post("/api/products");
+        
+        given()
+            .contentType(ContentType.JSON)
+            .body(new CreateProductRequest("Vorschlag Kopfhörer", "Viel Bestand", new BigDecimal("59.99"), 80))
+        .when()
+            .post("/api/products");
+        
+        given()
+            .queryParam("prefix", "vorschl")
+        .when()
+            .get("/api/products/suggest")
+        .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("name", contains("Vorschlag Kopfhörer", "Vorschlag Lautsprecher"));
+        
+        given()
+            .queryParam("prefix", "Lautspr")
+            .queryParam("limit", 1)
+        .when()
+            .get("/api/products/suggest")
+        .then()
+            .statusCode(HttpStatus.OK.value())
+            .body("name", contains("Vorschlag Lautsprecher"));
+    }
+    
     @Test
     void shouldDeleteProduct() {
         // Create a product first